@@ -4,13 +4,18 @@ import org.epam.swissre.coffeeshop.bonus.impl.EveryFifthBeverageFreeBonus;
 import org.epam.swissre.coffeeshop.bonus.impl.FreeExtraWithBeverageAndSnackBonus;
 import org.epam.swissre.coffeeshop.controller.*;
 import org.epam.swissre.coffeeshop.controller.impl.*;
+import org.epam.swissre.coffeeshop.enums.DurabilityPolicy;
 import org.epam.swissre.coffeeshop.input.*;
 import org.epam.swissre.coffeeshop.input.impl.*;
 import org.epam.swissre.coffeeshop.receipt.*;
 import org.epam.swissre.coffeeshop.receipt.impl.*;
+import org.epam.swissre.coffeeshop.server.OrderHttpServer;
 import org.epam.swissre.coffeeshop.service.*;
 import org.epam.swissre.coffeeshop.service.impl.*;
 
+import java.io.IOException;
+import java.net.InetSocketAddress;
+
 /**
  * This class represents the main entry point for the Coffee Shop application.
  * It initializes the system and facilitates user interaction through a command-line interface.
@@ -22,11 +27,15 @@ import org.epam.swissre.coffeeshop.service.impl.*;
  */
 public class CoffeeShop {
 
+    private static final int DEFAULT_SERVER_PORT = 8080;
+    private static final DurabilityPolicy DURABILITY_POLICY = DurabilityPolicy.PER_BATCH; // journal and loyalty index
+
     /**
      * Main method for the Coffee Shop application.
-     * It sets up necessary components and starts the user interaction loop.
+     * It sets up necessary components and starts the user interaction loop, or with {@code --server [port]}
+     * the headless HTTP ordering front-end.
      *
-     * @param args Command-line arguments passed during the start of the program, not used in this application.
+     * @param args Command-line arguments passed during the start of the program, {@code --server [port]} for the server mode.
      */
     public static void main(String[] args) {
         String filePath = "orders.csv"; // // This stores the file in the project's root or current working directory. Also, you can use home or tmp dir.
@@ -36,6 +45,11 @@ public class CoffeeShop {
         bonusService.registerBonusStrategy(new EveryFifthBeverageFreeBonus());
         bonusService.registerBonusStrategy(new FreeExtraWithBeverageAndSnackBonus());
 
+        if (args.length > 0 && "--server".equals(args[0])) {
+            startServer(bonusService, filePath, args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_SERVER_PORT);
+            return;
+        }
+
         IOrderController orderController = initOrderController(bonusService, filePath);
 
         // Initialize the Product Input handler (could implement a simple in-memory storage)
@@ -58,12 +72,51 @@ public class CoffeeShop {
 
     private static IOrderController initOrderController(IBonusService bonusService, String filePath) {
         IOrderService orderService = new OrderService(bonusService);
-        IOrderStorage orderStorage = new OrderStorage(filePath);
+        WriteBehindOrderStorage orderStorage = initOrderStorage(filePath);
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> flushOnShutdown(orderStorage), "order-storage-shutdown"));
+        ILoyaltyIndex loyaltyIndex = new LoyaltyIndex(filePath + ".loyalty", orderStorage, DURABILITY_POLICY); // running beverage counter, persisted on flush
         IPaymentService paymentService = new PaymentService();
 
-        ReceiptPresenter receiptPresenter = new CLIReceiptPresenter(); // Assuming a concrete implementation exists`
+        // Create an instance of OrderController with the initialized services; the CLI presenter renders every receipt
+        // from its pooled per-order context, so one presenter serves all orders
+        return new OrderController(orderService, orderStorage, loyaltyIndex, paymentService, new CLIReceiptPresenter());
+    }
+
+    private static void startServer(IBonusService bonusService, String filePath, int port) {
+        // The JDK server leaves Nagle's algorithm on by default, which delays small responses by the client's
+        // delayed ACK (about 40 ms); the property is read once when the first server is created
+        if (System.getProperty("sun.net.httpserver.nodelay") == null) {
+            System.setProperty("sun.net.httpserver.nodelay", "true");
+        }
+        try {
+            // Counters per customer, persisted on flush; many requests are priced concurrently against the shared services
+            WriteBehindOrderStorage orderStorage = initOrderStorage(filePath);
+            ILoyaltyIndex loyaltyIndex = new CustomerLoyaltyIndex(filePath + ".customers", orderStorage, DURABILITY_POLICY);
+            OrderHttpServer server = new OrderHttpServer(new InetSocketAddress(port), new OrderService(bonusService),
+                    orderStorage, loyaltyIndex, new PaymentService());
+            // Requests in progress are finished before the pending orders are flushed
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                server.close();
+                flushOnShutdown(orderStorage);
+            }, "order-server-shutdown"));
+            server.start();
+            System.out.println("Coffee Shop order server listening on port " + server.getPort()
+                    + (server.usesVirtualThreads() ? " (virtual threads)" : " (platform threads)"));
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to start the order server.", e);
+        }
+    }
+
+    private static WriteBehindOrderStorage initOrderStorage(String filePath) {
+        return new WriteBehindOrderStorage(
+                new JournalOrderStorage(filePath, DURABILITY_POLICY)); // append-only, flushed in the background
+    }
 
-        // Create an instance of OrderController with the initialized services and presenter
-        return new OrderController(orderService, orderStorage, paymentService, receiptPresenter);
+    private static void flushOnShutdown(WriteBehindOrderStorage orderStorage) {
+        try {
+            orderStorage.close();
+        } catch (IOException e) {
+            System.err.println("Failed to flush pending orders on shutdown: " + e.getMessage());
+        }
     }
 }
\ No newline at end of file
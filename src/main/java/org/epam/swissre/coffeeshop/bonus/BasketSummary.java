@@ -0,0 +1,151 @@
+package org.epam.swissre.coffeeshop.bonus;
+
+import org.epam.swissre.coffeeshop.enums.ProductKind;
+import org.epam.swissre.coffeeshop.model.Order;
+import org.epam.swissre.coffeeshop.model.Product;
+
+/**
+ * Summary of the basket of an order, built in a single pass over its products and shared by all promotion
+ * (bonus) strategies, so every additional strategy evaluates counts and prices instead of scanning the basket
+ * again. Products are classified by their kind mask and counted in an array indexed by kind. Beverages and
+ * extras are kept with their prices in basket order, so strategies can address them by their ordinal.
+ *
+ * <p>The summary reflects the products at the time it was built; strategies only apply discounts and do not
+ * change the products of the order.</p>
+ */
+public final class BasketSummary {
+    private static final int KIND_COUNT = ProductKind.values().length;
+
+    private final int productCount;
+    private final int[] kindCounts = new int[KIND_COUNT];
+    private final long[] beveragePricesInCents;
+    private final long[] extraPricesInCents;
+    private final long subtotalInCents;
+    private final long alreadyPaidBeverageCount;
+
+    private BasketSummary(Order order) {
+        productCount = order.getProductCount();
+        beveragePricesInCents = new long[productCount];
+        extraPricesInCents = new long[productCount];
+        int beverageMask = ProductKind.BEVERAGE.getMask();
+        int extraMask = ProductKind.EXTRA.getMask();
+        int beverages = 0;
+        int extras = 0;
+        long subtotal = 0;
+        for (int i = 0; i < productCount; i++) {
+            Product product = order.getProduct(i);
+            int kindMask = product.getKindMask();
+            long price = product.getPriceInCents();
+            subtotal += price;
+            if ((kindMask & beverageMask) != 0) {
+                beveragePricesInCents[beverages++] = price;
+            }
+            if ((kindMask & extraMask) != 0) {
+                extraPricesInCents[extras++] = price;
+            }
+            // Count every kind the product belongs to, one set bit at a time
+            for (int remaining = kindMask; remaining != 0; remaining &= remaining - 1) {
+                int kind = Integer.numberOfTrailingZeros(remaining);
+                if (kind < KIND_COUNT) {
+                    kindCounts[kind]++;
+                }
+            }
+        }
+        this.subtotalInCents = subtotal;
+        this.alreadyPaidBeverageCount = order.getAlreadyPaidBeverageCount();
+    }
+
+    /**
+     * Builds the summary of the basket of an order.
+     *
+     * @param order The order to summarize.
+     * @return The summary of the products of the order.
+     * @throws IllegalArgumentException if the order is null.
+     */
+    public static BasketSummary of(Order order) {
+        if (order == null) {
+            throw new IllegalArgumentException("Order cannot be null");
+        }
+        return new BasketSummary(order);
+    }
+
+    /**
+     * @return The number of products in the basket.
+     */
+    public int getProductCount() {
+        return productCount;
+    }
+
+    /**
+     * Returns the number of products of a kind in the basket.
+     *
+     * @param kind The kind of products to count.
+     * @return The number of products of the given kind.
+     */
+    public int getCount(ProductKind kind) {
+        return kindCounts[kind.ordinal()];
+    }
+
+    /**
+     * @return The number of beverages in the basket.
+     */
+    public int getBeverageCount() {
+        return kindCounts[ProductKind.BEVERAGE.ordinal()];
+    }
+
+    /**
+     * @return The number of snacks in the basket.
+     */
+    public int getSnackCount() {
+        return kindCounts[ProductKind.SNACK.ordinal()];
+    }
+
+    /**
+     * @return The number of extras in the basket.
+     */
+    public int getExtraCount() {
+        return kindCounts[ProductKind.EXTRA.ordinal()];
+    }
+
+    /**
+     * Returns the price of a beverage by its ordinal among the beverages of the basket.
+     *
+     * @param ordinal The zero-based ordinal of the beverage, in basket order.
+     * @return The price of the beverage in cents (1/100 CHF).
+     * @throws IndexOutOfBoundsException if there is no beverage with the given ordinal.
+     */
+    public long getBeveragePriceInCents(int ordinal) {
+        if (ordinal < 0 || ordinal >= getBeverageCount()) {
+            throw new IndexOutOfBoundsException("Beverage ordinal " + ordinal + " out of range: " + getBeverageCount());
+        }
+        return beveragePricesInCents[ordinal];
+    }
+
+    /**
+     * Returns the price of an extra by its ordinal among the extras of the basket.
+     *
+     * @param ordinal The zero-based ordinal of the extra, in basket order.
+     * @return The price of the extra in cents (1/100 CHF).
+     * @throws IndexOutOfBoundsException if there is no extra with the given ordinal.
+     */
+    public long getExtraPriceInCents(int ordinal) {
+        if (ordinal < 0 || ordinal >= getExtraCount()) {
+            throw new IndexOutOfBoundsException("Extra ordinal " + ordinal + " out of range: " + getExtraCount());
+        }
+        return extraPricesInCents[ordinal];
+    }
+
+    /**
+     * @return The sum of the prices of all products in cents (1/100 CHF).
+     */
+    public long getSubtotalInCents() {
+        return subtotalInCents;
+    }
+
+    /**
+     * @return The number of beverages the customer has paid in previous orders.
+     */
+    public long getAlreadyPaidBeverageCount() {
+        return alreadyPaidBeverageCount;
+    }
+}
@@ -13,4 +13,16 @@ public interface BonusStrategy {
      * @param order The order to which the promotional (bonus) logic will be applied.
      */
     void apply(Order order);
+
+    /**
+     * Apply a promotional (bonus) strategy to a given order, evaluated against the summary of its basket which
+     * is shared by all strategies. Strategies should override this method to avoid scanning the basket again;
+     * the default delegates to {@link #apply(Order)}.
+     *
+     * @param order The order to which the promotional (bonus) logic will be applied.
+     * @param basket The summary of the products of the order.
+     */
+    default void apply(Order order, BasketSummary basket) {
+        apply(order);
+    }
 }
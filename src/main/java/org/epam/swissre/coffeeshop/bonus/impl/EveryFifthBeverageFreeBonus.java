@@ -1,11 +1,9 @@
 package org.epam.swissre.coffeeshop.bonus.impl;
 
+import org.epam.swissre.coffeeshop.bonus.BasketSummary;
 import org.epam.swissre.coffeeshop.bonus.BonusStrategy;
 import org.epam.swissre.coffeeshop.model.*;
 
-import java.util.List;
-import java.util.stream.IntStream;
-
 /**
  * A promotional strategy that offers every 5th beverage for free, consistently throughout the order.
  */
@@ -22,29 +20,44 @@ public class EveryFifthBeverageFreeBonus implements BonusStrategy {
      */
     @Override
     public void apply(Order order) {
-        List<Product> beverages = getBeverages(order.getProducts());
-        int previousBeverageCount = getBeverages(order.getAlreadyPaidProducts()).size();
-        int totalBeverages = previousBeverageCount + beverages.size();
-
-        if (!beverages.isEmpty() && totalBeverages >= FREE_BEVERAGE_INTERVAL) {
-            // Calculates the discount by applying a free beverage for every fifth beverage ordered,
-            // taking into account both previous and current session beverage counts.
-            double totalDiscount = IntStream.range(previousBeverageCount, totalBeverages)
-                    .filter(index -> (index + 1) % FREE_BEVERAGE_INTERVAL == 0)
-                    .mapToDouble(index -> beverages.get((index - previousBeverageCount) % beverages.size()).getPrice())
-                    .sum();
+        apply(order, BasketSummary.of(order));
+    }
 
+    /**
+     * Applies the "Every Fifth Beverage Free" promotion using the beverages of the basket summary.
+     *
+     * @param order The order to which the promotional logic will be applied.
+     * @param basket The summary of the products of the order.
+     */
+    @Override
+    public void apply(Order order, BasketSummary basket) {
+        long totalDiscount = calculateDiscountInCents(basket.getAlreadyPaidBeverageCount(), basket);
+        if (totalDiscount > 0) {
             order.applyDiscount(totalDiscount);
         }
     }
 
     /**
-     * Filters out beverages from a list of products.
+     * Calculates the discount for the beverages of a basket which are every fifth beverage, taking into account
+     * the running counter of previously paid beverages. The ordinal of the first free beverage in the basket is
+     * derived from the counter, and further free beverages follow every fifth ordinal, so only the free beverages
+     * are visited.
      *
-     * @param products The complete list of products from the order.
-     * @return a list of products that are instances of beverages.
+     * @param previousBeverageCount The number of beverages paid in previous orders.
+     * @param basket The summary of the products of the order.
+     * @return The discount in cents (1/100 CHF).
+     * @throws IllegalArgumentException if the previous beverage count is negative.
      */
-    private List<Product> getBeverages(List<Product> products) {
-        return products.stream().filter(i -> i instanceof BeverageProduct).toList();
+    public long calculateDiscountInCents(long previousBeverageCount, BasketSummary basket) {
+        if (previousBeverageCount < 0) {
+            throw new IllegalArgumentException("Beverage count cannot be negative");
+        }
+        long totalDiscount = 0;
+        // Zero-based ordinal in this basket of the next beverage whose overall position is a multiple of five
+        int firstFreeOrdinal = (int) (FREE_BEVERAGE_INTERVAL - 1 - previousBeverageCount % FREE_BEVERAGE_INTERVAL);
+        for (int ordinal = firstFreeOrdinal; ordinal < basket.getBeverageCount(); ordinal += FREE_BEVERAGE_INTERVAL) {
+            totalDiscount += basket.getBeveragePriceInCents(ordinal);
+        }
+        return totalDiscount;
     }
-}
\ No newline at end of file
+}
@@ -1,9 +1,9 @@
 package org.epam.swissre.coffeeshop.bonus.impl;
 
+import org.epam.swissre.coffeeshop.bonus.BasketSummary;
 import org.epam.swissre.coffeeshop.bonus.BonusStrategy;
-import org.epam.swissre.coffeeshop.model.*;
+import org.epam.swissre.coffeeshop.model.Order;
 
-import java.util.List;
 import java.util.Random;
 
 /**
@@ -24,16 +24,25 @@ public class FreeExtraWithBeverageAndSnackBonus implements BonusStrategy {
      */
     @Override
     public void apply(Order order) {
-        final List<Product> products = order.getProducts();
-        boolean hasBeverage = hasBeverage(products);
-        boolean hasSnack = hasSnack(products);
+        apply(order, BasketSummary.of(order));
+    }
+
+    /**
+     * Applies the promotion using the counts and extras of the basket summary.
+     *
+     * @param order The order to which the promotional logic will be applied.
+     * @param basket The summary of the products of the order.
+     */
+    @Override
+    public void apply(Order order, BasketSummary basket) {
+        boolean hasBeverage = basket.getBeverageCount() > 0;
+        boolean hasSnack = basket.getSnackCount() > 0;
 
         if (hasBeverage && hasSnack) {
-            final List<Product> extraItems = getExtraItems(products);
-            if (!extraItems.isEmpty()) {
-                Product freeExtra = selectRandomExtraItem(extraItems);
+            if (basket.getExtraCount() > 0) {
+                long freeExtraPrice = selectRandomExtraItemPrice(basket);
                 // add extra price as discount
-                order.applyDiscount(freeExtra.getPrice());
+                order.applyDiscount(freeExtraPrice);
             } /* else the discount is not provided because product list does not include beverage and snacks
                 (in the actual production code you can add a logger to log the exception case) */
 
@@ -41,21 +50,8 @@ public class FreeExtraWithBeverageAndSnackBonus implements BonusStrategy {
             (in the actual production code you can add a logger to log the exception case) */
     }
 
-    private boolean hasBeverage(List<Product> products) {
-        return products.stream().anyMatch(i -> i instanceof BeverageProduct);
-    }
-
-    private boolean hasSnack(List<Product> products) {
-        return products.stream().anyMatch(i -> i instanceof BaconRoll);
-    }
-
-    private List<Product> getExtraItems(List<Product> products) {
-        return products.stream().filter(i -> i instanceof ExtraItem).toList();
-    }
-
-    // Revised method to select a random extra item correctly
-    private Product selectRandomExtraItem(List<Product> extras) {
-        int index = random.nextInt(extras.size()); // Safe now since you check isEmpty() prior
-        return extras.get(index);
+    private long selectRandomExtraItemPrice(BasketSummary basket) {
+        int index = random.nextInt(basket.getExtraCount()); // Safe since the extra count is checked prior
+        return basket.getExtraPriceInCents(index);
     }
 }
@@ -1,6 +1,8 @@
 package org.epam.swissre.coffeeshop.controller;
 
+import org.epam.swissre.coffeeshop.model.Order;
 import org.epam.swissre.coffeeshop.model.Product;
+import org.epam.swissre.coffeeshop.service.ILoyaltyIndex;
 
 import java.util.List;
 
@@ -8,5 +10,42 @@ import java.util.List;
  * Interface for the Order Controller, responsible for managing orders.
  */
 public interface IOrderController {
-    void processOrder(List<Product> products);
+
+    /**
+     * Processes the products of a walk-in customer as an order.
+     *
+     * @param products the products to be processed as an order.
+     */
+    default void processOrder(List<Product> products) {
+        processOrder(ILoyaltyIndex.WALK_IN_CUSTOMER, products);
+    }
+
+    /**
+     * Processes the products of a customer as an order, using and advancing the loyalty counter of the customer.
+     *
+     * @param customerId the identifier of the customer.
+     * @param products the products to be processed as an order.
+     */
+    void processOrder(String customerId, List<Product> products);
+
+    /**
+     * Processes consecutive orders of a walk-in customer as one batch.
+     *
+     * @param batch the product lists of the orders, in the order they were placed.
+     * @return the processed orders, in the order of the batch.
+     */
+    default List<Order> processOrders(List<List<Product>> batch) {
+        return processOrders(ILoyaltyIndex.WALK_IN_CUSTOMER, batch);
+    }
+
+    /**
+     * Processes consecutive orders of a customer as one batch, e.g. offline orders imported by the head office:
+     * the orders are priced in sequence with the running loyalty counter, paid together and stored in one write.
+     * No receipts are presented; the processed orders are returned instead.
+     *
+     * @param customerId the identifier of the customer.
+     * @param batch the product lists of the orders, in the order they were placed.
+     * @return the processed orders, in the order of the batch.
+     */
+    List<Order> processOrders(String customerId, List<List<Product>> batch);
 }
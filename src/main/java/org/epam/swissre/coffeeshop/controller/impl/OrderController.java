@@ -4,8 +4,10 @@ import org.epam.swissre.coffeeshop.controller.IOrderController;
 import org.epam.swissre.coffeeshop.enums.OrderStatus;
 import org.epam.swissre.coffeeshop.model.Order;
 import org.epam.swissre.coffeeshop.model.Product;
+import org.epam.swissre.coffeeshop.receipt.ReceiptContext;
+import org.epam.swissre.coffeeshop.receipt.ReceiptContextPool;
 import org.epam.swissre.coffeeshop.receipt.ReceiptPresenter;
-import org.epam.swissre.coffeeshop.receipt.ReceiptRow;
+import org.epam.swissre.coffeeshop.service.ILoyaltyIndex;
 import org.epam.swissre.coffeeshop.service.IOrderService;
 import org.epam.swissre.coffeeshop.service.IOrderStorage;
 import org.epam.swissre.coffeeshop.service.IPaymentService;
@@ -13,83 +15,281 @@ import org.epam.swissre.coffeeshop.service.IPaymentService;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Objects;
-import java.util.stream.Stream;
+import java.util.function.Supplier;
 
 /**
  * The OrderController class orchestrates the processing of orders, calculation of payments,
  * and the presentation of receipts. It serves as a mediator between the service layer (order and
  * payment services) and the presentation layer (receipt presenter).
+ *
+ * <p>Several registers may share one controller if it is constructed with a receipt presenter factory: every
+ * checkout then presents its receipt with its own presenter, loyalty counters are claimed per customer by the
+ * {@link ILoyaltyIndex}, and the paid orders are handed to the order storage only after pricing, so a slow
+ * storage write never holds up the pricing of other checkouts. The services and the storage must be thread-safe
+ * in this case.</p>
+ *
+ * <p>The receipt of every checkout is built in a {@link ReceiptContext} taken from a bounded pool and returned
+ * after the receipt is presented, so no receipt state accumulates across orders and the controller runs with
+ * constant memory however many orders it processes.</p>
  */
 public class OrderController implements IOrderController {
     private final IOrderService orderService;
     private final IOrderStorage orderStorage;
+    private final ILoyaltyIndex loyaltyIndex;
     private final IPaymentService paymentService;
-    private final ReceiptPresenter receiptPresenter;
+    private final Supplier<? extends ReceiptPresenter> receiptPresenterFactory;
+    private final ReceiptContextPool receiptContexts = new ReceiptContextPool();
 
     /**
      * Constructs an OrderController with specified service and presenter components.
+     * All receipts are presented with the given presenter, each in its own receipt context. A presenter
+     * rendering straight from the context, like the CLI presenter, can be shared by concurrent checkouts;
+     * other presenters hold the rows of the receipt while presenting it, so the controller serves a single
+     * register.
      *
      * @param orderService the service responsible for managing order details
      * @param orderStorage the service responsible for storing order data details
+     * @param loyaltyIndex the index keeping the running beverage counter of already paid orders
      * @param paymentService the service responsible for payment calculations
      * @param receiptPresenter the component responsible for presenting the receipt
      */
     public OrderController(IOrderService orderService,
                            IOrderStorage orderStorage,
+                           ILoyaltyIndex loyaltyIndex,
                            IPaymentService paymentService,
                            ReceiptPresenter receiptPresenter) {
+        this(orderService, orderStorage, loyaltyIndex, paymentService, () -> receiptPresenter);
+    }
+
+    /**
+     * Constructs an OrderController without a receipt presenter, for channels rendering the receipts of the orders
+     * returned by {@link #checkout(String, List)} themselves. It can be shared by concurrent checkouts;
+     * {@link #processOrder(String, List)} is not supported.
+     *
+     * @param orderService the service responsible for managing order details
+     * @param orderStorage the service responsible for storing order data details
+     * @param loyaltyIndex the index keeping the running beverage counters of already paid orders
+     * @param paymentService the service responsible for payment calculations
+     */
+    public OrderController(IOrderService orderService,
+                           IOrderStorage orderStorage,
+                           ILoyaltyIndex loyaltyIndex,
+                           IPaymentService paymentService) {
+        this(orderService, orderStorage, loyaltyIndex, paymentService, (Supplier<? extends ReceiptPresenter>) null);
+    }
+
+    /**
+     * Constructs an OrderController which presents every receipt with a new presenter, so it can be shared
+     * by concurrent checkouts.
+     *
+     * @param orderService the service responsible for managing order details
+     * @param orderStorage the service responsible for storing order data details
+     * @param loyaltyIndex the index keeping the running beverage counters of already paid orders
+     * @param paymentService the service responsible for payment calculations
+     * @param receiptPresenterFactory the factory creating the presenter of each receipt
+     */
+    public OrderController(IOrderService orderService,
+                           IOrderStorage orderStorage,
+                           ILoyaltyIndex loyaltyIndex,
+                           IPaymentService paymentService,
+                           Supplier<? extends ReceiptPresenter> receiptPresenterFactory) {
         this.orderService = orderService;
         this.orderStorage = orderStorage;
+        this.loyaltyIndex = loyaltyIndex;
         this.paymentService = paymentService;
-        this.receiptPresenter = receiptPresenter;
+        this.receiptPresenterFactory = receiptPresenterFactory;
     }
 
     /**
      * Processes a list of products as an order. This method manages the complete order flow:
      * calculating the subtotal, final total (after taxes and discounts), and presenting the receipt.
      *
+     * @param customerId the identifier of the customer whose loyalty counter is used
      * @param newProducts a list of products to be processed as an order
+     * @throws IllegalStateException if the controller was constructed without a receipt presenter
      */
     @Override
-    public void processOrder(List<Product> newProducts) {
-        List<Product> alreadyPaidProducts = new ArrayList<>();
+    public void processOrder(String customerId, List<Product> newProducts) {
+        if (receiptPresenterFactory == null) {
+            throw new IllegalStateException("No receipt presenter configured, use checkout");
+        }
+        Order order = checkout(customerId, newProducts);
+
+        makeReceipt(order, receiptPresenterFactory.get(), receiptContexts); // output to CLI
+    }
+
+    /**
+     * Prices, pays and stores a list of products as an order without presenting a receipt, e.g. for channels
+     * rendering the receipt of the returned order with a {@link org.epam.swissre.coffeeshop.receipt.ReceiptRenderer}.
+     *
+     * @param customerId the identifier of the customer whose loyalty counter is used
+     * @param newProducts a list of products to be processed as an order
+     * @return the processed order
+     */
+    public Order checkout(String customerId, List<Product> newProducts) {
+        if (customerId == null) {
+            throw new IllegalArgumentException("Customer id cannot be null");
+        }
+        Order order = priceAndClaim(orderService, loyaltyIndex, customerId, newProducts);
+
         try {
-            alreadyPaidProducts = orderStorage.retrieveOrders().stream()
-                    .filter(Objects::nonNull) // Ensure that the order is not null
-                    .flatMap(order -> order.getProducts() != null ? order.getProducts().stream() : Stream.empty()).toList(); // Safeguard against null product lists
-        } catch (IOException e) {
-            System.err.println("Failed to load paid orders. " + e.getMessage());
+            // Process the payment through the PaymentService
+            paymentService.processPayment(order);
+        } catch (RuntimeException e) {
+            loyaltyIndex.releaseOrders(customerId, List.of(order));
+            throw e;
+        }
+
+        storeAndCommit(orderStorage, loyaltyIndex, customerId, List.of(order));
+        return order;
+    }
+
+    /**
+     * Processes consecutive orders of a customer as one batch: the loyalty counter is read once, the orders are
+     * priced in sequence with the running counter and claimed together, paid with one call of the payment service
+     * and the paid orders are stored with a single write. No receipts are presented.
+     *
+     * @param customerId the identifier of the customer whose loyalty counter is used
+     * @param batch the product lists of the orders, in the order they were placed
+     * @return the processed orders, in the order of the batch
+     */
+    @Override
+    public List<Order> processOrders(String customerId, List<List<Product>> batch) {
+        if (customerId == null) {
+            throw new IllegalArgumentException("Customer id cannot be null");
         }
+        List<Order> orders = priceAndClaimAll(orderService, loyaltyIndex, customerId, batch);
 
-        // Process the order through the OrderService to create an Order object
-        Order order = orderService.processOrder(newProducts, alreadyPaidProducts);
+        try {
+            paymentService.processPayments(orders);
+        } catch (RuntimeException e) {
+            loyaltyIndex.releaseOrders(customerId, orders);
+            throw e;
+        }
 
-        // Process the payment through the PaymentService
-        paymentService.processPayment(order);
+        storeAndCommit(orderStorage, loyaltyIndex, customerId, orders);
+        return orders;
+    }
 
+    /**
+     * Prices an order and claims its beverages in the loyalty counter of the customer.
+     *
+     * @param orderService the service pricing the order
+     * @param loyaltyIndex the index keeping the running beverage counters
+     * @param customerId the identifier of the customer
+     * @param newProducts the products of the order
+     * @return the priced order
+     */
+    static Order priceAndClaim(IOrderService orderService, ILoyaltyIndex loyaltyIndex, String customerId, List<Product> newProducts) {
+        Order order;
         try {
-            if (order.getStatus() == OrderStatus.PAID) {
-                orderStorage.storeOrders(List.of(order));
-            }
+            // The running beverage counter replaces the replay of the whole order history. The beverages of the order
+            // are claimed atomically with the counter the order was priced with; if a concurrent checkout advanced the
+            // counter in the meantime, the order is priced again.
+            long alreadyPaidBeverageCount;
+            do {
+                alreadyPaidBeverageCount = loyaltyIndex.getBeverageCount(customerId);
+
+                // Process the order through the OrderService to create an Order object
+                order = orderService.processOrder(newProducts, alreadyPaidBeverageCount);
+            } while (!loyaltyIndex.compareAndAdvance(customerId, alreadyPaidBeverageCount, order));
         } catch (IOException e) {
-            System.err.println("Failed to store paid order. " + e.getMessage());
+            throw new RuntimeException("Failed to update loyalty index.", e);
         }
+        return order;
+    }
 
-        makeReceipt(order); // output to CLI
+    /**
+     * Prices consecutive orders with the running loyalty counter and claims their beverages. If a concurrent
+     * checkout advanced the counter, the orders not claimed yet are priced again with the current counter.
+     *
+     * @param orderService the service pricing the orders
+     * @param loyaltyIndex the index keeping the running beverage counters
+     * @param customerId the identifier of the customer
+     * @param batch the product lists of the orders
+     * @return the priced orders, in the order of the batch
+     */
+    static List<Order> priceAndClaimAll(IOrderService orderService, ILoyaltyIndex loyaltyIndex, String customerId,
+                                        List<List<Product>> batch) {
+        if (batch == null || batch.isEmpty()) {
+            throw new IllegalArgumentException("Order batch cannot be null or empty.");
+        }
+        List<Order> orders = new ArrayList<>(batch.size());
+        try {
+            while (orders.size() < batch.size()) {
+                long alreadyPaidBeverageCount = loyaltyIndex.getBeverageCount(customerId);
+                List<Order> priced = orderService.processOrders(batch.subList(orders.size(), batch.size()), alreadyPaidBeverageCount);
+                int claimed = loyaltyIndex.claimOrders(customerId, alreadyPaidBeverageCount, priced);
+                orders.addAll(priced.subList(0, claimed));
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to update loyalty index.", e);
+        }
+        return orders;
     }
 
-    private void makeReceipt(Order order) {
-        // Use the ReceiptPresenter to add each product line item to the receipt
-        for (Product product : order.getProducts()) {
-            receiptPresenter.addReceiptRow(new ReceiptRow(product.getName(), product.getPrice()));
+    /**
+     * Settles the loyalty claims of priced orders after their payment: the paid orders are stored and their claims
+     * committed, the claims of unpaid orders, and of paid orders which could not be stored, are released.
+     *
+     * @param orderStorage the storage of the paid orders
+     * @param loyaltyIndex the index keeping the running beverage counters
+     * @param customerId the identifier of the customer
+     * @param orders the priced orders after their payment
+     */
+    static void storeAndCommit(IOrderStorage orderStorage, ILoyaltyIndex loyaltyIndex, String customerId, List<Order> orders) {
+        List<Order> paidOrders = new ArrayList<>(orders.size());
+        List<Order> unpaidOrders = new ArrayList<>();
+        for (Order order : orders) {
+            (order.getStatus() == OrderStatus.PAID ? paidOrders : unpaidOrders).add(order);
+        }
+        if (!unpaidOrders.isEmpty()) {
+            loyaltyIndex.releaseOrders(customerId, unpaidOrders);
+        }
+        if (paidOrders.isEmpty()) {
+            return;
         }
+        try {
+            orderStorage.storeOrders(paidOrders);
+        } catch (IOException e) {
+            System.err.println("Failed to store paid orders. " + e.getMessage());
+            loyaltyIndex.releaseOrders(customerId, paidOrders);
+            return;
+        } catch (RuntimeException e) {
+            loyaltyIndex.releaseOrders(customerId, paidOrders);
+            throw e;
+        }
+        try {
+            loyaltyIndex.commitOrders(customerId, paidOrders);
+        } catch (IOException e) {
+            System.err.println("Failed to update loyalty index. " + e.getMessage());
+        }
+    }
 
-        receiptPresenter.setTotalCost(order.getTotalCost());
-        receiptPresenter.setTotalDiscount(order.getTotalDiscount());
+    /**
+     * Presents the receipt of an order in a context taken from the pool, which is reset and returned afterwards.
+     *
+     * @param order the paid order
+     * @param receiptPresenter the presenter of the receipt
+     * @param receiptContexts the pool of receipt contexts
+     */
+    static void makeReceipt(Order order, ReceiptPresenter receiptPresenter, ReceiptContextPool receiptContexts) {
+        ReceiptContext context = receiptContexts.acquire();
+        try {
+            // Add each product line item to the receipt of this order
+            for (int i = 0; i < order.getProductCount(); i++) {
+                Product product = order.getProduct(i);
+                context.addRow(product.getName(), product.getPriceInCents());
+            }
 
-        // Finally, present the receipt
-        receiptPresenter.presentReceipt();
+            context.setTotalCostInCents(order.getTotalCostInCents());
+            context.setTotalDiscountInCents(order.getTotalDiscountInCents());
+
+            // Finally, present the receipt
+            receiptPresenter.presentReceipt(context);
+        } finally {
+            receiptContexts.release(context);
+        }
     }
 
 }
@@ -0,0 +1,408 @@
+package org.epam.swissre.coffeeshop.controller.impl;
+
+import org.epam.swissre.coffeeshop.controller.IOrderController;
+import org.epam.swissre.coffeeshop.enums.OrderStatus;
+import org.epam.swissre.coffeeshop.model.Order;
+import org.epam.swissre.coffeeshop.model.Product;
+import org.epam.swissre.coffeeshop.receipt.ReceiptContextPool;
+import org.epam.swissre.coffeeshop.receipt.ReceiptPresenter;
+import org.epam.swissre.coffeeshop.service.ILoyaltyIndex;
+import org.epam.swissre.coffeeshop.service.IOrderService;
+import org.epam.swissre.coffeeshop.service.IOrderStorage;
+import org.epam.swissre.coffeeshop.service.IPaymentService;
+import org.epam.swissre.coffeeshop.util.RingBuffer;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Pipelined variant of the {@link OrderController}: the checkout is split into the stages pricing (including the
+ * bonuses and the loyalty counter), payment, persistence and receipt rendering, each running on its own worker
+ * thread and connected to the next stage by a bounded {@link RingBuffer}. Stages of consecutive orders overlap, so
+ * the throughput is bounded by the slowest stage instead of the sum of all stages.
+ *
+ * <p>When a stage falls behind, e.g. the persistence, its queue fills up, the previous stage waits for free slots
+ * and eventually {@link #submitOrder(String, List)} waits as well, so the number of orders in flight stays bounded.
+ * The persistence stage stores all orders queued at once in a single {@code storeOrders} call. The depth of the
+ * queue in front of each stage is available from {@link #getQueueDepth(Stage)}.</p>
+ */
+public class PipelinedOrderController implements IOrderController, Closeable {
+
+    /**
+     * The stages of the pipeline, in processing order.
+     */
+    public enum Stage {
+        PRICING, PAYMENT, PERSISTENCE, RECEIPT
+    }
+
+    private static final int DEFAULT_QUEUE_CAPACITY = 1024;
+    private static final int MAX_PERSISTENCE_BATCH = 256;
+    private static final int POOLED_RECEIPT_CONTEXTS = 4; // the receipt stage presents one receipt at a time
+
+    private final IOrderService orderService;
+    private final IOrderStorage orderStorage;
+    private final ILoyaltyIndex loyaltyIndex;
+    private final IPaymentService paymentService;
+    private final Supplier<? extends ReceiptPresenter> receiptPresenterFactory;
+    private final OrderController batchController;
+    private final ReceiptContextPool receiptContexts = new ReceiptContextPool(POOLED_RECEIPT_CONTEXTS);
+
+    private final Map<Stage, RingBuffer<Job>> queues = new EnumMap<>(Stage.class);
+    private final Map<Stage, AtomicLong> processed = new EnumMap<>(Stage.class);
+    private final List<Thread> workers = new ArrayList<>();
+    private final AtomicInteger activeSubmitters = new AtomicInteger();
+    private volatile boolean closed;
+
+    /**
+     * Constructs a pipeline with queues of 1024 orders in front of every stage and starts its workers.
+     *
+     * @param orderService the service responsible for managing order details
+     * @param orderStorage the service responsible for storing order data details
+     * @param loyaltyIndex the index keeping the running beverage counters of already paid orders
+     * @param paymentService the service responsible for payment calculations
+     * @param receiptPresenterFactory the factory creating the presenter of each receipt
+     */
+    public PipelinedOrderController(IOrderService orderService,
+                                    IOrderStorage orderStorage,
+                                    ILoyaltyIndex loyaltyIndex,
+                                    IPaymentService paymentService,
+                                    Supplier<? extends ReceiptPresenter> receiptPresenterFactory) {
+        this(orderService, orderStorage, loyaltyIndex, paymentService, receiptPresenterFactory, DEFAULT_QUEUE_CAPACITY);
+    }
+
+    /**
+     * Constructs a pipeline with queues of the given capacity in front of every stage and starts its workers.
+     *
+     * @param orderService the service responsible for managing order details
+     * @param orderStorage the service responsible for storing order data details
+     * @param loyaltyIndex the index keeping the running beverage counters of already paid orders
+     * @param paymentService the service responsible for payment calculations
+     * @param receiptPresenterFactory the factory creating the presenter of each receipt
+     * @param queueCapacity the number of orders each queue can hold, rounded up to a power of two
+     * @throws IllegalArgumentException if the queue capacity is not positive
+     */
+    public PipelinedOrderController(IOrderService orderService,
+                                    IOrderStorage orderStorage,
+                                    ILoyaltyIndex loyaltyIndex,
+                                    IPaymentService paymentService,
+                                    Supplier<? extends ReceiptPresenter> receiptPresenterFactory,
+                                    int queueCapacity) {
+        this.orderService = orderService;
+        this.orderStorage = orderStorage;
+        this.loyaltyIndex = loyaltyIndex;
+        this.paymentService = paymentService;
+        this.receiptPresenterFactory = receiptPresenterFactory;
+        this.batchController = new OrderController(orderService, orderStorage, loyaltyIndex, paymentService, receiptPresenterFactory);
+        for (Stage stage : Stage.values()) {
+            queues.put(stage, new RingBuffer<>(queueCapacity));
+            processed.put(stage, new AtomicLong());
+        }
+        for (Stage stage : Stage.values()) {
+            Thread worker = new Thread(() -> runStage(stage), "order-pipeline-" + stage.name().toLowerCase());
+            worker.setDaemon(true);
+            workers.add(worker);
+            worker.start();
+        }
+    }
+
+    /**
+     * Processes the products of a customer as an order and waits until its receipt is presented.
+     *
+     * @param customerId the identifier of the customer
+     * @param products the products to be processed as an order
+     */
+    @Override
+    public void processOrder(String customerId, List<Product> products) {
+        try {
+            submitOrder(customerId, products).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Processes consecutive orders of a customer as one batch on the calling thread, bypassing the stages; the
+     * batch is priced, paid and stored as a whole as by {@link OrderController#processOrders(String, List)}.
+     *
+     * @param customerId the identifier of the customer
+     * @param batch the product lists of the orders, in the order they were placed
+     * @return the processed orders, in the order of the batch
+     */
+    @Override
+    public List<Order> processOrders(String customerId, List<List<Product>> batch) {
+        return batchController.processOrders(customerId, batch);
+    }
+
+    /**
+     * Queues the products of a customer as an order, waiting while the pricing queue is full.
+     *
+     * @param customerId the identifier of the customer
+     * @param products the products to be processed as an order
+     * @return a future completing with the order once its receipt is presented
+     * @throws IllegalStateException if the pipeline is closed
+     */
+    public CompletableFuture<Order> submitOrder(String customerId, List<Product> products) {
+        if (customerId == null) {
+            throw new IllegalArgumentException("Customer id cannot be null");
+        }
+        Job job = new Job(customerId, products);
+        activeSubmitters.incrementAndGet();
+        try {
+            if (closed) {
+                throw new IllegalStateException("Order pipeline is closed");
+            }
+            queues.get(Stage.PRICING).put(job);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            job.future.completeExceptionally(e);
+        } finally {
+            activeSubmitters.decrementAndGet();
+        }
+        return job.future;
+    }
+
+    /**
+     * Returns the number of orders waiting in the queue in front of a stage.
+     *
+     * @param stage the stage.
+     * @return the queue depth, a snapshot which may be outdated when returned.
+     */
+    public int getQueueDepth(Stage stage) {
+        return queues.get(stage).size();
+    }
+
+    /**
+     * Returns the number of orders a stage has completed, including orders which failed in the stage.
+     *
+     * @param stage the stage.
+     * @return the number of processed orders.
+     */
+    public long getProcessedCount(Stage stage) {
+        return processed.get(stage).get();
+    }
+
+    /**
+     * Stops accepting orders and waits until all queued orders have passed the pipeline.
+     *
+     * @throws IOException if interrupted while waiting for the workers.
+     */
+    @Override
+    public void close() throws IOException {
+        closed = true;
+        try {
+            for (Thread worker : workers) {
+                worker.join();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while draining the order pipeline.", e);
+        }
+    }
+
+    private void runStage(Stage stage) {
+        RingBuffer<Job> queue = queues.get(stage);
+        int idleAttempts = 0;
+        try {
+            while (true) {
+                Job job = queue.poll();
+                if (job == null) {
+                    if (isUpstreamDone(stage) && queue.isEmpty()) {
+                        return;
+                    }
+                    RingBuffer.idle(idleAttempts++);
+                    continue;
+                }
+                idleAttempts = 0;
+                try {
+                    if (stage == Stage.PERSISTENCE) {
+                        persist(job, queue);
+                    } else {
+                        process(stage, job);
+                    }
+                } catch (RuntimeException e) {
+                    // The worker must survive, otherwise the stages in front of it wait for free slots forever
+                    System.err.println("Order pipeline stage " + stage + " failed: " + e.getMessage());
+                    job.future.completeExceptionally(e);
+                }
+            }
+        } catch (InterruptedException e) {
+            // The stage stops, but its queued orders and those still arriving must not leave their callers waiting
+            failQueuedJobs(stage, queue, e);
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Completes every job reaching an interrupted stage exceptionally, releasing the loyalty claims of orders
+     * which are not stored yet, until the stages in front of it are done.
+     */
+    private void failQueuedJobs(Stage stage, RingBuffer<Job> queue, InterruptedException cause) {
+        int idleAttempts = 0;
+        while (true) {
+            Job job = queue.poll();
+            if (job != null) {
+                idleAttempts = 0;
+                processed.get(stage).incrementAndGet();
+                failJob(stage, job, cause);
+            } else if (isUpstreamDone(stage) && queue.isEmpty()) {
+                return;
+            } else {
+                try {
+                    RingBuffer.idle(idleAttempts++);
+                } catch (InterruptedException e) {
+                    // Already failing; keep going until the upstream stages are done
+                }
+            }
+        }
+    }
+
+    /**
+     * Completes a job exceptionally that is taken out of the pipeline in front of the given stage.
+     */
+    private void failJob(Stage stage, Job job, Throwable cause) {
+        if (stage == Stage.PAYMENT || stage == Stage.PERSISTENCE) {
+            loyaltyIndex.releaseOrders(job.customerId, List.of(job.order));
+        }
+        job.future.completeExceptionally(cause);
+    }
+
+    private boolean isUpstreamDone(Stage stage) {
+        if (stage == Stage.PRICING) {
+            return closed && activeSubmitters.get() == 0;
+        }
+        return !workers.get(stage.ordinal() - 1).isAlive();
+    }
+
+    private void process(Stage stage, Job job) throws InterruptedException {
+        try {
+            switch (stage) {
+                case PRICING -> job.order = OrderController.priceAndClaim(orderService, loyaltyIndex, job.customerId, job.products);
+                case PAYMENT -> processPayment(job);
+                case RECEIPT -> OrderController.makeReceipt(job.order, receiptPresenterFactory.get(), receiptContexts);
+                default -> throw new IllegalStateException("Unexpected stage " + stage);
+            }
+        } catch (RuntimeException e) {
+            processed.get(stage).incrementAndGet();
+            job.future.completeExceptionally(e);
+            return;
+        }
+        processed.get(stage).incrementAndGet();
+        if (stage == Stage.RECEIPT) {
+            job.future.complete(job.order);
+            return;
+        }
+        Stage next = Stage.values()[stage.ordinal() + 1];
+        try {
+            queues.get(next).put(job);
+        } catch (InterruptedException e) {
+            failJob(next, job, e);
+            throw e;
+        }
+    }
+
+    /**
+     * Pays the order of a job; the loyalty claim of an order whose payment fails is released.
+     */
+    private void processPayment(Job job) {
+        try {
+            paymentService.processPayment(job.order);
+        } catch (RuntimeException e) {
+            loyaltyIndex.releaseOrders(job.customerId, List.of(job.order));
+            throw e;
+        }
+    }
+
+    /**
+     * Stores the paid orders of the given job and of all jobs queued behind it in one call.
+     */
+    private void persist(Job first, RingBuffer<Job> queue) throws InterruptedException {
+        List<Job> batch = new ArrayList<>();
+        batch.add(first);
+        Job job;
+        while (batch.size() < MAX_PERSISTENCE_BATCH && (job = queue.poll()) != null) {
+            batch.add(job);
+        }
+        List<Order> paidOrders = new ArrayList<>(batch.size());
+        Map<String, List<Order>> paidByCustomer = new LinkedHashMap<>();
+        Map<String, List<Order>> unpaidByCustomer = new LinkedHashMap<>();
+        for (Job paid : batch) {
+            boolean isPaid = paid.order.getStatus() == OrderStatus.PAID;
+            if (isPaid) {
+                paidOrders.add(paid.order);
+            }
+            (isPaid ? paidByCustomer : unpaidByCustomer)
+                    .computeIfAbsent(paid.customerId, id -> new ArrayList<>()).add(paid.order);
+        }
+        unpaidByCustomer.forEach(loyaltyIndex::releaseOrders);
+        try {
+            if (!paidOrders.isEmpty()) {
+                orderStorage.storeOrders(paidOrders);
+            }
+            commitClaims(paidByCustomer);
+        } catch (IOException e) {
+            System.err.println("Failed to store paid orders. " + e.getMessage());
+            paidByCustomer.forEach(loyaltyIndex::releaseOrders);
+        } catch (RuntimeException e) {
+            // E.g. a closed storage; the orders of the batch were not stored
+            paidByCustomer.forEach(loyaltyIndex::releaseOrders);
+            processed.get(Stage.PERSISTENCE).addAndGet(batch.size());
+            for (Job failed : batch) {
+                failed.future.completeExceptionally(e);
+            }
+            return;
+        }
+        processed.get(Stage.PERSISTENCE).addAndGet(batch.size());
+        RingBuffer<Job> receipts = queues.get(Stage.RECEIPT);
+        for (int i = 0; i < batch.size(); i++) {
+            try {
+                receipts.put(batch.get(i));
+            } catch (InterruptedException e) {
+                for (Job stored : batch.subList(i, batch.size())) {
+                    failJob(Stage.RECEIPT, stored, e);
+                }
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Commits the loyalty claims of the stored orders, per customer.
+     */
+    private void commitClaims(Map<String, List<Order>> storedByCustomer) {
+        for (Map.Entry<String, List<Order>> stored : storedByCustomer.entrySet()) {
+            try {
+                loyaltyIndex.commitOrders(stored.getKey(), stored.getValue());
+            } catch (IOException e) {
+                System.err.println("Failed to update loyalty index. " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * An order travelling through the pipeline; each field is only written by one stage before handing it on.
+     */
+    private static final class Job {
+        private final String customerId;
+        private final List<Product> products;
+        private final CompletableFuture<Order> future = new CompletableFuture<>();
+        private Order order;
+
+        Job(String customerId, List<Product> products) {
+            this.customerId = customerId;
+            this.products = products;
+        }
+    }
+}
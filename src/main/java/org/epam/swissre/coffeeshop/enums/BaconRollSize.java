@@ -1,19 +1,19 @@
 package org.epam.swissre.coffeeshop.enums;
 
 public enum BaconRollSize {
-    STANDARD("Standard Bacon Roll", 4.53);  // Standard size
+    STANDARD("Standard Bacon Roll", 453);  // Standard size
 
     private final String displayName;
-    private final double priceInCHF;
+    private final long priceInCents;
 
     /**
      * Constructor for BaconRollSize enum.
      * @param displayName The human-readable name for the bacon roll size.
-     * @param priceInCHF The price in Swiss Francs for this bacon roll size.
+     * @param priceInCents The price in cents (1/100 CHF) for this bacon roll size.
      */
-    BaconRollSize(String displayName, double priceInCHF) {
+    BaconRollSize(String displayName, long priceInCents) {
         this.displayName = displayName;
-        this.priceInCHF = priceInCHF;
+        this.priceInCents = priceInCents;
     }
 
     /**
@@ -25,10 +25,10 @@ public enum BaconRollSize {
     }
 
     /**
-     * Retrieves the price of the bacon roll size in Swiss Francs.
-     * @return the price in CHF.
+     * Retrieves the price of the bacon roll size in cents.
+     * @return the price in cents (1/100 CHF).
      */
-    public double getPriceInCHF() {
-        return priceInCHF;
+    public long getPriceInCents() {
+        return priceInCents;
     }
 }
\ No newline at end of file
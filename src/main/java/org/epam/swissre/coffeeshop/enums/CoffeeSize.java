@@ -1,21 +1,21 @@
 package org.epam.swissre.coffeeshop.enums;
 
 public enum CoffeeSize {
-    SMALL("Small coffee", 2.55),    // Small size coffee
-    MEDIUM("Medium coffee", 3.05),  // Medium size coffee
-    LARGE("Large coffee", 3.55);    // Large size coffee
+    SMALL("Small coffee", 255),    // Small size coffee
+    MEDIUM("Medium coffee", 305),  // Medium size coffee
+    LARGE("Large coffee", 355);    // Large size coffee
 
     private final String displayName; // Descriptive name for the coffee size
-    private final double priceInCHF;  // Price in CHF for the coffee size
+    private final long priceInCents;  // Price in cents (1/100 CHF) for the coffee size
 
     /**
      * Constructor for CoffeeSize enum.
      * @param displayName The human-readable name for the coffee size.
-     * @param priceInCHF The price in Swiss Francs for this coffee size.
+     * @param priceInCents The price in cents (1/100 CHF) for this coffee size.
      */
-    CoffeeSize(String displayName, double priceInCHF) {
+    CoffeeSize(String displayName, long priceInCents) {
         this.displayName = displayName;
-        this.priceInCHF = priceInCHF;
+        this.priceInCents = priceInCents;
     }
 
     /**
@@ -27,10 +27,10 @@ public enum CoffeeSize {
     }
 
     /**
-     * Retrieves the price of the coffee size in Swiss Francs.
-     * @return the price in CHF.
+     * Retrieves the price of the coffee size in cents.
+     * @return the price in cents (1/100 CHF).
      */
-    public double getPriceInCHF() {
-        return priceInCHF;
+    public long getPriceInCents() {
+        return priceInCents;
     }
 }
\ No newline at end of file
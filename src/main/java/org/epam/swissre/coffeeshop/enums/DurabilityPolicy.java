@@ -0,0 +1,10 @@
+package org.epam.swissre.coffeeshop.enums;
+
+/**
+ * Defines when appended orders are forced from the OS page cache to the storage device.
+ */
+public enum DurabilityPolicy {
+    NONE,       // Never fsync, rely on the OS to flush the page cache (fastest, may lose recent orders on power loss).
+    PER_ORDER,  // Fsync after every single order record.
+    PER_BATCH   // Fsync once after all orders of a storeOrders call have been written.
+}
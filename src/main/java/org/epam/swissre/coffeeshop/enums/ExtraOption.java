@@ -1,21 +1,21 @@
 package org.epam.swissre.coffeeshop.enums;
 
 public enum ExtraOption {
-    EXTRA_MILK("Extra milk", 0.32),
-    FOAMED_MILK("Foamed milk", 0.51),
-    SPECIAL_ROAST_COFFEE("Special roast coffee", 0.95);
+    EXTRA_MILK("Extra milk", 32),
+    FOAMED_MILK("Foamed milk", 51),
+    SPECIAL_ROAST_COFFEE("Special roast coffee", 95);
 
     private final String displayName;
-    private final double priceInCHF;
+    private final long priceInCents;
 
     /**
      * Constructor for the ExtraOption enum.
      * @param displayName The human-readable name for the extra item.
-     * @param priceInCHF The price in Swiss Francs for this extra item.
+     * @param priceInCents The price in cents (1/100 CHF) for this extra item.
      */
-    ExtraOption(String displayName, double priceInCHF) {
+    ExtraOption(String displayName, long priceInCents) {
         this.displayName = displayName;
-        this.priceInCHF = priceInCHF;
+        this.priceInCents = priceInCents;
     }
 
     /**
@@ -27,10 +27,10 @@ public enum ExtraOption {
     }
 
     /**
-     * Retrieves the price of the extra option in Swiss Francs.
-     * @return the price in CHF.
+     * Retrieves the price of the extra option in cents.
+     * @return the price in cents (1/100 CHF).
      */
-    public double getPriceInCHF() {
-        return priceInCHF;
+    public long getPriceInCents() {
+        return priceInCents;
     }
 }
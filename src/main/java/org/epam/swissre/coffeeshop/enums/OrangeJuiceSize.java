@@ -1,19 +1,19 @@
 package org.epam.swissre.coffeeshop.enums;
 
 public enum OrangeJuiceSize {
-    SMALL("Fresh Orange Juice (0.25l)", 3.95);  // Example with one size, expandable with more sizes and prices
+    SMALL("Fresh Orange Juice (0.25l)", 395);  // Example with one size, expandable with more sizes and prices
 
     private final String displayName; // Descriptive name for the orange juice size
-    private final double priceInCHF;  // Price in CHF for the orange juice size
+    private final long priceInCents;  // Price in cents (1/100 CHF) for the orange juice size
 
     /**
      * Constructor for the OrangeJuiceSize enum.
      * @param displayName The human-readable name for the orange juice size.
-     * @param priceInCHF The price in Swiss Francs for this orange juice size.
+     * @param priceInCents The price in cents (1/100 CHF) for this orange juice size.
      */
-    OrangeJuiceSize(String displayName, double priceInCHF) {
+    OrangeJuiceSize(String displayName, long priceInCents) {
         this.displayName = displayName;
-        this.priceInCHF = priceInCHF;
+        this.priceInCents = priceInCents;
     }
 
     /**
@@ -25,10 +25,10 @@ public enum OrangeJuiceSize {
     }
 
     /**
-     * Retrieves the price of the orange juice size in Swiss Francs.
-     * @return the price in CHF.
+     * Retrieves the price of the orange juice size in cents.
+     * @return the price in cents (1/100 CHF).
      */
-    public double getPriceInCHF() {
-        return priceInCHF;
+    public long getPriceInCents() {
+        return priceInCents;
     }
 }
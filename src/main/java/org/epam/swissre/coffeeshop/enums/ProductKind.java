@@ -0,0 +1,32 @@
+package org.epam.swissre.coffeeshop.enums;
+
+/**
+ * Defines the kinds (categories) of products. A product carries the kinds it belongs to as a compact bitmask,
+ * computed once at construction, so classification in hot paths is a bitwise check instead of a type check.
+ * The ordinal of a kind can be used to index counting arrays.
+ */
+public enum ProductKind {
+    BEVERAGE,   // Drinks, counted by the loyalty programme and the only products kept in the CSV order log.
+    COFFEE,     // Coffees, which can be combined with extras.
+    SNACK,      // Food like the bacon roll.
+    EXTRA;      // Extras added to a coffee.
+
+    private final int mask = 1 << ordinal(); // Bit of this kind in a kind mask
+
+    /**
+     * Retrieves the bit of this kind in a kind mask.
+     * @return the mask with only the bit of this kind set.
+     */
+    public int getMask() {
+        return mask;
+    }
+
+    /**
+     * Checks whether this kind is contained in a kind mask.
+     * @param kindMask the kind mask of a product.
+     * @return true if the bit of this kind is set.
+     */
+    public boolean isIn(int kindMask) {
+        return (kindMask & mask) != 0;
+    }
+}
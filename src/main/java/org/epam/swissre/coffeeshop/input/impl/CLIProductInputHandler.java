@@ -4,10 +4,13 @@ import org.epam.swissre.coffeeshop.enums.BaconRollSize;
 import org.epam.swissre.coffeeshop.enums.CoffeeSize;
 import org.epam.swissre.coffeeshop.enums.ExtraOption;
 import org.epam.swissre.coffeeshop.enums.OrangeJuiceSize;
+import org.epam.swissre.coffeeshop.enums.ProductKind;
 import org.epam.swissre.coffeeshop.input.ProductInput;
 import org.epam.swissre.coffeeshop.input.ProductInputHandler;
-import org.epam.swissre.coffeeshop.model.*;
+import org.epam.swissre.coffeeshop.model.Product;
+import org.epam.swissre.coffeeshop.model.ProductCatalog;
 import org.epam.swissre.coffeeshop.util.FormatUtils;
+import org.epam.swissre.coffeeshop.util.MoneyUtils;
 
 import java.util.InputMismatchException;
 import java.util.List;
@@ -19,8 +22,11 @@ import java.util.Scanner;
  * products like coffee and add them to a product list managed by a {@link ProductInput} instance.
  */
 public class CLIProductInputHandler implements ProductInputHandler {
+    private static final String NL = System.lineSeparator();
+
     private final Scanner scanner;
     private final ProductInput productInput;
+    private final StringBuilder orderSummary = new StringBuilder(256);
 
     /**
      * Creates an instance of CLIProductInputHandler with the specified product input handler.
@@ -51,13 +57,13 @@ public class CLIProductInputHandler implements ProductInputHandler {
                     orderCoffee();
                     break;
                 case 2:
-                    System.out.printf("You chose Orange Juice 0.25l (%.2f CHF)%n", OrangeJuiceSize.SMALL.getPriceInCHF());
-                    item = new OrangeJuice(OrangeJuiceSize.SMALL);
+                    System.out.printf("You chose Orange Juice 0.25l (%s CHF)%n", MoneyUtils.format(OrangeJuiceSize.SMALL.getPriceInCents()));
+                    item = ProductCatalog.orangeJuice(OrangeJuiceSize.SMALL);
                     productInput.addProduct(item);
                     break;
                 case 3:
-                    System.out.printf("You chose Bacon Roll (%.2f CHF)%n", BaconRollSize.STANDARD.getPriceInCHF());
-                    item = new BaconRoll(BaconRollSize.STANDARD);
+                    System.out.printf("You chose Bacon Roll (%s CHF)%n", MoneyUtils.format(BaconRollSize.STANDARD.getPriceInCents()));
+                    item = ProductCatalog.baconRoll(BaconRollSize.STANDARD);
                     productInput.addProduct(item);
                     break;
                 case 4:
@@ -106,9 +112,9 @@ public class CLIProductInputHandler implements ProductInputHandler {
      */
     protected void orderCoffee() {
         System.out.println("\nYou chose Coffee. What size?");
-        System.out.printf("1 - Small (%.2f CHF)%n", CoffeeSize.SMALL.getPriceInCHF());
-        System.out.printf("2 - Medium (%.2f CHF)%n", CoffeeSize.MEDIUM.getPriceInCHF());
-        System.out.printf("3 - Large (%.2f CHF)%n", CoffeeSize.LARGE.getPriceInCHF());
+        System.out.printf("1 - Small (%s CHF)%n", MoneyUtils.format(CoffeeSize.SMALL.getPriceInCents()));
+        System.out.printf("2 - Medium (%s CHF)%n", MoneyUtils.format(CoffeeSize.MEDIUM.getPriceInCents()));
+        System.out.printf("3 - Large (%s CHF)%n", MoneyUtils.format(CoffeeSize.LARGE.getPriceInCents()));
         System.out.print("Choose an option: ");
 
         int size = getIntInputFromCLI("Please enter a number between 1 and 3.");
@@ -116,13 +122,13 @@ public class CLIProductInputHandler implements ProductInputHandler {
         Product coffee;
         switch (size) {
             case 1:
-                coffee = new Coffee(CoffeeSize.SMALL);
+                coffee = ProductCatalog.coffee(CoffeeSize.SMALL);
                 break;
             case 2:
-                coffee = new Coffee(CoffeeSize.MEDIUM);
+                coffee = ProductCatalog.coffee(CoffeeSize.MEDIUM);
                 break;
             case 3:
-                coffee = new Coffee(CoffeeSize.LARGE);
+                coffee = ProductCatalog.coffee(CoffeeSize.LARGE);
                 break;
             default:
                 System.out.println("Invalid option, please select a valid size.");
@@ -140,9 +146,9 @@ public class CLIProductInputHandler implements ProductInputHandler {
         }
 
         System.out.println("\nYou chose Extra. What is your option?");
-        System.out.printf("1 - Extra milk (%.2f CHF)%n", ExtraOption.EXTRA_MILK.getPriceInCHF());
-        System.out.printf("2 - Foamed milk (%.2f CHF)%n", ExtraOption.FOAMED_MILK.getPriceInCHF());
-        System.out.printf("3 - Special roast coffee (%.2f CHF)%n", ExtraOption.SPECIAL_ROAST_COFFEE.getPriceInCHF());
+        System.out.printf("1 - Extra milk (%s CHF)%n", MoneyUtils.format(ExtraOption.EXTRA_MILK.getPriceInCents()));
+        System.out.printf("2 - Foamed milk (%s CHF)%n", MoneyUtils.format(ExtraOption.FOAMED_MILK.getPriceInCents()));
+        System.out.printf("3 - Special roast coffee (%s CHF)%n", MoneyUtils.format(ExtraOption.SPECIAL_ROAST_COFFEE.getPriceInCents()));
         System.out.print("Choose an option: ");
 
         int size = getIntInputFromCLI("Please enter a number between 1 and 3.");
@@ -150,13 +156,13 @@ public class CLIProductInputHandler implements ProductInputHandler {
         Product extra;
         switch (size) {
             case 1:
-                extra = new ExtraItem(ExtraOption.EXTRA_MILK);
+                extra = ProductCatalog.extra(ExtraOption.EXTRA_MILK);
                 break;
             case 2:
-                extra = new ExtraItem(ExtraOption.FOAMED_MILK);
+                extra = ProductCatalog.extra(ExtraOption.FOAMED_MILK);
                 break;
             case 3:
-                extra = new ExtraItem(ExtraOption.SPECIAL_ROAST_COFFEE);
+                extra = ProductCatalog.extra(ExtraOption.SPECIAL_ROAST_COFFEE);
                 break;
             default:
                 System.out.println("Invalid option, please select a valid size.");
@@ -167,7 +173,12 @@ public class CLIProductInputHandler implements ProductInputHandler {
     }
 
     private boolean hasCoffee(List<Product> products) {
-        return products.stream().anyMatch(i -> i instanceof Coffee);
+        for (Product product : products) {
+            if (product.isKind(ProductKind.COFFEE)) {
+                return true;
+            }
+        }
+        return false;
     }
 
     protected void reviewOrder() {
@@ -179,16 +190,24 @@ public class CLIProductInputHandler implements ProductInputHandler {
         }
 
         // Fetch and display all products added during this session (for demonstration purposes)
-        System.out.println("\nHere's a summary of your order:");
+        // The summary is written into a reused builder and printed at once
+        StringBuilder summary = orderSummary;
+        summary.setLength(0);
+        summary.append("\nHere's a summary of your order:").append(NL);
         int productCount = 0;
+        long totalCostInCents = 0;
         for (Product product : productInput.getProducts()) {
             productCount ++;
-            System.out.println(FormatUtils.formatWithDotLeaders(productCount + ". " + product.getName(), product.getPrice()));
+            int lineStart = summary.length();
+            summary.append(productCount).append(". ").append(product.getName());
+            FormatUtils.appendDotLeaders(summary, lineStart, product.getPriceInCents()).append(NL);
+            totalCostInCents += product.getPriceInCents();
         }
-        double totalCost = productInput.getProducts().stream().mapToDouble(Product::getPrice).sum();
 
-        System.out.printf("Total cost (without discount): %.2f CHF:", totalCost);
-        System.out.println("\nPlease confirm your order (yes/no):");
+        summary.append("Total cost (without discount): ");
+        MoneyUtils.appendTo(summary, totalCostInCents).append(" CHF:");
+        summary.append("\nPlease confirm your order (yes/no):").append(NL);
+        System.out.print(summary);
 
         // Decision-making based on user input.
         while (!isValidInput) {
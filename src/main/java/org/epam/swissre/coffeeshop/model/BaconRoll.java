@@ -1,18 +1,20 @@
 package org.epam.swissre.coffeeshop.model;
 
 import org.epam.swissre.coffeeshop.enums.BaconRollSize;
+import org.epam.swissre.coffeeshop.enums.ProductKind;
 
 /**
  * Represents a BaconRoll product, extending the abstract Product class.
  * Includes additional properties such as size.
  */
 public class BaconRoll extends Product {
+    private static final int KIND_MASK = ProductKind.SNACK.getMask();
 
     /**
      * Constructs a new BaconRoll instance including size information.
      * @param size the size of the bacon roll (e.g., "Standard")
      */
     public BaconRoll(BaconRollSize size) {
-        super(size.getDisplayName(), size.getPriceInCHF());
+        super(size.getDisplayName(), size.getPriceInCents(), KIND_MASK);
     }
 }
\ No newline at end of file
@@ -1,12 +1,15 @@
 package org.epam.swissre.coffeeshop.model;
 
 import org.epam.swissre.coffeeshop.enums.CoffeeSize;
+import org.epam.swissre.coffeeshop.enums.ProductKind;
 
 /**
  * Represents a Coffee product, extending the abstract Product class.
  * Includes additional properties such as size and a list of extras.
  */
 public class Coffee extends Product implements BeverageProduct {
+    private static final int KIND_MASK = ProductKind.BEVERAGE.getMask() | ProductKind.COFFEE.getMask();
+
     // TODO: private List<ExtraItem> extras; // Consider adding extras to the Coffee class  if needed, rather than adding Extra item directly to the Order List<Product>
 
     /**
@@ -14,6 +17,6 @@ public class Coffee extends Product implements BeverageProduct {
      * @param size the size of the coffee (e.g., "Small", "Medium", "Large")
      */
     public Coffee(CoffeeSize size) {
-        super(size.getDisplayName(), size.getPriceInCHF());
+        super(size.getDisplayName(), size.getPriceInCents(), KIND_MASK);
     }
 }
\ No newline at end of file
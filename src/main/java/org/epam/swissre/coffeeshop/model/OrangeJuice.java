@@ -1,18 +1,20 @@
 package org.epam.swissre.coffeeshop.model;
 
 import org.epam.swissre.coffeeshop.enums.OrangeJuiceSize;
+import org.epam.swissre.coffeeshop.enums.ProductKind;
 
 /**
  * Represents a OrangeJuice product, extending the abstract Product class.
  * Includes additional properties such as size.
  */
 public class OrangeJuice extends Product implements BeverageProduct {
+    private static final int KIND_MASK = ProductKind.BEVERAGE.getMask();
 
     /**
      * Constructs a new OrangeJuice instance including size information.
      * @param size the size of the orange juice (e.g., "Small")
      */
     public OrangeJuice(OrangeJuiceSize size) {
-        super(size.getDisplayName(), size.getPriceInCHF());
+        super(size.getDisplayName(), size.getPriceInCents(), KIND_MASK);
     }
 }
\ No newline at end of file
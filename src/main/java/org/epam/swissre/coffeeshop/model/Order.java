@@ -1,25 +1,32 @@
 package org.epam.swissre.coffeeshop.model;
 
 import org.epam.swissre.coffeeshop.enums.OrderStatus;
+import org.epam.swissre.coffeeshop.enums.ProductKind;
 
 import java.io.Serial;
 import java.io.Serializable;
-import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 /**
  * Represents an order in the coffee shop, which can contain multiple products.
  * This class manages the collection of products, and the various states and financial
  * attributes of an order, such as total cost and discounts applied.
+ *
+ * <p>The subtotal and the beverage count are running totals updated with every added product, so building
+ * an order is linear in its size. The products are exposed as a read-only view which is not copied.</p>
  */
 public class Order implements Serializable {
     @Serial
     private static final long serialVersionUID = 1L;
     private final List<Product> products;
-    private List<Product> alreadyPaidProducts;
+    private transient List<Product> productsView;
+    private long subtotalInCents;
+    private int beverageCount;
+    private long alreadyPaidBeverageCount;
     private OrderStatus status; // Assuming an enum exists for OrderStatus
-    private double totalCost;
-    private double totalDiscount;
+    private long totalCostInCents;
+    private long totalDiscountInCents;
 
     /**
      * Constructs a new Order with a specified list of products.
@@ -32,11 +39,13 @@ public class Order implements Serializable {
             throw new IllegalArgumentException("Products cannot be null");
         }
         this.products = products;
-        this.alreadyPaidProducts = new ArrayList<>();
+        this.alreadyPaidBeverageCount = 0;
         this.status = OrderStatus.OPEN;
-        this.totalCost = 0.0;
-        this.totalDiscount = 0.0;
-        recalculateTotalCost();
+        this.totalCostInCents = 0;
+        this.totalDiscountInCents = 0;
+        for (Product product : products) {
+            addToTotals(product);
+        }
     }
 
     /**
@@ -50,27 +59,79 @@ public class Order implements Serializable {
             throw new IllegalArgumentException("Product cannot be null");
         }
         products.add(product);
-        recalculateTotalCost();
+        addToTotals(product);
     }
 
     /**
      * Provides the list of products in this order.
      *
-     * @return An unmodifiable list of the products.
+     * @return An unmodifiable view of the products, reflecting products added later.
      */
     public List<Product> getProducts() {
-        return List.copyOf(products);
+        if (productsView == null) {
+            productsView = Collections.unmodifiableList(products);
+        }
+        return productsView;
+    }
+
+    /**
+     * Retrieves the number of products in this order.
+     *
+     * @return The number of products.
+     */
+    public int getProductCount() {
+        return products.size();
     }
 
-    public void setAlreadyPaidProducts(List<Product> alreadyPaidProducts) {
-        if (alreadyPaidProducts == null) {
-            throw new IllegalArgumentException("Product list cannot be null");
+    /**
+     * Retrieves a product of this order by its position.
+     *
+     * @param index The position of the product, in the order the products were added.
+     * @return The product at the given position.
+     * @throws IndexOutOfBoundsException if the index is out of range.
+     */
+    public Product getProduct(int index) {
+        return products.get(index);
+    }
+
+    /**
+     * Retrieves the number of beverages in this order.
+     *
+     * @return The number of products which are beverages.
+     */
+    public int getBeverageCount() {
+        return beverageCount;
+    }
+
+    /**
+     * Retrieves the sum of the prices of all products, before any discount.
+     *
+     * @return The subtotal in cents (1/100 CHF).
+     */
+    public long getSubtotalInCents() {
+        return subtotalInCents;
+    }
+
+    /**
+     * Sets the number of beverages the customer has paid in previous orders.
+     *
+     * @param alreadyPaidBeverageCount The running beverage counter before this order.
+     * @throws IllegalArgumentException if the count is negative.
+     */
+    public void setAlreadyPaidBeverageCount(long alreadyPaidBeverageCount) {
+        if (alreadyPaidBeverageCount < 0) {
+            throw new IllegalArgumentException("Beverage count cannot be negative");
         }
-        this.alreadyPaidProducts = alreadyPaidProducts;
+        this.alreadyPaidBeverageCount = alreadyPaidBeverageCount;
     }
 
-    public List<Product> getAlreadyPaidProducts() {
-        return List.copyOf(alreadyPaidProducts);
+    /**
+     * Retrieves the number of beverages the customer has paid in previous orders.
+     *
+     * @return The running beverage counter before this order.
+     */
+    public long getAlreadyPaidBeverageCount() {
+        return alreadyPaidBeverageCount;
     }
 
     /**
@@ -98,49 +159,52 @@ public class Order implements Serializable {
     /**
      * Gets the total cost of the products in the order.
      *
-     * @return The total cost of the products.
+     * @return The total cost of the products in cents (1/100 CHF).
      */
-    public double getTotalCost() {
-        return this.totalCost;
+    public long getTotalCostInCents() {
+        return this.totalCostInCents;
     }
 
     /**
      * Sets the total cost of the order.
      *
-     * @param totalCost The total cost to be set.
+     * @param totalCostInCents The total cost to be set, in cents (1/100 CHF).
      */
-    public void setTotalCost(double totalCost) {
-        this.totalCost = totalCost;
+    public void setTotalCostInCents(long totalCostInCents) {
+        this.totalCostInCents = totalCostInCents;
     }
 
     /**
      * Applies a discount to the order, adjusting the total cost.
      *
-     * @param discount The discount amount to apply.
+     * @param discountInCents The discount amount to apply, in cents (1/100 CHF).
      * @throws IllegalArgumentException if the discount is negative.
      */
-    public void applyDiscount(double discount) {
-        if (discount < 0) {
+    public void applyDiscount(long discountInCents) {
+        if (discountInCents < 0) {
             throw new IllegalArgumentException("Discount cannot be negative");
         }
-        this.totalDiscount += discount;
-        this.totalCost -= discount;
+        this.totalDiscountInCents += discountInCents;
+        this.totalCostInCents -= discountInCents;
     }
 
     /**
      * Retrieves the total discount applied to this order.
      *
-     * @return The total discount amount.
+     * @return The total discount amount in cents (1/100 CHF).
      */
-    public double getTotalDiscount() {
-        return this.totalDiscount;
+    public long getTotalDiscountInCents() {
+        return this.totalDiscountInCents;
     }
 
     /**
-     * Recalculates the total cost based on the current list of products.
-     * It sums up the price of all products and applies any existing discounts.
+     * Updates the running totals with an added product. The total cost is the subtotal less any existing discounts.
      */
-    private void recalculateTotalCost() {
-        totalCost = products.stream().mapToDouble(Product::getPrice).sum() - totalDiscount;
+    private void addToTotals(Product product) {
+        subtotalInCents += product.getPriceInCents();
+        if (product.isKind(ProductKind.BEVERAGE)) {
+            beverageCount++;
+        }
+        totalCostInCents = subtotalInCents - totalDiscountInCents;
     }
 }
\ No newline at end of file
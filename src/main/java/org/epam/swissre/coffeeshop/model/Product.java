@@ -1,15 +1,18 @@
 package org.epam.swissre.coffeeshop.model;
 
+import org.epam.swissre.coffeeshop.enums.ProductKind;
+
 import java.util.Objects;
 
 /**
  * Abstract class representing a general product in the coffee shop.
  * This class is intended to be extended by specific product types.
- * Provides common properties like name, and price.
+ * Provides common properties like name, price and the kinds of the product.
  */
 public abstract class Product {
     private final String name;
-    private final double price;
+    private final long priceInCents;
+    private final int kindMask;
 
     /**
      * Constructs a new Product instance with specified name and price. This constructor
@@ -18,18 +21,31 @@ public abstract class Product {
      *
      * @param name The name of the product, representing the identity or the type of product.
      *             This is expected to be a non-null and meaningful description.
-     * @param price The price of the product, expected to be a non-negative value indicating
-     *              the cost to the customer.
+     * @param priceInCents The price of the product in cents (1/100 CHF), expected to be a non-negative
+     *                     value indicating the cost to the customer.
      */
-    public Product(String name, double price) {
+    public Product(String name, long priceInCents) {
+        this(name, priceInCents, 0);
+    }
+
+    /**
+     * Constructs a new Product instance with specified name, price and kinds.
+     *
+     * @param name The name of the product.
+     * @param priceInCents The price of the product in cents (1/100 CHF), expected to be non-negative.
+     * @param kindMask The bitmask of the {@link ProductKind kinds} of the product; products implementing
+     *                 {@link BeverageProduct} are always of the kind {@link ProductKind#BEVERAGE}.
+     */
+    protected Product(String name, long priceInCents, int kindMask) {
         if (name == null || name.isEmpty()) {
             throw new IllegalArgumentException("Product name cannot be null or empty.");
         }
-        if (price < 0) {
+        if (priceInCents < 0) {
             throw new IllegalArgumentException("Product price cannot be negative.");
         }
         this.name = name;
-        this.price = price;
+        this.priceInCents = priceInCents;
+        this.kindMask = this instanceof BeverageProduct ? kindMask | ProductKind.BEVERAGE.getMask() : kindMask;
     }
 
     /**
@@ -42,10 +58,27 @@ public abstract class Product {
 
     /**
      * Gets the product's price.
-     * @return The price of the product, provided as a positive double value.
+     * @return The price of the product in cents (1/100 CHF), provided as a non-negative value.
+     */
+    public long getPriceInCents() {
+        return priceInCents;
+    }
+
+    /**
+     * Gets the product's kinds.
+     * @return The bitmask of the {@link ProductKind kinds} of the product.
+     */
+    public int getKindMask() {
+        return kindMask;
+    }
+
+    /**
+     * Checks whether the product is of a kind.
+     * @param kind The kind to check.
+     * @return true if the product is of the given kind.
      */
-    public double getPrice() {
-        return price;
+    public boolean isKind(ProductKind kind) {
+        return kind.isIn(kindMask);
     }
 
     @Override
@@ -53,11 +86,11 @@ public abstract class Product {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         Product product = (Product) o;
-        return Double.compare(product.price, price) == 0 && Objects.equals(name, product.name);
+        return priceInCents == product.priceInCents && Objects.equals(name, product.name);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(name, price);
+        return Objects.hash(name, priceInCents);
     }
 }
\ No newline at end of file
@@ -0,0 +1,133 @@
+package org.epam.swissre.coffeeshop.model;
+
+import org.epam.swissre.coffeeshop.enums.BaconRollSize;
+import org.epam.swissre.coffeeshop.enums.CoffeeSize;
+import org.epam.swissre.coffeeshop.enums.ExtraOption;
+import org.epam.swissre.coffeeshop.enums.OrangeJuiceSize;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Catalog of the menu products. Every menu item built from the size and option enums is created once as an
+ * immutable {@link Product} and identified by a dense integer SKU, so menu selections and restored orders share
+ * the same instances instead of allocating a product per selection or per stored row.
+ *
+ * <p>SKUs are assigned in enum order: coffees, orange juices, bacon rolls and extras. The persisted order formats
+ * store SKUs, so new menu items must only be appended to the enums.</p>
+ */
+public final class ProductCatalog {
+
+    /**
+     * SKU of a product which is not part of the menu.
+     */
+    public static final int UNKNOWN_SKU = -1;
+
+    private static final int COFFEE_OFFSET = 0;
+    private static final int ORANGE_JUICE_OFFSET = COFFEE_OFFSET + CoffeeSize.values().length;
+    private static final int BACON_ROLL_OFFSET = ORANGE_JUICE_OFFSET + OrangeJuiceSize.values().length;
+    private static final int EXTRA_OFFSET = BACON_ROLL_OFFSET + BaconRollSize.values().length;
+
+    private static final Product[] PRODUCTS = new Product[EXTRA_OFFSET + ExtraOption.values().length];
+    private static final Map<String, Integer> SKUS_BY_NAME = new HashMap<>();
+
+    static {
+        for (CoffeeSize size : CoffeeSize.values()) {
+            PRODUCTS[COFFEE_OFFSET + size.ordinal()] = new Coffee(size);
+        }
+        for (OrangeJuiceSize size : OrangeJuiceSize.values()) {
+            PRODUCTS[ORANGE_JUICE_OFFSET + size.ordinal()] = new OrangeJuice(size);
+        }
+        for (BaconRollSize size : BaconRollSize.values()) {
+            PRODUCTS[BACON_ROLL_OFFSET + size.ordinal()] = new BaconRoll(size);
+        }
+        for (ExtraOption option : ExtraOption.values()) {
+            PRODUCTS[EXTRA_OFFSET + option.ordinal()] = new ExtraItem(option);
+        }
+        for (int sku = 0; sku < PRODUCTS.length; sku++) {
+            SKUS_BY_NAME.put(PRODUCTS[sku].getName(), sku);
+        }
+    }
+
+    private ProductCatalog() {
+        // static catalog only
+    }
+
+    /**
+     * Returns the number of menu products, SKUs range from 0 (inclusive) to this value (exclusive).
+     *
+     * @return the number of SKUs.
+     */
+    public static int size() {
+        return PRODUCTS.length;
+    }
+
+    /**
+     * Returns the shared product instance of a SKU.
+     *
+     * @param sku the SKU of the product.
+     * @return the shared product instance.
+     * @throws IllegalArgumentException if the SKU is not part of the catalog.
+     */
+    public static Product get(int sku) {
+        if (sku < 0 || sku >= PRODUCTS.length) {
+            throw new IllegalArgumentException("Unknown SKU: " + sku);
+        }
+        return PRODUCTS[sku];
+    }
+
+    /**
+     * Returns the SKU of a menu product. Products are matched by name and price, so equal products which were
+     * not obtained from the catalog resolve to the menu item as well.
+     *
+     * @param product the product to look up.
+     * @return the SKU of the product, or {@link #UNKNOWN_SKU} if the product is not a menu item with the menu price.
+     */
+    public static int skuOf(Product product) {
+        Integer sku = SKUS_BY_NAME.get(product.getName());
+        if (sku == null || PRODUCTS[sku].getPriceInCents() != product.getPriceInCents()) {
+            return UNKNOWN_SKU;
+        }
+        return sku;
+    }
+
+    /**
+     * Returns the shared coffee of the given size.
+     *
+     * @param size the size of the coffee.
+     * @return the shared product instance.
+     */
+    public static Product coffee(CoffeeSize size) {
+        return PRODUCTS[COFFEE_OFFSET + size.ordinal()];
+    }
+
+    /**
+     * Returns the shared orange juice of the given size.
+     *
+     * @param size the size of the orange juice.
+     * @return the shared product instance.
+     */
+    public static Product orangeJuice(OrangeJuiceSize size) {
+        return PRODUCTS[ORANGE_JUICE_OFFSET + size.ordinal()];
+    }
+
+    /**
+     * Returns the shared bacon roll of the given size.
+     *
+     * @param size the size of the bacon roll.
+     * @return the shared product instance.
+     */
+    public static Product baconRoll(BaconRollSize size) {
+        return PRODUCTS[BACON_ROLL_OFFSET + size.ordinal()];
+    }
+
+    /**
+     * Returns the shared extra item of the given option.
+     *
+     * @param option the extra option.
+     * @return the shared product instance.
+     */
+    public static Product extra(ExtraOption option) {
+        return PRODUCTS[EXTRA_OFFSET + option.ordinal()];
+    }
+}
@@ -0,0 +1,160 @@
+package org.epam.swissre.coffeeshop.model;
+
+import java.io.Serializable;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.RandomAccess;
+
+/**
+ * Compact basket of products for orders which are kept in memory in large numbers, like a day of restored
+ * orders or large catering baskets. Menu products are stored as their {@link ProductCatalog} SKU in a
+ * {@code short[]} and resolved to the shared catalog instance when read, so the basket holds no references for
+ * them; their prices follow from the SKU. Products which are not part of the menu are kept in a side array which
+ * is only allocated once such a product is added.
+ *
+ * <p>The basket is a {@link java.util.List}, so it can be passed to {@link Order} in place of a list of products
+ * and {@link Order#getProducts()} keeps working as before. Products can only be appended. Like the order holding
+ * it, the basket is {@link Serializable}; menu products are serialized as their SKUs.</p>
+ */
+public class SkuBasket extends AbstractList<Product> implements RandomAccess, Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final int DEFAULT_CAPACITY = 4;
+    private static final short NOT_IN_CATALOG = (short) ProductCatalog.UNKNOWN_SKU;
+
+    static {
+        if (ProductCatalog.size() > Short.MAX_VALUE) {
+            throw new IllegalStateException("Catalog exceeds the SKU range of a basket: " + ProductCatalog.size());
+        }
+    }
+
+    private short[] skus;
+    private Product[] otherProducts;
+    private int size;
+
+    /**
+     * Constructs an empty basket.
+     */
+    public SkuBasket() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Constructs an empty basket with room for the given number of products.
+     *
+     * @param capacity the number of products the basket can hold before growing.
+     * @throws IllegalArgumentException if the capacity is negative.
+     */
+    public SkuBasket(int capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("Capacity cannot be negative");
+        }
+        this.skus = new short[capacity];
+    }
+
+    /**
+     * Appends a product to the basket. Menu products are stored by their SKU only.
+     *
+     * @param product the product to be added.
+     * @return true, as the basket always changes.
+     * @throws IllegalArgumentException if the product is null.
+     */
+    @Override
+    public boolean add(Product product) {
+        if (product == null) {
+            throw new IllegalArgumentException("Product cannot be null");
+        }
+        int sku = ProductCatalog.skuOf(product);
+        if (sku == ProductCatalog.UNKNOWN_SKU) {
+            append(NOT_IN_CATALOG);
+            if (otherProducts == null) {
+                otherProducts = new Product[skus.length];
+            }
+            otherProducts[size - 1] = product;
+        } else {
+            append((short) sku);
+        }
+        return true;
+    }
+
+    /**
+     * Appends a menu product given by its SKU, without resolving the product.
+     *
+     * @param sku the SKU of the product.
+     * @throws IllegalArgumentException if the SKU is not part of the catalog.
+     */
+    public void addSku(int sku) {
+        if (sku < 0 || sku >= ProductCatalog.size()) {
+            throw new IllegalArgumentException("Unknown SKU: " + sku);
+        }
+        append((short) sku);
+    }
+
+    /**
+     * Returns the product at the given position, menu products resolve to their shared catalog instance.
+     *
+     * @param index the position of the product.
+     * @return the product.
+     * @throws IndexOutOfBoundsException if the index is out of range.
+     */
+    @Override
+    public Product get(int index) {
+        int sku = getSku(index);
+        return sku == ProductCatalog.UNKNOWN_SKU ? otherProducts[index] : ProductCatalog.get(sku);
+    }
+
+    /**
+     * Returns the SKU of the product at the given position.
+     *
+     * @param index the position of the product.
+     * @return the SKU, or {@link ProductCatalog#UNKNOWN_SKU} for a product which is not part of the menu.
+     * @throws IndexOutOfBoundsException if the index is out of range.
+     */
+    public int getSku(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for size " + size);
+        }
+        return skus[index];
+    }
+
+    /**
+     * Returns the price of the product at the given position.
+     *
+     * @param index the position of the product.
+     * @return the price in cents (1/100 CHF).
+     * @throws IndexOutOfBoundsException if the index is out of range.
+     */
+    public long getPriceInCents(int index) {
+        return get(index).getPriceInCents();
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Shrinks the backing arrays to the number of products, for baskets which are complete and kept in memory.
+     */
+    public void trimToSize() {
+        if (skus.length > size) {
+            skus = Arrays.copyOf(skus, size);
+            if (otherProducts != null) {
+                otherProducts = Arrays.copyOf(otherProducts, size);
+            }
+        }
+    }
+
+    private void append(short sku) {
+        if (size == skus.length) {
+            int capacity = Math.max(DEFAULT_CAPACITY, size * 2);
+            skus = Arrays.copyOf(skus, capacity);
+            if (otherProducts != null) {
+                otherProducts = Arrays.copyOf(otherProducts, capacity);
+            }
+        }
+        skus[size++] = sku;
+        modCount++;
+    }
+}
@@ -0,0 +1,128 @@
+package org.epam.swissre.coffeeshop.receipt;
+
+import java.util.Arrays;
+
+/**
+ * The receipt of one order: its line items and totals, handed to a {@link ReceiptPresenter} for presentation.
+ * Contexts are taken from a {@link ReceiptContextPool} per checkout and returned after the receipt is presented,
+ * so the receipt state never outlives its order and presenters can be shared.
+ *
+ * <p>The line items are kept in reused parallel arrays instead of {@link ReceiptRow} objects, so filling a pooled
+ * context allocates nothing. {@link #reset()} drops the references to the descriptions and shrinks arrays grown
+ * by unusually large orders back to their initial size, so a pooled context holds a bounded amount of memory.
+ * A context is not thread-safe and is owned by one checkout at a time.</p>
+ */
+public final class ReceiptContext {
+
+    /**
+     * The number of line items a context holds without growing; larger arrays are released on reset.
+     */
+    static final int INITIAL_CAPACITY = 16;
+
+    private String[] descriptions = new String[INITIAL_CAPACITY];
+    private long[] pricesInCents = new long[INITIAL_CAPACITY];
+    private int rowCount;
+    private long totalCostInCents;
+    private long totalDiscountInCents;
+
+    /**
+     * Adds a line item to the receipt.
+     *
+     * @param description the description of the item
+     * @param priceInCents the price of the item in cents (1/100 CHF)
+     * @throws IllegalArgumentException if the description is null or empty, or the price is negative
+     */
+    public void addRow(String description, long priceInCents) {
+        if (description == null || description.isEmpty()) {
+            throw new IllegalArgumentException("Receipt description cannot be null or empty.");
+        }
+        if (priceInCents < 0) {
+            throw new IllegalArgumentException("Receipt product price cannot be negative.");
+        }
+        if (rowCount == descriptions.length) {
+            descriptions = Arrays.copyOf(descriptions, rowCount * 2);
+            pricesInCents = Arrays.copyOf(pricesInCents, rowCount * 2);
+        }
+        descriptions[rowCount] = description;
+        pricesInCents[rowCount] = priceInCents;
+        rowCount++;
+    }
+
+    /**
+     * Returns the number of line items.
+     *
+     * @return the number of line items
+     */
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    /**
+     * Returns the description of a line item.
+     *
+     * @param index the index of the line item
+     * @return the description
+     * @throws IndexOutOfBoundsException if the index is not below the number of line items
+     */
+    public String getDescription(int index) {
+        return descriptions[checkIndex(index)];
+    }
+
+    /**
+     * Returns the price of a line item.
+     *
+     * @param index the index of the line item
+     * @return the price in cents (1/100 CHF)
+     * @throws IndexOutOfBoundsException if the index is not below the number of line items
+     */
+    public long getPriceInCents(int index) {
+        return pricesInCents[checkIndex(index)];
+    }
+
+    public long getTotalCostInCents() {
+        return totalCostInCents;
+    }
+
+    public void setTotalCostInCents(long totalCostInCents) {
+        this.totalCostInCents = totalCostInCents;
+    }
+
+    public long getTotalDiscountInCents() {
+        return totalDiscountInCents;
+    }
+
+    public void setTotalDiscountInCents(long totalDiscountInCents) {
+        this.totalDiscountInCents = totalDiscountInCents;
+    }
+
+    /**
+     * Clears the line items and totals for the next receipt.
+     */
+    public void reset() {
+        if (descriptions.length > INITIAL_CAPACITY) {
+            descriptions = new String[INITIAL_CAPACITY];
+            pricesInCents = new long[INITIAL_CAPACITY];
+        } else {
+            Arrays.fill(descriptions, 0, rowCount, null);
+        }
+        rowCount = 0;
+        totalCostInCents = 0;
+        totalDiscountInCents = 0;
+    }
+
+    /**
+     * Returns the capacity of the line item arrays.
+     *
+     * @return the number of line items held without growing
+     */
+    int getCapacity() {
+        return descriptions.length;
+    }
+
+    private int checkIndex(int index) {
+        if (index < 0 || index >= rowCount) {
+            throw new IndexOutOfBoundsException("Receipt row " + index + " out of " + rowCount);
+        }
+        return index;
+    }
+}
@@ -0,0 +1,71 @@
+package org.epam.swissre.coffeeshop.receipt;
+
+import org.epam.swissre.coffeeshop.util.RingBuffer;
+
+/**
+ * Bounded pool of {@link ReceiptContext}s. A checkout acquires a context, fills it with the receipt of its order,
+ * presents it and releases it, which resets the context for the next order. Idle contexts are kept in a lock-free
+ * {@link RingBuffer} shared by all threads.
+ *
+ * <p>When more checkouts run concurrently than contexts are pooled, the extra contexts are allocated and dropped
+ * again on release, so the pool never retains more than its maximum and a steady stream of orders reuses the
+ * same contexts.</p>
+ */
+public final class ReceiptContextPool {
+
+    /**
+     * The maximum number of idle contexts kept by a pool constructed without one.
+     */
+    public static final int DEFAULT_MAX_POOLED_CONTEXTS = 64;
+
+    private final RingBuffer<ReceiptContext> pooled;
+
+    /**
+     * Constructs an empty pool keeping up to {@link #DEFAULT_MAX_POOLED_CONTEXTS} idle contexts.
+     */
+    public ReceiptContextPool() {
+        this(DEFAULT_MAX_POOLED_CONTEXTS);
+    }
+
+    /**
+     * Constructs an empty pool; contexts are allocated on demand.
+     *
+     * @param maxPooledContexts the maximum number of idle contexts kept, rounded up to a power of two
+     * @throws IllegalArgumentException if the number of contexts is not positive
+     */
+    public ReceiptContextPool(int maxPooledContexts) {
+        this.pooled = new RingBuffer<>(maxPooledContexts);
+    }
+
+    /**
+     * Takes an empty context from the pool, or allocates one if the pool is empty.
+     *
+     * @return an empty context owned by the caller until it is released
+     */
+    public ReceiptContext acquire() {
+        ReceiptContext context = pooled.poll();
+        return context != null ? context : new ReceiptContext();
+    }
+
+    /**
+     * Resets a context and returns it to the pool, unless the pool is full. The caller must not use the context
+     * afterwards.
+     *
+     * @param context the context to release
+     */
+    public void release(ReceiptContext context) {
+        if (context != null) {
+            context.reset();
+            pooled.offer(context);
+        }
+    }
+
+    /**
+     * Returns the number of idle contexts in the pool. The value is a snapshot and may be outdated when returned.
+     *
+     * @return the number of pooled contexts
+     */
+    public int getPooledCount() {
+        return pooled.size();
+    }
+}
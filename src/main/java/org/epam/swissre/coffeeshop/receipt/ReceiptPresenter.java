@@ -6,11 +6,18 @@ import java.util.List;
 /**
  * Abstract class for presenting receipts. This class provides the base functionality to
  * add and manage receipt rows.
+ *
+ * <p>The controllers hand every receipt to {@link #presentReceipt(ReceiptContext)} in a pooled per-order
+ * {@link ReceiptContext}. By default its rows and totals are loaded into this presenter, presented with
+ * {@link #presentReceipt()} and cleared again, so nothing accumulates across orders; such a presenter holds the
+ * rows of one receipt at a time and is not thread-safe. Presenters overriding
+ * {@link #presentReceipt(ReceiptContext)} to render straight from the context hold no receipt state and can
+ * be shared by concurrent checkouts.</p>
  */
 public abstract class ReceiptPresenter {
     private final List<ReceiptRow> receiptRows;
-    private double totalCost = 0.0;
-    private double totalDiscount = 0.0;
+    private long totalCostInCents = 0;
+    private long totalDiscountInCents = 0;
 
     /**
      * Constructor to initialize the ReceiptPresenter.
@@ -33,23 +40,51 @@ public abstract class ReceiptPresenter {
      */
     public abstract void presentReceipt();
 
+    /**
+     * Presents the receipt held by a per-order context. The default implementation loads the rows and totals
+     * of the context into this presenter, calls {@link #presentReceipt()} and clears them afterwards.
+     *
+     * @param context the receipt of one order, owned by the caller
+     */
+    public void presentReceipt(ReceiptContext context) {
+        for (int i = 0; i < context.getRowCount(); i++) {
+            addReceiptRow(new ReceiptRow(context.getDescription(i), context.getPriceInCents(i)));
+        }
+        setTotalCostInCents(context.getTotalCostInCents());
+        setTotalDiscountInCents(context.getTotalDiscountInCents());
+        try {
+            presentReceipt();
+        } finally {
+            clearReceipt();
+        }
+    }
+
+    /**
+     * Removes all receipt rows and resets the totals.
+     */
+    public void clearReceipt() {
+        receiptRows.clear();
+        totalCostInCents = 0;
+        totalDiscountInCents = 0;
+    }
+
     public List<ReceiptRow> getReceiptRows() {
         return receiptRows;
     }
 
-    public double getTotalCost() {
-        return totalCost;
+    public long getTotalCostInCents() {
+        return totalCostInCents;
     }
 
-    public void setTotalCost(double totalCost) {
-        this.totalCost = totalCost;
+    public void setTotalCostInCents(long totalCostInCents) {
+        this.totalCostInCents = totalCostInCents;
     }
 
-    public double getTotalDiscount() {
-        return totalDiscount;
+    public long getTotalDiscountInCents() {
+        return totalDiscountInCents;
     }
 
-    public void setTotalDiscount(double totalDiscount) {
-        this.totalDiscount = totalDiscount;
+    public void setTotalDiscountInCents(long totalDiscountInCents) {
+        this.totalDiscountInCents = totalDiscountInCents;
     }
 }
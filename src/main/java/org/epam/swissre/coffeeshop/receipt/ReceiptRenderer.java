@@ -0,0 +1,59 @@
+package org.epam.swissre.coffeeshop.receipt;
+
+import org.epam.swissre.coffeeshop.model.Order;
+import org.epam.swissre.coffeeshop.util.ByteBufferPool;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+
+/**
+ * Renders the receipt of an order into bytes of one output format, e.g. JSON for e-receipts or a printer command
+ * stream for kiosks. Unlike a {@link ReceiptPresenter}, a renderer reads the products and totals straight from the
+ * {@link Order} and writes them into a caller's {@link ByteBuffer}, so no receipt rows or strings are created on
+ * the way. Renderers hold no state per receipt and can be shared by all threads.
+ */
+public interface ReceiptRenderer {
+
+    /**
+     * Returns the media type of the rendered receipts, e.g. as the Content-Type of an HTTP response.
+     *
+     * @return the media type, including the charset for text formats.
+     */
+    String getContentType();
+
+    /**
+     * Returns an upper bound of the number of bytes the receipt of an order is rendered to.
+     *
+     * @param order the order.
+     * @return the maximum size of the rendered receipt in bytes.
+     */
+    int maxSize(Order order);
+
+    /**
+     * Writes the receipt of an order at the position of the buffer.
+     *
+     * @param order the order.
+     * @param target the buffer to write to.
+     * @throws BufferOverflowException if the remaining space of the buffer is too small for the receipt.
+     */
+    void render(Order order, ByteBuffer target);
+
+    /**
+     * Renders the receipt of an order into a buffer taken from the pool, which is large enough for any receipt
+     * of the order. The caller must release the buffer to the pool once it has written the bytes.
+     *
+     * @param order the order.
+     * @param pool the pool to take the buffer from.
+     * @return the buffer, flipped so its remaining bytes are the rendered receipt.
+     */
+    default ByteBuffer render(Order order, ByteBufferPool pool) {
+        ByteBuffer buffer = pool.acquire(maxSize(order));
+        try {
+            render(order, buffer);
+        } catch (RuntimeException e) {
+            pool.release(buffer);
+            throw e;
+        }
+        return buffer.flip();
+    }
+}
@@ -5,23 +5,23 @@ package org.epam.swissre.coffeeshop.receipt;
  */
 public class ReceiptRow {
     private String description;
-    private double price;
+    private long priceInCents;
 
     /**
      * Constructs a new ReceiptRow with a specified description and price.
      *
      * @param description the description of the item
-     * @param price the price of the item
+     * @param priceInCents the price of the item in cents (1/100 CHF)
      */
-    public ReceiptRow(String description, double price) {
+    public ReceiptRow(String description, long priceInCents) {
         if (description == null || description.isEmpty()) {
             throw new IllegalArgumentException("Receipt description cannot be null or empty.");
         }
-        if (price < 0) {
+        if (priceInCents < 0) {
             throw new IllegalArgumentException("Receipt product price cannot be negative.");
         }
         this.description = description;
-        this.price = price;
+        this.priceInCents = priceInCents;
     }
 
     /**
@@ -45,18 +45,18 @@ public class ReceiptRow {
     /**
      * Gets the price of the item in this receipt row.
      *
-     * @return the price of the item
+     * @return the price of the item in cents (1/100 CHF)
      */
-    public double getPrice() {
-        return price;
+    public long getPriceInCents() {
+        return priceInCents;
     }
 
     /**
      * Sets the price for this receipt row.
      *
-     * @param price the new price of the item (product)
+     * @param priceInCents the new price of the item (product) in cents (1/100 CHF)
      */
-    public void setPrice(double price) {
-        this.price = price;
+    public void setPriceInCents(long priceInCents) {
+        this.priceInCents = priceInCents;
     }
 }
@@ -1,9 +1,19 @@
 package org.epam.swissre.coffeeshop.receipt.impl;
 
+import org.epam.swissre.coffeeshop.receipt.ReceiptContext;
 import org.epam.swissre.coffeeshop.receipt.ReceiptPresenter;
 import org.epam.swissre.coffeeshop.receipt.ReceiptRow;
-import org.epam.swissre.coffeeshop.util.DateTimeUtils;
+import org.epam.swissre.coffeeshop.util.CachedClock;
 import org.epam.swissre.coffeeshop.util.FormatUtils;
+import org.epam.swissre.coffeeshop.util.MoneyUtils;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
 
 /**
  * Extends the {@link ReceiptPresenter} to implement a mechanism for presenting receipt information on a
@@ -15,34 +25,180 @@ import org.epam.swissre.coffeeshop.util.FormatUtils;
  * to enhance the user experience in a CLI environment, presenting all necessary transaction data in
  * a clear and readable format.</p>
  *
- * <p>Utilizes utility classes such as {@link DateTimeUtils} for date retrieval and {@link FormatUtils}
+ * <p>The whole receipt is rendered into a buffer reused by the rendering thread and emitted with a single
+ * write, so a receipt costs one synchronized write and flush instead of one per line, and receipts of
+ * concurrent checkouts never interleave. The static header and footer lines are encoded once. Receipts can
+ * also be spooled to a file or pipe by passing the output stream.</p>
+ *
+ * <p>Receipts passed in a {@link ReceiptContext} are rendered straight from the context without touching the
+ * presenter's own rows, so one presenter can serve all checkouts of a long-running shop.</p>
+ *
+ * <p>Utilizes a {@link CachedClock} for date retrieval and utility classes such as {@link FormatUtils}
  * for text formatting, integrating other components of the system for consistent data representation.</p>
  */
 public class CLIReceiptPresenter extends ReceiptPresenter {
 
+    private static final String NL = System.lineSeparator();
+
+    // The static text is ASCII, which encodes to the same bytes in every ASCII-compatible charset
+    private static final byte[] HEADER = ascii("\n=== Coffee Shop Receipt ===" + NL + "Date:");
+    private static final byte[] ITEMS = ascii(NL + "\nItems:" + NL);
+    private static final byte[] TOTAL_COST = ascii("\nTotal cost: CHF ");
+    private static final byte[] TOTAL_DISCOUNT = ascii("\nTotal discount: CHF ");
+    private static final byte[] FOOTER = ascii("\n\n=== Thank You for Visiting! ===" + NL
+            + "Keep your receipt! Every 5th beverage is on us!" + NL
+            + "For feedback, call us: 123-456-789" + NL
+            + "=== END of Receipt ===" + NL);
+
+    private static final ThreadLocal<RenderBuffer> BUFFERS = ThreadLocal.withInitial(RenderBuffer::new);
+
+    private final OutputStream out;
+    private final Charset charset;
+    private final CachedClock clock;
+
+    /**
+     * Constructs a presenter printing to the standard output in the default charset.
+     */
+    public CLIReceiptPresenter() {
+        this(System.out, Charset.defaultCharset());
+    }
+
+    /**
+     * Constructs a presenter writing the receipts to the given stream, e.g. a spool file or a pipe.
+     *
+     * @param out the stream the receipts are written to; it is flushed after every receipt but never closed.
+     * @param charset the charset of the receipt text, which must encode ASCII as single bytes (e.g. UTF-8).
+     */
+    public CLIReceiptPresenter(OutputStream out, Charset charset) {
+        this(out, charset, CachedClock.shared());
+    }
+
+    /**
+     * Constructs a presenter writing the receipts to the given stream and dating them with the given clock.
+     *
+     * @param out the stream the receipts are written to; it is flushed after every receipt but never closed.
+     * @param charset the charset of the receipt text, which must encode ASCII as single bytes (e.g. UTF-8).
+     * @param clock the clock providing the pre-rendered date of the receipts.
+     */
+    public CLIReceiptPresenter(OutputStream out, Charset charset, CachedClock clock) {
+        if (clock == null) {
+            throw new IllegalArgumentException("Clock cannot be null");
+        }
+        this.out = out;
+        this.charset = charset;
+        this.clock = clock;
+    }
+
     /**
      * Overridden method from {@link ReceiptPresenter} to display the formatted receipt on command line.
-     * This method prints each item and its price, uses formatting for better alignment in output, and provides
-     * overall transaction summaries including total cost and total discounts received.
+     * This method renders each item and its price with dot leaders for better alignment in output, and
+     * provides overall transaction summaries including total cost and total discounts received.
+     *
+     * @throws UncheckedIOException if the receipt cannot be written.
      */
     @Override
     public void presentReceipt() {
-        System.out.println("\n=== Coffee Shop Receipt ===");
-        System.out.println("Date:" + DateTimeUtils.getCurrentDateTime());
-        System.out.println("\nItems:");
+        ReceiptContext context = BUFFERS.get().rows;
+        context.reset();
+        List<ReceiptRow> rows = getReceiptRows();
+        for (ReceiptRow row : rows) {
+            context.addRow(row.getDescription(), row.getPriceInCents());
+        }
+        context.setTotalCostInCents(getTotalCostInCents());
+        context.setTotalDiscountInCents(getTotalDiscountInCents());
+        try {
+            presentReceipt(context);
+        } finally {
+            context.reset();
+        }
+    }
+
+    /**
+     * Displays the receipt held by the context, leaving the rows of this presenter untouched.
+     *
+     * @param context the receipt of one order.
+     * @throws UncheckedIOException if the receipt cannot be written.
+     */
+    @Override
+    public void presentReceipt(ReceiptContext context) {
+        RenderBuffer buffer = BUFFERS.get();
+        buffer.reset();
+        StringBuilder text = buffer.text;
+
+        buffer.write(HEADER);
+        text.append(clock.getCurrentDateTime());
+        buffer.writeText(charset);
+        buffer.write(ITEMS);
 
-        int  rowCount = 0;
-        for (ReceiptRow row : getReceiptRows()) {
-            rowCount ++;
-            System.out.println(FormatUtils.formatWithDotLeaders(rowCount + ". "+ row.getDescription(), row.getPrice()));
+        for (int i = 0; i < context.getRowCount(); i++) {
+            text.append(i + 1).append(". ").append(context.getDescription(i));
+            FormatUtils.appendDotLeaders(text, 0, context.getPriceInCents(i)).append(NL);
+            buffer.writeText(charset);
         }
 
-        System.out.printf("\nTotal cost: CHF %.2f", getTotalCost());
-        System.out.printf("\nTotal discount: CHF %.2f\n", getTotalDiscount());
+        buffer.write(TOTAL_COST);
+        MoneyUtils.appendTo(text, context.getTotalCostInCents());
+        buffer.writeText(charset);
+        buffer.write(TOTAL_DISCOUNT);
+        MoneyUtils.appendTo(text, context.getTotalDiscountInCents());
+        buffer.writeText(charset);
+        buffer.write(FOOTER);
+
+        try {
+            out.write(buffer.bytes, 0, buffer.length);
+            out.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write the receipt.", e);
+        }
+    }
+
+    private static byte[] ascii(String text) {
+        return text.getBytes(StandardCharsets.US_ASCII);
+    }
 
-        System.out.println("\n=== Thank You for Visiting! ===");
-        System.out.println("Keep your receipt! Every 5th beverage is on us!");
-        System.out.println("For feedback, call us: 123-456-789");
-        System.out.println("=== END of Receipt ===");
+    /**
+     * The encoded receipt and a builder for its variable text, reused by every receipt rendered on a thread,
+     * and the context the presenter's own rows are copied to.
+     */
+    private static final class RenderBuffer {
+        private final ReceiptContext rows = new ReceiptContext();
+        private final StringBuilder text = new StringBuilder(64);
+        private byte[] bytes = new byte[1024];
+        private int length;
+
+        void reset() {
+            text.setLength(0);
+            length = 0;
+        }
+
+        void write(byte[] source) {
+            ensureCapacity(source.length);
+            System.arraycopy(source, 0, bytes, length, source.length);
+            length += source.length;
+        }
+
+        /**
+         * Encodes and appends the builder's text, then clears the builder. ASCII is copied directly; only text
+         * with other characters is encoded through the charset.
+         */
+        void writeText(Charset charset) {
+            int textLength = text.length();
+            ensureCapacity(textLength);
+            for (int i = 0; i < textLength; i++) {
+                char c = text.charAt(i);
+                if (c >= 0x80) {
+                    write(text.substring(i).getBytes(charset));
+                    break;
+                }
+                bytes[length++] = (byte) c;
+            }
+            text.setLength(0);
+        }
+
+        private void ensureCapacity(int additional) {
+            if (length + additional > bytes.length) {
+                bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, length + additional));
+            }
+        }
     }
 }
@@ -0,0 +1,207 @@
+package org.epam.swissre.coffeeshop.receipt.impl;
+
+import org.epam.swissre.coffeeshop.model.Order;
+import org.epam.swissre.coffeeshop.model.Product;
+import org.epam.swissre.coffeeshop.receipt.ReceiptRenderer;
+import org.epam.swissre.coffeeshop.util.CachedClock;
+import org.epam.swissre.coffeeshop.util.FormatUtils;
+import org.epam.swissre.coffeeshop.util.MoneyUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Implements the {@link ReceiptRenderer} for kiosk thermal printers as an ESC/POS command stream, which is sent
+ * to the printer as is. The receipt is laid out for 80 mm paper with {@link #LINE_WIDTH} columns: a centered
+ * double-size title, the date, the numbered items with dot leaders, the totals in bold and the footer, followed
+ * by a paper feed and a partial cut.
+ *
+ * <p>The text is printed in code page PC858 (Western Europe with the euro sign), selected at the start of every
+ * receipt. Characters are mapped to it with a table built once; characters it does not contain are printed as
+ * "?". The commands and static lines are encoded once as well, so rendering a receipt allocates nothing.</p>
+ */
+public class EscPosReceiptRenderer implements ReceiptRenderer {
+
+    /**
+     * The number of characters per line of font A on 80 mm paper.
+     */
+    public static final int LINE_WIDTH = 48;
+
+    private static final byte ESC = 0x1B;
+    private static final byte GS = 0x1D;
+    private static final byte UNMAPPED = '?';
+    private static final int PC858_CODE_PAGE = 19;
+    private static final byte[] LATIN1_TO_PC858 = new byte[256];
+    private static final byte EURO_SIGN;
+
+    private static final byte[] HEADER;
+    private static final byte[] ITEMS;
+    private static final byte[] TOTAL_COST;
+    private static final byte[] TOTAL_DISCOUNT;
+    private static final byte[] FOOTER;
+    private static final byte[] DOTS = ".".repeat(LINE_WIDTH).getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] CURRENCY_PREFIX = "CHF ".getBytes(StandardCharsets.US_ASCII);
+
+    private static final int MAX_FIXED_SIZE = 512; // commands, static lines, the date and two amounts
+    private static final int MAX_ITEM_SIZE = 96; // number, dot leaders, price and line feed
+
+    static {
+        for (int c = 0; c < 0x80; c++) {
+            LATIN1_TO_PC858[c] = (byte) c;
+        }
+        Arrays.fill(LATIN1_TO_PC858, 0x80, 0x100, UNMAPPED);
+        byte euroSign = UNMAPPED;
+        if (Charset.isSupported("IBM00858")) {
+            byte[] upperHalf = new byte[0x80];
+            for (int b = 0; b < upperHalf.length; b++) {
+                upperHalf[b] = (byte) (0x80 + b);
+            }
+            String decoded = new String(upperHalf, Charset.forName("IBM00858"));
+            for (int b = 0; b < decoded.length(); b++) {
+                char c = decoded.charAt(b);
+                if (c >= 0x80 && c < 0x100) {
+                    LATIN1_TO_PC858[c] = upperHalf[b];
+                } else if (c == '\u20AC') {
+                    euroSign = upperHalf[b];
+                }
+            }
+        }
+        EURO_SIGN = euroSign;
+
+        HEADER = new Commands()
+                .command(ESC, '@') // initialize
+                .command(ESC, 't', PC858_CODE_PAGE)
+                .command(ESC, 'a', 1) // center
+                .command(ESC, 'E', 1).command(GS, '!', 0x11) // bold, double width and height
+                .text("Coffee Shop\n")
+                .command(GS, '!', 0).command(ESC, 'E', 0)
+                .text("Receipt\nDate: ")
+                .toArray();
+        ITEMS = new Commands()
+                .text("\n\n")
+                .command(ESC, 'a', 0) // left
+                .toArray();
+        TOTAL_COST = new Commands()
+                .text("\n")
+                .command(ESC, 'E', 1)
+                .text("Total cost: CHF ")
+                .toArray();
+        TOTAL_DISCOUNT = new Commands()
+                .command(ESC, 'E', 0)
+                .text("\nTotal discount: CHF ")
+                .toArray();
+        FOOTER = new Commands()
+                .text("\n\n")
+                .command(ESC, 'a', 1)
+                .text("Thank You for Visiting!\n"
+                        + "Keep your receipt!\nEvery 5th beverage is on us!\n"
+                        + "For feedback, call us: 123-456-789\n")
+                .command(ESC, 'a', 0)
+                .command(ESC, 'd', 4) // feed 4 lines to the cutter
+                .command(GS, 'V', 1) // partial cut
+                .toArray();
+    }
+
+    private final CachedClock clock;
+
+    /**
+     * Constructs a renderer dating the receipts with the {@link CachedClock#shared() shared clock}.
+     */
+    public EscPosReceiptRenderer() {
+        this(CachedClock.shared());
+    }
+
+    /**
+     * Constructs a renderer dating the receipts with the given clock.
+     *
+     * @param clock the clock providing the pre-rendered date of the receipts.
+     */
+    public EscPosReceiptRenderer(CachedClock clock) {
+        if (clock == null) {
+            throw new IllegalArgumentException("Clock cannot be null");
+        }
+        this.clock = clock;
+    }
+
+    @Override
+    public String getContentType() {
+        return "application/vnd.escpos";
+    }
+
+    @Override
+    public int maxSize(Order order) {
+        int size = MAX_FIXED_SIZE;
+        for (int i = 0; i < order.getProductCount(); i++) {
+            size += MAX_ITEM_SIZE + order.getProduct(i).getName().length();
+        }
+        return size;
+    }
+
+    @Override
+    public void render(Order order, ByteBuffer target) {
+        putText(target.put(HEADER), clock.getCurrentDateTime()).put(ITEMS);
+        for (int i = 0; i < order.getProductCount(); i++) {
+            Product product = order.getProduct(i);
+            putLineItem(target, i + 1, product.getName(), product.getPriceInCents());
+        }
+        MoneyUtils.putTo(target.put(TOTAL_COST), order.getTotalCostInCents());
+        MoneyUtils.putTo(target.put(TOTAL_DISCOUNT), order.getTotalDiscountInCents()).put(FOOTER);
+    }
+
+    /**
+     * Writes a numbered line item with dot leaders right-aligning the price to the line width. Every character
+     * is printed as one byte, so the number of bytes is the number of columns.
+     */
+    private static void putLineItem(ByteBuffer target, int itemNumber, String description, long priceInCents) {
+        int lineStart = target.position();
+        putText(FormatUtils.putDecimal(target, itemNumber).put((byte) '.').put((byte) ' '), description);
+        int numDots = LINE_WIDTH - (target.position() - lineStart) - CURRENCY_PREFIX.length - MoneyUtils.length(priceInCents);
+        if (numDots > 0) {
+            target.put(DOTS, 0, numDots);
+        }
+        MoneyUtils.putTo(target.put(CURRENCY_PREFIX), priceInCents).put((byte) '\n');
+    }
+
+    /**
+     * Writes the characters in PC858, one byte per character; control characters are dropped so the text cannot
+     * inject printer commands.
+     */
+    private static ByteBuffer putText(ByteBuffer target, String text) {
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c < 0x20 || c == 0x7F) {
+                continue;
+            }
+            target.put(c < 0x100 ? LATIN1_TO_PC858[c] : c == '\u20AC' ? EURO_SIGN : UNMAPPED);
+        }
+        return target;
+    }
+
+    /**
+     * Builds the static parts of the command stream.
+     */
+    private static final class Commands {
+        private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+        Commands command(byte prefix, char function, int... parameters) {
+            bytes.write(prefix);
+            bytes.write(function);
+            for (int parameter : parameters) {
+                bytes.write(parameter);
+            }
+            return this;
+        }
+
+        Commands text(String text) {
+            bytes.writeBytes(text.getBytes(StandardCharsets.US_ASCII));
+            return this;
+        }
+
+        byte[] toArray() {
+            return bytes.toByteArray();
+        }
+    }
+}
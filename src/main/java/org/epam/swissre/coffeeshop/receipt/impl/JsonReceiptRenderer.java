@@ -0,0 +1,106 @@
+package org.epam.swissre.coffeeshop.receipt.impl;
+
+import org.epam.swissre.coffeeshop.model.Order;
+import org.epam.swissre.coffeeshop.model.Product;
+import org.epam.swissre.coffeeshop.receipt.ReceiptRenderer;
+import org.epam.swissre.coffeeshop.util.FormatUtils;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Implements the {@link ReceiptRenderer} for e-receipts as UTF-8 JSON documents with the amounts in integer
+ * cents:
+ *
+ * <pre>{"items":[{"description":"Small coffee","priceInCents":255}],"totalCostInCents":255,"totalDiscountInCents":0}</pre>
+ *
+ * <p>The keys and punctuation are encoded once; descriptions are escaped and encoded character by character
+ * and the amounts are written as digits straight into the buffer.</p>
+ */
+public class JsonReceiptRenderer implements ReceiptRenderer {
+
+    private static final byte[] ITEMS = ascii("{\"items\":[");
+    private static final byte[] DESCRIPTION = ascii("{\"description\":\"");
+    private static final byte[] PRICE = ascii("\",\"priceInCents\":");
+    private static final byte[] TOTAL_COST = ascii("],\"totalCostInCents\":");
+    private static final byte[] TOTAL_DISCOUNT = ascii(",\"totalDiscountInCents\":");
+    private static final byte[] HEX_DIGITS = ascii("0123456789abcdef");
+
+    private static final int MAX_FIXED_SIZE = 128; // keys, brackets and two amounts of up to 20 digits
+    private static final int MAX_ITEM_SIZE = 64; // keys, punctuation and a price of up to 20 digits
+    private static final int MAX_ESCAPED_CHAR_SIZE = 6; // \\u001f; no character encodes to more than 3 bytes otherwise
+
+    @Override
+    public String getContentType() {
+        return "application/json; charset=utf-8";
+    }
+
+    @Override
+    public int maxSize(Order order) {
+        int size = MAX_FIXED_SIZE;
+        for (int i = 0; i < order.getProductCount(); i++) {
+            size += MAX_ITEM_SIZE + MAX_ESCAPED_CHAR_SIZE * order.getProduct(i).getName().length();
+        }
+        return size;
+    }
+
+    @Override
+    public void render(Order order, ByteBuffer target) {
+        target.put(ITEMS);
+        for (int i = 0; i < order.getProductCount(); i++) {
+            Product product = order.getProduct(i);
+            if (i > 0) {
+                target.put((byte) ',');
+            }
+            target.put(DESCRIPTION);
+            putEscaped(target, product.getName());
+            FormatUtils.putDecimal(target.put(PRICE), product.getPriceInCents()).put((byte) '}');
+        }
+        FormatUtils.putDecimal(target.put(TOTAL_COST), order.getTotalCostInCents());
+        FormatUtils.putDecimal(target.put(TOTAL_DISCOUNT), order.getTotalDiscountInCents()).put((byte) '}');
+    }
+
+    /**
+     * Returns an upper bound of the number of bytes the characters of a JSON string are written to.
+     *
+     * @param value the text of the string.
+     * @return the maximum size of the escaped text in bytes, without the quotes.
+     */
+    public static int maxEscapedSize(String value) {
+        return MAX_ESCAPED_CHAR_SIZE * value.length();
+    }
+
+    /**
+     * Writes the characters of a JSON string without the quotes, escaping quotes, backslashes and control
+     * characters; runs of characters without escapes are encoded in one call.
+     *
+     * @param target the buffer to write to, with at least {@link #maxEscapedSize(String)} bytes remaining.
+     * @param value the text of the string.
+     * @return the buffer.
+     */
+    public static ByteBuffer putEscaped(ByteBuffer target, String value) {
+        int runStart = 0;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c >= 0x20 && c != '"' && c != '\\') {
+                continue;
+            }
+            FormatUtils.putUtf8(target, value, runStart, i);
+            runStart = i + 1;
+            target.put((byte) '\\');
+            switch (c) {
+                case '"', '\\' -> target.put((byte) c);
+                case '\n' -> target.put((byte) 'n');
+                case '\r' -> target.put((byte) 'r');
+                case '\t' -> target.put((byte) 't');
+                default -> target.put((byte) 'u').put((byte) '0').put((byte) '0')
+                        .put(HEX_DIGITS[c >> 4]).put(HEX_DIGITS[c & 0xF]);
+            }
+        }
+        return FormatUtils.putUtf8(target, value, runStart, value.length());
+    }
+
+    private static byte[] ascii(String text) {
+        return text.getBytes(StandardCharsets.US_ASCII);
+    }
+}
@@ -0,0 +1,86 @@
+package org.epam.swissre.coffeeshop.receipt.impl;
+
+import org.epam.swissre.coffeeshop.model.Order;
+import org.epam.swissre.coffeeshop.model.Product;
+import org.epam.swissre.coffeeshop.receipt.ReceiptRenderer;
+import org.epam.swissre.coffeeshop.util.CachedClock;
+import org.epam.swissre.coffeeshop.util.FormatUtils;
+import org.epam.swissre.coffeeshop.util.MoneyUtils;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Implements the {@link ReceiptRenderer} for plain-text receipt files in UTF-8 with "\n" line endings. The
+ * layout is the one of the {@link CLIReceiptPresenter}: the date, the numbered items with dot leaders, the
+ * totals and the footer.
+ *
+ * <p>The static lines are encoded once, the date is the pre-rendered text of the clock and the line
+ * items are written by {@link FormatUtils}, so rendering a receipt allocates nothing.</p>
+ */
+public class TextReceiptRenderer implements ReceiptRenderer {
+
+    private static final byte[] HEADER = ascii("=== Coffee Shop Receipt ===\nDate:");
+    private static final byte[] ITEMS = ascii("\n\nItems:\n");
+    private static final byte[] TOTAL_COST = ascii("\nTotal cost: CHF ");
+    private static final byte[] TOTAL_DISCOUNT = ascii("\nTotal discount: CHF ");
+    private static final byte[] FOOTER = ascii("\n\n"
+            + "=== Thank You for Visiting! ===\n"
+            + "Keep your receipt! Every 5th beverage is on us!\n"
+            + "For feedback, call us: 123-456-789\n"
+            + "=== END of Receipt ===\n");
+
+    private static final int MAX_FIXED_SIZE = 512; // static lines, the date and two amounts
+    private static final int MAX_ITEM_SIZE = 128; // number, dot leaders, price and line break
+    private static final int MAX_UTF8_CHAR_SIZE = 3;
+
+    private final CachedClock clock;
+
+    /**
+     * Constructs a renderer dating the receipts with the {@link CachedClock#shared() shared clock}.
+     */
+    public TextReceiptRenderer() {
+        this(CachedClock.shared());
+    }
+
+    /**
+     * Constructs a renderer dating the receipts with the given clock.
+     *
+     * @param clock the clock providing the pre-rendered date of the receipts.
+     */
+    public TextReceiptRenderer(CachedClock clock) {
+        if (clock == null) {
+            throw new IllegalArgumentException("Clock cannot be null");
+        }
+        this.clock = clock;
+    }
+
+    @Override
+    public String getContentType() {
+        return "text/plain; charset=utf-8";
+    }
+
+    @Override
+    public int maxSize(Order order) {
+        int size = MAX_FIXED_SIZE;
+        for (int i = 0; i < order.getProductCount(); i++) {
+            size += MAX_ITEM_SIZE + MAX_UTF8_CHAR_SIZE * order.getProduct(i).getName().length();
+        }
+        return size;
+    }
+
+    @Override
+    public void render(Order order, ByteBuffer target) {
+        FormatUtils.putUtf8(target.put(HEADER), clock.getCurrentDateTime()).put(ITEMS);
+        for (int i = 0; i < order.getProductCount(); i++) {
+            Product product = order.getProduct(i);
+            FormatUtils.putWithDotLeaders(target, i + 1, product.getName(), product.getPriceInCents()).put((byte) '\n');
+        }
+        MoneyUtils.putTo(target.put(TOTAL_COST), order.getTotalCostInCents());
+        MoneyUtils.putTo(target.put(TOTAL_DISCOUNT), order.getTotalDiscountInCents()).put(FOOTER);
+    }
+
+    private static byte[] ascii(String text) {
+        return text.getBytes(StandardCharsets.US_ASCII);
+    }
+}
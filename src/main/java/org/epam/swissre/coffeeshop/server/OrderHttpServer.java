@@ -0,0 +1,317 @@
+package org.epam.swissre.coffeeshop.server;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.epam.swissre.coffeeshop.controller.impl.OrderController;
+import org.epam.swissre.coffeeshop.model.Order;
+import org.epam.swissre.coffeeshop.model.SkuBasket;
+import org.epam.swissre.coffeeshop.receipt.ReceiptRenderer;
+import org.epam.swissre.coffeeshop.receipt.impl.EscPosReceiptRenderer;
+import org.epam.swissre.coffeeshop.receipt.impl.JsonReceiptRenderer;
+import org.epam.swissre.coffeeshop.receipt.impl.TextReceiptRenderer;
+import org.epam.swissre.coffeeshop.service.ILoyaltyIndex;
+import org.epam.swissre.coffeeshop.service.IOrderService;
+import org.epam.swissre.coffeeshop.service.IOrderStorage;
+import org.epam.swissre.coffeeshop.service.IPaymentService;
+import org.epam.swissre.coffeeshop.util.ByteBufferPool;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Headless HTTP front-end for kiosk and mobile orders, built on the JDK {@link HttpServer}.
+ *
+ * <p>{@code POST /orders} accepts an order as JSON, e.g. {@code {"customerId": "anna", "skus": [0, 3]}} with the
+ * {@link org.epam.swissre.coffeeshop.model.ProductCatalog} SKUs of the products, runs it through an
+ * {@link OrderController} (order service, payment service and order storage) and responds with the receipt.
+ * Malformed orders and unknown SKUs are answered with status 400.</p>
+ *
+ * <p>The format of the receipt is negotiated by the media ranges and quality values of the {@code Accept} header:
+ * {@code text/plain} for a text receipt, {@code application/vnd.escpos} for the command stream of a kiosk's thermal
+ * printer and {@code application/json}, which is also used if the client accepts none of them. Receipts are
+ * rendered from the order straight into pooled buffers by a {@link ReceiptRenderer}.</p>
+ *
+ * <p>Order bodies larger than {@link #MAX_REQUEST_BYTES} are refused with status 413. The server leaves the socket
+ * options of the JDK server alone; launchers should set {@code -Dsun.net.httpserver.nodelay=true} before the first
+ * server is created, as {@link org.epam.swissre.coffeeshop.CoffeeShop} does for {@code --server}, since small
+ * responses are otherwise delayed by the client's delayed ACK.</p>
+ *
+ * <p>Every request is handled on its own virtual thread if the runtime provides them (Java 21 and later);
+ * otherwise requests are handled by a fixed pool of platform threads. The services and the storage are
+ * shared by all requests and must be thread-safe.</p>
+ */
+public class OrderHttpServer implements Closeable {
+
+    /**
+     * Number of platform threads handling requests on runtimes without virtual threads.
+     */
+    static final int PLATFORM_THREADS = 256;
+
+    /**
+     * Maximum size of an order request body in bytes.
+     */
+    static final int MAX_REQUEST_BYTES = 64 * 1024;
+
+    private static final String ORDERS_PATH = "/orders";
+    private static final int BACKLOG = 4096;
+    private static final int RECEIPT_BUFFER_SIZE = 4096;
+
+    private static final ReceiptRenderer JSON_RENDERER = new JsonReceiptRenderer();
+    private static final ReceiptRenderer TEXT_RENDERER = new TextReceiptRenderer();
+    private static final ReceiptRenderer ESC_POS_RENDERER = new EscPosReceiptRenderer();
+    private static final ReceiptRenderer[] RENDERERS = {JSON_RENDERER, TEXT_RENDERER, ESC_POS_RENDERER};
+    private static final byte[] ERROR_PREFIX = "{\"error\":\"".getBytes(StandardCharsets.US_ASCII);
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final boolean virtualThreads;
+    private final OrderController orderController;
+    private final ByteBufferPool receiptBuffers = new ByteBufferPool(RECEIPT_BUFFER_SIZE, PLATFORM_THREADS);
+
+    /**
+     * Constructs a server bound to the given address; requests are accepted once it is started.
+     *
+     * @param address the address to bind to, port 0 binds to an ephemeral port.
+     * @param orderService the service pricing the orders.
+     * @param orderStorage the storage of the paid orders.
+     * @param loyaltyIndex the index keeping the running beverage counters of the customers.
+     * @param paymentService the service processing the payments.
+     * @throws IOException if the server cannot be bound.
+     */
+    public OrderHttpServer(InetSocketAddress address,
+                           IOrderService orderService,
+                           IOrderStorage orderStorage,
+                           ILoyaltyIndex loyaltyIndex,
+                           IPaymentService paymentService) throws IOException {
+        // Receipts are rendered from the orders returned by checkout, so the controller needs no presenter
+        this.orderController = new OrderController(orderService, orderStorage, loyaltyIndex, paymentService);
+        ExecutorService virtualThreadExecutor = newVirtualThreadPerTaskExecutor();
+        this.virtualThreads = virtualThreadExecutor != null;
+        this.executor = virtualThreads ? virtualThreadExecutor : Executors.newFixedThreadPool(PLATFORM_THREADS, new RequestThreadFactory());
+        this.server = HttpServer.create(address, BACKLOG);
+        this.server.createContext(ORDERS_PATH, this::handle);
+        this.server.setExecutor(executor);
+    }
+
+    /**
+     * Starts accepting requests.
+     */
+    public void start() {
+        server.start();
+    }
+
+    /**
+     * Returns the port the server is bound to.
+     *
+     * @return the port.
+     */
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    /**
+     * Returns whether requests are handled on virtual threads.
+     *
+     * @return true on runtimes providing virtual threads.
+     */
+    public boolean usesVirtualThreads() {
+        return virtualThreads;
+    }
+
+    /**
+     * Stops accepting requests and waits briefly for the requests in progress.
+     */
+    @Override
+    public void close() {
+        server.stop(1);
+        executor.shutdown();
+        try {
+            executor.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            if (!"POST".equals(exchange.getRequestMethod())) {
+                exchange.getResponseHeaders().set("Allow", "POST");
+                respond(exchange, 405, error("Only POST is supported"));
+                return;
+            }
+            byte[] bytes = exchange.getRequestBody().readNBytes(MAX_REQUEST_BYTES + 1);
+            if (bytes.length > MAX_REQUEST_BYTES) {
+                respond(exchange, 413, error("Order exceeds " + MAX_REQUEST_BYTES + " bytes"));
+                return;
+            }
+            String body = new String(bytes, StandardCharsets.UTF_8);
+            ReceiptRenderer renderer = selectRenderer(exchange.getRequestHeaders().getFirst("Accept"));
+            Order order;
+            try {
+                order = processOrder(OrderRequest.parse(body));
+            } catch (IllegalArgumentException e) {
+                respond(exchange, 400, error(e.getMessage()));
+                return;
+            } catch (RuntimeException e) {
+                System.err.println("Failed to process an order: " + e);
+                respond(exchange, 500, error("Failed to process the order"));
+                return;
+            }
+            ByteBuffer receipt = renderer.render(order, receiptBuffers);
+            try {
+                respond(exchange, 200, renderer.getContentType(), receipt);
+            } finally {
+                receiptBuffers.release(receipt);
+            }
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private Order processOrder(OrderRequest request) {
+        int[] skus = request.getSkus();
+        SkuBasket products = new SkuBasket(skus.length);
+        for (int sku : skus) {
+            products.addSku(sku);
+        }
+        return orderController.checkout(request.getCustomerId(), products);
+    }
+
+    /**
+     * Selects the renderer of the receipt by the media ranges the client accepts. The quality of a format is the
+     * one of the most specific range matching it, and a quality of 0 marks it as not acceptable. The format with
+     * the highest quality wins; ties go to the more specific range and then to the range listed first.
+     *
+     * @param accept the value of the Accept header, or null if absent.
+     * @return the renderer, JSON if the client accepts no format or all formats alike.
+     */
+    static ReceiptRenderer selectRenderer(String accept) {
+        if (accept == null) {
+            return JSON_RENDERER;
+        }
+        String[] ranges = accept.split(",");
+        ReceiptRenderer selected = JSON_RENDERER;
+        double selectedQuality = 0;
+        int selectedSpecificity = -1;
+        int selectedPosition = ranges.length;
+        for (ReceiptRenderer renderer : RENDERERS) {
+            String contentType = renderer.getContentType();
+            int end = contentType.indexOf(';');
+            String mediaType = end < 0 ? contentType : contentType.substring(0, end);
+            double quality = 0;
+            int specificity = -1;
+            int position = ranges.length;
+            for (int i = 0; i < ranges.length; i++) {
+                String[] parameters = ranges[i].split(";");
+                int rangeSpecificity = specificity(parameters[0].trim().toLowerCase(Locale.ROOT), mediaType);
+                if (rangeSpecificity > specificity) {
+                    quality = quality(parameters);
+                    specificity = rangeSpecificity;
+                    position = i;
+                }
+            }
+            boolean better = quality > selectedQuality
+                    || quality > 0 && quality == selectedQuality && (specificity > selectedSpecificity
+                    || specificity == selectedSpecificity && position < selectedPosition);
+            if (better) {
+                selected = renderer;
+                selectedQuality = quality;
+                selectedSpecificity = specificity;
+                selectedPosition = position;
+            }
+        }
+        return selected;
+    }
+
+    /**
+     * Returns how specifically a media range matches a media type: 2 for the type itself, 1 for its type with
+     * any subtype, 0 for any type and -1 if it does not match.
+     */
+    private static int specificity(String range, String mediaType) {
+        if (range.equals(mediaType)) {
+            return 2;
+        }
+        if (range.endsWith("/*")) {
+            String type = range.substring(0, range.length() - 1);
+            return type.equals("*/") ? 0 : mediaType.startsWith(type) ? 1 : -1;
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the quality value of a media range, 1 if it has none or an invalid one.
+     */
+    private static double quality(String[] parameters) {
+        for (int i = 1; i < parameters.length; i++) {
+            String parameter = parameters[i].trim();
+            if (parameter.startsWith("q=") || parameter.startsWith("Q=")) {
+                try {
+                    double quality = Double.parseDouble(parameter.substring(2).trim());
+                    return quality >= 0 && quality <= 1 ? quality : 1;
+                } catch (NumberFormatException e) {
+                    return 1;
+                }
+            }
+        }
+        return 1;
+    }
+
+    private static void respond(HttpExchange exchange, int status, ByteBuffer json) throws IOException {
+        respond(exchange, status, JSON_RENDERER.getContentType(), json);
+    }
+
+    private static void respond(HttpExchange exchange, int status, String contentType, ByteBuffer body) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", contentType);
+        exchange.sendResponseHeaders(status, body.remaining());
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body.array(), body.arrayOffset() + body.position(), body.remaining());
+        }
+    }
+
+    /**
+     * Renders an error document; the message is escaped like the descriptions of JSON receipts.
+     */
+    static ByteBuffer error(String message) {
+        String text = message != null ? message : "Invalid request";
+        ByteBuffer json = ByteBuffer.allocate(ERROR_PREFIX.length + JsonReceiptRenderer.maxEscapedSize(text) + 2);
+        JsonReceiptRenderer.putEscaped(json.put(ERROR_PREFIX), text).put((byte) '"').put((byte) '}');
+        return json.flip();
+    }
+
+    /**
+     * Creates a virtual-thread-per-task executor via reflection, as the project is compiled for Java 17.
+     *
+     * @return the executor, or null if the runtime has no virtual threads.
+     */
+    static ExecutorService newVirtualThreadPerTaskExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Names the platform request threads and keeps them from blocking the JVM shutdown.
+     */
+    private static final class RequestThreadFactory implements ThreadFactory {
+        private final AtomicInteger count = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "order-http-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
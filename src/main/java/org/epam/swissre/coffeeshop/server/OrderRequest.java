@@ -0,0 +1,186 @@
+package org.epam.swissre.coffeeshop.server;
+
+import org.epam.swissre.coffeeshop.service.ILoyaltyIndex;
+
+import java.util.Arrays;
+
+/**
+ * An order received by the {@link OrderHttpServer}: the customer and the SKUs of the ordered products.
+ *
+ * <p>The request body is a JSON object of the form {@code {"customerId": "anna", "skus": [0, 3, 7]}}; the
+ * customer is optional and defaults to {@link ILoyaltyIndex#WALK_IN_CUSTOMER}. Only this shape is accepted, so
+ * the body is read by a small dedicated parser instead of a general JSON library.</p>
+ */
+final class OrderRequest {
+
+    private final String customerId;
+    private final int[] skus;
+
+    private OrderRequest(String customerId, int[] skus) {
+        this.customerId = customerId;
+        this.skus = skus;
+    }
+
+    /**
+     * Parses an order request.
+     *
+     * @param json the request body.
+     * @return the parsed request.
+     * @throws IllegalArgumentException if the body is not an order request.
+     */
+    static OrderRequest parse(String json) {
+        return new Parser(json).parseRequest();
+    }
+
+    String getCustomerId() {
+        return customerId;
+    }
+
+    int[] getSkus() {
+        return skus;
+    }
+
+    /**
+     * Recursive descent parser over the characters of one request body.
+     */
+    private static final class Parser {
+        private final String json;
+        private int position;
+
+        Parser(String json) {
+            if (json == null) {
+                throw new IllegalArgumentException("Order request cannot be null");
+            }
+            this.json = json;
+        }
+
+        OrderRequest parseRequest() {
+            String customerId = ILoyaltyIndex.WALK_IN_CUSTOMER;
+            int[] skus = null;
+            expect('{');
+            if (!consume('}')) {
+                do {
+                    String key = parseString();
+                    expect(':');
+                    switch (key) {
+                        case "customerId" -> customerId = parseString();
+                        case "skus" -> skus = parseIntArray();
+                        default -> throw error("Unknown field '" + key + "'");
+                    }
+                } while (consume(','));
+                expect('}');
+            }
+            skipWhitespace();
+            if (position != json.length()) {
+                throw error("Unexpected content after the order");
+            }
+            if (skus == null) {
+                throw error("Missing field 'skus'");
+            }
+            if (customerId.isBlank()) {
+                throw error("Customer id cannot be empty");
+            }
+            return new OrderRequest(customerId, skus);
+        }
+
+        private String parseString() {
+            expect('"');
+            StringBuilder value = new StringBuilder();
+            while (position < json.length()) {
+                char c = json.charAt(position++);
+                if (c == '"') {
+                    return value.toString();
+                }
+                if (c == '\\') {
+                    if (position >= json.length()) {
+                        break;
+                    }
+                    char escaped = json.charAt(position++);
+                    switch (escaped) {
+                        case '"', '\\', '/' -> value.append(escaped);
+                        case 'n' -> value.append('\n');
+                        case 't' -> value.append('\t');
+                        case 'r' -> value.append('\r');
+                        case 'b' -> value.append('\b');
+                        case 'f' -> value.append('\f');
+                        case 'u' -> value.append(parseUnicodeEscape());
+                        default -> throw error("Invalid escape '\\" + escaped + "'");
+                    }
+                } else {
+                    value.append(c);
+                }
+            }
+            throw error("Unterminated string");
+        }
+
+        private char parseUnicodeEscape() {
+            if (position + 4 > json.length()) {
+                throw error("Invalid unicode escape");
+            }
+            try {
+                char c = (char) Integer.parseInt(json.substring(position, position + 4), 16);
+                position += 4;
+                return c;
+            } catch (NumberFormatException e) {
+                throw error("Invalid unicode escape");
+            }
+        }
+
+        private int[] parseIntArray() {
+            expect('[');
+            int[] values = new int[8];
+            int count = 0;
+            if (!consume(']')) {
+                do {
+                    if (count == values.length) {
+                        values = Arrays.copyOf(values, count * 2);
+                    }
+                    values[count++] = parseInt();
+                } while (consume(','));
+                expect(']');
+            }
+            return Arrays.copyOf(values, count);
+        }
+
+        private int parseInt() {
+            skipWhitespace();
+            int start = position;
+            if (position < json.length() && json.charAt(position) == '-') {
+                position++;
+            }
+            while (position < json.length() && Character.isDigit(json.charAt(position))) {
+                position++;
+            }
+            try {
+                return Integer.parseInt(json.substring(start, position));
+            } catch (NumberFormatException e) {
+                throw error("Expected a SKU number");
+            }
+        }
+
+        private void expect(char expected) {
+            if (!consume(expected)) {
+                throw error("Expected '" + expected + "'");
+            }
+        }
+
+        private boolean consume(char expected) {
+            skipWhitespace();
+            if (position < json.length() && json.charAt(position) == expected) {
+                position++;
+                return true;
+            }
+            return false;
+        }
+
+        private void skipWhitespace() {
+            while (position < json.length() && Character.isWhitespace(json.charAt(position))) {
+                position++;
+            }
+        }
+
+        private IllegalArgumentException error(String message) {
+            return new IllegalArgumentException(message + " at position " + position);
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package org.epam.swissre.coffeeshop.service;
+
+import org.epam.swissre.coffeeshop.model.Order;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Interface for the loyalty index which keeps a running count of the beverages already paid by the customer,
+ * so promotions like "every 5th beverage free" do not need to replay the whole order history.
+ *
+ * <p>The beverages of an order are claimed when it is priced, so the next order of the customer is priced with
+ * them. The claim is only a reservation until the order is paid and stored: the controller then commits it with
+ * {@link #commitOrders(String, List)}, or releases it with {@link #releaseOrders(String, List)} if the payment
+ * was declined or the order could not be stored.</p>
+ */
+public interface ILoyaltyIndex {
+
+    /**
+     * Identifier of the customer of orders placed without a customer, e.g. by the CLI.
+     */
+    String WALK_IN_CUSTOMER = "walk-in";
+
+    /**
+     * Returns the number of beverages paid in all previously recorded orders.
+     *
+     * @return the running beverage counter.
+     */
+    long getBeverageCount();
+
+    /**
+     * Advances the running counters by the beverages contained in a paid order.
+     *
+     * @param order the paid order to be recorded.
+     * @throws IOException If an I/O error occurs persisting the index.
+     */
+    void recordOrder(Order order) throws IOException;
+
+    /**
+     * Atomically advances the running counter by the beverages of an order, but only if the counter still
+     * has the value the order was priced with. Concurrent checkouts which priced their orders against the same
+     * counter therefore cannot both claim the same free beverage; the losing checkout has to price its order
+     * again with the current counter.
+     *
+     * @param expectedBeverageCount the counter the order was priced with.
+     * @param order the order whose beverages are to be counted.
+     * @return true if the counter was advanced, false if it has changed in the meantime.
+     * @throws IOException If an I/O error occurs persisting the index.
+     */
+    boolean compareAndAdvance(long expectedBeverageCount, Order order) throws IOException;
+
+    /**
+     * Takes back the beverages of a claimed order which was not paid or could not be stored, so they do not count
+     * towards a free beverage. Orders priced while the claim was held keep their price.
+     *
+     * @param order the claimed order.
+     */
+    void releaseOrder(Order order);
+
+    /**
+     * Returns the number of beverages paid by a customer in all previously recorded orders.
+     * Implementations which do not distinguish customers return the counter shared by all customers.
+     *
+     * @param customerId the identifier of the customer.
+     * @return the running beverage counter of the customer.
+     */
+    default long getBeverageCount(String customerId) {
+        return getBeverageCount();
+    }
+
+    /**
+     * Atomically advances the running counter of a customer by the beverages of an order, but only if the counter
+     * still has the value the order was priced with (see {@link #compareAndAdvance(long, Order)}).
+     * Implementations which do not distinguish customers advance the counter shared by all customers.
+     *
+     * @param customerId the identifier of the customer.
+     * @param expectedBeverageCount the counter the order was priced with.
+     * @param order the order whose beverages are to be counted.
+     * @return true if the counter was advanced, false if it has changed in the meantime.
+     * @throws IOException If an I/O error occurs persisting the index.
+     */
+    default boolean compareAndAdvance(String customerId, long expectedBeverageCount, Order order) throws IOException {
+        return compareAndAdvance(expectedBeverageCount, order);
+    }
+
+    /**
+     * Advances the running counter of a customer by the beverages of consecutive orders, the first one priced with
+     * the expected counter and every following one with the counter advanced by the orders before it. The orders
+     * are claimed in sequence for as long as the counter still has the value the next order was priced with; the
+     * orders after a concurrent change have to be priced again with the current counter.
+     * The default implementation claims the orders one by one with {@link #compareAndAdvance(String, long, Order)};
+     * implementations may claim all of them in one step.
+     *
+     * @param customerId the identifier of the customer.
+     * @param expectedBeverageCount the counter the first order was priced with.
+     * @param orders the orders whose beverages are to be counted, in pricing order.
+     * @return the number of leading orders claimed, from 0 to the number of orders.
+     * @throws IOException If an I/O error occurs persisting the index.
+     */
+    default int claimOrders(String customerId, long expectedBeverageCount, List<Order> orders) throws IOException {
+        long beverageCount = expectedBeverageCount;
+        for (int i = 0; i < orders.size(); i++) {
+            Order order = orders.get(i);
+            if (!compareAndAdvance(customerId, beverageCount, order)) {
+                return i;
+            }
+            beverageCount += order.getBeverageCount();
+        }
+        return orders.size();
+    }
+
+    /**
+     * Confirms the claims of orders once they are paid and stored. Indexes persisting their counters write them
+     * here, so a persisted counter never includes orders missing from the order history. The default does nothing,
+     * as the counter was already advanced by the claim.
+     *
+     * @param customerId the identifier of the customer.
+     * @param orders the stored orders.
+     * @throws IOException If an I/O error occurs persisting the index.
+     */
+    default void commitOrders(String customerId, List<Order> orders) throws IOException {
+    }
+
+    /**
+     * Takes back the beverages of claimed orders of a customer which were not paid or could not be stored (see
+     * {@link #releaseOrder(Order)}). Implementations which do not distinguish customers release them from the
+     * counter shared by all customers.
+     *
+     * @param customerId the identifier of the customer.
+     * @param orders the claimed orders.
+     */
+    default void releaseOrders(String customerId, List<Order> orders) {
+        for (Order order : orders) {
+            releaseOrder(order);
+        }
+    }
+}
@@ -3,11 +3,35 @@ package org.epam.swissre.coffeeshop.service;
 import org.epam.swissre.coffeeshop.model.Order;
 import org.epam.swissre.coffeeshop.model.Product;
 
+import java.util.ArrayList;
 import java.util.List;
 
 /**
  * Interface for the Order Service used to handle business logic related to order processing.
  */
 public interface IOrderService {
-    Order processOrder(List<Product> newProducts, List<Product> alreadyPaidProducts);
+    Order processOrder(List<Product> newProducts, long alreadyPaidBeverageCount);
+
+    /**
+     * Processes consecutive orders of one customer, e.g. offline orders imported by the head office. Every order
+     * is priced with the beverages already paid before the batch plus the beverages of the orders before it.
+     *
+     * @param batch the product lists of the orders, in the order they were placed.
+     * @param alreadyPaidBeverageCount the number of beverages paid before the first order of the batch.
+     * @return the processed orders, in the order of the batch.
+     * @throws IllegalArgumentException if the batch or one of its product lists is null or empty.
+     */
+    default List<Order> processOrders(List<List<Product>> batch, long alreadyPaidBeverageCount) {
+        if (batch == null || batch.isEmpty()) {
+            throw new IllegalArgumentException("Order batch cannot be null or empty.");
+        }
+        List<Order> orders = new ArrayList<>(batch.size());
+        long beverageCount = alreadyPaidBeverageCount;
+        for (List<Product> products : batch) {
+            Order order = processOrder(products, beverageCount);
+            beverageCount += order.getBeverageCount();
+            orders.add(order);
+        }
+        return orders;
+    }
 }
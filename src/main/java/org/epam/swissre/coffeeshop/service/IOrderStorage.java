@@ -2,7 +2,10 @@ package org.epam.swissre.coffeeshop.service;
 
 import org.epam.swissre.coffeeshop.model.Order;
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.List;
+import java.util.Objects;
+import java.util.stream.Stream;
 
 /**
  * Interface for storing and retrieving coffee shop orders from a storage medium,
@@ -23,4 +26,43 @@ public interface IOrderStorage {
      * @throws IOException If an I/O error occurs reading from the file.
      */
     List<Order> retrieveOrders() throws IOException;
-}
\ No newline at end of file
+
+    /**
+     * Streams the stored orders in storage order. Implementations read lazily with bounded memory, so
+     * the history is never materialized and a short-circuiting operation stops reading early.
+     * The stream may hold an open file handle and must be closed, e.g. with try-with-resources.
+     * I/O errors while the stream is consumed are thrown as {@link java.io.UncheckedIOException}.
+     * @return A stream of orders.
+     * @throws IOException If an I/O error occurs opening the storage.
+     */
+    default Stream<Order> streamOrders() throws IOException {
+        return retrieveOrders().stream();
+    }
+
+    /**
+     * Counts the beverages of all stored orders, e.g. to rebuild the loyalty counter. The default streams the
+     * orders; storages keeping aggregates answer from those, and decorators delegate to the storage they wrap.
+     * @return The number of beverages.
+     * @throws IOException If an I/O error occurs reading from the storage.
+     */
+    default long countBeverages() throws IOException {
+        try (Stream<Order> orders = streamOrders()) {
+            return orders
+                    .filter(Objects::nonNull)
+                    .mapToLong(Order::getBeverageCount)
+                    .sum();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Returns the size of the stored order history, e.g. the length of an append-only log in bytes. The size
+     * changes with every stored order, so indexes derived from the history can tell that they are out of date.
+     * @return The size, or -1 if the storage cannot tell it cheaply.
+     * @throws IOException If an I/O error occurs reading the size.
+     */
+    default long getStoredSize() throws IOException {
+        return -1;
+    }
+}
@@ -2,6 +2,8 @@ package org.epam.swissre.coffeeshop.service;
 
 import org.epam.swissre.coffeeshop.model.Order;
 
+import java.util.List;
+
 /**
  * Interface defining the contract for payment processing services within the application.
  * This interface ensures that any payment processing class adheres to a standard
@@ -15,4 +17,16 @@ public interface IPaymentService {
      * @param order The order for which the payment needs to be processed.
      */
     void processPayment(Order order);
+
+    /**
+     * Processes the payments of several orders, e.g. as one settlement. The default implementation processes
+     * the payment of every order on its own.
+     *
+     * @param orders The orders for which the payments need to be processed.
+     */
+    default void processPayments(List<Order> orders) {
+        for (Order order : orders) {
+            processPayment(order);
+        }
+    }
 }
@@ -0,0 +1,336 @@
+package org.epam.swissre.coffeeshop.service.impl;
+
+import org.epam.swissre.coffeeshop.enums.DurabilityPolicy;
+import org.epam.swissre.coffeeshop.model.Order;
+import org.epam.swissre.coffeeshop.model.Product;
+import org.epam.swissre.coffeeshop.model.SkuBasket;
+import org.epam.swissre.coffeeshop.service.IOrderStorage;
+import org.epam.swissre.coffeeshop.util.CachedClock;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * This class manages the storage and retrieval of Orders in a binary, memory-mapped order log. It is an
+ * alternative to the CSV-based {@link OrderStorage}: records are encoded and decoded directly in a
+ * {@link MappedByteBuffer} without any text parsing, and menu products are referenced by their product code.
+ *
+ * <p>File layout (big-endian):</p>
+ * <pre>
+ * header:  int magic | short version | short reserved | long committed end | long next order id | long reserved
+ * record:  int length | long order id | long timestamp | short product count | product...
+ * product: short product code | int price in cents [| byte kind mask | short name length | name bytes (UTF-8)]
+ * </pre>
+ * <p>The name part is only present for products with the {@link ProductCodes#UNKNOWN} code. The committed end
+ * in the header is updated after the records are written, so a partially written record is never read back. When
+ * the durability policy forces writes, the records are forced before the header, so after a crash the committed
+ * end never covers records which did not reach the storage device.</p>
+ */
+public class BinaryOrderStorage implements IOrderStorage, Closeable {
+
+    static final int MAGIC = 0x434F4C47; // "COLG", coffee order log
+    static final short CURRENT_VERSION = 1;
+    static final int HEADER_SIZE = 32;
+
+    private static final int COMMITTED_END_OFFSET = 8;
+    private static final int NEXT_ORDER_ID_OFFSET = 16;
+    private static final int RECORD_HEADER_SIZE = Integer.BYTES + Long.BYTES + Long.BYTES + Short.BYTES;
+    private static final int PRODUCT_SIZE = Short.BYTES + Integer.BYTES;
+    private static final int UNKNOWN_PRODUCT_EXTRA_SIZE = Byte.BYTES + Short.BYTES;
+    private static final int MAX_UNSIGNED_SHORT = 0xFFFF;
+    private static final long INITIAL_CAPACITY = 1 << 20;
+
+    private final Path path;
+    private final DurabilityPolicy durabilityPolicy;
+    private final CachedClock clock;
+    private final FileChannel channel;
+    private MappedByteBuffer buffer;
+    private long committedEnd;
+    private long nextOrderId;
+
+    /**
+     * Constructs a BinaryOrderStorage without forcing written records to the storage device.
+     *
+     * @param filePath the path where the order log is stored or will be created.
+     */
+    public BinaryOrderStorage(String filePath) {
+        this(filePath, DurabilityPolicy.NONE);
+    }
+
+    /**
+     * Constructs a BinaryOrderStorage linked to a specified file path. If the order log does not exist,
+     * a new one with an empty header is created; otherwise the header is validated.
+     *
+     * @param filePath the path where the order log is stored or will be created.
+     * @param durabilityPolicy defines when the written records are forced to the storage device.
+     */
+    public BinaryOrderStorage(String filePath, DurabilityPolicy durabilityPolicy) {
+        this(filePath, durabilityPolicy, CachedClock.shared());
+    }
+
+    /**
+     * Constructs a BinaryOrderStorage which timestamps the records with the given clock.
+     *
+     * @param filePath the path where the order log is stored or will be created.
+     * @param durabilityPolicy defines when the written records are forced to the storage device.
+     * @param clock the clock providing the timestamps of the records.
+     */
+    public BinaryOrderStorage(String filePath, DurabilityPolicy durabilityPolicy, CachedClock clock) {
+        if (durabilityPolicy == null) {
+            throw new IllegalArgumentException("Durability policy cannot be null");
+        }
+        if (clock == null) {
+            throw new IllegalArgumentException("Clock cannot be null");
+        }
+        this.path = Paths.get(filePath);
+        this.durabilityPolicy = durabilityPolicy;
+        this.clock = clock;
+        try {
+            this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            if (channel.size() == 0) {
+                map(INITIAL_CAPACITY);
+                buffer.putInt(0, MAGIC).putShort(4, CURRENT_VERSION);
+                writeHeader(HEADER_SIZE, 0);
+            } else {
+                map(Math.max(channel.size(), HEADER_SIZE));
+                readHeader();
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to initialize storage file.", e);
+        }
+    }
+
+    /**
+     * Appends new orders to the order log, growing the mapped region if required.
+     *
+     * @param newOrders a list of new orders to be appended to the log.
+     * @throws IOException if an error occurs during file operation.
+     */
+    @Override
+    public synchronized void storeOrders(List<Order> newOrders) throws IOException {
+        long position = committedEnd;
+        for (Order order : newOrders) {
+            if (order == null || order.getProducts().isEmpty()) {
+                continue;
+            }
+            int length = recordLength(order);
+            ensureCapacity(position + length);
+            encode(order, (int) position, length);
+            position += length;
+            if (durabilityPolicy == DurabilityPolicy.PER_ORDER) {
+                forceAndCommit(position);
+            }
+        }
+        if (durabilityPolicy == DurabilityPolicy.PER_BATCH) {
+            forceAndCommit(position);
+        } else {
+            writeHeader(position, nextOrderId);
+        }
+    }
+
+    /**
+     * Forces the records written since the last commit before the header covering them, so the committed end
+     * never points past records which have not reached the storage device.
+     */
+    private void forceAndCommit(long end) {
+        if (end > committedEnd) {
+            buffer.force((int) committedEnd, (int) (end - committedEnd));
+        }
+        writeHeader(end, nextOrderId);
+        buffer.force(0, HEADER_SIZE);
+    }
+
+    /**
+     * Retrieves all committed orders from the order log.
+     *
+     * @return a list of all orders retrieved from the log.
+     */
+    @Override
+    public synchronized List<Order> retrieveOrders() {
+        List<Order> orders = new ArrayList<>();
+        int position = HEADER_SIZE;
+        while (position < committedEnd) {
+            int length = buffer.getInt(position);
+            orders.add(decode(buffer, position));
+            position += length;
+        }
+        return orders;
+    }
+
+    /**
+     * Streams the orders committed at the time of the call, decoding every record only when it is consumed.
+     * Committed records are never modified, so the stream reads the current mapping without holding the lock
+     * and stays valid while further orders are appended.
+     *
+     * @return a stream of the committed orders in log order.
+     */
+    @Override
+    public Stream<Order> streamOrders() {
+        ByteBuffer source;
+        long end;
+        synchronized (this) {
+            source = buffer;
+            end = committedEnd;
+        }
+        Spliterator<Order> spliterator = new Spliterators.AbstractSpliterator<>(Long.MAX_VALUE,
+                Spliterator.ORDERED | Spliterator.NONNULL) {
+            private int position = HEADER_SIZE;
+
+            @Override
+            public boolean tryAdvance(Consumer<? super Order> action) {
+                if (position >= end) {
+                    return false;
+                }
+                Order order = decode(source, position);
+                position += source.getInt(position);
+                action.accept(order);
+                return true;
+            }
+        };
+        return StreamSupport.stream(spliterator, false);
+    }
+
+    /**
+     * Returns the end of the committed records; the mapped file may be larger.
+     *
+     * @return the committed length of the log in bytes.
+     */
+    @Override
+    public synchronized long getStoredSize() {
+        return committedEnd;
+    }
+
+    /**
+     * Closes the underlying file channel. The mapping stays valid until it is garbage collected.
+     *
+     * @throws IOException if an error occurs while closing the channel.
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        buffer.force();
+        channel.close();
+    }
+
+    private int recordLength(Order order) throws IOException {
+        if (order.getProducts().size() > MAX_UNSIGNED_SHORT) {
+            throw new IOException("Order exceeds the maximum number of products per record: " + order.getProducts().size());
+        }
+        int length = RECORD_HEADER_SIZE;
+        for (Product product : order.getProducts()) {
+            if (product.getPriceInCents() > Integer.MAX_VALUE) {
+                throw new IOException("Product price exceeds the maximum price per record: " + product.getPriceInCents());
+            }
+            length += PRODUCT_SIZE;
+            if (ProductCodes.codeOf(product) == ProductCodes.UNKNOWN) {
+                length += UNKNOWN_PRODUCT_EXTRA_SIZE + product.getName().getBytes(StandardCharsets.UTF_8).length;
+            }
+        }
+        return length;
+    }
+
+    private void encode(Order order, int position, int length) {
+        List<Product> products = order.getProducts();
+        buffer.putInt(position, length);
+        buffer.putLong(position + 4, nextOrderId++);
+        buffer.putLong(position + 12, clock.currentTimeMillis());
+        buffer.putShort(position + 20, (short) products.size());
+        int offset = position + RECORD_HEADER_SIZE;
+        for (Product product : products) {
+            int code = ProductCodes.codeOf(product);
+            buffer.putShort(offset, (short) code);
+            buffer.putInt(offset + 2, (int) product.getPriceInCents());
+            offset += PRODUCT_SIZE;
+            if (code == ProductCodes.UNKNOWN) {
+                byte[] name = product.getName().getBytes(StandardCharsets.UTF_8);
+                buffer.put(offset, (byte) product.getKindMask());
+                buffer.putShort(offset + 1, (short) name.length);
+                buffer.put(offset + UNKNOWN_PRODUCT_EXTRA_SIZE, name);
+                offset += UNKNOWN_PRODUCT_EXTRA_SIZE + name.length;
+            }
+        }
+    }
+
+    private static Order decode(ByteBuffer buffer, int position) {
+        int productCount = buffer.getShort(position + 20) & MAX_UNSIGNED_SHORT;
+        SkuBasket products = new SkuBasket(productCount);
+        int offset = position + RECORD_HEADER_SIZE;
+        for (int i = 0; i < productCount; i++) {
+            int code = buffer.getShort(offset);
+            int priceInCents = buffer.getInt(offset + 2);
+            offset += PRODUCT_SIZE;
+            if (code == ProductCodes.UNKNOWN) {
+                // Version 1 files flagged beverages with 1, which is the beverage bit of the kind mask
+                int kindMask = buffer.get(offset) & 0xFF;
+                byte[] name = new byte[buffer.getShort(offset + 1) & MAX_UNSIGNED_SHORT];
+                buffer.get(offset + UNKNOWN_PRODUCT_EXTRA_SIZE, name);
+                offset += UNKNOWN_PRODUCT_EXTRA_SIZE + name.length;
+                String productName = new String(name, StandardCharsets.UTF_8);
+                products.add(new StoredProduct(productName, priceInCents, kindMask));
+            } else {
+                products.addSku(code);
+            }
+        }
+        return new Order(products);
+    }
+
+    private void readHeader() throws IOException {
+        if (buffer.getInt(0) != MAGIC) {
+            throw new IOException("Not an order log: " + path);
+        }
+        short version = buffer.getShort(4);
+        if (version != CURRENT_VERSION) {
+            throw new IOException("Unsupported order log version " + version + " (supported: " + CURRENT_VERSION + "): " + path);
+        }
+        committedEnd = buffer.getLong(COMMITTED_END_OFFSET);
+        nextOrderId = buffer.getLong(NEXT_ORDER_ID_OFFSET);
+        if (committedEnd < HEADER_SIZE || committedEnd > buffer.capacity()) {
+            throw new IOException("Corrupted order log header, committed end " + committedEnd + ": " + path);
+        }
+    }
+
+    private void writeHeader(long committedEnd, long nextOrderId) {
+        buffer.putLong(COMMITTED_END_OFFSET, committedEnd);
+        buffer.putLong(NEXT_ORDER_ID_OFFSET, nextOrderId);
+        this.committedEnd = committedEnd;
+    }
+
+    private void ensureCapacity(long required) throws IOException {
+        if (required > buffer.capacity()) {
+            long capacity = buffer.capacity();
+            while (capacity < required) {
+                capacity *= 2;
+            }
+            if (capacity > Integer.MAX_VALUE) {
+                throw new IOException("Order log exceeds the maximum mappable size: " + path);
+            }
+            map(capacity);
+        }
+    }
+
+    private void map(long capacity) throws IOException {
+        buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, capacity);
+    }
+
+    /**
+     * A product which is not part of the menu, decoded from its stored name, price and kinds.
+     */
+    private static class StoredProduct extends Product {
+        StoredProduct(String name, long priceInCents, int kindMask) {
+            super(name, priceInCents, kindMask);
+        }
+    }
+}
@@ -1,20 +1,24 @@
 package org.epam.swissre.coffeeshop.service.impl;
 
+import org.epam.swissre.coffeeshop.bonus.BasketSummary;
 import org.epam.swissre.coffeeshop.bonus.BonusStrategy;
 import org.epam.swissre.coffeeshop.model.Order;
 import org.epam.swissre.coffeeshop.service.IBonusService;
 
-import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
  * Manages the application of various promotional (bonus) strategies to orders.
  * This service allows for registration of multiple promotion (bonus) strategies
  * and applies all registered strategies to a given order.
+ *
+ * <p>The service is thread-safe: strategies are kept in a copy-on-write list, so concurrent checkouts apply
+ * them without locking while registrations, which are rare, copy the list.</p>
  */
 public class BonusService implements IBonusService {
-    private boolean isApplyBonusCalled = false;
-    private final List<BonusStrategy> bonusStrategies = new ArrayList<>();
+    private volatile boolean isApplyBonusCalled = false;
+    private final List<BonusStrategy> bonusStrategies = new CopyOnWriteArrayList<>();
 
     /**
      * Registers a promotion (bonus) strategy to be applied to orders.
@@ -27,14 +31,18 @@ public class BonusService implements IBonusService {
     }
 
     /**
-     * Applies all registered promotion (bonus) strategies to an order.
+     * Applies all registered promotion (bonus) strategies to an order. The basket is summarized once and the
+     * summary is shared by all strategies.
      *
      * @param order The order to which registered promotions are to be applied.
      */
     @Override
     public void applyBonus(Order order) {
-        for (BonusStrategy strategy : bonusStrategies) {
-            strategy.apply(order);
+        if (!bonusStrategies.isEmpty()) {
+            BasketSummary basket = BasketSummary.of(order);
+            for (BonusStrategy strategy : bonusStrategies) {
+                strategy.apply(order, basket);
+            }
         }
         isApplyBonusCalled = true;
     }
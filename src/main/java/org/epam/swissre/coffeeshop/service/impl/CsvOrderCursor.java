@@ -0,0 +1,141 @@
+package org.epam.swissre.coffeeshop.service.impl;
+
+import org.epam.swissre.coffeeshop.model.Order;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Pull-based reader of CSV order lines: every call of {@link #advance()} reads just enough of the channel to
+ * parse the next valid record. Memory is bounded by the read buffer, which only grows for lines longer than
+ * the buffer.
+ *
+ * <p>Instances are not thread-safe.</p>
+ */
+final class CsvOrderCursor implements Closeable {
+
+    private static final byte LINE_SEPARATOR = '\n';
+    private static final int INITIAL_BUFFER_SIZE = 64 * 1024;
+
+    private final ReadableByteChannel channel;
+    private final CsvOrderParser parser;
+    private final ParsedOrder record = new ParsedOrder();
+    private ByteBuffer buffer = ByteBuffer.allocate(INITIAL_BUFFER_SIZE);
+    private int lineStart;
+    private int scanFrom;
+    private int limit;
+    private boolean endOfInput;
+
+    /**
+     * Constructs a cursor reading from the given channel.
+     *
+     * @param channel the channel to read the CSV lines from, closed by {@link #close()}.
+     * @param parser the parser tokenizing the lines.
+     */
+    CsvOrderCursor(ReadableByteChannel channel, CsvOrderParser parser) {
+        this.channel = channel;
+        this.parser = parser;
+    }
+
+    /**
+     * Moves to the next valid record, skipping empty and malformed lines.
+     *
+     * @return true if a record is available through {@link #current()}, false at the end of the channel.
+     * @throws IOException if an error occurs while reading from the channel.
+     */
+    boolean advance() throws IOException {
+        while (true) {
+            for (int i = scanFrom; i < limit; i++) {
+                if (buffer.get(i) == LINE_SEPARATOR) {
+                    int start = lineStart;
+                    lineStart = i + 1;
+                    scanFrom = lineStart;
+                    if (parser.parseLine(buffer, start, i, record)) {
+                        return true;
+                    }
+                }
+            }
+            scanFrom = limit;
+            if (endOfInput) {
+                // The last line may not be terminated by a line separator
+                int start = lineStart;
+                lineStart = limit;
+                return start < limit && parser.parseLine(buffer, start, limit, record);
+            }
+            fill();
+        }
+    }
+
+    /**
+     * Returns the current record. The instance is reused by the next call of {@link #advance()}.
+     *
+     * @return the current record.
+     */
+    ParsedOrder current() {
+        return record;
+    }
+
+    /**
+     * Returns a lazy, sequential stream of the remaining orders. Closing the stream closes this cursor and
+     * the underlying channel; I/O errors while reading are rethrown as {@link UncheckedIOException}.
+     *
+     * @return a stream of the remaining orders.
+     */
+    Stream<Order> stream() {
+        Spliterator<Order> spliterator = new Spliterators.AbstractSpliterator<>(Long.MAX_VALUE,
+                Spliterator.ORDERED | Spliterator.NONNULL) {
+            @Override
+            public boolean tryAdvance(Consumer<? super Order> action) {
+                try {
+                    if (!advance()) {
+                        return false;
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                action.accept(record.toOrder());
+                return true;
+            }
+        };
+        return StreamSupport.stream(spliterator, false).onClose(() -> {
+            try {
+                close();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private void fill() throws IOException {
+        if (lineStart == 0 && limit == buffer.capacity()) {
+            // The line does not fit into the buffer
+            buffer = ByteBuffer.allocate(buffer.capacity() * 2).put(buffer.clear());
+        } else {
+            // Move the incomplete line to the beginning of the buffer
+            buffer.limit(limit).position(lineStart);
+            buffer.compact();
+            scanFrom -= lineStart;
+            limit -= lineStart;
+            lineStart = 0;
+        }
+        int read = channel.read(buffer);
+        if (read < 0) {
+            endOfInput = true;
+        } else {
+            limit += read;
+        }
+    }
+}
@@ -0,0 +1,196 @@
+package org.epam.swissre.coffeeshop.service.impl;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Consumer;
+
+/**
+ * Hand-written, byte-level tokenizer for the CSV order format of {@link OrderStorage}
+ * ({@code name,price;name,price}, one order per line). Lines are parsed in place from a reusable
+ * {@link ByteBuffer} into a reusable {@link ParsedOrder}: there is no {@code String.split}, no {@code trim}
+ * and no floating point parsing, prices are read as fixed-point cents.
+ *
+ * <p>Malformed products (missing price, empty name, invalid or negative price) are skipped and lines without
+ * any valid product are reported as invalid, no exception is thrown for bad input. For menu products no object
+ * is allocated per parsed line; only the names of products outside the menu are decoded.</p>
+ *
+ * <p>Instances are not thread-safe, every parsing thread needs its own parser.</p>
+ */
+public final class CsvOrderParser {
+
+    private static final byte LINE_SEPARATOR = '\n';
+    private static final byte PRODUCT_SEPARATOR = ';';
+    private static final byte FIELD_SEPARATOR = ',';
+    private static final byte DECIMAL_SEPARATOR = '.';
+    private static final int MAX_INTEGER_DIGITS = 15;
+
+    private final ParsedOrder record = new ParsedOrder();
+
+    /**
+     * Parses a single CSV line into the given record.
+     *
+     * @param buffer the buffer containing the line.
+     * @param start the index of the first byte of the line (inclusive).
+     * @param end the index of the last byte of the line (exclusive), without the line separator.
+     * @param target the record to be filled, its previous content is discarded.
+     * @return true if the line contains at least one valid product, false for empty or malformed lines.
+     */
+    public boolean parseLine(ByteBuffer buffer, int start, int end, ParsedOrder target) {
+        target.clear();
+        int productStart = start;
+        for (int i = start; i <= end; i++) {
+            if (i == end || buffer.get(i) == PRODUCT_SEPARATOR) {
+                parseProduct(buffer, productStart, i, target);
+                productStart = i + 1;
+            }
+        }
+        return target.getProductCount() > 0;
+    }
+
+    /**
+     * Parses all complete lines of the given buffer region, handing every valid record to the consumer.
+     *
+     * @param buffer the buffer containing the CSV lines.
+     * @param start the index of the first byte of the first line (inclusive).
+     * @param end the index after the last byte of the region (exclusive).
+     * @param consumer receives every valid record; the record instance is reused for the next line.
+     * @return the number of valid records.
+     */
+    public int parseLines(ByteBuffer buffer, int start, int end, Consumer<ParsedOrder> consumer) {
+        int records = 0;
+        int lineStart = start;
+        for (int i = start; i < end; i++) {
+            if (buffer.get(i) == LINE_SEPARATOR) {
+                records += accept(buffer, lineStart, i, consumer);
+                lineStart = i + 1;
+            }
+        }
+        if (lineStart < end) {
+            records += accept(buffer, lineStart, end, consumer);
+        }
+        return records;
+    }
+
+    /**
+     * Reads the channel until its end, handing every valid record to the consumer. The channel is not closed.
+     *
+     * @param channel the channel to read the CSV lines from.
+     * @param consumer receives every valid record; the record instance is reused for the next line.
+     * @return the number of valid records.
+     * @throws IOException if an error occurs while reading from the channel.
+     */
+    public int parse(ReadableByteChannel channel, Consumer<ParsedOrder> consumer) throws IOException {
+        CsvOrderCursor cursor = new CsvOrderCursor(channel, this);
+        int records = 0;
+        while (cursor.advance()) {
+            consumer.accept(cursor.current());
+            records++;
+        }
+        return records;
+    }
+
+    private int accept(ByteBuffer buffer, int start, int end, Consumer<ParsedOrder> consumer) {
+        if (parseLine(buffer, start, end, record)) {
+            consumer.accept(record);
+            return 1;
+        }
+        return 0;
+    }
+
+    private void parseProduct(ByteBuffer buffer, int start, int end, ParsedOrder target) {
+        int separator = indexOf(buffer, start, end, FIELD_SEPARATOR);
+        if (separator < 0) {
+            return; // skip this detail if it's not complete
+        }
+        int priceEnd = indexOf(buffer, separator + 1, end, FIELD_SEPARATOR);
+        if (priceEnd < 0) {
+            priceEnd = end;
+        }
+
+        int nameStart = skipWhitespace(buffer, start, separator);
+        int nameEnd = trimWhitespace(buffer, nameStart, separator);
+        int priceStart = skipWhitespace(buffer, separator + 1, priceEnd);
+        long priceInCents = parseCents(buffer, priceStart, trimWhitespace(buffer, priceStart, priceEnd));
+        if (nameStart == nameEnd || priceInCents < 0) {
+            return; // skip malformed entries
+        }
+
+        int productCode = ProductCodes.codeOf(buffer, nameStart, nameEnd, priceInCents);
+        target.addProduct(productCode, priceInCents,
+                productCode == ProductCodes.UNKNOWN ? decode(buffer, nameStart, nameEnd) : null);
+    }
+
+    /**
+     * Parses a non-negative decimal number into cents, rounding half up after the second decimal digit.
+     *
+     * @return the amount in cents, or -1 if the text is not a valid non-negative decimal number.
+     */
+    static long parseCents(ByteBuffer buffer, int start, int end) {
+        long units = 0;
+        int i = start;
+        int integerDigits = 0;
+        while (i < end && isDigit(buffer.get(i))) {
+            if (++integerDigits > MAX_INTEGER_DIGITS) {
+                return -1;
+            }
+            units = units * 10 + (buffer.get(i++) - '0');
+        }
+        long cents = 0;
+        int fractionDigits = 0;
+        boolean roundUp = false;
+        if (i < end && buffer.get(i) == DECIMAL_SEPARATOR) {
+            i++;
+            while (i < end && isDigit(buffer.get(i))) {
+                int digit = buffer.get(i++) - '0';
+                if (fractionDigits < 2) {
+                    cents = cents * 10 + digit;
+                } else if (fractionDigits == 2) {
+                    roundUp = digit >= 5;
+                }
+                fractionDigits++;
+            }
+        }
+        if (i != end || integerDigits + fractionDigits == 0) {
+            return -1;
+        }
+        if (fractionDigits == 1) {
+            cents *= 10;
+        }
+        return units * 100 + cents + (roundUp ? 1 : 0);
+    }
+
+    private static int indexOf(ByteBuffer buffer, int start, int end, byte value) {
+        for (int i = start; i < end; i++) {
+            if (buffer.get(i) == value) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static int skipWhitespace(ByteBuffer buffer, int start, int end) {
+        while (start < end && buffer.get(start) <= ' ' && buffer.get(start) >= 0) {
+            start++;
+        }
+        return start;
+    }
+
+    private static int trimWhitespace(ByteBuffer buffer, int start, int end) {
+        while (end > start && buffer.get(end - 1) <= ' ' && buffer.get(end - 1) >= 0) {
+            end--;
+        }
+        return end;
+    }
+
+    private static boolean isDigit(byte value) {
+        return value >= '0' && value <= '9';
+    }
+
+    private static String decode(ByteBuffer buffer, int start, int end) {
+        byte[] name = new byte[end - start];
+        buffer.get(start, name);
+        return new String(name, StandardCharsets.UTF_8);
+    }
+}
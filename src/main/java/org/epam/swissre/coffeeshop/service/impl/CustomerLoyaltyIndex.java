@@ -0,0 +1,377 @@
+package org.epam.swissre.coffeeshop.service.impl;
+
+import org.epam.swissre.coffeeshop.enums.DurabilityPolicy;
+import org.epam.swissre.coffeeshop.model.Order;
+import org.epam.swissre.coffeeshop.service.ILoyaltyIndex;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Implementation of {@link ILoyaltyIndex} keeping a running beverage counter per customer in memory, for
+ * checkouts of many registers sharing one {@code OrderController}.
+ *
+ * <p>The counters are protected by lock striping: every customer is mapped to one of a fixed number of stripes,
+ * each guarding the counters of its customers with its own monitor. Checkouts of different customers therefore
+ * rarely contend, and there is no lock over all customers. Orders without a customer are counted for
+ * {@link ILoyaltyIndex#WALK_IN_CUSTOMER}.</p>
+ *
+ * <p>In front of a {@link WriteBehindOrderStorage}, the counters survive restarts: the index keeps the stored
+ * beverages of every customer apart from the claimed ones, and whenever the storage flushes a batch it adds the
+ * beverages of the committed orders in the batch and replaces a snapshot file of all customers atomically. The order
+ * history holds no customer ids, so a lost snapshot cannot be rebuilt from it; the counters then start at zero.
+ * Only orders claimed through this index are tracked until they are settled, so every claim must be committed or
+ * released, as the order controllers do; flushed orders which were never claimed are ignored.</p>
+ */
+public class CustomerLoyaltyIndex implements ILoyaltyIndex {
+
+    private static final int DEFAULT_STRIPE_COUNT = 64;
+    private static final int SNAPSHOT_VERSION = 1;
+    private static final int CLAIMED = 0;
+    private static final int STORED = 1;
+
+    private final Stripe[] stripes;
+    private final Path snapshotPath;
+    private final DurabilityPolicy durabilityPolicy;
+    private final Object snapshotLock = new Object();
+
+    // Claimed orders which are not settled yet, committed orders which are not flushed yet and flushed orders which
+    // are not committed yet, all guarded by unflushedOrders
+    private final Set<Order> claimedOrders = Collections.newSetFromMap(new IdentityHashMap<>());
+    private final Map<Order, String> unflushedOrders = new IdentityHashMap<>();
+    private final Set<Order> uncommittedOrders = Collections.newSetFromMap(new IdentityHashMap<>());
+
+    /**
+     * Constructs an empty index with the default number of stripes.
+     */
+    public CustomerLoyaltyIndex() {
+        this(DEFAULT_STRIPE_COUNT);
+    }
+
+    /**
+     * Constructs an empty index. The number of stripes is rounded up to a power of two.
+     *
+     * @param stripeCount the number of locks the customers are spread over.
+     * @throws IllegalArgumentException if the stripe count is not positive.
+     */
+    public CustomerLoyaltyIndex(int stripeCount) {
+        this(stripeCount, null, DurabilityPolicy.NONE);
+    }
+
+    /**
+     * Constructs an index whose counters are persisted whenever the order storage flushes a batch, loading the
+     * counters from the snapshot file if it exists. Pending orders are flushed first, as they were committed before.
+     *
+     * @param filePath the path where the snapshot file is stored or will be created.
+     * @param orderStorage the write-behind order storage whose flushes persist the counters.
+     * @param durabilityPolicy the durability policy of the order storage; the snapshot is forced to disk unless it is NONE.
+     */
+    public CustomerLoyaltyIndex(String filePath, WriteBehindOrderStorage orderStorage, DurabilityPolicy durabilityPolicy) {
+        this(DEFAULT_STRIPE_COUNT, Paths.get(filePath), durabilityPolicy);
+        try {
+            orderStorage.flush();
+            if (Files.exists(snapshotPath)) {
+                readSnapshot();
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to initialize loyalty index.", e);
+        }
+        orderStorage.addFlushListener(this::recordFlushedOrders);
+    }
+
+    private CustomerLoyaltyIndex(int stripeCount, Path snapshotPath, DurabilityPolicy durabilityPolicy) {
+        if (durabilityPolicy == null) {
+            throw new IllegalArgumentException("Durability policy cannot be null");
+        }
+        if (stripeCount < 1 || stripeCount > 1 << 30) {
+            throw new IllegalArgumentException("Stripe count must be between 1 and 2^30");
+        }
+        int size = 1;
+        while (size < stripeCount) {
+            size <<= 1;
+        }
+        stripes = new Stripe[size];
+        for (int i = 0; i < stripes.length; i++) {
+            stripes[i] = new Stripe();
+        }
+        this.snapshotPath = snapshotPath;
+        this.durabilityPolicy = durabilityPolicy;
+    }
+
+    @Override
+    public long getBeverageCount() {
+        return getBeverageCount(WALK_IN_CUSTOMER);
+    }
+
+    @Override
+    public long getBeverageCount(String customerId) {
+        Stripe stripe = stripeOf(customerId);
+        synchronized (stripe) {
+            long[] counter = stripe.counters.get(customerId);
+            return counter == null ? 0 : counter[CLAIMED];
+        }
+    }
+
+    @Override
+    public void recordOrder(Order order) {
+        recordOrder(WALK_IN_CUSTOMER, order);
+    }
+
+    /**
+     * Advances the running counter of a customer by the beverages of a paid and stored order.
+     *
+     * @param customerId the identifier of the customer.
+     * @param order the paid order to be recorded.
+     */
+    public void recordOrder(String customerId, Order order) {
+        Stripe stripe = stripeOf(customerId);
+        synchronized (stripe) {
+            stripe.advance(customerId, CLAIMED, order.getBeverageCount());
+            stripe.advance(customerId, STORED, order.getBeverageCount());
+        }
+    }
+
+    @Override
+    public boolean compareAndAdvance(long expectedBeverageCount, Order order) {
+        return compareAndAdvance(WALK_IN_CUSTOMER, expectedBeverageCount, order);
+    }
+
+    @Override
+    public boolean compareAndAdvance(String customerId, long expectedBeverageCount, Order order) {
+        Stripe stripe = stripeOf(customerId);
+        synchronized (stripe) {
+            long[] counter = stripe.counters.get(customerId);
+            if ((counter == null ? 0 : counter[CLAIMED]) != expectedBeverageCount) {
+                return false;
+            }
+            stripe.advance(customerId, CLAIMED, order.getBeverageCount());
+        }
+        trackClaims(List.of(order));
+        return true;
+    }
+
+    /**
+     * Advances the counter of a customer by the beverages of all orders at once, under a single lock of its stripe.
+     *
+     * @param customerId the identifier of the customer.
+     * @param expectedBeverageCount the counter the first order was priced with.
+     * @param orders the orders whose beverages are to be counted, in pricing order.
+     * @return the number of orders if the counter was advanced, 0 if it has changed in the meantime.
+     */
+    @Override
+    public int claimOrders(String customerId, long expectedBeverageCount, List<Order> orders) {
+        long beverages = 0;
+        for (Order order : orders) {
+            beverages += order.getBeverageCount();
+        }
+        Stripe stripe = stripeOf(customerId);
+        synchronized (stripe) {
+            long[] counter = stripe.counters.get(customerId);
+            if ((counter == null ? 0 : counter[CLAIMED]) != expectedBeverageCount) {
+                return 0;
+            }
+            stripe.advance(customerId, CLAIMED, beverages);
+        }
+        trackClaims(orders);
+        return orders.size();
+    }
+
+    @Override
+    public void releaseOrder(Order order) {
+        releaseOrders(WALK_IN_CUSTOMER, List.of(order));
+    }
+
+    @Override
+    public void releaseOrders(String customerId, List<Order> orders) {
+        long beverages = 0;
+        for (Order order : orders) {
+            beverages += order.getBeverageCount();
+        }
+        Stripe stripe = stripeOf(customerId);
+        synchronized (stripe) {
+            stripe.advance(customerId, CLAIMED, -beverages);
+        }
+        if (snapshotPath != null) {
+            synchronized (unflushedOrders) {
+                for (Order order : orders) {
+                    claimedOrders.remove(order);
+                    uncommittedOrders.remove(order);
+                }
+            }
+        }
+    }
+
+    /**
+     * Remembers the customer of stored orders until the storage flushes them; the counters are persisted with the
+     * flushed batch. Orders flushed before they were committed are counted right away. An index without a snapshot
+     * file does nothing, as the counters were already advanced by the claims.
+     *
+     * @param customerId the identifier of the customer.
+     * @param orders the stored orders.
+     * @throws IOException if the snapshot cannot be written.
+     */
+    @Override
+    public void commitOrders(String customerId, List<Order> orders) throws IOException {
+        if (snapshotPath == null) {
+            return;
+        }
+        boolean flushed = false;
+        synchronized (unflushedOrders) {
+            for (Order order : orders) {
+                claimedOrders.remove(order);
+                if (uncommittedOrders.remove(order)) {
+                    addStored(customerId, order);
+                    flushed = true;
+                } else {
+                    unflushedOrders.put(order, customerId);
+                }
+            }
+        }
+        if (flushed) {
+            writeSnapshot();
+        }
+    }
+
+    /**
+     * Returns the number of orders tracked until they are settled and flushed.
+     */
+    int getTrackedOrderCount() {
+        synchronized (unflushedOrders) {
+            return claimedOrders.size() + unflushedOrders.size();
+        }
+    }
+
+    private void trackClaims(List<Order> orders) {
+        if (snapshotPath != null) {
+            synchronized (unflushedOrders) {
+                claimedOrders.addAll(orders);
+            }
+        }
+    }
+
+    /**
+     * Counts the beverages of a flushed batch for the customers who committed the orders and persists the counters.
+     */
+    private void recordFlushedOrders(List<Order> batch) throws IOException {
+        synchronized (unflushedOrders) {
+            for (Order order : batch) {
+                String customerId = unflushedOrders.remove(order);
+                if (customerId != null) {
+                    addStored(customerId, order);
+                } else if (claimedOrders.contains(order)) {
+                    uncommittedOrders.add(order); // the checkout commits it right after storing it
+                }
+            }
+        }
+        writeSnapshot();
+    }
+
+    private void addStored(String customerId, Order order) {
+        Stripe stripe = stripeOf(customerId);
+        synchronized (stripe) {
+            stripe.advance(customerId, STORED, order.getBeverageCount());
+        }
+    }
+
+    private void readSnapshot() throws IOException {
+        try (InputStream file = Files.newInputStream(snapshotPath);
+             DataInputStream in = new DataInputStream(new BufferedInputStream(file))) {
+            int version = in.readInt();
+            if (version != SNAPSHOT_VERSION) {
+                throw new IOException("Unsupported loyalty snapshot version " + version + ": " + snapshotPath);
+            }
+            int customers = in.readInt();
+            for (int i = 0; i < customers; i++) {
+                String customerId = in.readUTF();
+                long beverages = in.readLong();
+                Stripe stripe = stripeOf(customerId);
+                synchronized (stripe) {
+                    stripe.advance(customerId, CLAIMED, beverages);
+                    stripe.advance(customerId, STORED, beverages);
+                }
+            }
+        }
+    }
+
+    /**
+     * Replaces the snapshot file with the stored beverages of all customers.
+     */
+    private void writeSnapshot() throws IOException {
+        synchronized (snapshotLock) {
+            List<String> customerIds = new ArrayList<>();
+            List<Long> storedBeverages = new ArrayList<>();
+            for (Stripe stripe : stripes) {
+                synchronized (stripe) {
+                    for (Map.Entry<String, long[]> counter : stripe.counters.entrySet()) {
+                        if (counter.getValue()[STORED] > 0) {
+                            customerIds.add(counter.getKey());
+                            storedBeverages.add(counter.getValue()[STORED]);
+                        }
+                    }
+                }
+            }
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            try (DataOutputStream out = new DataOutputStream(bytes)) {
+                out.writeInt(SNAPSHOT_VERSION);
+                out.writeInt(customerIds.size());
+                for (int i = 0; i < customerIds.size(); i++) {
+                    out.writeUTF(customerIds.get(i));
+                    out.writeLong(storedBeverages.get(i));
+                }
+            }
+
+            Path temporary = snapshotPath.resolveSibling(snapshotPath.getFileName() + ".tmp");
+            try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                ByteBuffer content = ByteBuffer.wrap(bytes.toByteArray());
+                while (content.hasRemaining()) {
+                    channel.write(content);
+                }
+                if (durabilityPolicy != DurabilityPolicy.NONE) {
+                    channel.force(true);
+                }
+            }
+            Files.move(temporary, snapshotPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        }
+    }
+
+    private Stripe stripeOf(String customerId) {
+        if (customerId == null) {
+            throw new IllegalArgumentException("Customer id cannot be null");
+        }
+        int hash = customerId.hashCode();
+        return stripes[(hash ^ (hash >>> 16)) & (stripes.length - 1)];
+    }
+
+    /**
+     * The claimed and stored beverage counters of the customers mapped to one lock, only accessed while holding its
+     * monitor.
+     */
+    private static final class Stripe {
+        private final Map<String, long[]> counters = new HashMap<>();
+
+        void advance(String customerId, int counter, long beverages) {
+            if (beverages != 0) {
+                counters.computeIfAbsent(customerId, id -> new long[2])[counter] += beverages;
+            }
+        }
+    }
+}
@@ -0,0 +1,246 @@
+package org.epam.swissre.coffeeshop.service.impl;
+
+import org.epam.swissre.coffeeshop.model.Order;
+import org.epam.swissre.coffeeshop.service.IOrderStorage;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Group-commit front-end of an {@link IOrderStorage}. Concurrent store requests are queued and a dedicated
+ * writer thread coalesces them into a single {@link IOrderStorage#storeOrders(List)} call on the delegate, so
+ * with a {@link JournalOrderStorage} using {@link org.epam.swissre.coffeeshop.enums.DurabilityPolicy#PER_BATCH}
+ * many registers share one write and one fsync.
+ *
+ * <p>A batch is written as soon as it holds the maximum number of orders or the maximum linger time has
+ * passed since its first request was taken from the queue. Every caller gets a future which completes when
+ * the batch containing its orders was stored by the delegate, or completes exceptionally with the
+ * {@link IOException} of the delegate.</p>
+ */
+public class GroupCommitOrderStorage implements IOrderStorage, Closeable {
+
+    private static final int DEFAULT_MAX_BATCH_SIZE = 256;
+    private static final Duration DEFAULT_MAX_LINGER = Duration.ofMillis(2);
+
+    private final IOrderStorage delegate;
+    private final int maxBatchSize;
+    private final long maxLingerNanos;
+    private final BlockingQueue<PendingWrite> queue = new LinkedBlockingQueue<>();
+    private final Thread writer;
+    private volatile boolean closed;
+
+    /**
+     * Constructs a GroupCommitOrderStorage with batches of at most 256 orders and a linger time of 2 ms.
+     *
+     * @param delegate the storage the batches are written to.
+     */
+    public GroupCommitOrderStorage(IOrderStorage delegate) {
+        this(delegate, DEFAULT_MAX_BATCH_SIZE, DEFAULT_MAX_LINGER);
+    }
+
+    /**
+     * Constructs a GroupCommitOrderStorage with the given batching settings.
+     *
+     * @param delegate the storage the batches are written to.
+     * @param maxBatchSize the number of orders after which a batch is written without waiting any longer.
+     * @param maxLinger the maximum time the writer waits for further requests; zero writes whatever is queued.
+     */
+    public GroupCommitOrderStorage(IOrderStorage delegate, int maxBatchSize, Duration maxLinger) {
+        if (delegate == null) {
+            throw new IllegalArgumentException("Delegate storage cannot be null");
+        }
+        if (maxBatchSize <= 0) {
+            throw new IllegalArgumentException("Maximum batch size must be positive");
+        }
+        if (maxLinger == null || maxLinger.isNegative()) {
+            throw new IllegalArgumentException("Maximum linger time cannot be null or negative");
+        }
+        this.delegate = delegate;
+        this.maxBatchSize = maxBatchSize;
+        this.maxLingerNanos = maxLinger.toNanos();
+        this.writer = new Thread(this::writeLoop, "order-group-commit");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    /**
+     * Queues orders for the next group commit.
+     *
+     * @param newOrders the orders to be stored.
+     * @return a future completing when the orders are stored by the delegate.
+     * @throws IllegalStateException if the storage is closed.
+     */
+    public CompletableFuture<Void> storeOrdersAsync(List<Order> newOrders) {
+        if (closed) {
+            throw new IllegalStateException("Group commit storage is closed");
+        }
+        PendingWrite write = new PendingWrite(new ArrayList<>(newOrders));
+        queue.add(write);
+        // A close racing with the add may have drained the queue already; a write still queued is never taken
+        if (closed && queue.remove(write)) {
+            throw new IllegalStateException("Group commit storage is closed");
+        }
+        return write.future;
+    }
+
+    /**
+     * Stores orders through the next group commit and waits until they are stored.
+     *
+     * @param newOrders the orders to be stored.
+     * @throws IOException if the delegate fails to store the batch containing the orders.
+     */
+    @Override
+    public void storeOrders(List<Order> newOrders) throws IOException {
+        try {
+            storeOrdersAsync(newOrders).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof IOException ioException) {
+                throw ioException;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Retrieves the stored orders from the delegate; orders of pending batches are not included.
+     *
+     * @return a list of the stored orders.
+     * @throws IOException if an error occurs during file reading.
+     */
+    @Override
+    public List<Order> retrieveOrders() throws IOException {
+        return delegate.retrieveOrders();
+    }
+
+    @Override
+    public Stream<Order> streamOrders() throws IOException {
+        return delegate.streamOrders();
+    }
+
+    @Override
+    public long countBeverages() throws IOException {
+        return delegate.countBeverages();
+    }
+
+    /**
+     * Returns the size of the history stored by the delegate; orders of pending batches are not included.
+     *
+     * @return the size reported by the delegate.
+     * @throws IOException if the delegate cannot read the size.
+     */
+    @Override
+    public long getStoredSize() throws IOException {
+        return delegate.getStoredSize();
+    }
+
+    /**
+     * Stops accepting requests, writes all pending requests and stops the writer thread.
+     *
+     * @throws IOException if interrupted while waiting for the writer thread.
+     */
+    @Override
+    public void close() throws IOException {
+        closed = true;
+        queue.add(PendingWrite.SHUTDOWN);
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for the group commit writer", e);
+        }
+        // Requests which raced with close after the writer stopped
+        PendingWrite write;
+        while ((write = queue.poll()) != null) {
+            write.future.completeExceptionally(new IllegalStateException("Group commit storage is closed"));
+        }
+    }
+
+    private void writeLoop() {
+        List<PendingWrite> batch = new ArrayList<>();
+        boolean running = true;
+        while (running) {
+            try {
+                running = collectBatch(batch);
+            } catch (InterruptedException e) {
+                running = false;
+            }
+            commit(batch);
+            batch.clear();
+        }
+        // Requests queued concurrently with close
+        PendingWrite write;
+        while ((write = queue.poll()) != null) {
+            if (write != PendingWrite.SHUTDOWN) {
+                batch.add(write);
+            }
+        }
+        commit(batch);
+    }
+
+    /**
+     * Takes the next batch from the queue, waiting for the first request and then at most the linger time.
+     *
+     * @return false if the shutdown request was taken.
+     */
+    private boolean collectBatch(List<PendingWrite> batch) throws InterruptedException {
+        PendingWrite first = queue.take();
+        if (first == PendingWrite.SHUTDOWN) {
+            return false;
+        }
+        batch.add(first);
+        int orders = first.orders.size();
+        long deadline = System.nanoTime() + maxLingerNanos;
+        while (orders < maxBatchSize) {
+            long remaining = deadline - System.nanoTime();
+            PendingWrite next = remaining > 0 ? queue.poll(remaining, TimeUnit.NANOSECONDS) : queue.poll();
+            if (next == null) {
+                break;
+            }
+            if (next == PendingWrite.SHUTDOWN) {
+                return false;
+            }
+            batch.add(next);
+            orders += next.orders.size();
+        }
+        return true;
+    }
+
+    private void commit(List<PendingWrite> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        List<Order> orders = new ArrayList<>();
+        for (PendingWrite write : batch) {
+            orders.addAll(write.orders);
+        }
+        try {
+            delegate.storeOrders(orders);
+            batch.forEach(write -> write.future.complete(null));
+        } catch (IOException | RuntimeException e) {
+            batch.forEach(write -> write.future.completeExceptionally(e));
+        }
+    }
+
+    /**
+     * A queued store request.
+     */
+    private static final class PendingWrite {
+        private static final PendingWrite SHUTDOWN = new PendingWrite(List.of());
+
+        private final List<Order> orders;
+        private final CompletableFuture<Void> future = new CompletableFuture<>();
+
+        PendingWrite(List<Order> orders) {
+            this.orders = orders;
+        }
+    }
+}
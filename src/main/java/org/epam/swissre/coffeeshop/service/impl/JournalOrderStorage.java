@@ -0,0 +1,139 @@
+package org.epam.swissre.coffeeshop.service.impl;
+
+import org.epam.swissre.coffeeshop.enums.DurabilityPolicy;
+import org.epam.swissre.coffeeshop.model.Order;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Append-only journal variant of {@link OrderStorage}. Instead of re-reading and rewriting the whole
+ * CSV file on every call, new orders are encoded and written at the end of the file through a positioned
+ * {@link FileChannel} write, so the cost of storing an order does not depend on the size of the history.
+ *
+ * <p>The file format is identical to the one of {@link OrderStorage}, therefore both implementations can
+ * be used against the same file and retrieval is inherited unchanged.</p>
+ */
+public class JournalOrderStorage extends OrderStorage {
+
+    private static final byte NEW_LINE = '\n';
+
+    private final DurabilityPolicy durabilityPolicy;
+
+    /**
+     * Constructs a JournalOrderStorage which forces the data to disk once per {@link #storeOrders(List)} call.
+     *
+     * @param filePath the path where the CSV file is stored or will be created.
+     */
+    public JournalOrderStorage(String filePath) {
+        this(filePath, DurabilityPolicy.PER_BATCH);
+    }
+
+    /**
+     * Constructs a JournalOrderStorage with the given durability policy.
+     *
+     * @param filePath the path where the CSV file is stored or will be created.
+     * @param durabilityPolicy defines when the appended records are forced to the storage device.
+     */
+    public JournalOrderStorage(String filePath, DurabilityPolicy durabilityPolicy) {
+        this(filePath, durabilityPolicy, true);
+    }
+
+    /**
+     * Constructs a JournalOrderStorage with the given durability policy.
+     *
+     * @param filePath the path where the CSV file is stored or will be created.
+     * @param durabilityPolicy defines when the appended records are forced to the storage device.
+     * @param announce whether to print to the standard output if the file was created or already existed.
+     */
+    JournalOrderStorage(String filePath, DurabilityPolicy durabilityPolicy, boolean announce) {
+        super(filePath, announce);
+        if (durabilityPolicy == null) {
+            throw new IllegalArgumentException("Durability policy cannot be null");
+        }
+        this.durabilityPolicy = durabilityPolicy;
+    }
+
+    /**
+     * Appends new orders to the end of the CSV file without touching the existing records.
+     *
+     * @param newOrders a list of new orders to be appended to the file.
+     * @throws IOException if an error occurs during file operation.
+     */
+    @Override
+    public synchronized void storeOrders(List<Order> newOrders) throws IOException {
+        try (FileChannel channel = FileChannel.open(Paths.get(getFilePath()), StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            long position = channel.size();
+            if (!endsWithNewLine(channel, position)) {
+                // Terminate a previously interrupted line, so it is not merged with the new record
+                position += writeFully(channel, ByteBuffer.wrap(new byte[]{NEW_LINE}), position);
+            }
+
+            if (durabilityPolicy == DurabilityPolicy.PER_ORDER) {
+                for (Order order : newOrders) {
+                    ByteBuffer record = encode(List.of(order));
+                    if (record.hasRemaining()) {
+                        position += writeFully(channel, record, position);
+                        channel.force(false);
+                    }
+                }
+            } else {
+                ByteBuffer records = encode(newOrders);
+                if (records.hasRemaining()) {
+                    writeFully(channel, records, position);
+                    if (durabilityPolicy == DurabilityPolicy.PER_BATCH) {
+                        channel.force(false);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the durability policy used by this storage.
+     *
+     * @return the configured durability policy.
+     */
+    public DurabilityPolicy getDurabilityPolicy() {
+        return durabilityPolicy;
+    }
+
+    /**
+     * Encodes the given orders into newline terminated CSV records, skipping null and empty orders.
+     */
+    private ByteBuffer encode(List<Order> orders) {
+        StringBuilder sb = new StringBuilder();
+        for (Order order : orders) {
+            if (order != null) {
+                String csvLine = orderToCsvLine(order);
+                // Ensure not to write empty csv lines
+                if (!csvLine.isEmpty()) {
+                    sb.append(csvLine).append((char) NEW_LINE);
+                }
+            }
+        }
+        return ByteBuffer.wrap(sb.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private boolean endsWithNewLine(FileChannel channel, long size) throws IOException {
+        if (size == 0) {
+            return true;
+        }
+        ByteBuffer lastByte = ByteBuffer.allocate(1);
+        channel.read(lastByte, size - 1);
+        return lastByte.get(0) == NEW_LINE;
+    }
+
+    private int writeFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        int written = 0;
+        while (buffer.hasRemaining()) {
+            written += channel.write(buffer, position + written);
+        }
+        return written;
+    }
+}
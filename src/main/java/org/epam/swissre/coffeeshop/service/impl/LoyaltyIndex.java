@@ -0,0 +1,244 @@
+package org.epam.swissre.coffeeshop.service.impl;
+
+import org.epam.swissre.coffeeshop.enums.DurabilityPolicy;
+import org.epam.swissre.coffeeshop.model.Order;
+import org.epam.swissre.coffeeshop.service.ILoyaltyIndex;
+import org.epam.swissre.coffeeshop.service.IOrderStorage;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * File-based implementation of {@link ILoyaltyIndex}. The running beverage counter is persisted as a single
+ * fixed-size record, so it is loaded in constant time at startup regardless of the size of the order history.
+ *
+ * <p>The record also holds the {@link IOrderStorage#getStoredSize() size} of the order history the counter was
+ * persisted with. If the index file does not exist yet (e.g. on the first start after an upgrade), has an older
+ * format or was persisted with a different history size (e.g. orders were stored by another process, or a crash
+ * hit between storing an order and persisting the counter), the counter is rebuilt once from the orders available
+ * in the {@link IOrderStorage}. Deleting the index file therefore forces a rebuild from the order history.</p>
+ *
+ * <p>The record is forced to the storage device on every persist unless the durability policy is
+ * {@link DurabilityPolicy#NONE}, matching the policy of the order journal.</p>
+ *
+ * <p>Claimed beverages only advance the counter in memory. The counter is persisted when the claims are committed
+ * after the orders were stored, so the index file never counts orders which were declined or never stored.</p>
+ *
+ * <p>In front of a {@link WriteBehindOrderStorage}, committed orders may still be pending, so the index is
+ * write-behind as well: commits are not persisted, and the counter is persisted with the beverages of every batch
+ * the storage flushes instead. A checkout therefore never waits for the index file, and after a crash the persisted
+ * counter never includes orders which were lost with the pending ones.</p>
+ */
+public class LoyaltyIndex implements ILoyaltyIndex {
+
+    private static final int RECORD_SIZE = Long.BYTES + Long.BYTES; // counter and history size
+
+    private final Path indexPath;
+    private final IOrderStorage orderStorage;
+    private final DurabilityPolicy durabilityPolicy;
+    private final boolean persistedOnFlush;
+    private long beverageCount;
+    private long committedBeverageCount;
+
+    /**
+     * Constructs a LoyaltyIndex which forces the record to disk on every persist, loading the persisted counter or
+     * rebuilding it from the given order storage if the index file is missing or out of date.
+     *
+     * @param filePath the path where the index file is stored or will be created.
+     * @param orderStorage the order storage used to validate and rebuild the index.
+     */
+    public LoyaltyIndex(String filePath, IOrderStorage orderStorage) {
+        this(filePath, orderStorage, DurabilityPolicy.PER_BATCH);
+    }
+
+    /**
+     * Constructs a LoyaltyIndex linked to a specified file path, loading the persisted counter or rebuilding
+     * it from the given order storage if the index file is missing or out of date.
+     *
+     * @param filePath the path where the index file is stored or will be created.
+     * @param orderStorage the order storage used to validate and rebuild the index.
+     * @param durabilityPolicy the durability policy of the order storage; the record is forced to disk unless it is NONE.
+     */
+    public LoyaltyIndex(String filePath, IOrderStorage orderStorage, DurabilityPolicy durabilityPolicy) {
+        this(filePath, orderStorage, durabilityPolicy, false);
+    }
+
+    /**
+     * Constructs a write-behind LoyaltyIndex which is persisted whenever the order storage flushes a batch. Pending
+     * orders are flushed first, so the counter is loaded or rebuilt for the written history only.
+     *
+     * @param filePath the path where the index file is stored or will be created.
+     * @param orderStorage the write-behind order storage used to validate and rebuild the index.
+     * @param durabilityPolicy the durability policy of the order storage; the record is forced to disk unless it is NONE.
+     */
+    public LoyaltyIndex(String filePath, WriteBehindOrderStorage orderStorage, DurabilityPolicy durabilityPolicy) {
+        this(filePath, flushed(orderStorage), durabilityPolicy, true);
+        orderStorage.addFlushListener(this::recordFlushedOrders);
+    }
+
+    private LoyaltyIndex(String filePath, IOrderStorage orderStorage, DurabilityPolicy durabilityPolicy,
+                         boolean persistedOnFlush) {
+        if (durabilityPolicy == null) {
+            throw new IllegalArgumentException("Durability policy cannot be null");
+        }
+        this.indexPath = Paths.get(filePath);
+        this.orderStorage = orderStorage;
+        this.durabilityPolicy = durabilityPolicy;
+        this.persistedOnFlush = persistedOnFlush;
+        try {
+            ByteBuffer record = Files.exists(indexPath) && Files.size(indexPath) == RECORD_SIZE ? load() : null;
+            if (record != null && record.getLong(Long.BYTES) == orderStorage.getStoredSize()) {
+                committedBeverageCount = record.getLong(0);
+            } else {
+                committedBeverageCount = orderStorage.countBeverages();
+                persist();
+                System.out.println("Loyalty index was rebuilt from the order history at: " + filePath);
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to initialize loyalty index.", e);
+        }
+        beverageCount = committedBeverageCount;
+    }
+
+    @Override
+    public synchronized long getBeverageCount() {
+        return beverageCount;
+    }
+
+    /**
+     * Advances the running beverage counter by the beverages of a paid and stored order and persists it.
+     *
+     * @param order the paid order to be recorded.
+     * @throws IOException if an error occurs during file operation.
+     */
+    @Override
+    public synchronized void recordOrder(Order order) throws IOException {
+        beverageCount += order.getBeverageCount();
+        commitOrders(WALK_IN_CUSTOMER, List.of(order));
+    }
+
+    /**
+     * Advances the running beverage counter by the beverages of an order, if the counter still equals the
+     * expected value. The claim is persisted once it is committed.
+     *
+     * @param expectedBeverageCount the counter the order was priced with.
+     * @param order the order whose beverages are to be counted.
+     * @return true if the counter was advanced, false if it has changed in the meantime.
+     */
+    @Override
+    public synchronized boolean compareAndAdvance(long expectedBeverageCount, Order order) {
+        if (beverageCount != expectedBeverageCount) {
+            return false;
+        }
+        beverageCount += order.getBeverageCount();
+        return true;
+    }
+
+    /**
+     * Advances the running beverage counter by the beverages of all orders at once, if the counter still equals
+     * the expected value. The claim is persisted once it is committed.
+     *
+     * @param customerId ignored, the index keeps one counter shared by all customers.
+     * @param expectedBeverageCount the counter the first order was priced with.
+     * @param orders the orders whose beverages are to be counted, in pricing order.
+     * @return the number of orders if the counter was advanced, 0 if it has changed in the meantime.
+     */
+    @Override
+    public synchronized int claimOrders(String customerId, long expectedBeverageCount, List<Order> orders) {
+        if (beverageCount != expectedBeverageCount) {
+            return 0;
+        }
+        beverageCount += countBeverages(orders);
+        return orders.size();
+    }
+
+    @Override
+    public synchronized void releaseOrder(Order order) {
+        beverageCount -= order.getBeverageCount();
+    }
+
+    /**
+     * Takes back the beverages of claimed orders at once.
+     *
+     * @param customerId ignored, the index keeps one counter shared by all customers.
+     * @param orders the claimed orders.
+     */
+    @Override
+    public synchronized void releaseOrders(String customerId, List<Order> orders) {
+        beverageCount -= countBeverages(orders);
+    }
+
+    /**
+     * Persists the beverages of claimed orders once they are stored. A write-behind index persists them when the
+     * storage flushes them instead.
+     *
+     * @param customerId ignored, the index keeps one counter shared by all customers.
+     * @param orders the stored orders.
+     * @throws IOException if an error occurs during file operation.
+     */
+    @Override
+    public synchronized void commitOrders(String customerId, List<Order> orders) throws IOException {
+        if (!persistedOnFlush) {
+            recordFlushedOrders(orders);
+        }
+    }
+
+    /**
+     * Persists the counter advanced by the beverages of orders written to the order history.
+     */
+    private synchronized void recordFlushedOrders(List<Order> orders) throws IOException {
+        if (!orders.isEmpty()) {
+            // Persisted even without beverages, as the history size has changed
+            committedBeverageCount += countBeverages(orders);
+            persist();
+        }
+    }
+
+    private ByteBuffer load() throws IOException {
+        try (FileChannel channel = FileChannel.open(indexPath, StandardOpenOption.READ)) {
+            ByteBuffer buffer = ByteBuffer.allocate(RECORD_SIZE);
+            while (buffer.hasRemaining() && channel.read(buffer, buffer.position()) >= 0) {
+                // read until the record is complete
+            }
+            return buffer;
+        }
+    }
+
+    private void persist() throws IOException {
+        try (FileChannel channel = FileChannel.open(indexPath, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            ByteBuffer buffer = ByteBuffer.allocate(RECORD_SIZE)
+                    .putLong(0, committedBeverageCount)
+                    .putLong(Long.BYTES, orderStorage.getStoredSize());
+            while (buffer.hasRemaining()) {
+                channel.write(buffer, buffer.position());
+            }
+            channel.truncate(RECORD_SIZE); // drops the rest of a record of another format
+            if (durabilityPolicy != DurabilityPolicy.NONE) {
+                channel.force(false);
+            }
+        }
+    }
+
+    private static WriteBehindOrderStorage flushed(WriteBehindOrderStorage orderStorage) {
+        try {
+            orderStorage.flush();
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to initialize loyalty index.", e);
+        }
+        return orderStorage;
+    }
+
+    private static long countBeverages(List<Order> orders) {
+        long beverages = 0;
+        for (Order order : orders) {
+            beverages += order.getBeverageCount();
+        }
+        return beverages;
+    }
+}
@@ -0,0 +1,63 @@
+package org.epam.swissre.coffeeshop.service.impl;
+
+import org.epam.swissre.coffeeshop.model.Order;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Converts order files between the persisted formats. The conversion is streaming: the source file is read
+ * line by line and written in bounded batches, so arbitrarily large order histories can be migrated with
+ * constant memory.
+ */
+public final class OrderLogConverter {
+
+    private static final int BATCH_SIZE = 1024;
+
+    private OrderLogConverter() {
+        // utility class
+    }
+
+    /**
+     * Appends all orders of a CSV file in the {@link OrderStorage} format to a binary order log.
+     * Empty and malformed lines are skipped.
+     *
+     * @param csvFilePath the path of the CSV file to read.
+     * @param target the binary order log to append to.
+     * @return the number of converted orders.
+     * @throws IOException if an error occurs while reading the CSV file or writing the order log.
+     */
+    public static long csvToBinary(String csvFilePath, BinaryOrderStorage target) throws IOException {
+        List<Order> batch = new ArrayList<>(BATCH_SIZE);
+        long converted;
+        try (FileChannel channel = FileChannel.open(Paths.get(csvFilePath), StandardOpenOption.READ)) {
+            converted = new CsvOrderParser().parse(channel, record -> {
+                batch.add(record.toOrder());
+                if (batch.size() == BATCH_SIZE) {
+                    storeBatch(target, batch);
+                }
+            });
+            storeBatch(target, batch);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        return converted;
+    }
+
+    /**
+     * Stores and clears the batch, wrapping I/O errors, so it can be called from the parser callback.
+     */
+    private static void storeBatch(BinaryOrderStorage target, List<Order> batch) {
+        try {
+            target.storeOrders(batch);
+            batch.clear();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
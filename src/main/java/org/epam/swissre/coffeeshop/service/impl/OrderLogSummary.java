@@ -0,0 +1,104 @@
+package org.epam.swissre.coffeeshop.service.impl;
+
+import org.epam.swissre.coffeeshop.model.Order;
+
+import java.util.Objects;
+
+/**
+ * Immutable aggregate of a range of stored orders: the number of orders, the number of paid beverages
+ * (the loyalty count) and the revenue of the stored products. Used by {@link SegmentedOrderStorage} to
+ * replace compacted segments.
+ */
+public final class OrderLogSummary {
+
+    /**
+     * The summary of no orders.
+     */
+    public static final OrderLogSummary EMPTY = new OrderLogSummary(0, 0, 0);
+
+    private final long orderCount;
+    private final long beverageCount;
+    private final long revenueInCents;
+
+    /**
+     * Constructs a summary with the given aggregates.
+     *
+     * @param orderCount the number of orders.
+     * @param beverageCount the number of beverages in the orders.
+     * @param revenueInCents the total price of the products in the orders, in cents.
+     */
+    public OrderLogSummary(long orderCount, long beverageCount, long revenueInCents) {
+        if (orderCount < 0 || beverageCount < 0 || revenueInCents < 0) {
+            throw new IllegalArgumentException("Summary values cannot be negative");
+        }
+        this.orderCount = orderCount;
+        this.beverageCount = beverageCount;
+        this.revenueInCents = revenueInCents;
+    }
+
+    /**
+     * Returns a summary including the given order.
+     *
+     * @param order the order to be added.
+     * @return a new summary.
+     */
+    public OrderLogSummary plus(Order order) {
+        return new OrderLogSummary(orderCount + 1, beverageCount + order.getBeverageCount(),
+                revenueInCents + order.getSubtotalInCents());
+    }
+
+    /**
+     * Returns a summary combining this and the given summary.
+     *
+     * @param other the summary to be added.
+     * @return a new summary.
+     */
+    public OrderLogSummary plus(OrderLogSummary other) {
+        return new OrderLogSummary(orderCount + other.orderCount, beverageCount + other.beverageCount,
+                revenueInCents + other.revenueInCents);
+    }
+
+    /**
+     * Gets the number of summarized orders.
+     * @return The number of orders.
+     */
+    public long getOrderCount() {
+        return orderCount;
+    }
+
+    /**
+     * Gets the number of beverages in the summarized orders, i.e. their contribution to the loyalty program.
+     * @return The number of beverages.
+     */
+    public long getBeverageCount() {
+        return beverageCount;
+    }
+
+    /**
+     * Gets the total price of the products in the summarized orders.
+     * @return The revenue in cents.
+     */
+    public long getRevenueInCents() {
+        return revenueInCents;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        OrderLogSummary that = (OrderLogSummary) o;
+        return orderCount == that.orderCount && beverageCount == that.beverageCount
+                && revenueInCents == that.revenueInCents;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(orderCount, beverageCount, revenueInCents);
+    }
+
+    @Override
+    public String toString() {
+        return "OrderLogSummary{orderCount=" + orderCount + ", beverageCount=" + beverageCount
+                + ", revenueInCents=" + revenueInCents + '}';
+    }
+}
@@ -35,23 +35,21 @@ public class OrderService implements IOrderService {
      * additional business rules related to discounts and bonuses.
      *
      * @param newProducts The list of products in the order.
+     * @param alreadyPaidBeverageCount The number of beverages paid in previous orders, taken from the loyalty index.
      * @return A processed Order instance containing details on the total price, eligibility for promotions.
      */
     @Override
-    public Order processOrder(List<Product> newProducts, List<Product> alreadyPaidProducts) {
+    public Order processOrder(List<Product> newProducts, long alreadyPaidBeverageCount) {
         if (newProducts == null || newProducts.isEmpty()) {
             throw new IllegalArgumentException("Product list cannot be null or empty.");
         }
 
         Order order = new Order(newProducts);
-        if (!alreadyPaidProducts.isEmpty()) {
-            order.setAlreadyPaidProducts(alreadyPaidProducts); // for the next calculation of discount (bonus)
-        }
+        order.setAlreadyPaidBeverageCount(alreadyPaidBeverageCount); // for the next calculation of discount (bonus)
 
         try {
-            // Calculate total price after promotions might have modified the order
-            double totalPrice = calculateTotalPrice(order.getProducts());
-            order.setTotalCost(totalPrice);
+            // Total price before promotions; the subtotal is maintained by the order while its products are added
+            order.setTotalCostInCents(order.getSubtotalInCents());
 
             // Apply promotions (bonuses)
             bonusService.applyBonus(order);
@@ -62,20 +60,4 @@ public class OrderService implements IOrderService {
             throw new RuntimeException("Failed to process the order.", e);
         }
     }
-
-    /**
-     * Calculates the total price of products included in an order.
-     * This is the gross total before any additional adjustments such as taxes.
-     *
-     * @param products A list of Product instances representing the items in an order.
-     * @return The cumulative price of all products, represented as a double value.
-     */
-    private double calculateTotalPrice(List<Product> products) {
-        if (products == null) {
-            throw new IllegalArgumentException("Product list cannot be null");
-        }
-        return products.stream()
-                .mapToDouble(Product::getPrice)
-                .sum();
-    }
 }
@@ -1,14 +1,19 @@
 package org.epam.swissre.coffeeshop.service.impl;
 
+import org.epam.swissre.coffeeshop.enums.ProductKind;
 import org.epam.swissre.coffeeshop.model.*;
 import org.epam.swissre.coffeeshop.service.IOrderStorage;
+import org.epam.swissre.coffeeshop.util.MoneyUtils;
 
 import java.io.*;
+import java.nio.channels.FileChannel;
 import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.stream.Stream;
 
 /**
  * This class manages the storage and retrieval of Orders, specifically the products within an order,
@@ -17,6 +22,11 @@ import java.util.List;
  */
 public class OrderStorage implements IOrderStorage {
 
+    /**
+     * Files of at least this size are loaded by the {@link ParallelOrderLoader}.
+     */
+    static final long PARALLEL_LOAD_THRESHOLD = 8L * 1024 * 1024;
+
     private final String filePath;
 
     /**
@@ -26,11 +36,25 @@ public class OrderStorage implements IOrderStorage {
      * @param filePath the path where the CSV file is stored or will be created.
      */
     public OrderStorage(String filePath) {
+        this(filePath, true);
+    }
+
+    /**
+     * Constructs an OrderStorage object linked to a specified file path, creating the file if it does not exist.
+     *
+     * @param filePath the path where the CSV file is stored or will be created.
+     * @param announce whether to print to the standard output if the file was created or already existed; internal
+     *                 files created in the background, like log segments, are not announced.
+     */
+    OrderStorage(String filePath, boolean announce) {
         this.filePath = filePath;
         File file = new File(filePath);
         try {
             // Attempt to create the file if it does not already exist
             boolean isNewFileCreated = file.createNewFile();
+            if (!announce) {
+                return;
+            }
             if (isNewFileCreated) {
                 // Log or handle the case where a new file had to be created
                 System.out.println("A new file was successfully created at: " + filePath);
@@ -46,13 +70,14 @@ public class OrderStorage implements IOrderStorage {
     /**
      * Stores new orders in the CSV file by appending them after existing orders. It first reads
      * the current file contents, adds the new orders, and rewrites the combined list into the file
-     * to maintain continuity across multiple application runs.
+     * to maintain continuity across multiple application runs. Concurrent calls are serialized, so a rewrite
+     * never loses the orders of another.
      *
      * @param newOrders a list of new orders to be appended to the file.
      * @throws IOException if an error occurs during file operation.
      */
     @Override
-    public void storeOrders(List<Order> newOrders) throws IOException {
+    public synchronized void storeOrders(List<Order> newOrders) throws IOException {
         List<Order> existingOrders = retrieveOrders();
         existingOrders.addAll(newOrders);
 
@@ -72,99 +97,90 @@ public class OrderStorage implements IOrderStorage {
 
     /**
      * Retrieves all orders from the CSV file, ensuring consistent data availability across
-     * multiple executions of the application.
+     * multiple executions of the application. The file is tokenized in place by the {@link CsvOrderParser};
+     * empty and malformed lines are skipped. Large files are split into chunks which are parsed in parallel
+     * by the {@link ParallelOrderLoader}.
      *
      * @return a list of all orders retrieved from the CSV file.
      * @throws IOException if an error occurs during file reading.
      */
     @Override
-    public List<Order> retrieveOrders() throws IOException {
+    public synchronized List<Order> retrieveOrders() throws IOException {
+        Path path = Paths.get(filePath);
+        if (Files.size(path) >= PARALLEL_LOAD_THRESHOLD) {
+            return new ParallelOrderLoader().load(path);
+        }
         List<Order> orders = new ArrayList<>();
-        try (BufferedReader reader = Files.newBufferedReader(Paths.get(filePath))) {
-            String line;
-            while ((line = reader.readLine()) != null) {
-                orders.add(csvLineToOrder(line));
-            }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            new CsvOrderParser().parse(channel, record -> orders.add(record.toOrder()));
         }
         return orders;
     }
 
     /**
-     * Converts a given Order object into a CSV formatted string.
+     * Streams the orders of the CSV file lazily through a {@link CsvOrderCursor}; only one read buffer is
+     * held in memory. Closing the stream closes the file.
      *
-     * @param order the order to convert.
-     * @return a CSV formatted string representing the order's products.
+     * @return a stream of the orders in file order.
+     * @throws IOException if the file cannot be opened.
      */
-    private String orderToCsvLine(Order order) {
-        StringBuilder sb = new StringBuilder();
-        List<Product> productsToStore = order.getProducts().stream().filter(i -> i instanceof BeverageProduct).toList();
-        for (Product product : productsToStore) {
-            sb.append(product.getName()).append(",").append(product.getPrice()).append(";");
-        }
-        if (!sb.isEmpty()) {
-            sb.deleteCharAt(sb.length() - 1); // Remove the last semicolon
-        }
-        return sb.toString();
+    @Override
+    public Stream<Order> streamOrders() throws IOException {
+        FileChannel channel = FileChannel.open(Paths.get(filePath), StandardOpenOption.READ);
+        return new CsvOrderCursor(channel, new CsvOrderParser()).stream();
     }
 
     /**
-     * Parses a CSV formatted string to construct an Order object.
-     * Ensures that the parser is robust against empty and malformed CSV lines.
+     * Returns the length of the CSV file.
      *
-     * @param csvLine the string containing CSV formatted order data.
-     * @return an Order constructed from the parsed data, or null if the csvLine is empty or malformed.
+     * @return the file size in bytes, 0 if the file does not exist.
+     * @throws IOException if the size cannot be read.
      */
-    private Order csvLineToOrder(String csvLine) {
-        if (csvLine == null || csvLine.isEmpty()) {
-            return null; // or optionally, return new Order(new ArrayList<>()) to signify an empty order
-        }
-
-        String[] productDetails = csvLine.split(";");
-        List<Product> products = new ArrayList<>();
-
-        for (String detail : productDetails) {
-            if (detail.isEmpty()) {
-                continue; // skip empty product entries
-            }
-
-            String[] product = detail.split(",");
-            if (product.length < 2) {
-                continue; // skip this detail if it's not complete
-            }
-
-            String name = product[0].trim(); // trim to remove any unwanted whitespace
-            double price = parsePrice(product[1].trim());
-            if (name.isEmpty() || Double.isNaN(price)) {
-                continue; // skip malformed entries
-            }
-
-            products.add(new ConcreteProduct(name, price));
-        }
+    @Override
+    public synchronized long getStoredSize() throws IOException {
+        Path path = Paths.get(filePath);
+        return Files.exists(path) ? Files.size(path) : 0;
+    }
 
-        return new Order(products);
+    /**
+     * Returns the path of the CSV file backing this storage.
+     *
+     * @return the path of the CSV file.
+     */
+    protected String getFilePath() {
+        return filePath;
     }
 
     /**
-     * Safely parses a string to a double, handling possible number format exceptions.
+     * Converts a given Order object into a CSV formatted string.
      *
-     * @param price the string representing the price.
-     * @return the parsed double if valid, or Double.NaN if the string is not a valid double.
+     * @param order the order to convert.
+     * @return a CSV formatted string representing the order's products.
      */
-    private double parsePrice(String price) {
-        try {
-            return Double.parseDouble(price);
-        } catch (NumberFormatException e) {
-            return Double.NaN; // signify an invalid price
+    protected String orderToCsvLine(Order order) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < order.getProductCount(); i++) {
+            Product product = order.getProduct(i);
+            if (!product.isKind(ProductKind.BEVERAGE)) {
+                continue; // only beverages are kept for the loyalty programme
+            }
+            sb.append(product.getName()).append(",");
+            MoneyUtils.appendTo(sb, product.getPriceInCents()).append(";");
         }
+        if (!sb.isEmpty()) {
+            sb.deleteCharAt(sb.length() - 1); // Remove the last semicolon
+        }
+        return sb.toString();
     }
 
     /**
      * A concrete implementation of the abstract Product class, allowing instantiation of product objects
-     * necessary for storing order details.
+     * necessary for storing order details. Only used for stored products which are not part of the menu,
+     * keeping the kinds they were stored with.
      */
-    private static class ConcreteProduct extends Product implements BeverageProduct {
-        public ConcreteProduct(String name, double price) {
-            super(name, price);
+    static class ConcreteProduct extends Product {
+        ConcreteProduct(String name, long priceInCents, int kindMask) {
+            super(name, priceInCents, kindMask);
         }
     }
 }
\ No newline at end of file
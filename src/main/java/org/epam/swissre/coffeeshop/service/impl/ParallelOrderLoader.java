@@ -0,0 +1,187 @@
+package org.epam.swissre.coffeeshop.service.impl;
+
+import org.epam.swissre.coffeeshop.model.Order;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Loads large CSV order files in parallel. The file is split into newline-aligned chunks, every chunk is
+ * memory-mapped and parsed by its own {@link CsvOrderParser} on a {@link ForkJoinPool}, and the per-chunk
+ * results are concatenated in file order. The result is identical to a sequential read of the file.
+ *
+ * <p>Chunks are bounded in size, so files larger than a single mapping (2 GB) are supported.</p>
+ */
+public final class ParallelOrderLoader {
+
+    private static final int MIN_CHUNK_SIZE = 1024 * 1024;
+    private static final int MAX_CHUNK_SIZE = 64 * 1024 * 1024;
+    private static final int CHUNKS_PER_THREAD = 4;
+    private static final int BOUNDARY_SCAN_SIZE = 4096;
+
+    private final ForkJoinPool pool;
+    private final int minChunkSize;
+
+    /**
+     * Constructs a loader running on the common {@link ForkJoinPool}.
+     */
+    public ParallelOrderLoader() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Constructs a loader running on the given pool.
+     *
+     * @param pool the pool parsing the chunks, its parallelism determines the number of chunks.
+     */
+    public ParallelOrderLoader(ForkJoinPool pool) {
+        this(pool, MIN_CHUNK_SIZE);
+    }
+
+    ParallelOrderLoader(ForkJoinPool pool, int minChunkSize) {
+        if (pool == null) {
+            throw new IllegalArgumentException("Pool cannot be null");
+        }
+        if (minChunkSize <= 0) {
+            throw new IllegalArgumentException("Chunk size must be positive");
+        }
+        this.pool = pool;
+        this.minChunkSize = minChunkSize;
+    }
+
+    /**
+     * Loads all orders of a CSV order file. Empty and malformed lines are skipped.
+     *
+     * @param filePath the path of the CSV file to read.
+     * @return the orders in file order.
+     * @throws IOException if an error occurs while reading the file.
+     */
+    public List<Order> load(Path filePath) throws IOException {
+        try (FileChannel channel = FileChannel.open(filePath, StandardOpenOption.READ)) {
+            long[] boundaries = chunkBoundaries(channel);
+            int chunks = boundaries.length - 1;
+            List<List<Order>> results = new ArrayList<>(Collections.nCopies(chunks, null));
+            try {
+                pool.invoke(new ChunkTask(channel, boundaries, results, 0, chunks));
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+
+            int total = 0;
+            for (List<Order> result : results) {
+                total += result.size();
+            }
+            List<Order> orders = new ArrayList<>(total);
+            for (List<Order> result : results) {
+                orders.addAll(result);
+            }
+            return orders;
+        }
+    }
+
+    /**
+     * Splits the file into chunks of roughly equal size, every boundary except the last one being placed
+     * directly after a line separator.
+     *
+     * @return the chunk offsets, starting with 0 and ending with the file size.
+     */
+    long[] chunkBoundaries(FileChannel channel) throws IOException {
+        long size = channel.size();
+        long targetChunks = (long) pool.getParallelism() * CHUNKS_PER_THREAD;
+        long chunkSize = Math.min(MAX_CHUNK_SIZE, Math.max(minChunkSize, size / targetChunks));
+
+        List<Long> boundaries = new ArrayList<>();
+        boundaries.add(0L);
+        ByteBuffer scanBuffer = ByteBuffer.allocate(BOUNDARY_SCAN_SIZE);
+        long position = 0;
+        while (size - position > chunkSize) {
+            long boundary = nextLineStart(channel, position + chunkSize, size, scanBuffer);
+            if (boundary - position > Integer.MAX_VALUE) {
+                throw new IOException("Line too long to be mapped at offset " + position);
+            }
+            if (boundary >= size) {
+                break;
+            }
+            boundaries.add(boundary);
+            position = boundary;
+        }
+        if (size - position > Integer.MAX_VALUE) {
+            throw new IOException("Line too long to be mapped at offset " + position);
+        }
+        boundaries.add(size);
+        return boundaries.stream().mapToLong(Long::longValue).toArray();
+    }
+
+    /**
+     * Returns the offset after the first line separator at or after the given position, or the file size.
+     */
+    private static long nextLineStart(FileChannel channel, long position, long size, ByteBuffer scanBuffer) throws IOException {
+        while (position < size) {
+            scanBuffer.clear();
+            int read = channel.read(scanBuffer, position);
+            if (read < 0) {
+                break;
+            }
+            for (int i = 0; i < read; i++) {
+                if (scanBuffer.get(i) == '\n') {
+                    return position + i + 1;
+                }
+            }
+            position += read;
+        }
+        return size;
+    }
+
+    /**
+     * Parses a range of chunks, forking halves until a single chunk is left.
+     */
+    private static class ChunkTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final transient FileChannel channel;
+        private final long[] boundaries;
+        private final transient List<List<Order>> results;
+        private final int from;
+        private final int to;
+
+        ChunkTask(FileChannel channel, long[] boundaries, List<List<Order>> results, int from, int to) {
+            this.channel = channel;
+            this.boundaries = boundaries;
+            this.results = results;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > 1) {
+                int middle = (from + to) >>> 1;
+                invokeAll(new ChunkTask(channel, boundaries, results, from, middle),
+                        new ChunkTask(channel, boundaries, results, middle, to));
+                return;
+            }
+            long start = boundaries[from];
+            int length = (int) (boundaries[from + 1] - start);
+            List<Order> orders = new ArrayList<>();
+            if (length > 0) {
+                try {
+                    MappedByteBuffer chunk = channel.map(FileChannel.MapMode.READ_ONLY, start, length);
+                    new CsvOrderParser().parseLines(chunk, 0, length, record -> orders.add(record.toOrder()));
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+            results.set(from, orders);
+        }
+    }
+}
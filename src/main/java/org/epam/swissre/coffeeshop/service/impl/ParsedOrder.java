@@ -0,0 +1,110 @@
+package org.epam.swissre.coffeeshop.service.impl;
+
+import org.epam.swissre.coffeeshop.enums.ProductKind;
+import org.epam.swissre.coffeeshop.model.Order;
+import org.epam.swissre.coffeeshop.model.Product;
+import org.epam.swissre.coffeeshop.model.SkuBasket;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Compact, reusable representation of a parsed order record: product codes and prices in cents are held in
+ * primitive arrays which are only grown, never reallocated per record. Menu products are represented by their
+ * product code only; the name is kept for products which are not part of the menu. Restored products which are not
+ * part of the menu are shared between the records of the same instance as well, so a long order history does not
+ * allocate a product per stored row.
+ *
+ * <p>Instances are mutable and meant to be reused by a single parser thread.</p>
+ */
+public final class ParsedOrder {
+
+    private static final int INITIAL_CAPACITY = 8;
+    // The CSV order log only keeps beverages, so products outside the menu are restored as beverages
+    private static final int STORED_KIND_MASK = ProductKind.BEVERAGE.getMask();
+    private static final int MAX_STORED_PRODUCTS = 1024;
+
+    private int[] productCodes = new int[INITIAL_CAPACITY];
+    private long[] pricesInCents = new long[INITIAL_CAPACITY];
+    private String[] names = new String[INITIAL_CAPACITY];
+    private int productCount;
+    private final Map<String, Product> storedProducts = new HashMap<>();
+
+    /**
+     * Returns the number of products in the record.
+     *
+     * @return the number of products.
+     */
+    public int getProductCount() {
+        return productCount;
+    }
+
+    /**
+     * Returns the product code of a product of the record.
+     *
+     * @param index the index of the product.
+     * @return the product code, or a negative value for a product which is not part of the menu.
+     */
+    public int getProductCode(int index) {
+        return productCodes[index];
+    }
+
+    /**
+     * Returns the price of a product of the record.
+     *
+     * @param index the index of the product.
+     * @return the price in cents.
+     */
+    public long getPriceInCents(int index) {
+        return pricesInCents[index];
+    }
+
+    /**
+     * Materializes the record as an {@link Order} backed by a compact {@link SkuBasket}. Menu products resolve to
+     * their shared catalog instances.
+     *
+     * @return a new order containing the products of the record.
+     */
+    public Order toOrder() {
+        SkuBasket products = new SkuBasket(productCount);
+        for (int i = 0; i < productCount; i++) {
+            if (productCodes[i] == ProductCodes.UNKNOWN) {
+                products.add(storedProduct(names[i], pricesInCents[i]));
+            } else {
+                products.addSku(productCodes[i]);
+            }
+        }
+        return new Order(products);
+    }
+
+    private Product storedProduct(String name, long priceInCents) {
+        Product product = storedProducts.get(name);
+        if (product != null && product.getPriceInCents() == priceInCents) {
+            return product;
+        }
+        product = new OrderStorage.ConcreteProduct(name, priceInCents, STORED_KIND_MASK);
+        if (storedProducts.size() < MAX_STORED_PRODUCTS) {
+            storedProducts.putIfAbsent(name, product);
+        }
+        return product;
+    }
+
+    void clear() {
+        Arrays.fill(names, 0, productCount, null);
+        productCount = 0;
+    }
+
+    void addProduct(int productCode, long priceInCents, String name) {
+        if (productCount == productCodes.length) {
+            int capacity = productCount * 2;
+            productCodes = Arrays.copyOf(productCodes, capacity);
+            pricesInCents = Arrays.copyOf(pricesInCents, capacity);
+            names = Arrays.copyOf(names, capacity);
+        }
+        productCodes[productCount] = productCode;
+        pricesInCents[productCount] = priceInCents;
+        names[productCount] = name;
+        productCount++;
+    }
+}
@@ -3,6 +3,9 @@ package org.epam.swissre.coffeeshop.service.impl;
 import org.epam.swissre.coffeeshop.enums.OrderStatus;
 import org.epam.swissre.coffeeshop.model.Order;
 import org.epam.swissre.coffeeshop.service.IPaymentService;
+import org.epam.swissre.coffeeshop.util.MoneyUtils;
+
+import java.util.List;
 
 /**
  * Service class responsible for handling financial transactions related to orders. This class is pivotal
@@ -22,6 +25,25 @@ public class PaymentService implements IPaymentService {
         performPaymentTransaction(order);
     }
 
+    /**
+     * Processes the payments of several orders as one transaction over their total cost.
+     *
+     * @param orders The orders for which the payments are being processed.
+     */
+    @Override
+    public void processPayments(List<Order> orders) {
+        long totalCostInCents = 0;
+        for (Order order : orders) {
+            totalCostInCents += order.getTotalCostInCents();
+        }
+        // Log or system print out for demonstration
+        System.out.printf("\nTransaction completed for %d orders. Amount charged: CHF %s%n", orders.size(), MoneyUtils.format(totalCostInCents));
+
+        for (Order order : orders) {
+            order.setStatus(OrderStatus.PAID);
+        }
+    }
+
     /**
      * Simulates the process of executing a transaction. In a real-life scenario, this method would interface
      * with external payment providers to perform the financial transaction.
@@ -30,7 +52,7 @@ public class PaymentService implements IPaymentService {
      */
     private void performPaymentTransaction(Order order) {
         // Log or system print out for demonstration
-        System.out.printf("\nTransaction completed. Amount charged: CHF %.2f%n", order.getTotalCost());
+        System.out.printf("\nTransaction completed. Amount charged: CHF %s%n", MoneyUtils.format(order.getTotalCostInCents()));
 
         order.setStatus(OrderStatus.PAID);
     }
@@ -0,0 +1,77 @@
+package org.epam.swissre.coffeeshop.service.impl;
+
+import org.epam.swissre.coffeeshop.model.Product;
+import org.epam.swissre.coffeeshop.model.ProductCatalog;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Table of the product codes used by the persisted order formats. The product code of a menu item is its
+ * {@link ProductCatalog} SKU, so stored records can be decoded to the shared catalog instances without parsing
+ * names or allocating a product per row.
+ *
+ * <p>The codes are part of the persisted format: new menu items must only be appended to the catalog.</p>
+ */
+final class ProductCodes {
+
+    /**
+     * Code of a product which is not part of the menu, its name must be stored next to the code.
+     */
+    static final int UNKNOWN = ProductCatalog.UNKNOWN_SKU;
+
+    private static final byte[][] ENCODED_NAMES = new byte[ProductCatalog.size()][];
+    private static final long[] PRICES_IN_CENTS = new long[ProductCatalog.size()];
+
+    static {
+        for (int code = 0; code < ProductCatalog.size(); code++) {
+            Product product = ProductCatalog.get(code);
+            ENCODED_NAMES[code] = product.getName().getBytes(StandardCharsets.UTF_8);
+            PRICES_IN_CENTS[code] = product.getPriceInCents();
+        }
+    }
+
+    private ProductCodes() {
+        // static table only
+    }
+
+    /**
+     * Returns the code of a menu product.
+     * Products are matched by name and price, so products restored from older formats resolve to the menu item.
+     *
+     * @param product the product to look up.
+     * @return the code of the product, or {@link #UNKNOWN} if the product is not a menu item with the menu price.
+     */
+    static int codeOf(Product product) {
+        return ProductCatalog.skuOf(product);
+    }
+
+    /**
+     * Returns the code of a menu product given by its UTF-8 encoded name, without decoding the name.
+     *
+     * @param buffer the buffer containing the encoded name.
+     * @param start the index of the first byte of the name (inclusive).
+     * @param end the index of the last byte of the name (exclusive).
+     * @param priceInCents the price of the product in cents.
+     * @return the code of the product, or {@link #UNKNOWN} if the product is not a menu item with the menu price.
+     */
+    static int codeOf(ByteBuffer buffer, int start, int end, long priceInCents) {
+        int length = end - start;
+        for (int code = 0; code < ENCODED_NAMES.length; code++) {
+            byte[] name = ENCODED_NAMES[code];
+            if (name.length == length && PRICES_IN_CENTS[code] == priceInCents && matches(name, buffer, start)) {
+                return code;
+            }
+        }
+        return UNKNOWN;
+    }
+
+    private static boolean matches(byte[] name, ByteBuffer buffer, int start) {
+        for (int i = 0; i < name.length; i++) {
+            if (buffer.get(start + i) != name[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,467 @@
+package org.epam.swissre.coffeeshop.service.impl;
+
+import org.epam.swissre.coffeeshop.enums.DurabilityPolicy;
+import org.epam.swissre.coffeeshop.model.Order;
+import org.epam.swissre.coffeeshop.service.IOrderStorage;
+import org.epam.swissre.coffeeshop.util.CachedClock;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Segmented variant of the CSV order storage. Orders are appended to an active segment file in the
+ * {@link OrderStorage} format; the active segment is closed and a new one is started once it reaches a
+ * maximum size or age. A background compaction thread folds closed segments into an {@link OrderLogSummary}
+ * (order count, loyalty beverage count and revenue) and deletes them, so the amount of data read by
+ * {@link #retrieveOrders()} and {@link #streamOrders()} is bounded by the live segments, not by the years of
+ * history kept.
+ *
+ * <p>The segments and the summary are listed in a manifest file which is replaced atomically on every change:</p>
+ * <pre>
+ * version=1
+ * summary=order count,beverage count,revenue in cents
+ * next=next segment id
+ * closed=segment id,creation time (epoch millis)
+ * active=segment id,creation time (epoch millis)
+ * </pre>
+ * <p>Retrieval returns the orders of the live (active and not yet compacted) segments only; compacted orders
+ * are represented by {@link #getSummary()}.</p>
+ */
+public class SegmentedOrderStorage implements IOrderStorage, Closeable {
+
+    static final String MANIFEST_FILE = "manifest";
+    static final int MANIFEST_VERSION = 1;
+
+    private static final long DEFAULT_MAX_SEGMENT_BYTES = 64L * 1024 * 1024;
+    private static final Duration DEFAULT_MAX_SEGMENT_AGE = Duration.ofDays(1);
+    private static final Duration DEFAULT_COMPACTION_INTERVAL = Duration.ofMinutes(1);
+
+    private final Path directory;
+    private final long maxSegmentBytes;
+    private final Duration maxSegmentAge;
+    private final CachedClock clock;
+    private final ScheduledExecutorService compactor;
+    private final Object compactionLock = new Object();
+
+    // Guarded by this
+    private final Deque<Segment> closedSegments = new ArrayDeque<>();
+    private Segment activeSegment;
+    private JournalOrderStorage activeStorage;
+    private long nextSegmentId = 1;
+    private OrderLogSummary summary = OrderLogSummary.EMPTY;
+
+    /**
+     * Constructs a SegmentedOrderStorage with segments of at most 64 MB or one day, compacted every minute.
+     *
+     * @param directory the directory holding the manifest and the segment files, created if missing.
+     */
+    public SegmentedOrderStorage(String directory) {
+        this(directory, DEFAULT_MAX_SEGMENT_BYTES, DEFAULT_MAX_SEGMENT_AGE, DEFAULT_COMPACTION_INTERVAL);
+    }
+
+    /**
+     * Constructs a SegmentedOrderStorage with the given rotation and compaction settings.
+     *
+     * @param directory the directory holding the manifest and the segment files, created if missing.
+     * @param maxSegmentBytes the size after which the active segment is closed.
+     * @param maxSegmentAge the age after which a non-empty active segment is closed.
+     * @param compactionInterval the delay between two background rotation and compaction runs.
+     */
+    public SegmentedOrderStorage(String directory, long maxSegmentBytes, Duration maxSegmentAge, Duration compactionInterval) {
+        this(directory, maxSegmentBytes, maxSegmentAge, compactionInterval, CachedClock.shared());
+    }
+
+    /**
+     * Constructs a SegmentedOrderStorage which measures the age of the segments with the given clock.
+     *
+     * @param directory the directory holding the manifest and the segment files, created if missing.
+     * @param maxSegmentBytes the size after which the active segment is closed.
+     * @param maxSegmentAge the age after which a non-empty active segment is closed.
+     * @param compactionInterval the delay between two background rotation and compaction runs.
+     * @param clock the clock providing the creation time of the segments.
+     */
+    public SegmentedOrderStorage(String directory, long maxSegmentBytes, Duration maxSegmentAge, Duration compactionInterval,
+                                 CachedClock clock) {
+        if (maxSegmentBytes <= 0) {
+            throw new IllegalArgumentException("Maximum segment size must be positive");
+        }
+        if (maxSegmentAge == null || maxSegmentAge.isNegative()) {
+            throw new IllegalArgumentException("Maximum segment age cannot be null or negative");
+        }
+        if (compactionInterval == null || compactionInterval.isNegative() || compactionInterval.isZero()) {
+            throw new IllegalArgumentException("Compaction interval must be positive");
+        }
+        if (clock == null) {
+            throw new IllegalArgumentException("Clock cannot be null");
+        }
+        this.directory = Paths.get(directory);
+        this.maxSegmentBytes = maxSegmentBytes;
+        this.maxSegmentAge = maxSegmentAge;
+        this.clock = clock;
+        try {
+            Files.createDirectories(this.directory);
+            if (Files.exists(manifestPath())) {
+                readManifest();
+            } else {
+                activeSegment = new Segment(nextSegmentId++, clock.currentTimeMillis());
+                writeManifest();
+            }
+            activeStorage = openSegment(activeSegment);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to initialize segmented order storage.", e);
+        }
+
+        compactor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "order-log-compactor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long intervalMillis = compactionInterval.toMillis();
+        compactor.scheduleWithFixedDelay(this::maintain, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Appends new orders to the active segment, closing it first if it exceeded its maximum size or age.
+     *
+     * @param newOrders a list of new orders to be appended.
+     * @throws IOException if an error occurs during file operation.
+     */
+    @Override
+    public synchronized void storeOrders(List<Order> newOrders) throws IOException {
+        rotateIfNeeded();
+        activeStorage.storeOrders(newOrders);
+    }
+
+    /**
+     * Retrieves the orders of the live segments, i.e. the orders which are not compacted yet.
+     *
+     * @return a list of the live orders in storage order.
+     * @throws IOException if an error occurs during file reading.
+     */
+    @Override
+    public List<Order> retrieveOrders() throws IOException {
+        try (Stream<Order> orders = streamOrders()) {
+            return orders.collect(Collectors.toCollection(ArrayList::new));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Streams the orders of the live segments lazily. The stream covers the orders stored before the call;
+     * all segment files are opened up front, so a concurrent compaction does not affect an open stream.
+     *
+     * @return a stream of the live orders in storage order, which must be closed.
+     * @throws IOException if a segment file cannot be opened.
+     */
+    @Override
+    public synchronized Stream<Order> streamOrders() throws IOException {
+        List<Segment> segments = new ArrayList<>(closedSegments);
+        segments.add(activeSegment);
+        List<CsvOrderCursor> cursors = new ArrayList<>(segments.size());
+        try {
+            for (Segment segment : segments) {
+                FileChannel channel = FileChannel.open(segmentPath(segment), StandardOpenOption.READ);
+                cursors.add(new CsvOrderCursor(boundedChannel(channel, channel.size()), new CsvOrderParser()));
+            }
+        } catch (IOException e) {
+            closeAll(cursors);
+            throw e;
+        }
+        return cursors.stream().flatMap(CsvOrderCursor::stream).onClose(() -> {
+            try {
+                closeAll(cursors);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    /**
+     * Returns the summary of all compacted orders.
+     *
+     * @return the summary of the orders which are no longer in a live segment.
+     */
+    public synchronized OrderLogSummary getSummary() {
+        return summary;
+    }
+
+    /**
+     * Returns the summary of all stored orders: the compacted summary plus the orders of the live segments.
+     * Compaction is paused meanwhile, so no segment is counted twice.
+     *
+     * @return the summary of the whole order history.
+     * @throws IOException if a segment cannot be read.
+     */
+    public OrderLogSummary summarizeAll() throws IOException {
+        synchronized (compactionLock) {
+            OrderLogSummary total;
+            Stream<Order> orders;
+            synchronized (this) {
+                total = summary;
+                orders = streamOrders();
+            }
+            return summarize(total, orders);
+        }
+    }
+
+    /**
+     * Counts the beverages of the whole order history, including the compacted orders.
+     *
+     * @return the number of beverages.
+     * @throws IOException if a segment cannot be read.
+     */
+    @Override
+    public long countBeverages() throws IOException {
+        return summarizeAll().getBeverageCount();
+    }
+
+    /**
+     * Stops the background compaction. Closed segments which were not compacted yet are compacted
+     * after the next start.
+     *
+     * @throws IOException if the compaction thread does not terminate.
+     */
+    @Override
+    public void close() throws IOException {
+        compactor.shutdown();
+        try {
+            if (!compactor.awaitTermination(10, TimeUnit.SECONDS)) {
+                throw new IOException("Compaction did not terminate in time");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for the compaction", e);
+        }
+    }
+
+    /**
+     * Folds all closed segments into the summary and deletes them. Segments are summarized outside the lock,
+     * so storing orders is only blocked while the manifest is rewritten.
+     *
+     * @return the number of compacted segments.
+     * @throws IOException if a segment cannot be read or the manifest cannot be written.
+     */
+    int compact() throws IOException {
+        synchronized (compactionLock) {
+            int compacted = 0;
+            while (true) {
+                Segment segment;
+                synchronized (this) {
+                    segment = closedSegments.peekFirst();
+                }
+                if (segment == null) {
+                    return compacted;
+                }
+                OrderLogSummary segmentSummary = summarize(segment);
+                synchronized (this) {
+                    closedSegments.removeFirst();
+                    summary = summary.plus(segmentSummary);
+                    writeManifest();
+                }
+                Files.deleteIfExists(segmentPath(segment));
+                compacted++;
+            }
+        }
+    }
+
+    /**
+     * Returns the number of segments read by a retrieval.
+     */
+    synchronized int getLiveSegmentCount() {
+        return closedSegments.size() + 1;
+    }
+
+    private void maintain() {
+        try {
+            synchronized (this) {
+                rotateIfNeeded();
+            }
+            compact();
+        } catch (IOException | RuntimeException e) {
+            // A failure must not escape, as the executor would cancel all further runs
+            System.err.println("Failed to compact the order log: " + e);
+        }
+    }
+
+    /**
+     * Opens the storage of a segment; segment files are created silently, as rotation runs in the background.
+     */
+    private JournalOrderStorage openSegment(Segment segment) {
+        return new JournalOrderStorage(segmentPath(segment).toString(), DurabilityPolicy.PER_BATCH, false);
+    }
+
+    private void rotateIfNeeded() throws IOException {
+        long size = Files.size(segmentPath(activeSegment));
+        long now = clock.currentTimeMillis();
+        boolean full = size >= maxSegmentBytes;
+        boolean expired = size > 0 && now - activeSegment.createdMillis >= maxSegmentAge.toMillis();
+        if (!full && !expired) {
+            return;
+        }
+        closedSegments.addLast(activeSegment);
+        activeSegment = new Segment(nextSegmentId++, now);
+        activeStorage = openSegment(activeSegment);
+        writeManifest();
+    }
+
+    private OrderLogSummary summarize(Segment segment) throws IOException {
+        FileChannel channel = FileChannel.open(segmentPath(segment), StandardOpenOption.READ);
+        return summarize(OrderLogSummary.EMPTY, new CsvOrderCursor(channel, new CsvOrderParser()).stream());
+    }
+
+    private static OrderLogSummary summarize(OrderLogSummary initial, Stream<Order> orders) throws IOException {
+        OrderLogSummary total = initial;
+        try (orders) {
+            for (Order order : (Iterable<Order>) orders::iterator) {
+                total = total.plus(order);
+            }
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        return total;
+    }
+
+    private void readManifest() throws IOException {
+        for (String line : Files.readAllLines(manifestPath(), StandardCharsets.UTF_8)) {
+            int separator = line.indexOf('=');
+            if (separator < 0) {
+                continue;
+            }
+            String key = line.substring(0, separator);
+            String[] values = line.substring(separator + 1).split(",");
+            switch (key) {
+                case "version" -> {
+                    int version = Integer.parseInt(values[0]);
+                    if (version != MANIFEST_VERSION) {
+                        throw new IOException("Unsupported manifest version " + version + ": " + manifestPath());
+                    }
+                }
+                case "summary" -> summary = new OrderLogSummary(Long.parseLong(values[0]),
+                        Long.parseLong(values[1]), Long.parseLong(values[2]));
+                case "next" -> nextSegmentId = Long.parseLong(values[0]);
+                case "closed" -> closedSegments.addLast(new Segment(Long.parseLong(values[0]), Long.parseLong(values[1])));
+                case "active" -> activeSegment = new Segment(Long.parseLong(values[0]), Long.parseLong(values[1]));
+                default -> {
+                    // ignore unknown keys written by newer versions
+                }
+            }
+        }
+        if (activeSegment == null) {
+            throw new IOException("Manifest without active segment: " + manifestPath());
+        }
+    }
+
+    private void writeManifest() throws IOException {
+        StringBuilder sb = new StringBuilder();
+        sb.append("version=").append(MANIFEST_VERSION).append('\n');
+        sb.append("summary=").append(summary.getOrderCount()).append(',').append(summary.getBeverageCount())
+                .append(',').append(summary.getRevenueInCents()).append('\n');
+        sb.append("next=").append(nextSegmentId).append('\n');
+        for (Segment segment : closedSegments) {
+            sb.append("closed=").append(segment.id).append(',').append(segment.createdMillis).append('\n');
+        }
+        sb.append("active=").append(activeSegment.id).append(',').append(activeSegment.createdMillis).append('\n');
+
+        Path temporary = directory.resolve(MANIFEST_FILE + ".tmp");
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer content = ByteBuffer.wrap(sb.toString().getBytes(StandardCharsets.UTF_8));
+            while (content.hasRemaining()) {
+                channel.write(content);
+            }
+            channel.force(true);
+        }
+        Files.move(temporary, manifestPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private Path manifestPath() {
+        return directory.resolve(MANIFEST_FILE);
+    }
+
+    private Path segmentPath(Segment segment) {
+        return directory.resolve(String.format("segment-%06d.csv", segment.id));
+    }
+
+    private static void closeAll(List<CsvOrderCursor> cursors) throws IOException {
+        IOException failure = null;
+        for (CsvOrderCursor cursor : cursors) {
+            try {
+                cursor.close();
+            } catch (IOException e) {
+                failure = e;
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    /**
+     * Returns a channel reading the file only up to the given end, so records appended after the snapshot
+     * (and a record being appended concurrently) are not read.
+     */
+    private static ReadableByteChannel boundedChannel(FileChannel channel, long end) {
+        return new ReadableByteChannel() {
+            private long position;
+
+            @Override
+            public int read(ByteBuffer target) throws IOException {
+                if (position >= end) {
+                    return -1;
+                }
+                int length = (int) Math.min(target.remaining(), end - position);
+                ByteBuffer window = target.slice().limit(length);
+                int read = channel.read(window, position);
+                if (read > 0) {
+                    position += read;
+                    target.position(target.position() + read);
+                }
+                return read;
+            }
+
+            @Override
+            public boolean isOpen() {
+                return channel.isOpen();
+            }
+
+            @Override
+            public void close() throws IOException {
+                channel.close();
+            }
+        };
+    }
+
+    /**
+     * A segment file of the order log.
+     */
+    private static final class Segment {
+        private final long id;
+        private final long createdMillis;
+
+        Segment(long id, long createdMillis) {
+            this.id = id;
+            this.createdMillis = createdMillis;
+        }
+    }
+}
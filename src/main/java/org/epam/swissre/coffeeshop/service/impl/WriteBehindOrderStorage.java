@@ -0,0 +1,434 @@
+package org.epam.swissre.coffeeshop.service.impl;
+
+import org.epam.swissre.coffeeshop.model.Order;
+import org.epam.swissre.coffeeshop.service.IOrderStorage;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Write-behind caching decorator of an {@link IOrderStorage}. Stored orders are only queued in memory and
+ * written to the delegate asynchronously by a background thread, either on a fixed schedule or as soon as
+ * the number of pending orders reaches the flush threshold, so the till does not wait for disk I/O.
+ *
+ * <p>The most recent orders are cached, bounded by the cache capacity; older orders are evicted first.
+ * {@link #retrieveOrders()} is served from the cache as long as it holds the complete history, otherwise it
+ * flushes, reads the delegate and repopulates the cache. An {@link OrderLogSummary} of all orders (including the
+ * loyalty beverage count) is kept up to date in memory once it has been requested.</p>
+ *
+ * <p>Aggregates derived from the orders, like a persistent loyalty counter, can be kept in step with the written
+ * history by a {@link FlushListener}, which receives every batch right after the delegate stored it.</p>
+ *
+ * <p>Pending orders are lost if the process dies before they are flushed; {@link #close()} flushes them and
+ * should be called on shutdown. If the pending orders reach the maximum pending size, the caller flushes
+ * synchronously, which bounds the memory at the cost of blocking. Once queued, orders are never reported as
+ * failed: if that flush fails, they stay pending, and later calls are refused until the pending orders can be
+ * written again.</p>
+ */
+public class WriteBehindOrderStorage implements IOrderStorage, Closeable {
+
+    /**
+     * Receives the batches written to the delegate.
+     */
+    @FunctionalInterface
+    public interface FlushListener {
+
+        /**
+         * Called on the flushing thread right after the delegate stored a batch, before the next batch is flushed.
+         *
+         * @param batch the orders written, in storage order.
+         * @throws IOException if the listener fails; the orders stay written.
+         */
+        void flushed(List<Order> batch) throws IOException;
+    }
+
+    private static final int DEFAULT_CACHE_CAPACITY = 10_000;
+    private static final int DEFAULT_FLUSH_THRESHOLD = 100;
+    private static final int DEFAULT_MAX_PENDING = 10_000;
+    private static final Duration DEFAULT_FLUSH_INTERVAL = Duration.ofSeconds(1);
+
+    private final IOrderStorage delegate;
+    private final int cacheCapacity;
+    private final int flushThreshold;
+    private final int maxPending;
+    private final ScheduledExecutorService flusher;
+    private final Object flushLock = new Object();
+    private final AtomicBoolean flushRequested = new AtomicBoolean();
+    private final List<FlushListener> flushListeners = new CopyOnWriteArrayList<>();
+
+    // Guarded by this
+    private final Deque<Order> cache = new ArrayDeque<>();
+    private boolean cacheComplete;
+    private List<Order> pending = new ArrayList<>();
+    private long oldestPendingNanos;
+    private OrderLogSummary summary;
+
+    private final AtomicLong cacheHits = new AtomicLong();
+    private final AtomicLong cacheMisses = new AtomicLong();
+    private final AtomicLong flushCount = new AtomicLong();
+    private final AtomicLong flushFailures = new AtomicLong();
+    private final AtomicLong lastFlushLagNanos = new AtomicLong();
+    private final AtomicLong maxFlushLagNanos = new AtomicLong();
+
+    /**
+     * Constructs a WriteBehindOrderStorage caching 10000 orders and flushing every second or every 100 orders.
+     *
+     * @param delegate the storage the orders are written to.
+     */
+    public WriteBehindOrderStorage(IOrderStorage delegate) {
+        this(delegate, DEFAULT_CACHE_CAPACITY, DEFAULT_FLUSH_THRESHOLD, DEFAULT_MAX_PENDING, DEFAULT_FLUSH_INTERVAL);
+    }
+
+    /**
+     * Constructs a WriteBehindOrderStorage with the given cache and flush settings.
+     *
+     * @param delegate the storage the orders are written to.
+     * @param cacheCapacity the maximum number of cached orders.
+     * @param flushThreshold the number of pending orders which triggers an asynchronous flush.
+     * @param maxPending the number of pending orders at which the caller flushes synchronously.
+     * @param flushInterval the delay between two scheduled flushes.
+     */
+    public WriteBehindOrderStorage(IOrderStorage delegate, int cacheCapacity, int flushThreshold, int maxPending,
+                                   Duration flushInterval) {
+        if (delegate == null) {
+            throw new IllegalArgumentException("Delegate storage cannot be null");
+        }
+        if (cacheCapacity < 0) {
+            throw new IllegalArgumentException("Cache capacity cannot be negative");
+        }
+        if (flushThreshold <= 0 || maxPending < flushThreshold) {
+            throw new IllegalArgumentException("Flush threshold must be positive and not above the maximum pending orders");
+        }
+        if (flushInterval == null || flushInterval.isNegative() || flushInterval.isZero()) {
+            throw new IllegalArgumentException("Flush interval must be positive");
+        }
+        this.delegate = delegate;
+        this.cacheCapacity = cacheCapacity;
+        this.flushThreshold = flushThreshold;
+        this.maxPending = maxPending;
+        this.flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "order-write-behind");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long intervalMillis = flushInterval.toMillis();
+        flusher.scheduleWithFixedDelay(this::flushQuietly, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Queues the orders for the next flush and adds them to the cache. Only blocks if the maximum number of
+     * pending orders is reached.
+     *
+     * @param newOrders a list of new orders to be stored.
+     * @throws IOException if the maximum number of pending orders is still reached from a failed flush and they
+     *                     cannot be written now; none of the given orders is queued then.
+     */
+    @Override
+    public void storeOrders(List<Order> newOrders) throws IOException {
+        if (getPendingCount() >= maxPending) {
+            // Backpressure: make room before queueing, so a failure leaves none of these orders behind
+            flush();
+        }
+        int pendingCount;
+        synchronized (this) {
+            if (pending.isEmpty()) {
+                oldestPendingNanos = System.nanoTime();
+            }
+            for (Order order : newOrders) {
+                if (order == null) {
+                    continue;
+                }
+                pending.add(order);
+                cache.addLast(order);
+                if (cache.size() > cacheCapacity) {
+                    cache.removeFirst();
+                    cacheComplete = false;
+                }
+                if (summary != null) {
+                    summary = summary.plus(order);
+                }
+            }
+            pendingCount = pending.size();
+        }
+        if (pendingCount >= maxPending) {
+            // The orders are queued and will be written by a later flush, so a failure is not the caller's
+            flushQuietly();
+        } else if (pendingCount >= flushThreshold && !flusher.isShutdown() && flushRequested.compareAndSet(false, true)) {
+            flusher.execute(() -> {
+                flushRequested.set(false);
+                flushQuietly();
+            });
+        }
+    }
+
+    /**
+     * Retrieves all orders, including the pending ones. Served from the cache if it holds the complete history,
+     * otherwise the pending orders are flushed and the history is read from the delegate.
+     *
+     * @return a list of all orders.
+     * @throws IOException if an error occurs during flushing or reading.
+     */
+    @Override
+    public List<Order> retrieveOrders() throws IOException {
+        synchronized (this) {
+            if (cacheComplete) {
+                cacheHits.incrementAndGet();
+                return new ArrayList<>(cache);
+            }
+        }
+        cacheMisses.incrementAndGet();
+        synchronized (flushLock) {
+            flush();
+            List<Order> orders = new ArrayList<>(delegate.retrieveOrders());
+            synchronized (this) {
+                // Orders stored while reading are still pending
+                orders.addAll(pending);
+                cache.clear();
+                int from = Math.max(0, orders.size() - cacheCapacity);
+                cache.addAll(orders.subList(from, orders.size()));
+                cacheComplete = from == 0;
+            }
+            return orders;
+        }
+    }
+
+    /**
+     * Flushes the pending orders and streams the history from the delegate.
+     *
+     * @return a stream of all orders, which must be closed.
+     * @throws IOException if an error occurs during flushing or opening the delegate.
+     */
+    @Override
+    public Stream<Order> streamOrders() throws IOException {
+        synchronized (flushLock) {
+            flush();
+            return delegate.streamOrders();
+        }
+    }
+
+    /**
+     * Returns the summary of all orders, including the pending ones. The first call reads the history of the
+     * delegate; afterwards the summary is maintained in memory.
+     *
+     * @return the summary of all orders.
+     * @throws IOException if the history cannot be read.
+     */
+    public OrderLogSummary getSummary() throws IOException {
+        synchronized (this) {
+            if (summary != null) {
+                return summary;
+            }
+        }
+        synchronized (flushLock) {
+            flush();
+            OrderLogSummary total = OrderLogSummary.EMPTY;
+            try (Stream<Order> orders = delegate.streamOrders()) {
+                for (Order order : (Iterable<Order>) orders::iterator) {
+                    total = total.plus(order);
+                }
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            synchronized (this) {
+                for (Order order : pending) {
+                    total = total.plus(order);
+                }
+                summary = total;
+                return summary;
+            }
+        }
+    }
+
+    /**
+     * Counts the beverages of all orders, including the pending ones. Answered from the summary once it is
+     * maintained, otherwise the pending orders are flushed and the delegate counts its history.
+     *
+     * @return the number of beverages.
+     * @throws IOException if an error occurs during flushing or reading.
+     */
+    @Override
+    public long countBeverages() throws IOException {
+        synchronized (this) {
+            if (summary != null) {
+                return summary.getBeverageCount();
+            }
+        }
+        synchronized (flushLock) {
+            flush();
+            long beverages = delegate.countBeverages();
+            synchronized (this) {
+                // Orders stored while counting are still pending
+                for (Order order : pending) {
+                    beverages += order.getBeverageCount();
+                }
+            }
+            return beverages;
+        }
+    }
+
+    /**
+     * Returns the size of the history written to the delegate; pending orders are not included until flushed.
+     *
+     * @return the size reported by the delegate.
+     * @throws IOException if the delegate cannot read the size.
+     */
+    @Override
+    public long getStoredSize() throws IOException {
+        return delegate.getStoredSize();
+    }
+
+    /**
+     * Writes all pending orders to the delegate. On failure the orders stay pending for the next attempt.
+     *
+     * @throws IOException if the delegate fails to store the orders.
+     */
+    public void flush() throws IOException {
+        synchronized (flushLock) {
+            List<Order> batch;
+            long oldestNanos;
+            synchronized (this) {
+                if (pending.isEmpty()) {
+                    return;
+                }
+                batch = pending;
+                oldestNanos = oldestPendingNanos;
+                pending = new ArrayList<>();
+            }
+            try {
+                delegate.storeOrders(batch);
+            } catch (IOException | RuntimeException e) {
+                flushFailures.incrementAndGet();
+                synchronized (this) {
+                    batch.addAll(pending);
+                    pending = batch;
+                    oldestPendingNanos = oldestNanos;
+                }
+                throw e;
+            }
+            long lag = System.nanoTime() - oldestNanos;
+            flushCount.incrementAndGet();
+            lastFlushLagNanos.set(lag);
+            maxFlushLagNanos.accumulateAndGet(lag, Math::max);
+            for (FlushListener listener : flushListeners) {
+                try {
+                    listener.flushed(Collections.unmodifiableList(batch));
+                } catch (IOException | RuntimeException e) {
+                    System.err.println("Failed to notify a flush listener: " + e.getMessage());
+                }
+            }
+        }
+    }
+
+    /**
+     * Registers a listener receiving every batch written to the delegate from now on.
+     *
+     * @param listener the listener.
+     */
+    public void addFlushListener(FlushListener listener) {
+        if (listener == null) {
+            throw new IllegalArgumentException("Flush listener cannot be null");
+        }
+        flushListeners.add(listener);
+    }
+
+    /**
+     * Stops the background flushing and flushes all pending orders.
+     *
+     * @throws IOException if the final flush fails.
+     */
+    @Override
+    public void close() throws IOException {
+        flusher.shutdown();
+        try {
+            flusher.awaitTermination(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flush();
+    }
+
+    /**
+     * Returns the number of retrievals served from the cache.
+     *
+     * @return the number of cache hits.
+     */
+    public long getCacheHits() {
+        return cacheHits.get();
+    }
+
+    /**
+     * Returns the number of retrievals which had to read the delegate.
+     *
+     * @return the number of cache misses.
+     */
+    public long getCacheMisses() {
+        return cacheMisses.get();
+    }
+
+    /**
+     * Returns the number of successful flushes.
+     *
+     * @return the number of flushes.
+     */
+    public long getFlushCount() {
+        return flushCount.get();
+    }
+
+    /**
+     * Returns the number of failed flushes.
+     *
+     * @return the number of flush failures.
+     */
+    public long getFlushFailures() {
+        return flushFailures.get();
+    }
+
+    /**
+     * Returns the number of orders waiting for the next flush.
+     *
+     * @return the number of pending orders.
+     */
+    public synchronized int getPendingCount() {
+        return pending.size();
+    }
+
+    /**
+     * Returns the flush lag of the last flush, i.e. the time its oldest order was pending.
+     *
+     * @return the last flush lag.
+     */
+    public Duration getLastFlushLag() {
+        return Duration.ofNanos(lastFlushLagNanos.get());
+    }
+
+    /**
+     * Returns the largest flush lag observed.
+     *
+     * @return the maximum flush lag.
+     */
+    public Duration getMaxFlushLag() {
+        return Duration.ofNanos(maxFlushLagNanos.get());
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Failed to flush the pending orders: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package org.epam.swissre.coffeeshop.util;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Bounded pool of equally sized heap {@link ByteBuffer}s for rendering and writing short-lived documents like
+ * receipts. Released buffers are kept in a lock-free {@link RingBuffer} and handed out again, so steady traffic
+ * renders into the same few buffers instead of allocating one per document. Heap buffers are used so the
+ * rendered bytes can be written to any {@link java.io.OutputStream} from their backing array.
+ *
+ * <p>Requests larger than the buffer capacity get a one-off buffer which is not pooled, and buffers released
+ * while the pool is full are left to the garbage collector, so the retained memory never exceeds
+ * {@code maxPooledBuffers * bufferCapacity}.</p>
+ */
+public final class ByteBufferPool {
+
+    private final int bufferCapacity;
+    private final RingBuffer<ByteBuffer> pooled;
+
+    /**
+     * Constructs an empty pool; buffers are allocated on demand.
+     *
+     * @param bufferCapacity the capacity of the pooled buffers in bytes.
+     * @param maxPooledBuffers the maximum number of idle buffers kept, rounded up to a power of two.
+     * @throws IllegalArgumentException if the buffer capacity or the number of buffers is not positive.
+     */
+    public ByteBufferPool(int bufferCapacity, int maxPooledBuffers) {
+        if (bufferCapacity < 1) {
+            throw new IllegalArgumentException("Buffer capacity must be positive");
+        }
+        this.bufferCapacity = bufferCapacity;
+        this.pooled = new RingBuffer<>(maxPooledBuffers);
+    }
+
+    /**
+     * Takes a cleared buffer with at least the given capacity from the pool, or allocates one if the pool is
+     * empty or the capacity exceeds the one of the pooled buffers.
+     *
+     * @param minCapacity the number of bytes the caller needs to write.
+     * @return a buffer positioned at 0 with its limit at its capacity.
+     */
+    public ByteBuffer acquire(int minCapacity) {
+        if (minCapacity > bufferCapacity) {
+            return ByteBuffer.allocate(minCapacity);
+        }
+        ByteBuffer buffer = pooled.poll();
+        return buffer != null ? buffer : ByteBuffer.allocate(bufferCapacity);
+    }
+
+    /**
+     * Returns a buffer to the pool. The caller must not use the buffer afterwards.
+     *
+     * @param buffer a buffer acquired from this pool; one-off buffers are dropped.
+     */
+    public void release(ByteBuffer buffer) {
+        if (buffer != null && buffer.capacity() == bufferCapacity && !buffer.isDirect()) {
+            pooled.offer(buffer.clear());
+        }
+    }
+
+    /**
+     * Returns the capacity of the pooled buffers.
+     *
+     * @return the capacity in bytes.
+     */
+    public int getBufferCapacity() {
+        return bufferCapacity;
+    }
+
+    /**
+     * Returns the number of idle buffers in the pool. The value is a snapshot and may be outdated when returned.
+     *
+     * @return the number of pooled buffers.
+     */
+    public int getPooledCount() {
+        return pooled.size();
+    }
+}
@@ -0,0 +1,140 @@
+package org.epam.swissre.coffeeshop.util;
+
+import java.io.Closeable;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Coarse-grained time source for hot paths like receipts, storage timestamps and metrics. The time of the
+ * underlying {@link Clock} is sampled on every {@link #tick()}, together with the "yyyy-MM-dd HH:mm" text of its
+ * minute, which is only rendered again when the minute changes. Readers get both with a single volatile load,
+ * without creating a formatter, a date-time or a string.
+ *
+ * <p>A clock constructed with a tick interval is refreshed by a daemon ticker thread, so its values lag behind
+ * the underlying clock by at most about one interval. A clock constructed without one is only refreshed by
+ * explicit {@link #tick()} calls, e.g. with a fixed or hand-advanced clock in tests. The application shares
+ * the ticking clock returned by {@link #shared()}.</p>
+ */
+public final class CachedClock implements Closeable {
+
+    /**
+     * The tick interval of the shared clock.
+     */
+    public static final Duration DEFAULT_TICK_INTERVAL = Duration.ofMillis(100);
+
+    private static final DateTimeFormatter MINUTE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
+    private static final long MILLIS_PER_MINUTE = 60_000;
+
+    private final Clock clock;
+    private final ScheduledExecutorService ticker;
+    private volatile Tick current;
+
+    /**
+     * Constructs a clock which is only refreshed by {@link #tick()}.
+     *
+     * @param clock the underlying clock, also providing the time zone of the rendered text.
+     */
+    public CachedClock(Clock clock) {
+        this.clock = clock;
+        this.ticker = null;
+        tick();
+    }
+
+    /**
+     * Constructs a clock refreshed by a daemon ticker thread.
+     *
+     * @param clock the underlying clock, also providing the time zone of the rendered text.
+     * @param tickInterval the interval between two refreshes.
+     * @throws IllegalArgumentException if the interval is not positive.
+     */
+    public CachedClock(Clock clock, Duration tickInterval) {
+        if (tickInterval == null || tickInterval.isNegative() || tickInterval.isZero()) {
+            throw new IllegalArgumentException("Tick interval must be positive");
+        }
+        this.clock = clock;
+        tick();
+        this.ticker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "cached-clock");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long intervalNanos = tickInterval.toNanos();
+        ticker.scheduleAtFixedRate(this::tick, intervalNanos, intervalNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Returns the clock shared by the application, backed by the system clock in the default time zone and
+     * refreshed every {@link #DEFAULT_TICK_INTERVAL}.
+     *
+     * @return the shared clock.
+     */
+    public static CachedClock shared() {
+        return SharedClockHolder.INSTANCE;
+    }
+
+    /**
+     * Samples the underlying clock; the text of the minute is rendered only if the minute has changed.
+     */
+    public void tick() {
+        long millis = clock.millis();
+        long minute = Math.floorDiv(millis, MILLIS_PER_MINUTE);
+        Tick previous = current;
+        String text = previous != null && previous.minute == minute
+                ? previous.minuteText
+                : LocalDateTime.ofInstant(Instant.ofEpochMilli(millis), clock.getZone()).format(MINUTE_FORMAT);
+        current = new Tick(millis, minute, text);
+    }
+
+    /**
+     * Returns the time of the last tick.
+     *
+     * @return the milliseconds since the epoch.
+     */
+    public long currentTimeMillis() {
+        return current.millis;
+    }
+
+    /**
+     * Returns the date and time of the last tick in the "yyyy-MM-dd HH:mm" format.
+     *
+     * @return the pre-rendered date and time.
+     */
+    public String getCurrentDateTime() {
+        return current.minuteText;
+    }
+
+    /**
+     * Stops the ticker thread, if any; the clock keeps returning the values of its last tick.
+     */
+    @Override
+    public void close() {
+        if (ticker != null) {
+            ticker.shutdownNow();
+        }
+    }
+
+    /**
+     * One immutable sample, so readers never see the time of one tick with the text of another.
+     */
+    private static final class Tick {
+        private final long millis;
+        private final long minute;
+        private final String minuteText;
+
+        Tick(long millis, long minute, String minuteText) {
+            this.millis = millis;
+            this.minute = minute;
+            this.minuteText = minuteText;
+        }
+    }
+
+    private static final class SharedClockHolder {
+        private static final CachedClock INSTANCE = new CachedClock(Clock.systemDefaultZone(), DEFAULT_TICK_INTERVAL);
+    }
+}
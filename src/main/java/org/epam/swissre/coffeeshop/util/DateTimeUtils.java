@@ -1,8 +1,5 @@
 package org.epam.swissre.coffeeshop.util;
 
-import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
-
 /**
  * Utilities class for handling date and time operations.
  * This class provides static methods related to date and time operations that can be used
@@ -17,11 +14,14 @@ public class DateTimeUtils {
      * for logging, displaying timestamps on UI, or other date-time related operations
      * within the application.
      *
+     * <p>The text is pre-rendered by the {@link CachedClock#shared() shared clock} once per minute, so calling
+     * this per receipt creates neither a formatter nor a string; it may lag behind the system clock by up to
+     * one tick of the shared clock. Receipt presenters, renderers and storages are given their
+     * {@link CachedClock} on construction and read it directly instead, so they can be run on another clock.</p>
+     *
      * @return A string formatted as "yyyy-MM-dd HH:mm" representing the current date and time.
      */
     public static String getCurrentDateTime() {
-        LocalDateTime now = LocalDateTime.now();
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
-        return now.format(formatter);
+        return CachedClock.shared().getCurrentDateTime();
     }
 }
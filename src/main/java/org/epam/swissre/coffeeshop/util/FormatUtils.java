@@ -1,18 +1,190 @@
 package org.epam.swissre.coffeeshop.util;
 
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Utilities class for the fixed-width line items of receipts and order summaries: a description, dot leaders and
+ * the price right-aligned to {@link #TOTAL_WIDTH} characters. Besides the string variant, line items can be
+ * written straight into a caller's {@link StringBuilder}, {@link CharBuffer} or {@link ByteBuffer} without any
+ * allocation; the dot leaders are copied from precomputed arrays and the price is written by {@link MoneyUtils}.
+ */
 public class FormatUtils {
 
     protected static final int TOTAL_WIDTH = 50; // Define the total width for formatting (adjustable as needed)
 
+    private static final String CURRENCY_PREFIX = "CHF ";
+    private static final char[] DOTS = ".".repeat(TOTAL_WIDTH).toCharArray(); // copied from instead of repeated per line
+    private static final byte[] DOT_BYTES = ".".repeat(TOTAL_WIDTH).getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] CURRENCY_PREFIX_BYTES = CURRENCY_PREFIX.getBytes(StandardCharsets.US_ASCII);
+
     /**
      * Formats a line item with description and price, aligning the price to the right with dot leaders.
      * @param description The description of the item.
-     * @param price The price of the item.
+     * @param priceInCents The price of the item in cents (1/100 CHF).
      * @return A formatted string with dot leaders.
      */
-    public static String formatWithDotLeaders(String description, double price) {
-        String priceStr = String.format("CHF %.2f", price);
-        int numDots = TOTAL_WIDTH - description.length() - priceStr.length();
-        return description + ".".repeat(Math.max(0, numDots)) + priceStr;
+    public static String formatWithDotLeaders(String description, long priceInCents) {
+        return appendWithDotLeaders(new StringBuilder(TOTAL_WIDTH), description, priceInCents).toString();
+    }
+
+    /**
+     * Appends a line item with description, dot leaders and price to the builder.
+     * @param sb The builder to append to.
+     * @param description The description of the item.
+     * @param priceInCents The price of the item in cents (1/100 CHF).
+     * @return The given builder.
+     */
+    public static StringBuilder appendWithDotLeaders(StringBuilder sb, CharSequence description, long priceInCents) {
+        int lineStart = sb.length();
+        return appendDotLeaders(sb.append(description), lineStart, priceInCents);
+    }
+
+    /**
+     * Completes a line item whose description was already appended to the builder: appends the dot leaders and
+     * the price, so the line is right-aligned to the total width.
+     * @param sb The builder holding the line.
+     * @param lineStart The index in the builder at which the line starts.
+     * @param priceInCents The price of the item in cents (1/100 CHF).
+     * @return The given builder.
+     */
+    public static StringBuilder appendDotLeaders(StringBuilder sb, int lineStart, long priceInCents) {
+        int numDots = dotCount(sb.length() - lineStart, priceInCents);
+        if (numDots > 0) {
+            sb.append(DOTS, 0, numDots);
+        }
+        return MoneyUtils.appendTo(sb.append(CURRENCY_PREFIX), priceInCents);
+    }
+
+    /**
+     * Writes a line item with description, dot leaders and price at the position of the buffer.
+     * @param buffer The buffer to write to.
+     * @param description The description of the item.
+     * @param priceInCents The price of the item in cents (1/100 CHF).
+     * @return The given buffer, positioned after the line item.
+     * @throws BufferOverflowException If the remaining space is too small for the line item.
+     */
+    public static CharBuffer putWithDotLeaders(CharBuffer buffer, CharSequence description, long priceInCents) {
+        for (int i = 0; i < description.length(); i++) {
+            buffer.put(description.charAt(i)); // append(CharSequence) would copy builders into a string
+        }
+        int numDots = dotCount(description.length(), priceInCents);
+        if (numDots > 0) {
+            buffer.put(DOTS, 0, numDots);
+        }
+        return MoneyUtils.putTo(buffer.put(CURRENCY_PREFIX), priceInCents);
+    }
+
+    /**
+     * Writes a line item with description, dot leaders and price in UTF-8 at the position of the buffer. The
+     * line is aligned by characters, like the other variants, not by bytes.
+     * @param buffer The buffer to write to.
+     * @param description The description of the item.
+     * @param priceInCents The price of the item in cents (1/100 CHF).
+     * @return The given buffer, positioned after the line item.
+     * @throws BufferOverflowException If the remaining space is too small for the line item.
+     */
+    public static ByteBuffer putWithDotLeaders(ByteBuffer buffer, CharSequence description, long priceInCents) {
+        putUtf8(buffer, description);
+        int numDots = dotCount(description.length(), priceInCents);
+        if (numDots > 0) {
+            buffer.put(DOT_BYTES, 0, numDots);
+        }
+        return MoneyUtils.putTo(buffer.put(CURRENCY_PREFIX_BYTES), priceInCents);
+    }
+
+    /**
+     * Writes a numbered line item, e.g. "2. Small coffee....CHF 2.55", in UTF-8 at the position of the buffer.
+     * @param buffer The buffer to write to.
+     * @param itemNumber The number of the item, written before the description.
+     * @param description The description of the item.
+     * @param priceInCents The price of the item in cents (1/100 CHF).
+     * @return The given buffer, positioned after the line item.
+     * @throws BufferOverflowException If the remaining space is too small for the line item.
+     */
+    public static ByteBuffer putWithDotLeaders(ByteBuffer buffer, int itemNumber, CharSequence description, long priceInCents) {
+        int start = buffer.position();
+        putDecimal(buffer, itemNumber).put((byte) '.').put((byte) ' ');
+        int prefixLength = buffer.position() - start; // ASCII, so bytes equal characters
+        putUtf8(buffer, description, 0, description.length());
+        int numDots = dotCount(prefixLength + description.length(), priceInCents);
+        if (numDots > 0) {
+            buffer.put(DOT_BYTES, 0, numDots);
+        }
+        return MoneyUtils.putTo(buffer.put(CURRENCY_PREFIX_BYTES), priceInCents);
+    }
+
+    /**
+     * Writes a number as ASCII digits at the position of the buffer.
+     * @param buffer The buffer to write to.
+     * @param value The number.
+     * @return The given buffer, positioned after the number.
+     * @throws BufferOverflowException If the remaining space is too small for the number.
+     */
+    public static ByteBuffer putDecimal(ByteBuffer buffer, long value) {
+        int length = value < 0 ? 2 : 1;
+        for (long rest = value / 10; rest != 0; rest /= 10) {
+            length++;
+        }
+        int end = buffer.position() + length;
+        if (end > buffer.limit()) {
+            throw new BufferOverflowException();
+        }
+        int index = end;
+        long rest = value;
+        do {
+            buffer.put(--index, (byte) ('0' + Math.abs(rest % 10)));
+            rest /= 10;
+        } while (rest != 0);
+        if (value < 0) {
+            buffer.put(--index, (byte) '-');
+        }
+        return buffer.position(end);
+    }
+
+    /**
+     * Writes the characters in UTF-8 at the position of the buffer, without an intermediate encoder or array.
+     * @param buffer The buffer to write to.
+     * @param text The characters to write.
+     * @return The given buffer, positioned after the encoded characters.
+     * @throws BufferOverflowException If the remaining space is too small for the encoded characters.
+     */
+    public static ByteBuffer putUtf8(ByteBuffer buffer, CharSequence text) {
+        return putUtf8(buffer, text, 0, text.length());
+    }
+
+    /**
+     * Writes a range of the characters in UTF-8 at the position of the buffer.
+     * @param buffer The buffer to write to.
+     * @param text The characters to write.
+     * @param start The index of the first character to write.
+     * @param end The index after the last character to write.
+     * @return The given buffer, positioned after the encoded characters.
+     * @throws BufferOverflowException If the remaining space is too small for the encoded characters.
+     */
+    public static ByteBuffer putUtf8(ByteBuffer buffer, CharSequence text, int start, int end) {
+        for (int i = start; i < end; i++) {
+            char c = text.charAt(i);
+            if (c < 0x80) {
+                buffer.put((byte) c);
+            } else if (c < 0x800) {
+                buffer.put((byte) (0xC0 | c >> 6)).put((byte) (0x80 | c & 0x3F));
+            } else if (Character.isHighSurrogate(c) && i + 1 < end && Character.isLowSurrogate(text.charAt(i + 1))) {
+                int codePoint = Character.toCodePoint(c, text.charAt(++i));
+                buffer.put((byte) (0xF0 | codePoint >> 18)).put((byte) (0x80 | codePoint >> 12 & 0x3F))
+                        .put((byte) (0x80 | codePoint >> 6 & 0x3F)).put((byte) (0x80 | codePoint & 0x3F));
+            } else if (Character.isSurrogate(c)) {
+                buffer.put((byte) '?'); // unpaired surrogate, as replaced by the JDK encoder
+            } else {
+                buffer.put((byte) (0xE0 | c >> 12)).put((byte) (0x80 | c >> 6 & 0x3F)).put((byte) (0x80 | c & 0x3F));
+            }
+        }
+        return buffer;
+    }
+
+    private static int dotCount(int descriptionLength, long priceInCents) {
+        return TOTAL_WIDTH - descriptionLength - CURRENCY_PREFIX.length() - MoneyUtils.length(priceInCents);
     }
 }
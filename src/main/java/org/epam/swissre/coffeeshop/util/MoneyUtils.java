@@ -0,0 +1,123 @@
+package org.epam.swissre.coffeeshop.util;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+
+/**
+ * Utilities class for amounts of money. Amounts are represented throughout the application as a primitive
+ * {@code long} number of cents (1/100 CHF), so sums and discounts are exact and allocation-free; only the
+ * conversion to text for display is done here, without floating point formatting.
+ */
+public class MoneyUtils {
+
+    /**
+     * The number of cents in one Swiss Franc.
+     */
+    public static final long CENTS_PER_FRANC = 100;
+
+    /**
+     * Formats an amount of cents as a decimal number with two fraction digits, e.g. 255 as "2.55".
+     *
+     * @param cents The amount in cents.
+     * @return The formatted amount.
+     */
+    public static String format(long cents) {
+        return appendTo(new StringBuilder(8), cents).toString();
+    }
+
+    /**
+     * Appends an amount of cents as a decimal number with two fraction digits to the given builder.
+     *
+     * @param sb The builder to append to.
+     * @param cents The amount in cents.
+     * @return The given builder.
+     */
+    public static StringBuilder appendTo(StringBuilder sb, long cents) {
+        if (cents < 0) {
+            sb.append('-');
+        }
+        long francs = Math.abs(cents / CENTS_PER_FRANC);
+        int fraction = (int) Math.abs(cents % CENTS_PER_FRANC);
+        sb.append(francs).append('.');
+        if (fraction < 10) {
+            sb.append('0');
+        }
+        return sb.append(fraction);
+    }
+
+    /**
+     * Writes an amount of cents as a decimal number with two fraction digits at the position of the buffer.
+     *
+     * @param buffer The buffer to write to.
+     * @param cents The amount in cents.
+     * @return The given buffer, positioned after the amount.
+     * @throws BufferOverflowException If the remaining space is too small for the amount.
+     */
+    public static CharBuffer putTo(CharBuffer buffer, long cents) {
+        int end = buffer.position() + length(cents);
+        if (end > buffer.limit()) {
+            throw new BufferOverflowException();
+        }
+        // Digits are written backwards from the end, so no intermediate text is needed
+        int fraction = (int) Math.abs(cents % CENTS_PER_FRANC);
+        long francs = Math.abs(cents / CENTS_PER_FRANC);
+        int index = end;
+        buffer.put(--index, (char) ('0' + fraction % 10));
+        buffer.put(--index, (char) ('0' + fraction / 10));
+        buffer.put(--index, '.');
+        do {
+            buffer.put(--index, (char) ('0' + francs % 10));
+            francs /= 10;
+        } while (francs > 0);
+        if (cents < 0) {
+            buffer.put(--index, '-');
+        }
+        return buffer.position(end);
+    }
+
+    /**
+     * Writes an amount of cents as ASCII digits with two fraction digits at the position of the buffer.
+     *
+     * @param buffer The buffer to write to.
+     * @param cents The amount in cents.
+     * @return The given buffer, positioned after the amount.
+     * @throws BufferOverflowException If the remaining space is too small for the amount.
+     */
+    public static ByteBuffer putTo(ByteBuffer buffer, long cents) {
+        int end = buffer.position() + length(cents);
+        if (end > buffer.limit()) {
+            throw new BufferOverflowException();
+        }
+        int fraction = (int) Math.abs(cents % CENTS_PER_FRANC);
+        long francs = Math.abs(cents / CENTS_PER_FRANC);
+        int index = end;
+        buffer.put(--index, (byte) ('0' + fraction % 10));
+        buffer.put(--index, (byte) ('0' + fraction / 10));
+        buffer.put(--index, (byte) '.');
+        do {
+            buffer.put(--index, (byte) ('0' + francs % 10));
+            francs /= 10;
+        } while (francs > 0);
+        if (cents < 0) {
+            buffer.put(--index, (byte) '-');
+        }
+        return buffer.position(end);
+    }
+
+    /**
+     * Returns the number of characters of an amount formatted with two fraction digits, e.g. 4 for 255.
+     *
+     * @param cents The amount in cents.
+     * @return The length of the formatted amount.
+     */
+    public static int length(long cents) {
+        int length = cents < 0 ? 4 : 3; // sign, dot and two fraction digits
+        long francs = Math.abs(cents / CENTS_PER_FRANC);
+        do {
+            length++;
+            francs /= 10;
+        } while (francs > 0);
+        return length;
+    }
+}
@@ -0,0 +1,185 @@
+package org.epam.swissre.coffeeshop.util;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Bounded, lock-free multi-producer multi-consumer queue backed by a ring of slots. Every slot carries a
+ * sequence number telling producers and consumers whose turn it is, so {@link #offer(Object)} and
+ * {@link #poll()} only contend on a compare-and-set of the tail or head counter and never take a lock.
+ *
+ * <p>{@link #put(Object)} waits while the ring is full, which propagates backpressure to the producers;
+ * waiting threads spin briefly and then park for short intervals instead of blocking on a monitor.</p>
+ *
+ * @param <E> the type of the queued elements.
+ */
+public final class RingBuffer<E> {
+
+    private static final int SPINS_BEFORE_PARKING = 64;
+    private static final int PARKS_BEFORE_BACKING_OFF = 1024;
+    private static final long PARK_NANOS = 50_000;
+    private static final long BACKED_OFF_PARK_NANOS = 1_000_000;
+
+    private final int mask;
+    private final AtomicReferenceArray<E> elements;
+    private final AtomicLongArray sequences;
+    private final AtomicLong head = new AtomicLong();
+    private final AtomicLong tail = new AtomicLong();
+
+    /**
+     * Constructs an empty ring. The capacity is rounded up to a power of two.
+     *
+     * @param capacity the minimum number of elements the ring can hold.
+     * @throws IllegalArgumentException if the capacity is not positive or too large.
+     */
+    public RingBuffer(int capacity) {
+        if (capacity < 1 || capacity > 1 << 30) {
+            throw new IllegalArgumentException("Capacity must be between 1 and 2^30");
+        }
+        int size = 1;
+        while (size < capacity) {
+            size <<= 1;
+        }
+        mask = size - 1;
+        elements = new AtomicReferenceArray<>(size);
+        sequences = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    /**
+     * Appends an element if the ring is not full.
+     *
+     * @param element the element to be appended.
+     * @return true if the element was appended, false if the ring is full.
+     * @throws IllegalArgumentException if the element is null.
+     */
+    public boolean offer(E element) {
+        if (element == null) {
+            throw new IllegalArgumentException("Element cannot be null");
+        }
+        long position = tail.get();
+        while (true) {
+            int slot = (int) position & mask;
+            long difference = sequences.get(slot) - position;
+            if (difference == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    elements.set(slot, element);
+                    sequences.set(slot, position + 1); // publishes the element to the consumers
+                    return true;
+                }
+                position = tail.get();
+            } else if (difference < 0) {
+                return false; // the slot still holds the element of the previous lap
+            } else {
+                position = tail.get();
+            }
+        }
+    }
+
+    /**
+     * Appends an element, waiting while the ring is full.
+     *
+     * @param element the element to be appended.
+     * @throws InterruptedException if interrupted while waiting.
+     * @throws IllegalArgumentException if the element is null.
+     */
+    public void put(E element) throws InterruptedException {
+        int attempts = 0;
+        while (!offer(element)) {
+            idle(attempts++);
+        }
+    }
+
+    /**
+     * Removes the oldest element.
+     *
+     * @return the oldest element, or null if the ring is empty.
+     */
+    public E poll() {
+        long position = head.get();
+        while (true) {
+            int slot = (int) position & mask;
+            long difference = sequences.get(slot) - (position + 1);
+            if (difference == 0) {
+                if (head.compareAndSet(position, position + 1)) {
+                    E element = elements.get(slot);
+                    elements.set(slot, null);
+                    sequences.set(slot, position + mask + 1); // hands the slot to the producers of the next lap
+                    return element;
+                }
+                position = head.get();
+            } else if (difference < 0) {
+                return null; // the slot has not been filled in this lap yet
+            } else {
+                position = head.get();
+            }
+        }
+    }
+
+    /**
+     * Removes the oldest element, waiting while the ring is empty.
+     *
+     * @return the oldest element.
+     * @throws InterruptedException if interrupted while waiting.
+     */
+    public E take() throws InterruptedException {
+        int attempts = 0;
+        E element;
+        while ((element = poll()) == null) {
+            idle(attempts++);
+        }
+        return element;
+    }
+
+    /**
+     * Returns the number of queued elements. The value is a snapshot and may be outdated when returned.
+     *
+     * @return the number of queued elements.
+     */
+    public int size() {
+        long size = tail.get() - head.get();
+        return (int) Math.max(0, Math.min(size, capacity()));
+    }
+
+    /**
+     * Returns whether the ring is empty. The value is a snapshot and may be outdated when returned.
+     *
+     * @return true if no element is queued.
+     */
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * Returns the number of elements the ring can hold.
+     *
+     * @return the capacity.
+     */
+    public int capacity() {
+        return mask + 1;
+    }
+
+    /**
+     * Waits between attempts: spins first, then parks for short intervals, and after about 50 ms of failed
+     * attempts parks for 1 ms at a time, so idle consumers cost little CPU.
+     *
+     * @param attempts the number of failed attempts so far.
+     * @throws InterruptedException if the thread is interrupted.
+     */
+    public static void idle(int attempts) throws InterruptedException {
+        if (attempts < SPINS_BEFORE_PARKING) {
+            Thread.onSpinWait();
+        } else if (attempts < SPINS_BEFORE_PARKING + PARKS_BEFORE_BACKING_OFF) {
+            LockSupport.parkNanos(PARK_NANOS);
+        } else {
+            LockSupport.parkNanos(BACKED_OFF_PARK_NANOS);
+        }
+        if (Thread.interrupted()) {
+            throw new InterruptedException();
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package org.epam.swissre.coffeeshop.benchmark;
+
+import org.epam.swissre.coffeeshop.bonus.BonusStrategy;
+import org.epam.swissre.coffeeshop.bonus.impl.EveryFifthBeverageFreeBonus;
+import org.epam.swissre.coffeeshop.bonus.impl.FreeExtraWithBeverageAndSnackBonus;
+import org.epam.swissre.coffeeshop.enums.BaconRollSize;
+import org.epam.swissre.coffeeshop.enums.CoffeeSize;
+import org.epam.swissre.coffeeshop.enums.ExtraOption;
+import org.epam.swissre.coffeeshop.model.*;
+import org.epam.swissre.coffeeshop.service.impl.BonusService;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the cost of the registered promotions for a large basket, either with every strategy scanning the
+ * basket on its own (as before the shared basket summary) or through {@link BonusService}, which summarizes the
+ * basket once for all strategies. The promotions are registered repeatedly to show the cost of the Nth one.
+ *
+ * <p>Run with: {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=org.epam.swissre.coffeeshop.benchmark.BonusServiceBenchmark}</p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class BonusServiceBenchmark {
+
+    private static final int BASKET_SIZE = 500;
+
+    @Param({"2", "8"})
+    private int strategyCount;
+
+    private final List<BonusStrategy> strategies = new ArrayList<>();
+    private final BonusService bonusService = new BonusService();
+    private List<Product> basket;
+
+    @Setup
+    public void setUp() {
+        for (int i = 0; i < strategyCount; i++) {
+            BonusStrategy strategy = i % 2 == 0 ? new EveryFifthBeverageFreeBonus() : new FreeExtraWithBeverageAndSnackBonus();
+            strategies.add(strategy);
+            bonusService.registerBonusStrategy(strategy);
+        }
+        Product[] menu = {new Coffee(CoffeeSize.LARGE), new ExtraItem(ExtraOption.FOAMED_MILK), new BaconRoll(BaconRollSize.STANDARD)};
+        basket = new ArrayList<>();
+        for (int i = 0; i < BASKET_SIZE; i++) {
+            basket.add(menu[i % menu.length]);
+        }
+    }
+
+    /**
+     * Baseline: every strategy summarizes the basket itself.
+     */
+    @Benchmark
+    public long scanPerStrategy() {
+        Order order = new Order(basket);
+        for (BonusStrategy strategy : strategies) {
+            strategy.apply(order);
+        }
+        return order.getTotalDiscountInCents();
+    }
+
+    @Benchmark
+    public long sharedBasketSummary() {
+        Order order = new Order(basket);
+        bonusService.applyBonus(order);
+        return order.getTotalDiscountInCents();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(BonusServiceBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
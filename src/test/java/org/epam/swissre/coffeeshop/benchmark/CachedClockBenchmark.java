@@ -0,0 +1,55 @@
+package org.epam.swissre.coffeeshop.benchmark;
+
+import org.epam.swissre.coffeeshop.util.CachedClock;
+import org.epam.swissre.coffeeshop.util.DateTimeUtils;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the receipt date of {@link DateTimeUtils#getCurrentDateTime()}: formatted per call with a new
+ * formatter as it used to be, and read from the pre-rendered text of the shared {@link CachedClock}. The GC
+ * profiler enabled by {@link #main(String[])} reports the bytes allocated per call.
+ *
+ * <p>Run with: {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=org.epam.swissre.coffeeshop.benchmark.CachedClockBenchmark}</p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CachedClockBenchmark {
+
+    /**
+     * Baseline: a new date-time, formatter and string per call.
+     */
+    @Benchmark
+    public String formatPerCall() {
+        return LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm"));
+    }
+
+    @Benchmark
+    public String cachedDateTime() {
+        return DateTimeUtils.getCurrentDateTime();
+    }
+
+    @Benchmark
+    public long cachedMillis() {
+        return CachedClock.shared().currentTimeMillis();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(CachedClockBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
@@ -0,0 +1,106 @@
+package org.epam.swissre.coffeeshop.benchmark;
+
+import org.epam.swissre.coffeeshop.model.BeverageProduct;
+import org.epam.swissre.coffeeshop.model.Order;
+import org.epam.swissre.coffeeshop.model.Product;
+import org.epam.swissre.coffeeshop.service.impl.CsvOrderParser;
+import org.epam.swissre.coffeeshop.service.impl.ParsedOrder;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the allocation per parsed order of the former {@code split}-based CSV parsing with the
+ * byte-level {@link CsvOrderParser}. The interesting figure is {@code gc.alloc.rate.norm} (bytes per
+ * operation) reported by the GC profiler, which is enabled by {@link #main(String[])}.
+ *
+ * <p>Run with: {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=org.epam.swissre.coffeeshop.benchmark.CsvOrderParserBenchmark}</p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class CsvOrderParserBenchmark {
+
+    private static final String LINE = "Small coffee,2.55;Fresh Orange Juice (0.25l),3.95;Large coffee,3.55";
+
+    private final CsvOrderParser parser = new CsvOrderParser();
+    private final ParsedOrder record = new ParsedOrder();
+    private final ByteBuffer buffer = ByteBuffer.wrap(LINE.getBytes(StandardCharsets.UTF_8));
+
+    /**
+     * Baseline: the parsing previously done by {@code OrderStorage.csvLineToOrder}.
+     */
+    @Benchmark
+    public Order splitBasedParse() {
+        return legacyCsvLineToOrder(LINE);
+    }
+
+    /**
+     * Byte-level tokenizing into the reusable compact record only.
+     */
+    @Benchmark
+    public ParsedOrder byteLevelParse() {
+        parser.parseLine(buffer, 0, buffer.limit(), record);
+        return record;
+    }
+
+    /**
+     * Byte-level tokenizing including the materialization of the {@link Order}, as done by the storage.
+     */
+    @Benchmark
+    public Order byteLevelParseToOrder() {
+        parser.parseLine(buffer, 0, buffer.limit(), record);
+        return record.toOrder();
+    }
+
+    private static Order legacyCsvLineToOrder(String csvLine) {
+        String[] productDetails = csvLine.split(";");
+        List<Product> products = new ArrayList<>();
+        for (String detail : productDetails) {
+            if (detail.isEmpty()) {
+                continue;
+            }
+            String[] product = detail.split(",");
+            if (product.length < 2) {
+                continue;
+            }
+            String name = product[0].trim();
+            double price;
+            try {
+                price = Double.parseDouble(product[1].trim());
+            } catch (NumberFormatException e) {
+                continue;
+            }
+            if (name.isEmpty()) {
+                continue;
+            }
+            products.add(new LegacyProduct(name, price));
+        }
+        return new Order(products);
+    }
+
+    private static class LegacyProduct extends Product implements BeverageProduct {
+        LegacyProduct(String name, double price) {
+            super(name, Math.round(price * 100));
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(CsvOrderParserBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
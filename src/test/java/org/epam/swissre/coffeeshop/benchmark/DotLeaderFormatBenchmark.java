@@ -0,0 +1,72 @@
+package org.epam.swissre.coffeeshop.benchmark;
+
+import org.epam.swissre.coffeeshop.util.FormatUtils;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures formatting one numbered line item with dot leaders: as a new string concatenated from the row number
+ * and the description (as the order review did), and written into a reused {@link StringBuilder},
+ * {@link CharBuffer} and direct {@link ByteBuffer}. The GC profiler enabled by {@link #main(String[])} reports
+ * {@code gc.alloc.rate.norm}, which is expected to be about 0 bytes per row for the three target variants.
+ *
+ * <p>Run with: {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=org.epam.swissre.coffeeshop.benchmark.DotLeaderFormatBenchmark}</p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class DotLeaderFormatBenchmark {
+
+    private final StringBuilder sb = new StringBuilder(64);
+    private final CharBuffer chars = CharBuffer.allocate(64);
+    private final ByteBuffer bytes = ByteBuffer.allocateDirect(64);
+
+    private int rowNumber = 2;
+    private String description = "Fresh Orange Juice (0.25l)";
+    private long priceInCents = 395;
+
+    /**
+     * Baseline: a new string per row.
+     */
+    @Benchmark
+    public String newString() {
+        return FormatUtils.formatWithDotLeaders(rowNumber + ". " + description, priceInCents);
+    }
+
+    @Benchmark
+    public StringBuilder stringBuilder() {
+        sb.setLength(0);
+        sb.append(rowNumber).append(". ").append(description);
+        return FormatUtils.appendDotLeaders(sb, 0, priceInCents);
+    }
+
+    @Benchmark
+    public CharBuffer charBuffer() {
+        chars.clear();
+        return FormatUtils.putWithDotLeaders(chars, description, priceInCents);
+    }
+
+    @Benchmark
+    public ByteBuffer byteBuffer() {
+        bytes.clear();
+        return FormatUtils.putWithDotLeaders(bytes, description, priceInCents);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(DotLeaderFormatBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
@@ -0,0 +1,87 @@
+package org.epam.swissre.coffeeshop.benchmark;
+
+import org.epam.swissre.coffeeshop.enums.CoffeeSize;
+import org.epam.swissre.coffeeshop.enums.DurabilityPolicy;
+import org.epam.swissre.coffeeshop.model.Coffee;
+import org.epam.swissre.coffeeshop.model.Order;
+import org.epam.swissre.coffeeshop.service.impl.GroupCommitOrderStorage;
+import org.epam.swissre.coffeeshop.service.impl.JournalOrderStorage;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the durable checkout latency of 16 concurrent registers, each storing one order per call with an
+ * fsync, either directly through a {@link JournalOrderStorage} (one write and fsync per call) or through a
+ * {@link GroupCommitOrderStorage} with different batch sizes and linger times. Sample time mode reports both
+ * the latency percentiles and, through the sample count, the throughput.
+ *
+ * <p>Run with: {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=org.epam.swissre.coffeeshop.benchmark.GroupCommitOrderStorageBenchmark}</p>
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(16)
+@State(Scope.Benchmark)
+public class GroupCommitOrderStorageBenchmark {
+
+    private static final List<Order> ORDER = List.of(new Order(List.of(new Coffee(CoffeeSize.SMALL))));
+
+    @Param({"1", "64"})
+    private int maxBatchSize;
+
+    @Param({"0", "1"})
+    private int maxLingerMillis;
+
+    private Path directPath;
+    private Path groupCommitPath;
+    private JournalOrderStorage directStorage;
+    private GroupCommitOrderStorage groupCommitStorage;
+
+    @Setup(Level.Iteration)
+    public void setUp() throws IOException {
+        directPath = Files.createTempFile("groupCommitBenchmarkDirect", ".csv");
+        groupCommitPath = Files.createTempFile("groupCommitBenchmark", ".csv");
+        directStorage = new JournalOrderStorage(directPath.toString(), DurabilityPolicy.PER_BATCH);
+        groupCommitStorage = new GroupCommitOrderStorage(
+                new JournalOrderStorage(groupCommitPath.toString(), DurabilityPolicy.PER_BATCH),
+                maxBatchSize, Duration.ofMillis(maxLingerMillis));
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDown() throws IOException {
+        groupCommitStorage.close();
+        Files.deleteIfExists(directPath);
+        Files.deleteIfExists(groupCommitPath);
+    }
+
+    /**
+     * Baseline: every register writes and fsyncs its own order, serialized by the journal; independent of the parameters.
+     */
+    @Benchmark
+    public void directStore() throws IOException {
+        directStorage.storeOrders(ORDER);
+    }
+
+    @Benchmark
+    public void groupCommitStore() throws IOException {
+        groupCommitStorage.storeOrders(ORDER);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(GroupCommitOrderStorageBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,74 @@
+package org.epam.swissre.coffeeshop.benchmark;
+
+import org.epam.swissre.coffeeshop.enums.CoffeeSize;
+import org.epam.swissre.coffeeshop.enums.DurabilityPolicy;
+import org.epam.swissre.coffeeshop.model.Coffee;
+import org.epam.swissre.coffeeshop.model.Order;
+import org.epam.swissre.coffeeshop.service.impl.JournalOrderStorage;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the latency of storing a single paid order with {@link JournalOrderStorage} while the order
+ * history grows from 1k to 10M orders. The append-only journal is expected to stay flat across all history
+ * sizes, as opposed to the rewrite performed by {@code OrderStorage}.
+ *
+ * <p>Run with: {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=org.epam.swissre.coffeeshop.benchmark.JournalOrderStorageBenchmark}</p>
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JournalOrderStorageBenchmark {
+
+    private static final String HISTORY_LINE = "Small coffee,2.55;Fresh Orange Juice (0.25l),3.95";
+
+    @Param({"1000", "100000", "1000000", "10000000"})
+    private int historySize;
+
+    @Param({"NONE", "PER_BATCH"})
+    private DurabilityPolicy durabilityPolicy;
+
+    private Path filePath;
+    private JournalOrderStorage storage;
+    private List<Order> paidOrder;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        filePath = Files.createTempFile("journalBenchmark", ".csv");
+        try (BufferedWriter writer = Files.newBufferedWriter(filePath)) {
+            for (int i = 0; i < historySize; i++) {
+                writer.write(HISTORY_LINE);
+                writer.newLine();
+            }
+        }
+        storage = new JournalOrderStorage(filePath.toString(), durabilityPolicy);
+        paidOrder = List.of(new Order(List.of(new Coffee(CoffeeSize.MEDIUM))));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(filePath);
+    }
+
+    @Benchmark
+    public void storeOrder() throws IOException {
+        storage.storeOrders(paidOrder);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(JournalOrderStorageBenchmark.class.getSimpleName()).build()).run();
+    }
+}
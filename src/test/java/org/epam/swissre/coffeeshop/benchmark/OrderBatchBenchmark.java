@@ -0,0 +1,117 @@
+package org.epam.swissre.coffeeshop.benchmark;
+
+import org.epam.swissre.coffeeshop.bonus.impl.EveryFifthBeverageFreeBonus;
+import org.epam.swissre.coffeeshop.bonus.impl.FreeExtraWithBeverageAndSnackBonus;
+import org.epam.swissre.coffeeshop.controller.impl.OrderController;
+import org.epam.swissre.coffeeshop.enums.BaconRollSize;
+import org.epam.swissre.coffeeshop.enums.CoffeeSize;
+import org.epam.swissre.coffeeshop.enums.DurabilityPolicy;
+import org.epam.swissre.coffeeshop.enums.ExtraOption;
+import org.epam.swissre.coffeeshop.enums.OrderStatus;
+import org.epam.swissre.coffeeshop.model.Order;
+import org.epam.swissre.coffeeshop.model.Product;
+import org.epam.swissre.coffeeshop.model.ProductCatalog;
+import org.epam.swissre.coffeeshop.receipt.ReceiptPresenter;
+import org.epam.swissre.coffeeshop.service.impl.BonusService;
+import org.epam.swissre.coffeeshop.service.impl.JournalOrderStorage;
+import org.epam.swissre.coffeeshop.service.impl.LoyaltyIndex;
+import org.epam.swissre.coffeeshop.service.impl.OrderService;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures importing a batch of offline orders through the {@link OrderController}, either with one
+ * {@code processOrder} call per order (one loyalty index update and one journal write per order) or with a single
+ * {@code processOrders} call (one loyalty index update, one payment call and one journal write for the batch).
+ * The orders are stored in a {@link JournalOrderStorage} without fsync and counted by a file-based
+ * {@link LoyaltyIndex}, both in temporary files recreated for every iteration.
+ *
+ * <p>Run with: {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=org.epam.swissre.coffeeshop.benchmark.OrderBatchBenchmark}</p>
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class OrderBatchBenchmark {
+
+    @Param({"10000", "100000"})
+    private int orderCount;
+
+    private List<List<Product>> batch;
+    private Path journalPath;
+    private Path indexPath;
+    private OrderController orderController;
+
+    @Setup(Level.Trial)
+    public void createBatch() {
+        Product coffee = ProductCatalog.coffee(CoffeeSize.MEDIUM);
+        Product milk = ProductCatalog.extra(ExtraOption.FOAMED_MILK);
+        Product roll = ProductCatalog.baconRoll(BaconRollSize.STANDARD);
+        batch = new ArrayList<>(orderCount);
+        for (int i = 0; i < orderCount; i++) {
+            batch.add(i % 2 == 0 ? List.of(coffee, milk) : List.of(roll, coffee, coffee));
+        }
+    }
+
+    @Setup(Level.Iteration)
+    public void setUp() throws IOException {
+        journalPath = Files.createTempFile("orderBatchBenchmark", ".csv");
+        indexPath = Path.of(journalPath + ".loyalty");
+        BonusService bonusService = new BonusService();
+        bonusService.registerBonusStrategy(new EveryFifthBeverageFreeBonus());
+        bonusService.registerBonusStrategy(new FreeExtraWithBeverageAndSnackBonus());
+        JournalOrderStorage orderStorage = new JournalOrderStorage(journalPath.toString(), DurabilityPolicy.NONE);
+        orderController = new OrderController(new OrderService(bonusService), orderStorage,
+                new LoyaltyIndex(indexPath.toString(), orderStorage), order -> order.setStatus(OrderStatus.PAID),
+                SilentReceiptPresenter::new);
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(journalPath);
+        Files.deleteIfExists(indexPath);
+    }
+
+    /**
+     * Baseline: one checkout per order.
+     */
+    @Benchmark
+    public void perOrder() {
+        for (List<Product> products : batch) {
+            orderController.processOrder(products);
+        }
+    }
+
+    @Benchmark
+    public List<Order> batch() {
+        return orderController.processOrders(batch);
+    }
+
+    /**
+     * Discards the receipts of the per-order checkouts, so the baseline does not measure the console.
+     */
+    private static final class SilentReceiptPresenter extends ReceiptPresenter {
+        @Override
+        public void presentReceipt() {
+            // nothing to present
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(OrderBatchBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
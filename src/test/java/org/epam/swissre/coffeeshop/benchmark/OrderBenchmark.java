@@ -0,0 +1,115 @@
+package org.epam.swissre.coffeeshop.benchmark;
+
+import org.epam.swissre.coffeeshop.enums.BaconRollSize;
+import org.epam.swissre.coffeeshop.enums.CoffeeSize;
+import org.epam.swissre.coffeeshop.enums.ExtraOption;
+import org.epam.swissre.coffeeshop.model.BaconRoll;
+import org.epam.swissre.coffeeshop.model.Coffee;
+import org.epam.swissre.coffeeshop.model.ExtraItem;
+import org.epam.swissre.coffeeshop.model.Order;
+import org.epam.swissre.coffeeshop.model.Product;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares building and checking out a basket with the former {@link Order}, which recalculated its total from
+ * all products on every addition and copied the product list on every read, against the current order with
+ * running totals and a read-only product view. A checkout reads the products four times (both bonus
+ * strategies, the receipt and the storage). The interesting figures are the time and {@code gc.alloc.rate.norm}
+ * (bytes per operation) for large catering baskets, reported by the GC profiler enabled by {@link #main(String[])}.
+ *
+ * <p>Run with: {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=org.epam.swissre.coffeeshop.benchmark.OrderBenchmark}</p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class OrderBenchmark {
+
+    private static final int READS_PER_CHECKOUT = 4;
+
+    @Param({"5", "500"})
+    private int basketSize;
+
+    private Product[] basket;
+
+    @Setup
+    public void setUp() {
+        Product[] menu = {new Coffee(CoffeeSize.LARGE), new ExtraItem(ExtraOption.FOAMED_MILK), new BaconRoll(BaconRollSize.STANDARD)};
+        basket = new Product[basketSize];
+        for (int i = 0; i < basketSize; i++) {
+            basket[i] = menu[i % menu.length];
+        }
+    }
+
+    /**
+     * Baseline: the order as it was before the running totals.
+     */
+    @Benchmark
+    public long legacyOrder() {
+        LegacyOrder order = new LegacyOrder(new ArrayList<>());
+        for (Product product : basket) {
+            order.addProduct(product);
+        }
+        long priceSum = 0;
+        for (int read = 0; read < READS_PER_CHECKOUT; read++) {
+            for (Product product : order.getProducts()) {
+                priceSum += product.getPriceInCents();
+            }
+        }
+        return priceSum + order.totalCostInCents;
+    }
+
+    @Benchmark
+    public long runningTotalsOrder() {
+        Order order = new Order(new ArrayList<>());
+        for (Product product : basket) {
+            order.addProduct(product);
+        }
+        long priceSum = 0;
+        for (int read = 0; read < READS_PER_CHECKOUT; read++) {
+            for (Product product : order.getProducts()) {
+                priceSum += product.getPriceInCents();
+            }
+        }
+        return priceSum + order.getTotalCostInCents();
+    }
+
+    /**
+     * The product handling of the former {@link Order}.
+     */
+    private static class LegacyOrder {
+        private final List<Product> products;
+        private long totalCostInCents;
+
+        LegacyOrder(List<Product> products) {
+            this.products = products;
+        }
+
+        void addProduct(Product product) {
+            products.add(product);
+            totalCostInCents = products.stream().mapToLong(Product::getPriceInCents).sum();
+        }
+
+        List<Product> getProducts() {
+            return List.copyOf(products);
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(OrderBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
@@ -0,0 +1,131 @@
+package org.epam.swissre.coffeeshop.benchmark;
+
+import org.epam.swissre.coffeeshop.bonus.impl.EveryFifthBeverageFreeBonus;
+import org.epam.swissre.coffeeshop.bonus.impl.FreeExtraWithBeverageAndSnackBonus;
+import org.epam.swissre.coffeeshop.enums.BaconRollSize;
+import org.epam.swissre.coffeeshop.enums.CoffeeSize;
+import org.epam.swissre.coffeeshop.enums.DurabilityPolicy;
+import org.epam.swissre.coffeeshop.enums.ExtraOption;
+import org.epam.swissre.coffeeshop.enums.OrderStatus;
+import org.epam.swissre.coffeeshop.model.ProductCatalog;
+import org.epam.swissre.coffeeshop.server.OrderHttpServer;
+import org.epam.swissre.coffeeshop.service.impl.BonusService;
+import org.epam.swissre.coffeeshop.service.impl.CustomerLoyaltyIndex;
+import org.epam.swissre.coffeeshop.service.impl.GroupCommitOrderStorage;
+import org.epam.swissre.coffeeshop.service.impl.JournalOrderStorage;
+import org.epam.swissre.coffeeshop.service.impl.OrderService;
+
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Local load test of the {@link OrderHttpServer}: starts the server on an ephemeral port with the order and bonus
+ * services, a per-customer loyalty index and a group-committed journal in a temporary file, then sends orders
+ * with a fixed number of requests in flight and reports the throughput and the p50, p99 and maximum latency.
+ * This is not a JMH benchmark, as the interesting figures are the latency percentiles under concurrency.
+ *
+ * <p>Run with: {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=org.epam.swissre.coffeeshop.benchmark.OrderHttpServerLoad -Dexec.args="20000 1000"}
+ * (number of orders, concurrent requests).</p>
+ */
+public class OrderHttpServerLoad {
+
+    private static final int CUSTOMERS = 500;
+
+    public static void main(String[] args) throws Exception {
+        int orders = args.length > 0 ? Integer.parseInt(args[0]) : 20_000;
+        int concurrency = args.length > 1 ? Integer.parseInt(args[1]) : 1_000;
+        // As for the --server launch, so small responses are not delayed by the client's delayed ACK
+        System.setProperty("sun.net.httpserver.nodelay", "true");
+
+        Path journal = Files.createTempFile("orderHttpServerLoad", ".csv");
+        BonusService bonusService = new BonusService();
+        bonusService.registerBonusStrategy(new EveryFifthBeverageFreeBonus());
+        bonusService.registerBonusStrategy(new FreeExtraWithBeverageAndSnackBonus());
+        try (GroupCommitOrderStorage orderStorage = new GroupCommitOrderStorage(
+                new JournalOrderStorage(journal.toString(), DurabilityPolicy.NONE));
+             OrderHttpServer server = new OrderHttpServer(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0),
+                     new OrderService(bonusService), orderStorage, new CustomerLoyaltyIndex(),
+                     order -> order.setStatus(OrderStatus.PAID))) {
+            server.start();
+            URI uri = URI.create("http://127.0.0.1:" + server.getPort() + "/orders");
+            HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+            String[] bodies = orderBodies();
+
+            // Warm up the server and the client connections
+            run(client, uri, bodies, Math.min(orders, 5_000), concurrency);
+            long[] latencies = new long[orders];
+            long start = System.nanoTime();
+            int failures = run(client, uri, bodies, latencies, concurrency);
+            long elapsed = System.nanoTime() - start;
+
+            Arrays.sort(latencies);
+            System.out.printf("Orders: %d, concurrent requests: %d, %s threads, failures: %d%n", orders, concurrency,
+                    server.usesVirtualThreads() ? "virtual" : "platform", failures);
+            System.out.printf("Throughput: %.0f orders/s%n", orders / (elapsed / 1e9));
+            System.out.printf("Latency p50: %.2f ms, p99: %.2f ms, max: %.2f ms%n",
+                    percentile(latencies, 0.50), percentile(latencies, 0.99), latencies[orders - 1] / 1e6);
+        } finally {
+            Files.deleteIfExists(journal);
+        }
+    }
+
+    private static int run(HttpClient client, URI uri, String[] bodies, int orders, int concurrency) throws InterruptedException {
+        return run(client, uri, bodies, new long[orders], concurrency);
+    }
+
+    private static int run(HttpClient client, URI uri, String[] bodies, long[] latencies, int concurrency) throws InterruptedException {
+        Semaphore inFlight = new Semaphore(concurrency);
+        AtomicInteger failures = new AtomicInteger();
+        CompletableFuture<?>[] responses = new CompletableFuture<?>[latencies.length];
+        for (int i = 0; i < latencies.length; i++) {
+            inFlight.acquire();
+            int index = i;
+            long sent = System.nanoTime();
+            HttpRequest request = HttpRequest.newBuilder(uri)
+                    .POST(HttpRequest.BodyPublishers.ofString(bodies[i % bodies.length])).build();
+            responses[i] = client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((response, error) -> {
+                        latencies[index] = System.nanoTime() - sent;
+                        if (error != null || response.statusCode() != 200) {
+                            if (failures.incrementAndGet() == 1) {
+                                System.err.println("First failure: " + (error != null ? error : "status " + response.statusCode()));
+                            }
+                        }
+                        inFlight.release();
+                    });
+        }
+        CompletableFuture.allOf(responses).exceptionally(error -> null).join();
+        return failures.get();
+    }
+
+    /**
+     * One order per customer, alternating a coffee with foamed milk and a bacon roll with two coffees.
+     */
+    private static String[] orderBodies() {
+        int coffee = ProductCatalog.skuOf(ProductCatalog.coffee(CoffeeSize.MEDIUM));
+        int milk = ProductCatalog.skuOf(ProductCatalog.extra(ExtraOption.FOAMED_MILK));
+        int roll = ProductCatalog.skuOf(ProductCatalog.baconRoll(BaconRollSize.STANDARD));
+        String[] bodies = new String[CUSTOMERS];
+        for (int customer = 0; customer < CUSTOMERS; customer++) {
+            String skus = customer % 2 == 0 ? coffee + "," + milk : roll + "," + coffee + "," + coffee;
+            bodies[customer] = "{\"customerId\":\"customer-" + customer + "\",\"skus\":[" + skus + "]}";
+        }
+        return bodies;
+    }
+
+    private static double percentile(long[] sortedLatencies, double percentile) {
+        int index = (int) Math.ceil(percentile * sortedLatencies.length) - 1;
+        return sortedLatencies[Math.max(0, index)] / 1e6;
+    }
+}
@@ -0,0 +1,122 @@
+package org.epam.swissre.coffeeshop.benchmark;
+
+import org.epam.swissre.coffeeshop.enums.CoffeeSize;
+import org.epam.swissre.coffeeshop.enums.DurabilityPolicy;
+import org.epam.swissre.coffeeshop.enums.OrangeJuiceSize;
+import org.epam.swissre.coffeeshop.model.Coffee;
+import org.epam.swissre.coffeeshop.model.OrangeJuice;
+import org.epam.swissre.coffeeshop.model.Order;
+import org.epam.swissre.coffeeshop.service.impl.BinaryOrderStorage;
+import org.epam.swissre.coffeeshop.service.impl.JournalOrderStorage;
+import org.epam.swissre.coffeeshop.service.impl.OrderLogConverter;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the throughput of the CSV order file and the binary memory-mapped order log, both for
+ * reading the whole history and for appending a batch of orders. Appends go to separate files, so the
+ * read benchmarks always see the same history size and the appended files are recreated for every iteration.
+ *
+ * <p>Run with: {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=org.epam.swissre.coffeeshop.benchmark.OrderLogFormatBenchmark}</p>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class OrderLogFormatBenchmark {
+
+    private static final String HISTORY_LINE = "Small coffee,2.55;Fresh Orange Juice (0.25l),3.95";
+    private static final int APPEND_BATCH_SIZE = 100;
+
+    @Param({"10000", "1000000"})
+    private int historySize;
+
+    private Path csvPath;
+    private Path binaryPath;
+    private Path appendCsvPath;
+    private Path appendBinaryPath;
+    private JournalOrderStorage csvStorage;
+    private BinaryOrderStorage binaryStorage;
+    private JournalOrderStorage appendCsvStorage;
+    private BinaryOrderStorage appendBinaryStorage;
+    private List<Order> appendBatch;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        csvPath = Files.createTempFile("orderLogBenchmark", ".csv");
+        binaryPath = Files.createTempFile("orderLogBenchmark", ".bin");
+        try (BufferedWriter writer = Files.newBufferedWriter(csvPath)) {
+            for (int i = 0; i < historySize; i++) {
+                writer.write(HISTORY_LINE);
+                writer.newLine();
+            }
+        }
+        csvStorage = new JournalOrderStorage(csvPath.toString(), DurabilityPolicy.NONE);
+        binaryStorage = new BinaryOrderStorage(binaryPath.toString(), DurabilityPolicy.NONE);
+        OrderLogConverter.csvToBinary(csvPath.toString(), binaryStorage);
+
+        appendBatch = new ArrayList<>(APPEND_BATCH_SIZE);
+        for (int i = 0; i < APPEND_BATCH_SIZE; i++) {
+            appendBatch.add(new Order(List.of(new Coffee(CoffeeSize.SMALL), new OrangeJuice(OrangeJuiceSize.SMALL))));
+        }
+    }
+
+    @Setup(Level.Iteration)
+    public void setUpAppendFiles() throws IOException {
+        appendCsvPath = Files.createTempFile("orderLogBenchmarkAppend", ".csv");
+        appendBinaryPath = Files.createTempFile("orderLogBenchmarkAppend", ".bin");
+        appendCsvStorage = new JournalOrderStorage(appendCsvPath.toString(), DurabilityPolicy.NONE);
+        appendBinaryStorage = new BinaryOrderStorage(appendBinaryPath.toString(), DurabilityPolicy.NONE);
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDownAppendFiles() throws IOException {
+        appendBinaryStorage.close();
+        Files.deleteIfExists(appendCsvPath);
+        Files.deleteIfExists(appendBinaryPath);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        binaryStorage.close();
+        Files.deleteIfExists(csvPath);
+        Files.deleteIfExists(binaryPath);
+    }
+
+    @Benchmark
+    public List<Order> readCsv() throws IOException {
+        return csvStorage.retrieveOrders();
+    }
+
+    @Benchmark
+    public List<Order> readBinary() {
+        return binaryStorage.retrieveOrders();
+    }
+
+    @Benchmark
+    public void appendCsv() throws IOException {
+        appendCsvStorage.storeOrders(appendBatch);
+    }
+
+    @Benchmark
+    public void appendBinary() throws IOException {
+        appendBinaryStorage.storeOrders(appendBatch);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(OrderLogFormatBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,120 @@
+package org.epam.swissre.coffeeshop.benchmark;
+
+import org.epam.swissre.coffeeshop.bonus.impl.EveryFifthBeverageFreeBonus;
+import org.epam.swissre.coffeeshop.controller.impl.OrderController;
+import org.epam.swissre.coffeeshop.controller.impl.PipelinedOrderController;
+import org.epam.swissre.coffeeshop.enums.CoffeeSize;
+import org.epam.swissre.coffeeshop.enums.ExtraOption;
+import org.epam.swissre.coffeeshop.enums.OrderStatus;
+import org.epam.swissre.coffeeshop.model.Order;
+import org.epam.swissre.coffeeshop.model.Product;
+import org.epam.swissre.coffeeshop.model.ProductCatalog;
+import org.epam.swissre.coffeeshop.receipt.ReceiptPresenter;
+import org.epam.swissre.coffeeshop.service.IOrderStorage;
+import org.epam.swissre.coffeeshop.service.IPaymentService;
+import org.epam.swissre.coffeeshop.service.impl.BonusService;
+import org.epam.swissre.coffeeshop.service.impl.CustomerLoyaltyIndex;
+import org.epam.swissre.coffeeshop.service.impl.OrderService;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Compares the throughput of checking out 1,000 orders one after the other through the {@link OrderController}
+ * with submitting them to a {@link PipelinedOrderController}. The payment service waits 20 µs per order and the
+ * storage 200 µs per call, standing in for a card terminal and an fsync; the sequential controller pays both per
+ * order, while the pipeline overlaps the stages and stores the orders queued in front of the persistence in one call.
+ *
+ * <p>Run with: {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=org.epam.swissre.coffeeshop.benchmark.OrderPipelineBenchmark}</p>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class OrderPipelineBenchmark {
+
+    private static final int ORDERS = 1_000;
+    private static final long PAYMENT_NANOS = 20_000;
+    private static final long STORAGE_NANOS = 200_000;
+
+    private final List<Product> products = List.of(ProductCatalog.coffee(CoffeeSize.MEDIUM),
+            ProductCatalog.extra(ExtraOption.FOAMED_MILK));
+
+    private OrderController orderController;
+    private PipelinedOrderController pipelinedOrderController;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        BonusService bonusService = new BonusService();
+        bonusService.registerBonusStrategy(new EveryFifthBeverageFreeBonus());
+        OrderService orderService = new OrderService(bonusService);
+        IPaymentService paymentService = order -> {
+            LockSupport.parkNanos(PAYMENT_NANOS);
+            order.setStatus(OrderStatus.PAID);
+        };
+        IOrderStorage orderStorage = new IOrderStorage() {
+            @Override
+            public void storeOrders(List<Order> orders) {
+                LockSupport.parkNanos(STORAGE_NANOS);
+            }
+
+            @Override
+            public List<Order> retrieveOrders() {
+                return List.of();
+            }
+        };
+        orderController = new OrderController(orderService, orderStorage, new CustomerLoyaltyIndex(), paymentService,
+                SilentReceiptPresenter::new);
+        pipelinedOrderController = new PipelinedOrderController(orderService, orderStorage, new CustomerLoyaltyIndex(),
+                paymentService, SilentReceiptPresenter::new);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        pipelinedOrderController.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ORDERS)
+    public void sequential() {
+        for (int i = 0; i < ORDERS; i++) {
+            orderController.processOrder("customer-" + (i & 63), products);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ORDERS)
+    public Order pipelined() {
+        CompletableFuture<Order> last = null;
+        for (int i = 0; i < ORDERS; i++) {
+            last = pipelinedOrderController.submitOrder("customer-" + (i & 63), products);
+        }
+        return last.join();
+    }
+
+    /**
+     * Discards the receipts, so the benchmark does not measure the console.
+     */
+    private static final class SilentReceiptPresenter extends ReceiptPresenter {
+        @Override
+        public void presentReceipt() {
+            // nothing to present
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(OrderPipelineBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,90 @@
+package org.epam.swissre.coffeeshop.benchmark;
+
+import org.epam.swissre.coffeeshop.model.Order;
+import org.epam.swissre.coffeeshop.service.impl.CsvOrderParser;
+import org.epam.swissre.coffeeshop.service.impl.ParallelOrderLoader;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the cold-start load time of a large CSV order file with the sequential streaming parser and with
+ * the {@link ParallelOrderLoader} at increasing parallelism, to check how the load scales with cores.
+ *
+ * <p>Run with: {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=org.epam.swissre.coffeeshop.benchmark.ParallelOrderLoaderBenchmark}</p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xmx4g"})
+@State(Scope.Benchmark)
+public class ParallelOrderLoaderBenchmark {
+
+    private static final String HISTORY_LINE = "Small coffee,2.55;Fresh Orange Juice (0.25l),3.95";
+
+    @Param({"1000000"})
+    private int historySize;
+
+    @Param({"1", "2", "4", "8", "16"})
+    private int parallelism;
+
+    private Path csvPath;
+    private ForkJoinPool pool;
+    private ParallelOrderLoader loader;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        csvPath = Files.createTempFile("parallelLoaderBenchmark", ".csv");
+        try (BufferedWriter writer = Files.newBufferedWriter(csvPath)) {
+            for (int i = 0; i < historySize; i++) {
+                writer.write(HISTORY_LINE);
+                writer.newLine();
+            }
+        }
+        pool = new ForkJoinPool(parallelism);
+        loader = new ParallelOrderLoader(pool);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        pool.shutdown();
+        Files.deleteIfExists(csvPath);
+    }
+
+    /**
+     * Baseline: single-threaded streaming read, independent of the parallelism parameter.
+     */
+    @Benchmark
+    public List<Order> sequentialLoad() throws IOException {
+        List<Order> orders = new ArrayList<>();
+        try (FileChannel channel = FileChannel.open(csvPath, StandardOpenOption.READ)) {
+            new CsvOrderParser().parse(channel, record -> orders.add(record.toOrder()));
+        }
+        return orders;
+    }
+
+    @Benchmark
+    public List<Order> parallelLoad() throws IOException {
+        return loader.load(csvPath);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(ParallelOrderLoaderBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
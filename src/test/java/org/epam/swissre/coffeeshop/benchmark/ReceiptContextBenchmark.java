@@ -0,0 +1,91 @@
+package org.epam.swissre.coffeeshop.benchmark;
+
+import org.epam.swissre.coffeeshop.enums.BaconRollSize;
+import org.epam.swissre.coffeeshop.enums.CoffeeSize;
+import org.epam.swissre.coffeeshop.enums.ExtraOption;
+import org.epam.swissre.coffeeshop.model.Order;
+import org.epam.swissre.coffeeshop.model.Product;
+import org.epam.swissre.coffeeshop.model.ProductCatalog;
+import org.epam.swissre.coffeeshop.receipt.ReceiptContext;
+import org.epam.swissre.coffeeshop.receipt.ReceiptContextPool;
+import org.epam.swissre.coffeeshop.receipt.ReceiptRow;
+import org.epam.swissre.coffeeshop.receipt.impl.CLIReceiptPresenter;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures presenting the receipt of a three-product order as the controller did before, with a new
+ * {@link CLIReceiptPresenter} and {@link ReceiptRow}s per order, and as it does now, with one shared presenter
+ * rendering a {@link ReceiptContext} taken from a {@link ReceiptContextPool}. Receipts are written to a discarding
+ * stream, so the difference is the receipt state per order; run with the GC profiler to compare the allocation.
+ *
+ * <p>Run with: {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=org.epam.swissre.coffeeshop.benchmark.ReceiptContextBenchmark}</p>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ReceiptContextBenchmark {
+
+    private final OutputStream discard = OutputStream.nullOutputStream();
+    private final CLIReceiptPresenter sharedPresenter = new CLIReceiptPresenter(discard, StandardCharsets.UTF_8);
+    private final ReceiptContextPool contexts = new ReceiptContextPool();
+    private Order order;
+
+    @Setup
+    public void setUp() {
+        order = new Order(List.of(ProductCatalog.coffee(CoffeeSize.MEDIUM), ProductCatalog.extra(ExtraOption.FOAMED_MILK),
+                ProductCatalog.baconRoll(BaconRollSize.STANDARD)));
+        order.setTotalCostInCents(order.getSubtotalInCents());
+        order.applyDiscount(51);
+    }
+
+    /**
+     * Baseline: a presenter and a receipt row per product for every order.
+     */
+    @Benchmark
+    public void presenterPerOrder() {
+        CLIReceiptPresenter presenter = new CLIReceiptPresenter(discard, StandardCharsets.UTF_8);
+        for (int i = 0; i < order.getProductCount(); i++) {
+            Product product = order.getProduct(i);
+            presenter.addReceiptRow(new ReceiptRow(product.getName(), product.getPriceInCents()));
+        }
+        presenter.setTotalCostInCents(order.getTotalCostInCents());
+        presenter.setTotalDiscountInCents(order.getTotalDiscountInCents());
+        presenter.presentReceipt();
+    }
+
+    @Benchmark
+    public void pooledContext() {
+        ReceiptContext context = contexts.acquire();
+        try {
+            for (int i = 0; i < order.getProductCount(); i++) {
+                Product product = order.getProduct(i);
+                context.addRow(product.getName(), product.getPriceInCents());
+            }
+            context.setTotalCostInCents(order.getTotalCostInCents());
+            context.setTotalDiscountInCents(order.getTotalDiscountInCents());
+            sharedPresenter.presentReceipt(context);
+        } finally {
+            contexts.release(context);
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(ReceiptContextBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
@@ -0,0 +1,81 @@
+package org.epam.swissre.coffeeshop.benchmark;
+
+import org.epam.swissre.coffeeshop.enums.BaconRollSize;
+import org.epam.swissre.coffeeshop.enums.CoffeeSize;
+import org.epam.swissre.coffeeshop.enums.ExtraOption;
+import org.epam.swissre.coffeeshop.model.Order;
+import org.epam.swissre.coffeeshop.model.ProductCatalog;
+import org.epam.swissre.coffeeshop.receipt.ReceiptRenderer;
+import org.epam.swissre.coffeeshop.receipt.impl.EscPosReceiptRenderer;
+import org.epam.swissre.coffeeshop.receipt.impl.JsonReceiptRenderer;
+import org.epam.swissre.coffeeshop.receipt.impl.TextReceiptRenderer;
+import org.epam.swissre.coffeeshop.util.ByteBufferPool;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures rendering the receipt of a three-product order into bytes ready to be sent, with the renderers writing
+ * straight from the order into a buffer of a {@link ByteBufferPool}. Run with the GC profiler to check the
+ * allocation per receipt.
+ *
+ * <p>Run with: {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=org.epam.swissre.coffeeshop.benchmark.ReceiptFormatBenchmark}</p>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ReceiptFormatBenchmark {
+
+    private final ByteBufferPool pool = new ByteBufferPool(4096, 16);
+    private final ReceiptRenderer jsonRenderer = new JsonReceiptRenderer();
+    private final ReceiptRenderer textRenderer = new TextReceiptRenderer();
+    private final ReceiptRenderer escPosRenderer = new EscPosReceiptRenderer();
+    private Order order;
+
+    @Setup
+    public void setUp() {
+        order = new Order(List.of(ProductCatalog.coffee(CoffeeSize.MEDIUM), ProductCatalog.extra(ExtraOption.FOAMED_MILK),
+                ProductCatalog.baconRoll(BaconRollSize.STANDARD)));
+        order.setTotalCostInCents(order.getSubtotalInCents());
+        order.applyDiscount(50);
+    }
+
+    @Benchmark
+    public void jsonRenderer(Blackhole blackhole) {
+        render(jsonRenderer, blackhole);
+    }
+
+    @Benchmark
+    public void textRenderer(Blackhole blackhole) {
+        render(textRenderer, blackhole);
+    }
+
+    @Benchmark
+    public void escPosRenderer(Blackhole blackhole) {
+        render(escPosRenderer, blackhole);
+    }
+
+    private void render(ReceiptRenderer renderer, Blackhole blackhole) {
+        ByteBuffer receipt = renderer.render(order, pool);
+        blackhole.consume(receipt.get(receipt.limit() - 1));
+        pool.release(receipt);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(ReceiptFormatBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
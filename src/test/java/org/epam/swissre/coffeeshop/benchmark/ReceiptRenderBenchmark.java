@@ -0,0 +1,100 @@
+package org.epam.swissre.coffeeshop.benchmark;
+
+import org.epam.swissre.coffeeshop.receipt.ReceiptPresenter;
+import org.epam.swissre.coffeeshop.receipt.ReceiptRow;
+import org.epam.swissre.coffeeshop.receipt.impl.CLIReceiptPresenter;
+import org.epam.swissre.coffeeshop.util.DateTimeUtils;
+import org.epam.swissre.coffeeshop.util.FormatUtils;
+import org.epam.swissre.coffeeshop.util.MoneyUtils;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.BufferedOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures rendering a receipt of three rows spooled to a file, either line by line with {@code println} and
+ * {@code printf} calls as the {@link CLIReceiptPresenter} used to, or with the presenter rendering the whole
+ * receipt into a reused buffer emitted with a single write. Like {@code System.out} when redirected, the stream
+ * is an auto-flushing {@link PrintStream} over a 128 byte buffer, so every line is a synchronized write and flush.
+ *
+ * <p>Run with: {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=org.epam.swissre.coffeeshop.benchmark.ReceiptRenderBenchmark}</p>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ReceiptRenderBenchmark {
+
+    private Path spoolPath;
+    private PrintStream spool;
+    private CLIReceiptPresenter presenter;
+
+    @Setup(Level.Iteration)
+    public void setUp() throws IOException {
+        spoolPath = Files.createTempFile("receiptRenderBenchmark", ".txt");
+        spool = new PrintStream(new BufferedOutputStream(new FileOutputStream(spoolPath.toFile()), 128), true, StandardCharsets.UTF_8);
+        presenter = new CLIReceiptPresenter(spool, StandardCharsets.UTF_8);
+        fill(presenter);
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDown() throws IOException {
+        spool.close();
+        Files.deleteIfExists(spoolPath);
+    }
+
+    /**
+     * Baseline: the former rendering with one print call per line.
+     */
+    @Benchmark
+    public void printPerLine() {
+        spool.println("\n=== Coffee Shop Receipt ===");
+        spool.println("Date:" + DateTimeUtils.getCurrentDateTime());
+        spool.println("\nItems:");
+
+        int rowCount = 0;
+        for (ReceiptRow row : presenter.getReceiptRows()) {
+            rowCount++;
+            spool.println(FormatUtils.formatWithDotLeaders(rowCount + ". " + row.getDescription(), row.getPriceInCents()));
+        }
+
+        spool.printf("\nTotal cost: CHF %s", MoneyUtils.format(presenter.getTotalCostInCents()));
+        spool.printf("\nTotal discount: CHF %s\n", MoneyUtils.format(presenter.getTotalDiscountInCents()));
+
+        spool.println("\n=== Thank You for Visiting! ===");
+        spool.println("Keep your receipt! Every 5th beverage is on us!");
+        spool.println("For feedback, call us: 123-456-789");
+        spool.println("=== END of Receipt ===");
+    }
+
+    @Benchmark
+    public void singleWrite() {
+        presenter.presentReceipt();
+    }
+
+    private static void fill(ReceiptPresenter presenter) {
+        presenter.addReceiptRow(new ReceiptRow("Medium coffee", 305));
+        presenter.addReceiptRow(new ReceiptRow("Foamed milk", 50));
+        presenter.addReceiptRow(new ReceiptRow("Bacon Roll", 450));
+        presenter.setTotalCostInCents(755);
+        presenter.setTotalDiscountInCents(50);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(ReceiptRenderBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
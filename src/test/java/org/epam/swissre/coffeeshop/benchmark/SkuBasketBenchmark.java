@@ -0,0 +1,114 @@
+package org.epam.swissre.coffeeshop.benchmark;
+
+import org.epam.swissre.coffeeshop.enums.BaconRollSize;
+import org.epam.swissre.coffeeshop.enums.CoffeeSize;
+import org.epam.swissre.coffeeshop.enums.ExtraOption;
+import org.epam.swissre.coffeeshop.enums.OrangeJuiceSize;
+import org.epam.swissre.coffeeshop.model.*;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the heap footprint of a day of orders kept in memory: orders with a freshly allocated product per row
+ * (as restored before the product catalog), orders referencing the shared catalog products from an
+ * {@code ArrayList}, and orders backed by a {@link SkuBasket}. Each operation builds a day of orders with exact capacities, so
+ * {@code gc.alloc.rate.norm} (bytes per operation), reported by the GC profiler enabled by {@link #main(String[])},
+ * approximates the retained size of the day.
+ *
+ * <p>Run with: {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=org.epam.swissre.coffeeshop.benchmark.SkuBasketBenchmark}</p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class SkuBasketBenchmark {
+
+    private static final int ORDERS_PER_DAY = 10_000;
+
+    @Param({"3", "50"})
+    private int basketSize;
+
+    private int[] skus;
+
+    @Setup
+    public void setUp() {
+        int[] menu = {
+                ProductCatalog.skuOf(ProductCatalog.coffee(CoffeeSize.MEDIUM)),
+                ProductCatalog.skuOf(ProductCatalog.extra(ExtraOption.FOAMED_MILK)),
+                ProductCatalog.skuOf(ProductCatalog.orangeJuice(OrangeJuiceSize.SMALL)),
+                ProductCatalog.skuOf(ProductCatalog.baconRoll(BaconRollSize.STANDARD))};
+        skus = new int[basketSize];
+        for (int i = 0; i < basketSize; i++) {
+            skus[i] = menu[i % menu.length];
+        }
+    }
+
+    /**
+     * Baseline: a new product per stored row.
+     */
+    @Benchmark
+    public List<Order> productPerRow() {
+        List<Order> day = new ArrayList<>(ORDERS_PER_DAY);
+        for (int order = 0; order < ORDERS_PER_DAY; order++) {
+            ArrayList<Product> products = new ArrayList<>(basketSize);
+            for (int sku : skus) {
+                Product product = ProductCatalog.get(sku);
+                products.add(new StoredProduct(product.getName(), product.getPriceInCents(), product.getKindMask()));
+            }
+            day.add(new Order(products));
+        }
+        return day;
+    }
+
+    @Benchmark
+    public List<Order> sharedProductList() {
+        List<Order> day = new ArrayList<>(ORDERS_PER_DAY);
+        for (int order = 0; order < ORDERS_PER_DAY; order++) {
+            ArrayList<Product> products = new ArrayList<>(basketSize);
+            for (int sku : skus) {
+                products.add(ProductCatalog.get(sku));
+            }
+            day.add(new Order(products));
+        }
+        return day;
+    }
+
+    @Benchmark
+    public List<Order> skuBasket() {
+        List<Order> day = new ArrayList<>(ORDERS_PER_DAY);
+        for (int order = 0; order < ORDERS_PER_DAY; order++) {
+            SkuBasket products = new SkuBasket(basketSize);
+            for (int sku : skus) {
+                products.addSku(sku);
+            }
+            day.add(new Order(products));
+        }
+        return day;
+    }
+
+    /**
+     * A product restored with its own copy of the name, as before the product catalog.
+     */
+    private static class StoredProduct extends Product {
+        StoredProduct(String name, long priceInCents, int kindMask) {
+            super(new String(name.toCharArray()), priceInCents, kindMask);
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(SkuBasketBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
@@ -0,0 +1,59 @@
+package org.epam.swissre.coffeeshop.bonus;
+
+import org.epam.swissre.coffeeshop.enums.BaconRollSize;
+import org.epam.swissre.coffeeshop.enums.CoffeeSize;
+import org.epam.swissre.coffeeshop.enums.ExtraOption;
+import org.epam.swissre.coffeeshop.enums.OrangeJuiceSize;
+import org.epam.swissre.coffeeshop.enums.ProductKind;
+import org.epam.swissre.coffeeshop.model.*;
+
+import org.junit.jupiter.api.Test;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for {@link BasketSummary}.
+ */
+public class BasketSummaryTest {
+
+    /**
+     * Test that counts and prices are summarized by product kind in basket order.
+     */
+    @Test
+    public void testOf_SummarizesBasket() {
+        Order order = new Order(List.of(
+                new Coffee(CoffeeSize.SMALL),
+                new ExtraItem(ExtraOption.FOAMED_MILK),
+                new BaconRoll(BaconRollSize.STANDARD),
+                new OrangeJuice(OrangeJuiceSize.SMALL),
+                new ExtraItem(ExtraOption.EXTRA_MILK)));
+        order.setAlreadyPaidBeverageCount(3);
+
+        BasketSummary basket = BasketSummary.of(order);
+
+        assertEquals(5, basket.getProductCount());
+        assertEquals(2, basket.getBeverageCount());
+        assertEquals(1, basket.getSnackCount());
+        assertEquals(2, basket.getExtraCount());
+        assertEquals(255, basket.getBeveragePriceInCents(0));
+        assertEquals(395, basket.getBeveragePriceInCents(1));
+        assertEquals(51, basket.getExtraPriceInCents(0));
+        assertEquals(32, basket.getExtraPriceInCents(1));
+        assertEquals(255 + 51 + 453 + 395 + 32, basket.getSubtotalInCents());
+        assertEquals(3, basket.getAlreadyPaidBeverageCount());
+        assertEquals(1, basket.getCount(ProductKind.COFFEE), "Coffee should be counted by its own kind");
+    }
+
+    /**
+     * Test that ordinals outside the summarized products are rejected.
+     */
+    @Test
+    public void testOrdinalOutOfRange() {
+        BasketSummary basket = BasketSummary.of(new Order(List.of(new Coffee(CoffeeSize.SMALL))));
+
+        assertThrows(IndexOutOfBoundsException.class, () -> basket.getBeveragePriceInCents(1));
+        assertThrows(IndexOutOfBoundsException.class, () -> basket.getExtraPriceInCents(0));
+        assertThrows(IllegalArgumentException.class, () -> BasketSummary.of(null));
+    }
+}
@@ -1,5 +1,6 @@
 package org.epam.swissre.coffeeshop.bonus.impl;
 
+import org.epam.swissre.coffeeshop.bonus.BasketSummary;
 import org.epam.swissre.coffeeshop.bonus.BonusStrategy;
 import org.epam.swissre.coffeeshop.enums.CoffeeSize;
 import org.epam.swissre.coffeeshop.enums.OrangeJuiceSize;
@@ -11,6 +12,7 @@ import java.util.ArrayList;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 /**
  * Test class for {@link EveryFifthBeverageFreeBonus}.
@@ -29,14 +31,13 @@ public class EveryFifthBeverageFreeBonusTest {
      */
     @Test
     public void testApplyBonus_WithPreviousBeverages() {
-        List<Product> alreadyPaidProducts = createBeveragesList(3); // Assume three beverages were already paid
         List<Product> currentProducts = createBeveragesList(2); // Two more beverages, making it five in total
         order = new Order(currentProducts);
-        order.setAlreadyPaidProducts(alreadyPaidProducts);
+        order.setAlreadyPaidBeverageCount(3); // Assume three beverages were already paid
         bonusStrategy.apply(order);
 
-        double expectedDiscount = currentProducts.get(1).getPrice(); // Discount should match the price of the 5th beverage overall
-        assertEquals(expectedDiscount, order.getTotalDiscount(), "Discount should be applied considering previous purchases.");
+        long expectedDiscount = currentProducts.get(1).getPriceInCents(); // Discount should match the price of the 5th beverage overall
+        assertEquals(expectedDiscount, order.getTotalDiscountInCents(), "Discount should be applied considering previous purchases.");
     }
 
     /**
@@ -44,14 +45,13 @@ public class EveryFifthBeverageFreeBonusTest {
      */
     @Test
     public void testApplyBonus_WithMultipleIntervals() {
-        List<Product> alreadyPaidProducts = createBeveragesList(9); // Nine beverages previously paid
         List<Product> currentProducts = createBeveragesList(6); // Six more beverages, 15 beverages in total
         order = new Order(currentProducts);
-        order.setAlreadyPaidProducts(alreadyPaidProducts);
+        order.setAlreadyPaidBeverageCount(9); // Nine beverages previously paid
         bonusStrategy.apply(order);
 
-        double expectedDiscount = currentProducts.get(0).getPrice() + currentProducts.get(5).getPrice(); // Discounts on the 10th and 15th bebverage
-        assertEquals(expectedDiscount, order.getTotalDiscount(), "Discount should sum the 10th and 15th beverages.");
+        long expectedDiscount = currentProducts.get(0).getPriceInCents() + currentProducts.get(5).getPriceInCents(); // Discounts on the 10th and 15th bebverage
+        assertEquals(expectedDiscount, order.getTotalDiscountInCents(), "Discount should sum the 10th and 15th beverages.");
     }
 
     /**
@@ -63,8 +63,8 @@ public class EveryFifthBeverageFreeBonusTest {
         order = new Order(products);
         bonusStrategy.apply(order);
 
-        double expectedDiscount = products.get(4).getPrice(); // Discount should match the price of the 5th beverage
-        assertEquals(expectedDiscount, order.getTotalDiscount(), "Discount should equal the price of the fifth beverage");
+        long expectedDiscount = products.get(4).getPriceInCents(); // Discount should match the price of the 5th beverage
+        assertEquals(expectedDiscount, order.getTotalDiscountInCents(), "Discount should equal the price of the fifth beverage");
     }
 
     /**
@@ -76,8 +76,8 @@ public class EveryFifthBeverageFreeBonusTest {
         order = new Order(products);
         bonusStrategy.apply(order);
 
-        double expectedDiscount = products.get(4).getPrice(); // Only one beverage free
-        assertEquals(expectedDiscount, order.getTotalDiscount(), "Discount should equal the price of the fifth beverage");
+        long expectedDiscount = products.get(4).getPriceInCents(); // Only one beverage free
+        assertEquals(expectedDiscount, order.getTotalDiscountInCents(), "Discount should equal the price of the fifth beverage");
     }
 
     /**
@@ -89,8 +89,8 @@ public class EveryFifthBeverageFreeBonusTest {
         order = new Order(products);
         bonusStrategy.apply(order);
 
-        double expectedDiscount = products.get(4).getPrice() + products.get(9).getPrice();
-        assertEquals(expectedDiscount, order.getTotalDiscount(), "Discount should be sum of the fifth and tenth beverages");
+        long expectedDiscount = products.get(4).getPriceInCents() + products.get(9).getPriceInCents();
+        assertEquals(expectedDiscount, order.getTotalDiscountInCents(), "Discount should be sum of the fifth and tenth beverages");
     }
 
     /**
@@ -102,7 +102,23 @@ public class EveryFifthBeverageFreeBonusTest {
         order = new Order(products);
         bonusStrategy.apply(order);
 
-        assertEquals(0.0, order.getTotalDiscount(), "No discount should be applied if there are less than five beverages");
+        assertEquals(0, order.getTotalDiscountInCents(), "No discount should be applied if there are less than five beverages");
+    }
+
+    /**
+     * Test the arithmetic discount for a large running counter and a basket with several free beverages.
+     */
+    @Test
+    public void testCalculateDiscountInCents_LargeRunningCounter() {
+        EveryFifthBeverageFreeBonus bonus = new EveryFifthBeverageFreeBonus();
+        List<Product> products = createMixedBeveragesList(12);
+        BasketSummary basket = BasketSummary.of(new Order(products));
+
+        // 1_000_002 beverages paid: the 3rd, 8th and 13th beverage of the basket would be free
+        long expectedDiscount = products.get(2).getPriceInCents() + products.get(7).getPriceInCents();
+        assertEquals(expectedDiscount, bonus.calculateDiscountInCents(1_000_002, basket));
+        assertEquals(products.get(4).getPriceInCents() + products.get(9).getPriceInCents(), bonus.calculateDiscountInCents(0, basket));
+        assertThrows(IllegalArgumentException.class, () -> bonus.calculateDiscountInCents(-1, basket));
     }
 
     // Helper methods for creating beverage lists
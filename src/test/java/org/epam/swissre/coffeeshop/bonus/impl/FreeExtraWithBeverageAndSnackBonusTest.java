@@ -37,7 +37,7 @@ public class FreeExtraWithBeverageAndSnackBonusTest {
         order = new Order(products);
         bonusStrategy.apply(order);
 
-        assertNotEquals(0, order.getTotalDiscount(), "Discount should not be zero when there's at least one beverage and snack");
+        assertNotEquals(0, order.getTotalDiscountInCents(), "Discount should not be zero when there's at least one beverage and snack");
     }
 
     /**
@@ -52,7 +52,7 @@ public class FreeExtraWithBeverageAndSnackBonusTest {
         order = new Order(products);
         bonusStrategy.apply(order);
 
-        assertEquals(0, order.getTotalDiscount(), "Discount should be zero if no beverage is present");
+        assertEquals(0, order.getTotalDiscountInCents(), "Discount should be zero if no beverage is present");
     }
 
     /**
@@ -67,7 +67,7 @@ public class FreeExtraWithBeverageAndSnackBonusTest {
         order = new Order(products);
         bonusStrategy.apply(order);
 
-        assertEquals(0, order.getTotalDiscount(), "Discount should be zero if no snack is present");
+        assertEquals(0, order.getTotalDiscountInCents(), "Discount should be zero if no snack is present");
     }
 
     /**
@@ -82,6 +82,6 @@ public class FreeExtraWithBeverageAndSnackBonusTest {
         order = new Order(products);
         bonusStrategy.apply(order);
 
-        assertEquals(0, order.getTotalDiscount(), "Discount should be zero if no extra items are available for the bonus");
+        assertEquals(0, order.getTotalDiscountInCents(), "Discount should be zero if no extra items are available for the bonus");
     }
 }
\ No newline at end of file
@@ -1,19 +1,35 @@
 package org.epam.swissre.coffeeshop.controller.impl;
 
+import org.epam.swissre.coffeeshop.bonus.impl.EveryFifthBeverageFreeBonus;
 import org.epam.swissre.coffeeshop.controller.IOrderController;
+import org.epam.swissre.coffeeshop.enums.CoffeeSize;
 import org.epam.swissre.coffeeshop.enums.OrderStatus;
 import org.epam.swissre.coffeeshop.model.Order;
 import org.epam.swissre.coffeeshop.model.Product;
+import org.epam.swissre.coffeeshop.model.ProductCatalog;
 import org.epam.swissre.coffeeshop.receipt.ReceiptPresenter;
+import org.epam.swissre.coffeeshop.service.ILoyaltyIndex;
 import org.epam.swissre.coffeeshop.service.IOrderService;
 import org.epam.swissre.coffeeshop.service.IOrderStorage;
 import org.epam.swissre.coffeeshop.service.IPaymentService;
+import org.epam.swissre.coffeeshop.service.impl.BonusService;
+import org.epam.swissre.coffeeshop.service.impl.CustomerLoyaltyIndex;
+import org.epam.swissre.coffeeshop.service.impl.OrderService;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -26,12 +42,13 @@ class OrderControllerTest {
     private IOrderController orderController;
     private StubOrderService orderService;
     private ExceptionThrowingOrderStorage orderStorage;
+    private StubLoyaltyIndex loyaltyIndex;
     private StubPaymentService paymentService;
     private TestableReceiptPresenter receiptPresenter;
 
     static class TestProduct extends Product {
-        public TestProduct(String name, double price) {
-            super(name, price);
+        public TestProduct(String name, long priceInCents) {
+            super(name, priceInCents);
         }
     }
 
@@ -42,9 +59,10 @@ class OrderControllerTest {
     void setUp() {
         orderService = new StubOrderService();
         orderStorage = new ExceptionThrowingOrderStorage();
+        loyaltyIndex = new StubLoyaltyIndex();
         paymentService = new StubPaymentService();
         receiptPresenter = new TestableReceiptPresenter();
-        orderController = new OrderController(orderService, orderStorage, paymentService, receiptPresenter);
+        orderController = new OrderController(orderService, orderStorage, loyaltyIndex, paymentService, receiptPresenter);
     }
 
     /**
@@ -53,8 +71,8 @@ class OrderControllerTest {
      */
     @Test
     void testProcessOrder() {
-        Product product1 = new TestProduct("Coffee", 2.50);
-        Product product2 = new TestProduct("Orange Juice", 1.50);
+        Product product1 = new TestProduct("Coffee", 250);
+        Product product2 = new TestProduct("Orange Juice", 150);
         orderController.processOrder(Arrays.asList(product1, product2));
 
         assertTrue(orderService.isOrderProcessed(), "Order service should process the order.");
@@ -63,22 +81,248 @@ class OrderControllerTest {
     }
 
     /**
-     * Tests the behavior of the OrderController when an IO-related exception is simulated during
-     * order retrieval operations. This test ensures that the system appropriately catches and
-     * handles runtime exceptions stemming from data retrieval failures.
+     * Verifies that checkout processes, pays and returns the order without presenting a receipt.
      */
     @Test
-    void testProcessOrder_RetrieveIOException() {
-        orderStorage.setRetrieveThrowsIOException(true);
+    void testCheckout() {
+        Order order = ((OrderController) orderController).checkout(ILoyaltyIndex.WALK_IN_CUSTOMER,
+                List.of(new TestProduct("Coffee", 250)));
 
-        List<Product> products = Arrays.asList(new TestProduct("Coffee", 2.50));
+        assertEquals(1, order.getProductCount());
+        assertTrue(paymentService.isPaymentProcessed(), "Payment service should process the payment.");
+        assertFalse(receiptPresenter.isReceiptPresented(), "Receipt should not be presented.");
+    }
+
+    /**
+     * Verifies that a controller without a presenter checks out orders but refuses to present receipts.
+     */
+    @Test
+    void testCheckout_WithoutPresenter() {
+        OrderController checkoutOnly = new OrderController(orderService, orderStorage, loyaltyIndex, paymentService);
+        List<Product> coffee = List.of(new TestProduct("Coffee", 250));
+
+        assertEquals(1, checkoutOnly.checkout(ILoyaltyIndex.WALK_IN_CUSTOMER, coffee).getProductCount());
+        assertThrows(IllegalStateException.class, () -> checkoutOnly.processOrder(ILoyaltyIndex.WALK_IN_CUSTOMER, coffee));
+    }
+
+    /**
+     * Verifies that a presenter shared by consecutive orders presents only the rows of the current order and
+     * holds no rows between orders.
+     */
+    @Test
+    void testProcessOrder_SharedPresenterDoesNotAccumulate() {
+        for (int order = 1; order <= 3; order++) {
+            orderController.processOrder(List.of(new TestProduct("Coffee", 250), new TestProduct("Orange Juice", 150)));
+
+            assertEquals(2, receiptPresenter.getPresentedRowCount(), "Only the rows of the current order should be presented.");
+            assertTrue(receiptPresenter.getReceiptRows().isEmpty(), "Rows should not be kept after presenting.");
+        }
+    }
+
+    /**
+     * Verifies that the order is priced with the running beverage counter of the loyalty index,
+     * and that the paid order is recorded in the index afterwards.
+     */
+    @Test
+    void testProcessOrder_UsesAndAdvancesLoyaltyIndex() {
+        loyaltyIndex.beverageCount = 4;
+
+        orderController.processOrder(List.of(new TestProduct("Coffee", 250)));
+
+        assertEquals(4, orderService.getAlreadyPaidBeverageCount(), "Order should be priced with the running beverage counter.");
+        assertEquals(1, loyaltyIndex.recordedOrders, "Paid order should be recorded in the loyalty index.");
+        assertEquals(1, loyaltyIndex.committedOrders, "Claim should be committed once the order is stored.");
+        assertEquals(0, loyaltyIndex.releasedOrders);
+    }
+
+    /**
+     * Verifies that the beverages of an order whose payment is declined or fails are not counted.
+     */
+    @Test
+    void testCheckout_DeclinedPaymentReleasesClaim() {
+        CustomerLoyaltyIndex customerLoyaltyIndex = new CustomerLoyaltyIndex();
+        List<Order> storedOrders = new ArrayList<>();
+        List<Product> twoCoffees = List.of(ProductCatalog.coffee(CoffeeSize.SMALL), ProductCatalog.coffee(CoffeeSize.SMALL));
+        OrderController declining = new OrderController(new OrderService(new BonusService()),
+                new RecordingOrderStorage(storedOrders), customerLoyaltyIndex, order -> { }, receiptPresenter);
+
+        Order order = declining.checkout("anna", twoCoffees);
+
+        assertEquals(OrderStatus.OPEN, order.getStatus());
+        assertTrue(storedOrders.isEmpty(), "A declined order should not be stored.");
+        assertEquals(0, customerLoyaltyIndex.getBeverageCount("anna"), "Declined beverages should not be counted.");
+
+        OrderController failing = new OrderController(new OrderService(new BonusService()),
+                new RecordingOrderStorage(storedOrders), customerLoyaltyIndex, unpaid -> {
+            throw new IllegalStateException("Payment terminal offline");
+        }, receiptPresenter);
+
+        assertThrows(IllegalStateException.class, () -> failing.checkout("anna", twoCoffees));
+        assertEquals(0, customerLoyaltyIndex.getBeverageCount("anna"), "Beverages of a failed payment should not be counted.");
+    }
+
+    /**
+     * Verifies that the beverages of a paid order which could not be stored are not counted.
+     */
+    @Test
+    void testCheckout_StoreFailureReleasesClaim() {
+        CustomerLoyaltyIndex customerLoyaltyIndex = new CustomerLoyaltyIndex();
+        IOrderStorage failingStorage = new IOrderStorage() {
+            @Override
+            public void storeOrders(List<Order> orders) throws IOException {
+                throw new IOException("Disk full");
+            }
+
+            @Override
+            public List<Order> retrieveOrders() {
+                return List.of();
+            }
+        };
+        OrderController controller = new OrderController(new OrderService(new BonusService()), failingStorage,
+                customerLoyaltyIndex, new StubPaymentService(), receiptPresenter);
+
+        Order order = controller.checkout("anna", List.of(ProductCatalog.coffee(CoffeeSize.SMALL)));
+
+        assertEquals(OrderStatus.PAID, order.getStatus());
+        assertEquals(0, customerLoyaltyIndex.getBeverageCount("anna"), "Beverages of an unstored order should not be counted.");
+    }
+
+    /**
+     * Verifies that an order priced against a counter which was advanced concurrently is priced again
+     * with the current counter before its beverages are claimed.
+     */
+    @Test
+    void testProcessOrder_RepricesAfterConcurrentCheckout() {
+        loyaltyIndex.beverageCount = 3;
+        loyaltyIndex.conflicts = 1;
+
+        orderController.processOrder(List.of(new TestProduct("Coffee", 250)));
+
+        assertEquals(4, orderService.getAlreadyPaidBeverageCount(), "Order should be priced again with the advanced counter.");
+        assertEquals(1, loyaltyIndex.recordedOrders, "Beverages should be claimed once.");
+    }
+
+    /**
+     * Runs 64 concurrent checkouts of four customers through one shared controller and verifies that every
+     * customer is granted each free beverage exactly once and that every receipt has its own presenter.
+     */
+    @Test
+    void testProcessOrder_ConcurrentCheckouts() throws Exception {
+        BonusService bonusService = new BonusService();
+        bonusService.registerBonusStrategy(new EveryFifthBeverageFreeBonus());
+        CustomerLoyaltyIndex customerLoyaltyIndex = new CustomerLoyaltyIndex(4);
+        List<Order> storedOrders = Collections.synchronizedList(new ArrayList<>());
+        Set<ReceiptPresenter> presenters = ConcurrentHashMap.newKeySet();
+        IOrderController sharedController = new OrderController(new OrderService(bonusService),
+                new RecordingOrderStorage(storedOrders), customerLoyaltyIndex, new StubPaymentService(), () -> {
+                    TestableReceiptPresenter presenter = new TestableReceiptPresenter();
+                    presenters.add(presenter);
+                    return presenter;
+                });
+        String[] customers = {"anna", "ben", "chris", "dana"};
+        Product coffee = ProductCatalog.coffee(CoffeeSize.SMALL);
+
+        int checkouts = 64;
+        ExecutorService registers = Executors.newFixedThreadPool(checkouts);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<?>> results = new ArrayList<>();
+            for (int i = 0; i < checkouts; i++) {
+                String customer = customers[i % customers.length];
+                results.add(registers.submit(() -> {
+                    start.await();
+                    sharedController.processOrder(customer, List.of(coffee, coffee));
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> result : results) {
+                result.get();
+            }
+        } finally {
+            registers.shutdown();
+        }
+
+        // 16 checkouts of 2 beverages per customer: the 5th, 10th, ... 30th beverage is free, 6 per customer
+        long totalDiscount = 0;
+        for (Order order : storedOrders) {
+            totalDiscount += order.getTotalDiscountInCents();
+        }
+        assertEquals(checkouts, storedOrders.size(), "Every checkout should be stored.");
+        assertEquals(customers.length * 6 * coffee.getPriceInCents(), totalDiscount, "Free beverages should never be double-granted.");
+        for (String customer : customers) {
+            assertEquals(32, customerLoyaltyIndex.getBeverageCount(customer), "Every beverage should be counted once.");
+        }
+        assertEquals(checkouts, presenters.size(), "Every receipt should have its own presenter.");
+    }
+
+    /**
+     * Verifies that a batch is priced with the running loyalty counter, paid and stored with a single write,
+     * without presenting receipts.
+     */
+    @Test
+    void testProcessOrders() {
+        BonusService bonusService = new BonusService();
+        bonusService.registerBonusStrategy(new EveryFifthBeverageFreeBonus());
+        CustomerLoyaltyIndex customerLoyaltyIndex = new CustomerLoyaltyIndex();
+        customerLoyaltyIndex.recordOrder("anna", new Order(List.of(ProductCatalog.coffee(CoffeeSize.SMALL),
+                ProductCatalog.coffee(CoffeeSize.SMALL), ProductCatalog.coffee(CoffeeSize.SMALL), ProductCatalog.coffee(CoffeeSize.SMALL))));
+        List<List<Order>> storeCalls = new ArrayList<>();
+        IOrderStorage recordingStorage = new RecordingOrderStorage(new ArrayList<>()) {
+            @Override
+            public void storeOrders(List<Order> newOrders) {
+                storeCalls.add(List.copyOf(newOrders));
+            }
+        };
+        IOrderController batchController = new OrderController(new OrderService(bonusService), recordingStorage,
+                customerLoyaltyIndex, new StubPaymentService(), receiptPresenter);
+        Product coffee = ProductCatalog.coffee(CoffeeSize.SMALL);
+
+        List<Order> orders = batchController.processOrders("anna", List.of(List.of(coffee, coffee),
+                List.of(coffee, coffee), List.of(coffee, coffee)));
+
+        // Beverages 5 to 10 of the customer: the 5th and the 10th are free
+        assertEquals(3, orders.size());
+        assertEquals(coffee.getPriceInCents(), orders.get(0).getTotalDiscountInCents());
+        assertEquals(0, orders.get(1).getTotalDiscountInCents());
+        assertEquals(coffee.getPriceInCents(), orders.get(2).getTotalDiscountInCents());
+        assertTrue(orders.stream().allMatch(order -> order.getStatus() == OrderStatus.PAID));
+        assertEquals(List.of(orders), storeCalls, "All paid orders should be stored in one write.");
+        assertEquals(10, customerLoyaltyIndex.getBeverageCount("anna"));
+        assertFalse(receiptPresenter.isReceiptPresented(), "No receipts should be presented for a batch.");
+    }
+
+    /**
+     * Verifies that the orders of a batch which could not be claimed are priced again with the advanced counter.
+     */
+    @Test
+    void testProcessOrders_RepricesAfterConcurrentCheckout() {
+        loyaltyIndex.beverageCount = 3;
+        loyaltyIndex.conflicts = 1;
+        Product coffee = ProductCatalog.coffee(CoffeeSize.SMALL);
+
+        orderController.processOrders(List.of(List.of(coffee), List.of(coffee)));
+
+        assertEquals(5, orderService.getAlreadyPaidBeverageCount(), "The last order should be priced with the advanced counter.");
+        assertEquals(2, loyaltyIndex.recordedOrders, "Beverages should be claimed once.");
+    }
+
+    /**
+     * Tests the behavior of the OrderController when a runtime exception is simulated while the
+     * loyalty index is accessed. This test ensures that the order is not processed without loyalty data.
+     */
+    @Test
+    void testProcessOrder_LoyaltyIndexException() {
+        loyaltyIndex.throwsException = true;
+
+        List<Product> products = Arrays.asList(new TestProduct("Coffee", 250));
 
         Exception exception = assertThrows(RuntimeException.class, () -> {
             orderController.processOrder(products);
         });
 
-        assertEquals("Failed to access storage", exception.getMessage());
-        assertFalse(orderService.isOrderProcessed(), "Order processing should not proceed after storage failure.");
+        assertEquals("Failed to access loyalty index", exception.getMessage());
+        assertFalse(orderService.isOrderProcessed(), "Order processing should not proceed after loyalty index failure.");
     }
 
     /**
@@ -90,7 +334,7 @@ class OrderControllerTest {
     void testProcessOrder_StoreIOException() {
         orderStorage.setStoreThrowsIOException(true);
 
-        List<Product> products = Arrays.asList(new TestProduct("Coffee", 3.0));
+        List<Product> products = Arrays.asList(new TestProduct("Coffee", 300));
 
         Exception exception = assertThrows(RuntimeException.class, () -> {
             orderController.processOrder(products);
@@ -105,16 +349,70 @@ class OrderControllerTest {
      */
     static class StubOrderService implements IOrderService {
         private boolean orderProcessed = false;
+        private long alreadyPaidBeverageCount = -1;
 
         @Override
-        public Order processOrder(List<Product> newProducts, List<Product> alreadyPaidProducts) {
+        public Order processOrder(List<Product> newProducts, long alreadyPaidBeverageCount) {
             orderProcessed = true;
+            this.alreadyPaidBeverageCount = alreadyPaidBeverageCount;
             return new Order(newProducts); // Simulate an order
         }
 
         boolean isOrderProcessed() {
             return orderProcessed;
         }
+
+        long getAlreadyPaidBeverageCount() {
+            return alreadyPaidBeverageCount;
+        }
+    }
+
+    /**
+     * Stub implementation of the {@link ILoyaltyIndex} recording the calls made by the controller.
+     */
+    static class StubLoyaltyIndex implements ILoyaltyIndex {
+        private long beverageCount = 0;
+        private int recordedOrders = 0;
+        private int committedOrders = 0;
+        private int releasedOrders = 0;
+        private boolean throwsException = false;
+
+        @Override
+        public long getBeverageCount() {
+            if (throwsException) {
+                throw new RuntimeException("Failed to access loyalty index");
+            }
+            return beverageCount;
+        }
+
+        private int conflicts = 0;
+
+        @Override
+        public void recordOrder(Order order) {
+            recordedOrders++;
+        }
+
+        @Override
+        public boolean compareAndAdvance(long expectedBeverageCount, Order order) {
+            if (conflicts > 0) {
+                // Simulates a concurrent checkout advancing the counter
+                conflicts--;
+                beverageCount++;
+                return false;
+            }
+            recordOrder(order);
+            return true;
+        }
+
+        @Override
+        public void commitOrders(String customerId, List<Order> orders) {
+            committedOrders += orders.size();
+        }
+
+        @Override
+        public void releaseOrder(Order order) {
+            releasedOrders++;
+        }
     }
 
     /**
@@ -133,6 +431,27 @@ class OrderControllerTest {
         }
     }
 
+    /**
+     * Thread-safe implementation of the {@link IOrderStorage} collecting the stored orders.
+     */
+    static class RecordingOrderStorage implements IOrderStorage {
+        private final List<Order> orders;
+
+        RecordingOrderStorage(List<Order> orders) {
+            this.orders = orders;
+        }
+
+        @Override
+        public void storeOrders(List<Order> newOrders) {
+            orders.addAll(newOrders);
+        }
+
+        @Override
+        public List<Order> retrieveOrders() {
+            return List.copyOf(orders);
+        }
+    }
+
     /**
      * Stub implementation of the {@link IPaymentService} to simulate payment processing.
      */
@@ -156,15 +475,21 @@ class OrderControllerTest {
      */
     static class TestableReceiptPresenter extends ReceiptPresenter {
         private boolean receiptPresented = false;
+        private int presentedRowCount = 0;
 
         @Override
         public void presentReceipt() {
             receiptPresented = true; // Mark that the receipt was presented
+            presentedRowCount = getReceiptRows().size();
         }
 
         boolean isReceiptPresented() {
             return receiptPresented;
         }
+
+        int getPresentedRowCount() {
+            return presentedRowCount;
+        }
     }
 
     /**
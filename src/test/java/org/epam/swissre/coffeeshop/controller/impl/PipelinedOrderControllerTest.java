@@ -0,0 +1,248 @@
+package org.epam.swissre.coffeeshop.controller.impl;
+
+import org.epam.swissre.coffeeshop.bonus.impl.EveryFifthBeverageFreeBonus;
+import org.epam.swissre.coffeeshop.controller.impl.OrderControllerTest.RecordingOrderStorage;
+import org.epam.swissre.coffeeshop.controller.impl.OrderControllerTest.StubPaymentService;
+import org.epam.swissre.coffeeshop.controller.impl.OrderControllerTest.TestableReceiptPresenter;
+import org.epam.swissre.coffeeshop.controller.impl.PipelinedOrderController.Stage;
+import org.epam.swissre.coffeeshop.enums.CoffeeSize;
+import org.epam.swissre.coffeeshop.enums.OrangeJuiceSize;
+import org.epam.swissre.coffeeshop.enums.OrderStatus;
+import org.epam.swissre.coffeeshop.model.Order;
+import org.epam.swissre.coffeeshop.model.Product;
+import org.epam.swissre.coffeeshop.model.ProductCatalog;
+import org.epam.swissre.coffeeshop.service.IOrderStorage;
+import org.epam.swissre.coffeeshop.service.impl.BonusService;
+import org.epam.swissre.coffeeshop.service.impl.CustomerLoyaltyIndex;
+import org.epam.swissre.coffeeshop.service.impl.OrderService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests the {@link PipelinedOrderController} class: orders pass all stages in order, a slow persistence stage
+ * fills the queues up to their capacity, and failures complete the future of the affected order only.
+ */
+class PipelinedOrderControllerTest {
+    private final List<Order> storedOrders = Collections.synchronizedList(new ArrayList<>());
+    private final List<Product> twoCoffees = List.of(ProductCatalog.coffee(CoffeeSize.SMALL), ProductCatalog.coffee(CoffeeSize.SMALL));
+    private OrderService orderService;
+    private CustomerLoyaltyIndex loyaltyIndex;
+
+    @BeforeEach
+    void setUp() {
+        BonusService bonusService = new BonusService();
+        bonusService.registerBonusStrategy(new EveryFifthBeverageFreeBonus());
+        orderService = new OrderService(bonusService);
+        loyaltyIndex = new CustomerLoyaltyIndex();
+    }
+
+    /**
+     * Verifies that the orders of a customer are priced in submission order, paid, stored and presented.
+     */
+    @Test
+    void testSubmitOrder() throws Exception {
+        List<TestableReceiptPresenter> presenters = Collections.synchronizedList(new ArrayList<>());
+        List<CompletableFuture<Order>> futures = new ArrayList<>();
+        PipelinedOrderController controller = new PipelinedOrderController(orderService,
+                new RecordingOrderStorage(storedOrders), loyaltyIndex, new StubPaymentService(), () -> {
+            TestableReceiptPresenter presenter = new TestableReceiptPresenter();
+            presenters.add(presenter);
+            return presenter;
+        });
+        for (int i = 0; i < 10; i++) {
+            futures.add(controller.submitOrder("anna", twoCoffees));
+        }
+        controller.processOrder("ben", twoCoffees);
+        controller.close();
+
+        long totalDiscount = 0;
+        for (CompletableFuture<Order> future : futures) {
+            Order order = future.get(5, TimeUnit.SECONDS);
+            assertEquals(OrderStatus.PAID, order.getStatus());
+            totalDiscount += order.getTotalDiscountInCents();
+        }
+        assertEquals(4 * 255, totalDiscount, "Every 5th of the 20 beverages of anna should be free");
+        assertEquals(20, loyaltyIndex.getBeverageCount("anna"));
+        assertEquals(2, loyaltyIndex.getBeverageCount("ben"));
+        assertEquals(11, storedOrders.size());
+        assertEquals(11, presenters.size());
+        assertTrue(presenters.stream().allMatch(TestableReceiptPresenter::isReceiptPresented));
+        for (Stage stage : Stage.values()) {
+            assertEquals(11, controller.getProcessedCount(stage));
+            assertEquals(0, controller.getQueueDepth(stage));
+        }
+    }
+
+    /**
+     * Verifies that a blocked persistence stage backs up the queues up to their capacity and that the queued
+     * orders pass once the persistence catches up.
+     */
+    @Test
+    void testBackpressure() throws Exception {
+        CountDownLatch storageReleased = new CountDownLatch(1);
+        CountDownLatch storageEntered = new CountDownLatch(1);
+        IOrderStorage blockedStorage = new RecordingOrderStorage(storedOrders) {
+            @Override
+            public void storeOrders(List<Order> newOrders) {
+                storageEntered.countDown();
+                try {
+                    storageReleased.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                super.storeOrders(newOrders);
+            }
+        };
+        PipelinedOrderController controller = new PipelinedOrderController(orderService, blockedStorage,
+                loyaltyIndex, new StubPaymentService(), TestableReceiptPresenter::new, 4);
+        List<CompletableFuture<Order>> futures = Collections.synchronizedList(new ArrayList<>());
+        futures.add(controller.submitOrder("anna", twoCoffees));
+        assertTrue(storageEntered.await(5, TimeUnit.SECONDS));
+
+        // With the first order held in the storage, the three queues in front of it hold 4 orders each and the
+        // payment and pricing workers one more each, so the 15th of the following submissions has to wait
+        Thread submitter = new Thread(() -> {
+            for (int i = 0; i < 15; i++) {
+                futures.add(controller.submitOrder("anna", twoCoffees));
+            }
+        });
+        submitter.start();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while ((controller.getQueueDepth(Stage.PERSISTENCE) < 4 || controller.getQueueDepth(Stage.PAYMENT) < 4
+                || controller.getQueueDepth(Stage.PRICING) < 4) && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+        assertEquals(4, controller.getQueueDepth(Stage.PERSISTENCE));
+        assertEquals(4, controller.getQueueDepth(Stage.PAYMENT));
+        assertEquals(4, controller.getQueueDepth(Stage.PRICING));
+        submitter.join(100);
+        assertTrue(submitter.isAlive(), "The last submission should wait for a free slot");
+        assertTrue(storedOrders.isEmpty());
+
+        storageReleased.countDown();
+        submitter.join(5_000);
+        controller.close();
+        assertEquals(16, futures.size());
+        for (CompletableFuture<Order> future : futures) {
+            assertTrue(future.isDone() && !future.isCompletedExceptionally());
+        }
+        assertEquals(16, storedOrders.size());
+        assertEquals(0, controller.getQueueDepth(Stage.RECEIPT));
+        assertEquals(16, controller.getProcessedCount(Stage.RECEIPT));
+    }
+
+    /**
+     * Verifies that a failure in a stage completes the future of the order exceptionally, skips the later
+     * stages of that order and leaves the other orders unaffected.
+     */
+    @Test
+    void testProcessOrder_StageFailure() throws IOException {
+        try (PipelinedOrderController controller = new PipelinedOrderController(orderService,
+                new RecordingOrderStorage(storedOrders), loyaltyIndex, order -> {
+            if (order.getProductCount() == 1) {
+                throw new IllegalArgumentException("Card declined");
+            }
+            order.setStatus(OrderStatus.PAID);
+        }, TestableReceiptPresenter::new)) {
+            CompletableFuture<Order> declined = controller.submitOrder("anna", List.of(ProductCatalog.orangeJuice(OrangeJuiceSize.SMALL)));
+            IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                    () -> controller.processOrder("anna", List.of(ProductCatalog.orangeJuice(OrangeJuiceSize.SMALL))));
+            assertEquals("Card declined", e.getMessage());
+            controller.processOrder("anna", twoCoffees);
+
+            assertTrue(declined.isCompletedExceptionally());
+            assertEquals(1, storedOrders.size());
+            assertEquals(2, loyaltyIndex.getBeverageCount("anna"), "Declined beverages should not be counted.");
+            assertEquals(3, controller.getProcessedCount(Stage.PAYMENT));
+            assertEquals(1, controller.getProcessedCount(Stage.RECEIPT));
+        }
+    }
+
+    /**
+     * Verifies that a storage failing with a runtime exception completes the futures of the batch exceptionally,
+     * releases their loyalty claims and leaves the persistence worker running for the following orders.
+     */
+    @Test
+    void testProcessOrder_StorageRuntimeFailure() throws Exception {
+        AtomicBoolean storageClosed = new AtomicBoolean(true);
+        IOrderStorage closingStorage = new RecordingOrderStorage(storedOrders) {
+            @Override
+            public void storeOrders(List<Order> newOrders) {
+                if (storageClosed.get()) {
+                    throw new IllegalStateException("Storage is closed");
+                }
+                super.storeOrders(newOrders);
+            }
+        };
+        try (PipelinedOrderController controller = new PipelinedOrderController(orderService, closingStorage,
+                loyaltyIndex, new StubPaymentService(), TestableReceiptPresenter::new)) {
+            CompletableFuture<Order> failed = controller.submitOrder("anna", twoCoffees);
+
+            ExecutionException e = assertThrows(ExecutionException.class, () -> failed.get(5, TimeUnit.SECONDS));
+            assertTrue(e.getCause() instanceof IllegalStateException);
+            assertEquals(0, loyaltyIndex.getBeverageCount("anna"), "Beverages of an unstored order should not be counted.");
+
+            storageClosed.set(false);
+            Order order = controller.submitOrder("anna", twoCoffees).get(5, TimeUnit.SECONDS);
+
+            assertEquals(OrderStatus.PAID, order.getStatus());
+            assertEquals(List.of(order), storedOrders);
+            assertEquals(2, loyaltyIndex.getBeverageCount("anna"));
+            assertEquals(2, controller.getProcessedCount(Stage.PERSISTENCE));
+        }
+    }
+
+    /**
+     * Verifies that the orders reaching an interrupted stage complete exceptionally instead of leaving their callers
+     * waiting, and that their loyalty claims are released.
+     */
+    @Test
+    void testSubmitOrder_InterruptedStage() throws Exception {
+        AtomicReference<Thread> paymentWorker = new AtomicReference<>();
+        StubPaymentService paymentService = new StubPaymentService() {
+            @Override
+            public void processPayment(Order order) {
+                paymentWorker.compareAndSet(null, Thread.currentThread());
+                super.processPayment(order);
+            }
+        };
+        try (PipelinedOrderController controller = new PipelinedOrderController(orderService,
+                new RecordingOrderStorage(storedOrders), loyaltyIndex, paymentService, TestableReceiptPresenter::new)) {
+            controller.submitOrder("anna", twoCoffees).get(5, TimeUnit.SECONDS);
+            paymentWorker.get().interrupt();
+
+            CompletableFuture<Order> stranded = controller.submitOrder("ben", twoCoffees);
+
+            ExecutionException e = assertThrows(ExecutionException.class, () -> stranded.get(5, TimeUnit.SECONDS));
+            assertTrue(e.getCause() instanceof InterruptedException);
+            assertEquals(0, loyaltyIndex.getBeverageCount("ben"), "Beverages of a failed order should not be counted.");
+            assertEquals(1, storedOrders.size());
+        }
+    }
+
+    /**
+     * Verifies that a closed pipeline rejects new orders.
+     */
+    @Test
+    void testSubmitOrder_Closed() throws IOException {
+        PipelinedOrderController controller = new PipelinedOrderController(orderService,
+                new RecordingOrderStorage(storedOrders), loyaltyIndex, new StubPaymentService(), TestableReceiptPresenter::new);
+        controller.close();
+
+        assertThrows(IllegalStateException.class, () -> controller.submitOrder("anna", twoCoffees));
+        assertThrows(IllegalArgumentException.class, () -> controller.submitOrder(null, twoCoffees));
+    }
+}
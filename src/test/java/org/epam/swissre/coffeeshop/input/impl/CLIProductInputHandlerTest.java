@@ -4,6 +4,7 @@ import org.epam.swissre.coffeeshop.enums.CoffeeSize;
 import org.epam.swissre.coffeeshop.input.ProductInput;
 import org.epam.swissre.coffeeshop.model.Coffee;
 import org.epam.swissre.coffeeshop.model.Product;
+import org.epam.swissre.coffeeshop.model.ProductCatalog;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -44,6 +45,7 @@ public class CLIProductInputHandlerTest {
 
         Product expectedProduct = new Coffee(CoffeeSize.SMALL);
         assertTrue(productInput.getProducts().contains(expectedProduct), "Small coffee should be added to the order.");
+        assertSame(ProductCatalog.coffee(CoffeeSize.SMALL), productInput.getProducts().get(1), "Selection should use the shared catalog instance.");
     }
 
     /**
@@ -16,8 +16,8 @@ public class SimpleProductInputTest {
     private SimpleProductInput productInput;
 
     static class TestProduct extends Product {
-        public TestProduct(String name, double price) {
-            super(name, price);
+        public TestProduct(String name, long priceInCents) {
+            super(name, priceInCents);
         }
     }
 
@@ -28,7 +28,7 @@ public class SimpleProductInputTest {
 
     @Test
     void whenAddProduct_thenProductIsAdded() {
-        Product product = new TestProduct("Coffee", 2.50);
+        Product product = new TestProduct("Coffee", 250);
         productInput.addProduct(product);
         assertEquals(1, productInput.getProducts().size(), "Product list should have one product added.");
     }
@@ -41,7 +41,7 @@ public class SimpleProductInputTest {
 
     @Test
     void whenGetProducts_thenReturnsCopyOfList() {
-        Product product = new TestProduct("Orange Juice", 1.50);
+        Product product = new TestProduct("Orange Juice", 150);
         productInput.addProduct(product);
         List<Product> retrievedProducts = productInput.getProducts();
         assertNotSame(productInput.getProducts(), retrievedProducts,
@@ -70,7 +70,7 @@ public class SimpleProductInputTest {
     @Test
     void whenAddProductAfterConfirm_thenReadyToPayResets() {
         // Set up initial confirmed order
-        Product initialProduct = new TestProduct("Espresso", 2.00);
+        Product initialProduct = new TestProduct("Espresso", 200);
         productInput.addProduct(initialProduct);
         productInput.setReadyToPay(true);
 
@@ -78,7 +78,7 @@ public class SimpleProductInputTest {
         assertTrue(productInput.isReadyToPay(), "Order should be initially set to ready to pay.");
 
         // Add another product
-        Product additionalProduct = new TestProduct("Latte", 3.50);
+        Product additionalProduct = new TestProduct("Latte", 350);
         productInput.addProduct(additionalProduct);
 
         // Check if ready to pay has been reset
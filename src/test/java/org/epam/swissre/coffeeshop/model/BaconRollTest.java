@@ -18,6 +18,6 @@ public class BaconRollTest {
         BaconRoll baconRoll = new BaconRoll(BaconRollSize.STANDARD);
         assertNotNull(baconRoll, "BaconRoll should be created");
         assertEquals(BaconRollSize.STANDARD.getDisplayName(), baconRoll.getName(), "BaconRoll name should match the size display name");
-        assertEquals(BaconRollSize.STANDARD.getPriceInCHF(), baconRoll.getPrice(), "BaconRoll price should match the size price in CHF");
+        assertEquals(BaconRollSize.STANDARD.getPriceInCents(), baconRoll.getPriceInCents(), "BaconRoll price should match the size price in CHF");
     }
 }
\ No newline at end of file
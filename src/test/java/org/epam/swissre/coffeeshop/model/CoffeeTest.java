@@ -17,6 +17,6 @@ public class CoffeeTest {
         Coffee coffee = new Coffee(CoffeeSize.SMALL);
         assertNotNull(coffee, "Coffee should be created");
         assertEquals("Small coffee", coffee.getName(), "Coffee name should be 'Small coffee'");
-        assertEquals(2.55, coffee.getPrice(), "Coffee price for small size should be 2.50 CHF");
+        assertEquals(255, coffee.getPriceInCents(), "Coffee price for small size should be 2.55 CHF");
     }
 }
@@ -17,6 +17,6 @@ public class ExtraItemTest {
         ExtraItem extra = new ExtraItem(ExtraOption.EXTRA_MILK);
         assertNotNull(extra, "ExtraItem should be created");
         assertEquals("Extra milk", extra.getName(), "Extra item name should be 'Extra milk'");
-        assertEquals(0.32, extra.getPrice(), "Extra milk price should be 0.30 CHF");
+        assertEquals(32, extra.getPriceInCents(), "Extra milk price should be 0.32 CHF");
     }
 }
\ No newline at end of file
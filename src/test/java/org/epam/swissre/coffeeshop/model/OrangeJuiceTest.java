@@ -18,7 +18,7 @@ public class OrangeJuiceTest {
             OrangeJuice orangeJuice = new OrangeJuice(size);
             assertNotNull(orangeJuice, "Orange Juice should not be null");
             assertEquals(size.getDisplayName(), orangeJuice.getName(), "Orange Juice name should match the size's display name");
-            assertEquals(size.getPriceInCHF(), orangeJuice.getPrice(), "Orange Juice price should be equal to the size's price in CHF");
+            assertEquals(size.getPriceInCents(), orangeJuice.getPriceInCents(), "Orange Juice price should be equal to the size's price in CHF");
         }
     }
 }
\ No newline at end of file
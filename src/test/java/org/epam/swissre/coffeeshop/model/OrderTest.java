@@ -7,6 +7,7 @@ import org.epam.swissre.coffeeshop.enums.OrderStatus;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import java.util.ArrayList;
+import java.util.List;
 import static org.junit.jupiter.api.Assertions.*;
 
 /**
@@ -51,12 +52,12 @@ public class OrderTest {
      */
     @Test
     public void testSettingTotalCostAndApplyingDiscount() {
-        order.setTotalCost(20.0);
-        assertEquals(20.0, order.getTotalCost(), "Total cost should be set to 20.0");
+        order.setTotalCostInCents(2000);
+        assertEquals(2000, order.getTotalCostInCents(), "Total cost should be set to 20.00");
 
-        order.applyDiscount(5.0);
-        assertEquals(15.0, order.getTotalCost(), "Total cost should be reduced to 15.0 after applying 5.0 discount");
-        assertEquals(5.0, order.getTotalDiscount(), "Total discount should be recorded as 5.0");
+        order.applyDiscount(500);
+        assertEquals(1500, order.getTotalCostInCents(), "Total cost should be reduced to 15.00 after applying 5.00 discount");
+        assertEquals(500, order.getTotalDiscountInCents(), "Total discount should be recorded as 5.00");
     }
 
     /**
@@ -64,7 +65,7 @@ public class OrderTest {
      */
     @Test
     public void testApplyingNegativeDiscount() {
-        Exception exception = assertThrows(IllegalArgumentException.class, () -> order.applyDiscount(-5.0));
+        Exception exception = assertThrows(IllegalArgumentException.class, () -> order.applyDiscount(-500));
         assertTrue(exception.getMessage().contains("Discount cannot be negative"), "Negative discount should throw IllegalArgumentException");
     }
 
@@ -95,19 +96,29 @@ public class OrderTest {
         order.addProduct(newProduct);
         assertNotNull(order.getProducts(), "Products list should not be null");
         assertEquals(3, order.getProducts().size(), "Should contain three products after addition");
-        double expectedTotal = 6.42;
-        assertEquals(expectedTotal, order.getTotalCost(), "Total cost should be recalculated correctly.");
+        long expectedTotal = 642;
+        assertEquals(expectedTotal, order.getTotalCostInCents(), "Total cost should be recalculated correctly.");
     }
 
     /**
-     * Test that setting a null list of already paid products throws IllegalArgumentException.
+     * Test that setting a negative already paid beverage count throws IllegalArgumentException.
      */
     @Test
-    public void testSettingNullAlreadyPaidProducts() {
+    public void testSettingNegativeAlreadyPaidBeverageCount() {
         Exception exception = assertThrows(IllegalArgumentException.class, () -> {
-            order.setAlreadyPaidProducts(null);
+            order.setAlreadyPaidBeverageCount(-1);
         });
-        assertTrue(exception.getMessage().contains("Product list cannot be null"), "Null list of already paid products should throw IllegalArgumentException.");
+        assertTrue(exception.getMessage().contains("Beverage count cannot be negative"), "Negative beverage count should throw IllegalArgumentException.");
+    }
+
+    /**
+     * Test setting the already paid beverage count.
+     */
+    @Test
+    public void testSettingAlreadyPaidBeverageCount() {
+        assertEquals(0, order.getAlreadyPaidBeverageCount(), "New order should start without already paid beverages");
+        order.setAlreadyPaidBeverageCount(7);
+        assertEquals(7, order.getAlreadyPaidBeverageCount(), "Already paid beverage count should be updated");
     }
 
     /**
@@ -128,7 +139,47 @@ public class OrderTest {
     public void testRecalculateTotalCost_WithMultipleProducts() {
         Product product3 = new Coffee(CoffeeSize.MEDIUM);
         order.addProduct(product3);
-        double expectedTotalCost = 6.92;
-        assertEquals(expectedTotalCost, order.getTotalCost(), "Total cost should be recalculated correctly with multiple products.");
+        long expectedTotalCost = 692;
+        assertEquals(expectedTotalCost, order.getTotalCostInCents(), "Total cost should be recalculated correctly with multiple products.");
+    }
+
+    /**
+     * Test that the products are exposed as a read-only view reflecting later additions.
+     */
+    @Test
+    public void testGetProducts_ReadOnlyView() {
+        List<Product> products = order.getProducts();
+        assertThrows(UnsupportedOperationException.class, () -> products.add(new Coffee(CoffeeSize.SMALL)));
+
+        order.addProduct(new Coffee(CoffeeSize.SMALL));
+        assertEquals(3, products.size(), "The view should reflect added products");
+        assertSame(products, order.getProducts(), "The view should not be recreated on every call");
+    }
+
+    /**
+     * Test the indexed access to the products.
+     */
+    @Test
+    public void testIndexedProductAccess() {
+        assertEquals(2, order.getProductCount());
+        assertEquals(new Coffee(CoffeeSize.LARGE), order.getProduct(0));
+        assertEquals(new ExtraItem(ExtraOption.EXTRA_MILK), order.getProduct(1));
+        assertThrows(IndexOutOfBoundsException.class, () -> order.getProduct(2));
+    }
+
+    /**
+     * Test that the running subtotal and beverage count are maintained independently of discounts.
+     */
+    @Test
+    public void testRunningTotals() {
+        assertEquals(387, order.getSubtotalInCents());
+        assertEquals(1, order.getBeverageCount());
+
+        order.applyDiscount(32);
+        order.addProduct(new Coffee(CoffeeSize.SMALL));
+
+        assertEquals(642, order.getSubtotalInCents(), "Subtotal should not include the discount");
+        assertEquals(610, order.getTotalCostInCents(), "Total cost should keep the discount");
+        assertEquals(2, order.getBeverageCount());
     }
-}
\ No newline at end of file
+}
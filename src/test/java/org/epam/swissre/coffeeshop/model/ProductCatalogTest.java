@@ -0,0 +1,43 @@
+package org.epam.swissre.coffeeshop.model;
+
+import org.epam.swissre.coffeeshop.enums.BaconRollSize;
+import org.epam.swissre.coffeeshop.enums.CoffeeSize;
+import org.epam.swissre.coffeeshop.enums.ExtraOption;
+import org.epam.swissre.coffeeshop.enums.OrangeJuiceSize;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for {@link ProductCatalog}.
+ */
+public class ProductCatalogTest {
+
+    /**
+     * Test that every menu item has one shared instance whose SKU resolves back to it.
+     */
+    @Test
+    public void testSharedInstances() {
+        assertEquals(CoffeeSize.values().length + OrangeJuiceSize.values().length
+                + BaconRollSize.values().length + ExtraOption.values().length, ProductCatalog.size());
+        for (int sku = 0; sku < ProductCatalog.size(); sku++) {
+            assertEquals(sku, ProductCatalog.skuOf(ProductCatalog.get(sku)), "SKU should resolve back to the product");
+        }
+        assertSame(ProductCatalog.coffee(CoffeeSize.LARGE), ProductCatalog.coffee(CoffeeSize.LARGE));
+        assertEquals(new BaconRoll(BaconRollSize.STANDARD), ProductCatalog.baconRoll(BaconRollSize.STANDARD));
+        assertEquals("Foamed milk", ProductCatalog.extra(ExtraOption.FOAMED_MILK).getName());
+        assertEquals(395, ProductCatalog.orangeJuice(OrangeJuiceSize.SMALL).getPriceInCents());
+    }
+
+    /**
+     * Test that products outside the menu have no SKU and unknown SKUs are rejected.
+     */
+    @Test
+    public void testUnknownProducts() {
+        Product cheapCoffee = new Product("Small coffee", 100) {
+        };
+        assertEquals(ProductCatalog.UNKNOWN_SKU, ProductCatalog.skuOf(cheapCoffee), "A different price should not resolve to the menu item");
+        assertEquals(0, ProductCatalog.skuOf(new Coffee(CoffeeSize.SMALL)), "An equal product should resolve to the menu item");
+        assertThrows(IllegalArgumentException.class, () -> ProductCatalog.get(ProductCatalog.size()));
+        assertThrows(IllegalArgumentException.class, () -> ProductCatalog.get(ProductCatalog.UNKNOWN_SKU));
+    }
+}
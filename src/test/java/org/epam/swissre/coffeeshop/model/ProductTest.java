@@ -1,5 +1,7 @@
 package org.epam.swissre.coffeeshop.model;
 
+import org.epam.swissre.coffeeshop.enums.CoffeeSize;
+import org.epam.swissre.coffeeshop.enums.ProductKind;
 import org.junit.jupiter.api.Test;
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -9,8 +11,8 @@ import static org.junit.jupiter.api.Assertions.*;
 public class ProductTest {
 
     static class TestProduct extends Product {
-        public TestProduct(String name, double price) {
-            super(name, price);
+        public TestProduct(String name, long priceInCents) {
+            super(name, priceInCents);
         }
     }
 
@@ -19,10 +21,22 @@ public class ProductTest {
      */
     @Test
     public void testProductCreation_ValidInput() {
-        Product product = new TestProduct("Coffee", 2.99);
+        Product product = new TestProduct("Coffee", 299);
         assertNotNull(product, "Product should be created");
         assertEquals("Coffee", product.getName(), "Product name should match");
-        assertEquals(2.99, product.getPrice(), "Product price should match");
+        assertEquals(299, product.getPriceInCents(), "Product price should match");
+    }
+
+    /**
+     * Test that the product kinds are derived from the product class.
+     */
+    @Test
+    public void testKinds() {
+        Product coffee = new Coffee(CoffeeSize.SMALL);
+        assertTrue(coffee.isKind(ProductKind.BEVERAGE), "Coffee should be a beverage");
+        assertTrue(coffee.isKind(ProductKind.COFFEE), "Coffee should be a coffee");
+        assertFalse(coffee.isKind(ProductKind.SNACK), "Coffee should not be a snack");
+        assertEquals(0, new TestProduct("Coffee", 299).getKindMask(), "Plain product should have no kinds");
     }
 
     /**
@@ -30,7 +44,7 @@ public class ProductTest {
      */
     @Test
     public void testProductCreation_NullName() {
-        Exception exception = assertThrows(IllegalArgumentException.class, () -> new TestProduct(null, 2.99));
+        Exception exception = assertThrows(IllegalArgumentException.class, () -> new TestProduct(null, 299));
         assertTrue(exception.getMessage().contains("Product name cannot be null or empty"));
     }
 
@@ -39,7 +53,7 @@ public class ProductTest {
      */
     @Test
     public void testProductCreation_NegativePrice() {
-        Exception exception = assertThrows(IllegalArgumentException.class, () -> new TestProduct("Coffee", -1.00));
+        Exception exception = assertThrows(IllegalArgumentException.class, () -> new TestProduct("Coffee", -100));
         assertTrue(exception.getMessage().contains("Product price cannot be negative"));
     }
 
@@ -48,8 +62,8 @@ public class ProductTest {
      */
     @Test
     public void testEquality_SameNameAndPrice() {
-        Product product1 = new TestProduct("Coffee", 2.99);
-        Product product2 = new TestProduct("Coffee", 2.99);
+        Product product1 = new TestProduct("Coffee", 299);
+        Product product2 = new TestProduct("Coffee", 299);
         assertTrue(product1.equals(product2), "Identical products should be equal");
         assertEquals(product1.hashCode(), product2.hashCode(), "Hashcodes should be identical for equal objects");
     }
@@ -59,8 +73,8 @@ public class ProductTest {
      */
     @Test
     public void testEquality_DifferentNames() {
-        Product product1 = new TestProduct("Small coffee", 2.99);
-        Product product2 = new TestProduct("Large coffee", 2.99);
+        Product product1 = new TestProduct("Small coffee", 299);
+        Product product2 = new TestProduct("Large coffee", 299);
         assertFalse(product1.equals(product2), "Products with different names should not be equal");
     }
 
@@ -69,8 +83,8 @@ public class ProductTest {
      */
     @Test
     public void testEquality_DifferentPrices() {
-        Product product1 = new TestProduct("Coffee", 2.99);
-        Product product2 = new TestProduct("Coffee", 3.99);
+        Product product1 = new TestProduct("Coffee", 299);
+        Product product2 = new TestProduct("Coffee", 399);
         assertFalse(product1.equals(product2), "Products with different prices should not be equal");
     }
 
@@ -79,7 +93,7 @@ public class ProductTest {
      */
     @Test
     public void testEquality_Null() {
-        Product product = new TestProduct("Coffee", 2.99);
+        Product product = new TestProduct("Coffee", 299);
         assertFalse(product.equals(null), "Product should not be equal to null");
     }
 
@@ -88,7 +102,7 @@ public class ProductTest {
      */
     @Test
     public void testEquality_DifferentClass() {
-        Product product = new TestProduct("Coffee", 2.99);
+        Product product = new TestProduct("Coffee", 299);
         Object otherObject = new Object();
         assertFalse(product.equals(otherObject), "Product should not be equal to an object of a different type");
     }
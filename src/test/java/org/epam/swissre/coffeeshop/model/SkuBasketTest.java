@@ -0,0 +1,103 @@
+package org.epam.swissre.coffeeshop.model;
+
+import org.epam.swissre.coffeeshop.enums.BaconRollSize;
+import org.epam.swissre.coffeeshop.enums.CoffeeSize;
+import org.epam.swissre.coffeeshop.enums.OrangeJuiceSize;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for {@link SkuBasket}.
+ */
+public class SkuBasketTest {
+
+    static class TestProduct extends Product {
+        public TestProduct(String name, long priceInCents) {
+            super(name, priceInCents);
+        }
+    }
+
+    /**
+     * Test that menu products are stored by SKU and read back as the shared catalog instances,
+     * while other products are kept as they are.
+     */
+    @Test
+    public void testAddAndGet() {
+        SkuBasket basket = new SkuBasket(1);
+        Product iceTea = new TestProduct("Ice tea", 420);
+        basket.add(new Coffee(CoffeeSize.SMALL));
+        basket.add(iceTea);
+        basket.addSku(ProductCatalog.skuOf(ProductCatalog.baconRoll(BaconRollSize.STANDARD)));
+
+        assertEquals(3, basket.size());
+        assertSame(ProductCatalog.coffee(CoffeeSize.SMALL), basket.get(0), "Menu product should resolve to the catalog instance");
+        assertSame(iceTea, basket.get(1));
+        assertEquals(ProductCatalog.UNKNOWN_SKU, basket.getSku(1));
+        assertEquals(453, basket.getPriceInCents(2));
+        assertEquals(List.of(new Coffee(CoffeeSize.SMALL), iceTea, new BaconRoll(BaconRollSize.STANDARD)), basket);
+    }
+
+    /**
+     * Test that an order backed by a basket keeps its running totals and product view.
+     */
+    @Test
+    public void testOrderBackedByBasket() {
+        Order order = new Order(new SkuBasket());
+        for (int i = 0; i < 10; i++) {
+            order.addProduct(ProductCatalog.orangeJuice(OrangeJuiceSize.SMALL));
+        }
+        order.addProduct(new TestProduct("Ice tea", 420));
+
+        assertEquals(11, order.getProducts().size());
+        assertEquals(10 * 395 + 420, order.getSubtotalInCents());
+        assertEquals(10, order.getBeverageCount());
+        assertThrows(UnsupportedOperationException.class, () -> order.getProducts().add(new TestProduct("Latte", 300)));
+    }
+
+    /**
+     * Test that invalid products, SKUs and positions are rejected.
+     */
+    @Test
+    public void testInvalidInput() {
+        SkuBasket basket = new SkuBasket();
+        basket.add(ProductCatalog.coffee(CoffeeSize.LARGE));
+        basket.trimToSize();
+
+        assertThrows(IllegalArgumentException.class, () -> basket.add(null));
+        assertThrows(IllegalArgumentException.class, () -> basket.addSku(ProductCatalog.size()));
+        assertThrows(IndexOutOfBoundsException.class, () -> basket.get(1));
+        assertThrows(IllegalArgumentException.class, () -> new SkuBasket(-1));
+    }
+
+    /**
+     * Test that an order backed by a basket of menu products survives serialization, with the products resolved
+     * to the catalog instances again.
+     */
+    @Test
+    public void testSerializableOrder() throws Exception {
+        SkuBasket basket = new SkuBasket();
+        basket.addSku(ProductCatalog.skuOf(ProductCatalog.coffee(CoffeeSize.LARGE)));
+        basket.add(ProductCatalog.orangeJuice(OrangeJuiceSize.SMALL));
+        Order order = new Order(basket);
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(order);
+        }
+        Order restored;
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            restored = (Order) in.readObject();
+        }
+
+        assertEquals(2, restored.getProductCount());
+        assertSame(ProductCatalog.coffee(CoffeeSize.LARGE), restored.getProducts().get(0));
+        assertSame(ProductCatalog.orangeJuice(OrangeJuiceSize.SMALL), restored.getProducts().get(1));
+    }
+}
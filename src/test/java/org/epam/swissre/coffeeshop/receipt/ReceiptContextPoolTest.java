@@ -0,0 +1,48 @@
+package org.epam.swissre.coffeeshop.receipt;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link ReceiptContextPool}.
+ */
+public class ReceiptContextPoolTest {
+
+    /**
+     * Test that a released context is reset and handed out again.
+     */
+    @Test
+    public void testAcquire_ReusesReleasedContext() {
+        ReceiptContextPool pool = new ReceiptContextPool(2);
+        ReceiptContext context = pool.acquire();
+        context.addRow("Small coffee", 255);
+        context.setTotalCostInCents(255);
+
+        pool.release(context);
+
+        ReceiptContext reused = pool.acquire();
+        assertSame(context, reused);
+        assertEquals(0, reused.getRowCount());
+        assertEquals(0, reused.getTotalCostInCents());
+    }
+
+    /**
+     * Test that the pool keeps at most its maximum of idle contexts.
+     */
+    @Test
+    public void testRelease_Bounded() {
+        ReceiptContextPool pool = new ReceiptContextPool(2);
+        ReceiptContext first = pool.acquire();
+        ReceiptContext second = pool.acquire();
+        ReceiptContext third = pool.acquire();
+
+        pool.release(first);
+        pool.release(second);
+        pool.release(third);
+        pool.release(null);
+
+        assertEquals(2, pool.getPooledCount());
+        assertThrows(IllegalArgumentException.class, () -> new ReceiptContextPool(0));
+    }
+}
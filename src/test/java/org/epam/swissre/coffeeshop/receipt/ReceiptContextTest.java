@@ -0,0 +1,50 @@
+package org.epam.swissre.coffeeshop.receipt;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link ReceiptContext}.
+ */
+public class ReceiptContextTest {
+
+    /**
+     * Test that rows are kept in order beyond the initial capacity and validated like receipt rows.
+     */
+    @Test
+    public void testAddRow() {
+        ReceiptContext context = new ReceiptContext();
+        for (int i = 0; i < ReceiptContext.INITIAL_CAPACITY + 1; i++) {
+            context.addRow("Item " + i, i);
+        }
+
+        assertEquals(ReceiptContext.INITIAL_CAPACITY + 1, context.getRowCount());
+        assertEquals("Item 16", context.getDescription(16));
+        assertEquals(16, context.getPriceInCents(16));
+        assertThrows(IndexOutOfBoundsException.class, () -> context.getDescription(17));
+        assertThrows(IllegalArgumentException.class, () -> context.addRow("", 100));
+        assertThrows(IllegalArgumentException.class, () -> context.addRow("Item", -1));
+    }
+
+    /**
+     * Test that reset clears the rows and totals and shrinks grown arrays back to the initial capacity.
+     */
+    @Test
+    public void testReset() {
+        ReceiptContext context = new ReceiptContext();
+        for (int i = 0; i < 1000; i++) {
+            context.addRow("Large coffee", 395);
+        }
+        context.setTotalCostInCents(395_000);
+        context.setTotalDiscountInCents(395);
+
+        context.reset();
+
+        assertEquals(0, context.getRowCount());
+        assertEquals(0, context.getTotalCostInCents());
+        assertEquals(0, context.getTotalDiscountInCents());
+        assertEquals(ReceiptContext.INITIAL_CAPACITY, context.getCapacity(), "Grown arrays should not be retained");
+        assertThrows(IndexOutOfBoundsException.class, () -> context.getDescription(0));
+    }
+}
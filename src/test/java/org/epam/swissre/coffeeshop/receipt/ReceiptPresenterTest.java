@@ -24,8 +24,8 @@ public class ReceiptPresenterTest {
      */
     @Test
     public void testAddReceiptRow() {
-        ReceiptRow row1 = new ReceiptRow("Item 1", 100.0);
-        ReceiptRow row2 = new ReceiptRow("Item 2", 200.0);
+        ReceiptRow row1 = new ReceiptRow("Item 1", 10000);
+        ReceiptRow row2 = new ReceiptRow("Item 2", 20000);
         List<ReceiptRow> receiptRows = presenter.getReceiptRows();
         presenter.addReceiptRow(row1);
         presenter.addReceiptRow(row2);
@@ -39,8 +39,8 @@ public class ReceiptPresenterTest {
      */
     @Test
     public void testSetTotalCost() {
-        presenter.setTotalCost(250.0);
-        assertEquals(250.0, presenter.getTotalCost(), "Total cost should be set to 250.0.");
+        presenter.setTotalCostInCents(25000);
+        assertEquals(25000, presenter.getTotalCostInCents(), "Total cost should be set to 250.00.");
     }
 
     /**
@@ -48,8 +48,29 @@ public class ReceiptPresenterTest {
      */
     @Test
     public void testSetTotalDiscount() {
-        presenter.setTotalDiscount(50.0);
-        assertEquals(50.0, presenter.getTotalDiscount(), "Total discount should be set to 50.0.");
+        presenter.setTotalDiscountInCents(5000);
+        assertEquals(5000, presenter.getTotalDiscountInCents(), "Total discount should be set to 50.00.");
+    }
+
+    /**
+     * Tests that a receipt context is presented with the rows of the context only, which are cleared afterwards,
+     * so consecutive receipts of one presenter do not accumulate rows.
+     */
+    @Test
+    public void testPresentReceipt_Context() {
+        RecordingReceiptPresenter recording = new RecordingReceiptPresenter();
+        for (int order = 1; order <= 3; order++) {
+            ReceiptContext context = new ReceiptContext();
+            context.addRow("Item " + order, 100L * order);
+            context.setTotalCostInCents(100L * order);
+
+            recording.presentReceipt(context);
+
+            assertEquals(1, recording.presentedRowCount, "Only the rows of the current order should be presented.");
+            assertEquals(100L * order, recording.presentedTotalCost);
+            assertTrue(recording.getReceiptRows().isEmpty(), "Rows should be cleared after presenting.");
+            assertEquals(0, recording.getTotalCostInCents());
+        }
     }
 
     /**
@@ -62,4 +83,18 @@ public class ReceiptPresenterTest {
             // No implementation is needed as we're only testing non-abstract methods here.
         }
     }
+
+    /**
+     * Presenter recording the rows and total cost of the last presented receipt.
+     */
+    private static class RecordingReceiptPresenter extends ReceiptPresenter {
+        private int presentedRowCount;
+        private long presentedTotalCost;
+
+        @Override
+        public void presentReceipt() {
+            presentedRowCount = getReceiptRows().size();
+            presentedTotalCost = getTotalCostInCents();
+        }
+    }
 }
\ No newline at end of file
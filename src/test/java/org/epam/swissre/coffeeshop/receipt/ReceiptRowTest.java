@@ -15,11 +15,11 @@ public class ReceiptRowTest {
     @Test
     public void testConstructor_validInput() {
         String description = "Coffee";
-        double price = 3.50;
-        ReceiptRow row = new ReceiptRow(description, price);
+        long priceInCents = 350;
+        ReceiptRow row = new ReceiptRow(description, priceInCents);
         assertNotNull(row, "ReceiptRow should be properly created with valid input.");
         assertEquals(description, row.getDescription(), "Description should be set correctly.");
-        assertEquals(price, row.getPrice(), "Price should be set correctly.");
+        assertEquals(priceInCents, row.getPriceInCents(), "Price should be set correctly.");
     }
 
     /**
@@ -27,7 +27,7 @@ public class ReceiptRowTest {
      */
     @Test
     public void testConstructor_nullDescription() {
-        assertThrows(IllegalArgumentException.class, () -> new ReceiptRow(null, 3.50),
+        assertThrows(IllegalArgumentException.class, () -> new ReceiptRow(null, 350),
                 "Constructor should throw IllegalArgumentException for null description.");
     }
 
@@ -36,7 +36,7 @@ public class ReceiptRowTest {
      */
     @Test
     public void testConstructor_emptyDescription() {
-        assertThrows(IllegalArgumentException.class, () -> new ReceiptRow("", 3.50),
+        assertThrows(IllegalArgumentException.class, () -> new ReceiptRow("", 350),
                 "Constructor should throw IllegalArgumentException for empty description.");
     }
 
@@ -45,7 +45,7 @@ public class ReceiptRowTest {
      */
     @Test
     public void testConstructor_negativePrice() {
-        assertThrows(IllegalArgumentException.class, () -> new ReceiptRow("Coffee Latte", -1.0),
+        assertThrows(IllegalArgumentException.class, () -> new ReceiptRow("Coffee Latte", -100),
                 "Constructor should throw IllegalArgumentException for negative price.");
     }
 
@@ -54,20 +54,20 @@ public class ReceiptRowTest {
      */
     @Test
     public void testSetDescription_validInput() {
-        ReceiptRow row = new ReceiptRow("Coffee", 2.00);
+        ReceiptRow row = new ReceiptRow("Coffee", 200);
         String newDescription = "Small";
         row.setDescription(newDescription);
         assertEquals(newDescription, row.getDescription(), "Description should be updated correctly.");
     }
 
     /**
-     * Tests the setPrice method with a valid input.
+     * Tests the setPriceInCents method with a valid input.
      */
     @Test
     public void testSetPrice_validInput() {
-        ReceiptRow row = new ReceiptRow("Coffee", 2.00);
-        double newPrice = 2.50;
-        row.setPrice(newPrice);
-        assertEquals(newPrice, row.getPrice(), "Price should be updated correctly.");
+        ReceiptRow row = new ReceiptRow("Coffee", 200);
+        long newPriceInCents = 250;
+        row.setPriceInCents(newPriceInCents);
+        assertEquals(newPriceInCents, row.getPriceInCents(), "Price should be updated correctly.");
     }
 }
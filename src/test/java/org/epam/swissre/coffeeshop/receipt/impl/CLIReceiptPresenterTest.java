@@ -0,0 +1,109 @@
+package org.epam.swissre.coffeeshop.receipt.impl;
+
+import org.epam.swissre.coffeeshop.receipt.ReceiptContext;
+import org.epam.swissre.coffeeshop.receipt.ReceiptRow;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for {@link CLIReceiptPresenter}.
+ */
+public class CLIReceiptPresenterTest {
+
+    /**
+     * Test that the receipt is rendered line by line as before, but emitted with one write.
+     */
+    @Test
+    public void testPresentReceipt_SingleWrite() {
+        CountingOutputStream out = new CountingOutputStream();
+        CLIReceiptPresenter presenter = new CLIReceiptPresenter(out, StandardCharsets.UTF_8);
+        presenter.addReceiptRow(new ReceiptRow("Small coffee", 255));
+        presenter.addReceiptRow(new ReceiptRow("Café crème", 1050));
+        presenter.setTotalCostInCents(1050);
+        presenter.setTotalDiscountInCents(255);
+
+        presenter.presentReceipt();
+
+        String nl = System.lineSeparator();
+        String receipt = out.toString(StandardCharsets.UTF_8);
+        assertEquals(1, out.writes, "The receipt should be written at once");
+        assertEquals(1, out.flushes);
+        assertTrue(receipt.startsWith("\n=== Coffee Shop Receipt ===" + nl + "Date:"));
+        assertTrue(receipt.contains(nl + "\nItems:" + nl
+                + "1. Small coffee...........................CHF 2.55" + nl
+                + "2. Café crème............................CHF 10.50" + nl
+                + "\nTotal cost: CHF 10.50\nTotal discount: CHF 2.55\n"
+                + "\n=== Thank You for Visiting! ===" + nl), receipt);
+        assertTrue(receipt.endsWith("=== END of Receipt ===" + nl));
+    }
+
+    /**
+     * Test that the reused buffer does not carry over the content of a previous, longer receipt.
+     */
+    @Test
+    public void testPresentReceipt_ReusedBuffer() {
+        CLIReceiptPresenter longReceipt = new CLIReceiptPresenter(new ByteArrayOutputStream(), StandardCharsets.UTF_8);
+        for (int i = 0; i < 100; i++) {
+            longReceipt.addReceiptRow(new ReceiptRow("Large coffee", 395));
+        }
+        longReceipt.presentReceipt();
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        CLIReceiptPresenter shortReceipt = new CLIReceiptPresenter(out, StandardCharsets.UTF_8);
+        shortReceipt.addReceiptRow(new ReceiptRow("Small coffee", 255));
+        shortReceipt.presentReceipt();
+
+        String receipt = out.toString(StandardCharsets.UTF_8);
+        assertTrue(receipt.contains("1. Small coffee"));
+        assertFalse(receipt.contains("Large coffee"));
+        assertFalse(receipt.contains("2. "));
+    }
+
+    /**
+     * Test that receipt contexts are rendered without touching the presenter's rows, so one presenter can serve
+     * consecutive orders without repeating earlier rows.
+     */
+    @Test
+    public void testPresentReceipt_Context() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        CLIReceiptPresenter presenter = new CLIReceiptPresenter(out, StandardCharsets.UTF_8);
+        ReceiptContext first = new ReceiptContext();
+        first.addRow("Large coffee", 395);
+        presenter.presentReceipt(first);
+        out.reset();
+
+        ReceiptContext second = new ReceiptContext();
+        second.addRow("Small coffee", 255);
+        second.setTotalCostInCents(255);
+        presenter.presentReceipt(second);
+
+        String receipt = out.toString(StandardCharsets.UTF_8);
+        assertTrue(receipt.contains("1. Small coffee...........................CHF 2.55"), receipt);
+        assertTrue(receipt.contains("Total cost: CHF 2.55"));
+        assertFalse(receipt.contains("Large coffee"));
+        assertTrue(presenter.getReceiptRows().isEmpty());
+    }
+
+    /**
+     * Stream recording the number of writes and flushes.
+     */
+    private static final class CountingOutputStream extends ByteArrayOutputStream {
+        private int writes;
+        private int flushes;
+
+        @Override
+        public synchronized void write(byte[] b, int off, int len) {
+            writes++;
+            super.write(b, off, len);
+        }
+
+        @Override
+        public void flush() {
+            flushes++;
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package org.epam.swissre.coffeeshop.receipt.impl;
+
+import org.epam.swissre.coffeeshop.enums.CoffeeSize;
+import org.epam.swissre.coffeeshop.model.Order;
+import org.epam.swissre.coffeeshop.model.ProductCatalog;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for {@link EscPosReceiptRenderer}.
+ */
+public class EscPosReceiptRendererTest {
+
+    private final EscPosReceiptRenderer renderer = new EscPosReceiptRenderer();
+
+    /**
+     * Test that the stream initializes the printer, selects PC858, aligns the items to the line width and
+     * ends with a feed and a cut.
+     */
+    @Test
+    public void testRender() {
+        Order order = new Order(List.of(ProductCatalog.coffee(CoffeeSize.SMALL),
+                new JsonReceiptRendererTest.NamedProduct("Café crème €", 1050)));
+        order.setTotalCostInCents(order.getSubtotalInCents());
+
+        byte[] receipt = render(order);
+
+        assertArrayEquals(new byte[]{0x1B, '@', 0x1B, 't', 19}, Arrays.copyOf(receipt, 5));
+        assertArrayEquals(new byte[]{0x1B, 'd', 4, 0x1D, 'V', 1}, Arrays.copyOfRange(receipt, receipt.length - 6, receipt.length));
+        String text = new String(receipt, Charset.forName("IBM00858"));
+        String coffeeLine = "1. Small coffee.........................CHF 2.55\n";
+        String cremeLine = "2. Café crème €........................CHF 10.50\n";
+        assertEquals(EscPosReceiptRenderer.LINE_WIDTH, coffeeLine.length() - 1);
+        assertEquals(EscPosReceiptRenderer.LINE_WIDTH, cremeLine.length() - 1);
+        assertTrue(text.contains(coffeeLine + cremeLine), text);
+        assertTrue(text.contains("Total cost: CHF 13.05"));
+    }
+
+    /**
+     * Test that control characters of descriptions are dropped, so they cannot inject printer commands, and
+     * characters missing in PC858 are printed as "?".
+     */
+    @Test
+    public void testRender_UnsafeDescription() {
+        Order order = new Order(List.of(new JsonReceiptRendererTest.NamedProduct("A\u001B@\u001DV\u0001B中", 100)));
+
+        String text = new String(render(order), StandardCharsets.ISO_8859_1);
+
+        assertTrue(text.contains("1. A@VB?."), text);
+    }
+
+    private byte[] render(Order order) {
+        ByteBuffer buffer = ByteBuffer.allocate(renderer.maxSize(order));
+        renderer.render(order, buffer);
+        return Arrays.copyOf(buffer.array(), buffer.position());
+    }
+}
@@ -0,0 +1,65 @@
+package org.epam.swissre.coffeeshop.receipt.impl;
+
+import org.epam.swissre.coffeeshop.enums.CoffeeSize;
+import org.epam.swissre.coffeeshop.model.Order;
+import org.epam.swissre.coffeeshop.model.Product;
+import org.epam.swissre.coffeeshop.model.ProductCatalog;
+import org.epam.swissre.coffeeshop.util.ByteBufferPool;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for {@link JsonReceiptRenderer}.
+ */
+public class JsonReceiptRendererTest {
+
+    private final JsonReceiptRenderer renderer = new JsonReceiptRenderer();
+
+    /**
+     * Test that the rendered document holds the items and totals, including escaped and non-ASCII descriptions.
+     */
+    @Test
+    public void testRender() {
+        Order order = new Order(List.of(ProductCatalog.coffee(CoffeeSize.SMALL),
+                new NamedProduct("Café \"crème\"\\\n\u0001", 1050)));
+        order.setTotalCostInCents(order.getSubtotalInCents());
+        order.applyDiscount(255);
+
+        ByteBufferPool pool = new ByteBufferPool(1024, 1);
+        ByteBuffer receipt = renderer.render(order, pool);
+
+        assertEquals("{\"items\":[{\"description\":\"Small coffee\",\"priceInCents\":255},"
+                        + "{\"description\":\"Café \\\"crème\\\"\\\\\\n\\u0001\",\"priceInCents\":1050}],"
+                        + "\"totalCostInCents\":1050,\"totalDiscountInCents\":255}",
+                StandardCharsets.UTF_8.decode(receipt).toString());
+        assertTrue(receipt.capacity() >= renderer.maxSize(order));
+    }
+
+    /**
+     * Test that the size bound holds for descriptions consisting of characters which escape to six bytes.
+     */
+    @Test
+    public void testMaxSize_EscapedDescriptions() {
+        Order order = new Order(List.of(new NamedProduct("\u0001".repeat(100), Long.MAX_VALUE)));
+        order.setTotalCostInCents(Long.MIN_VALUE);
+
+        ByteBuffer buffer = ByteBuffer.allocate(renderer.maxSize(order));
+        renderer.render(order, buffer);
+
+        assertTrue(buffer.position() > 600);
+    }
+
+    /**
+     * Product with an arbitrary name.
+     */
+    static class NamedProduct extends Product {
+        NamedProduct(String name, long priceInCents) {
+            super(name, priceInCents);
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package org.epam.swissre.coffeeshop.receipt.impl;
+
+import org.epam.swissre.coffeeshop.enums.CoffeeSize;
+import org.epam.swissre.coffeeshop.model.Order;
+import org.epam.swissre.coffeeshop.model.ProductCatalog;
+import org.epam.swissre.coffeeshop.util.CachedClock;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for {@link TextReceiptRenderer}.
+ */
+public class TextReceiptRendererTest {
+
+    /**
+     * Test that the receipt has the layout of the CLI receipt with "\n" line endings and the date of the clock.
+     */
+    @Test
+    public void testRender() {
+        Order order = new Order(List.of(ProductCatalog.coffee(CoffeeSize.SMALL),
+                new JsonReceiptRendererTest.NamedProduct("Café crème", 1050)));
+        order.setTotalCostInCents(order.getSubtotalInCents());
+        order.applyDiscount(255);
+        TextReceiptRenderer renderer = new TextReceiptRenderer(
+                new CachedClock(Clock.fixed(Instant.parse("2024-08-23T09:30:00Z"), ZoneOffset.UTC)));
+
+        ByteBuffer buffer = ByteBuffer.allocate(renderer.maxSize(order));
+        renderer.render(order, buffer);
+
+        String receipt = new String(buffer.array(), 0, buffer.position(), StandardCharsets.UTF_8);
+        assertTrue(receipt.startsWith("=== Coffee Shop Receipt ===\nDate:2024-08-23 09:30\n"));
+        assertTrue(receipt.contains("\n\nItems:\n"
+                + "1. Small coffee...........................CHF 2.55\n"
+                + "2. Café crème............................CHF 10.50\n"
+                + "\nTotal cost: CHF 10.50\nTotal discount: CHF 2.55\n\n"
+                + "=== Thank You for Visiting! ===\n"), receipt);
+        assertTrue(receipt.endsWith("=== END of Receipt ===\n"));
+        assertFalse(receipt.contains("\r"));
+    }
+}
@@ -0,0 +1,196 @@
+package org.epam.swissre.coffeeshop.server;
+
+import org.epam.swissre.coffeeshop.bonus.impl.EveryFifthBeverageFreeBonus;
+import org.epam.swissre.coffeeshop.enums.CoffeeSize;
+import org.epam.swissre.coffeeshop.enums.OrderStatus;
+import org.epam.swissre.coffeeshop.model.Order;
+import org.epam.swissre.coffeeshop.model.ProductCatalog;
+import org.epam.swissre.coffeeshop.service.IOrderStorage;
+import org.epam.swissre.coffeeshop.service.ILoyaltyIndex;
+import org.epam.swissre.coffeeshop.service.impl.BonusService;
+import org.epam.swissre.coffeeshop.service.impl.CustomerLoyaltyIndex;
+import org.epam.swissre.coffeeshop.service.impl.OrderService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for {@link OrderHttpServer} and {@link OrderRequest}.
+ */
+public class OrderHttpServerTest {
+    private final List<Order> storedOrders = Collections.synchronizedList(new ArrayList<>());
+    private CustomerLoyaltyIndex loyaltyIndex;
+    private OrderHttpServer server;
+    private HttpClient client;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        BonusService bonusService = new BonusService();
+        bonusService.registerBonusStrategy(new EveryFifthBeverageFreeBonus());
+        IOrderStorage orderStorage = new IOrderStorage() {
+            @Override
+            public void storeOrders(List<Order> orders) {
+                storedOrders.addAll(orders);
+            }
+
+            @Override
+            public List<Order> retrieveOrders() {
+                return List.copyOf(storedOrders);
+            }
+        };
+        loyaltyIndex = new CustomerLoyaltyIndex();
+        server = new OrderHttpServer(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), new OrderService(bonusService),
+                orderStorage, loyaltyIndex, order -> order.setStatus(OrderStatus.PAID));
+        server.start();
+        client = HttpClient.newHttpClient();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        server.close();
+    }
+
+    /**
+     * Test that an order is priced, paid, stored and answered with its receipt as JSON.
+     */
+    @Test
+    public void testPostOrder() throws Exception {
+        int smallCoffee = ProductCatalog.skuOf(ProductCatalog.coffee(CoffeeSize.SMALL));
+        loyaltyIndex.recordOrder("anna", new Order(List.of(ProductCatalog.coffee(CoffeeSize.SMALL),
+                ProductCatalog.coffee(CoffeeSize.SMALL), ProductCatalog.coffee(CoffeeSize.SMALL),
+                ProductCatalog.coffee(CoffeeSize.SMALL))));
+
+        HttpResponse<String> response = post("{\"customerId\": \"anna\", \"skus\": [" + smallCoffee + ", " + smallCoffee + "]}");
+
+        assertEquals(200, response.statusCode());
+        assertEquals("{\"items\":[{\"description\":\"Small coffee\",\"priceInCents\":255},"
+                + "{\"description\":\"Small coffee\",\"priceInCents\":255}],"
+                + "\"totalCostInCents\":255,\"totalDiscountInCents\":255}", response.body(), "The 5th beverage of the customer should be free");
+        assertEquals(1, storedOrders.size());
+        assertEquals(6, loyaltyIndex.getBeverageCount("anna"));
+        assertEquals(0, loyaltyIndex.getBeverageCount(ILoyaltyIndex.WALK_IN_CUSTOMER));
+    }
+
+    /**
+     * Test that the receipt format is negotiated by the Accept header.
+     */
+    @Test
+    public void testPostOrder_ReceiptFormats() throws Exception {
+        String order = "{\"skus\": [" + ProductCatalog.skuOf(ProductCatalog.coffee(CoffeeSize.SMALL)) + "]}";
+
+        HttpResponse<String> text = post(order, "text/plain");
+        assertEquals(200, text.statusCode());
+        assertEquals("text/plain; charset=utf-8", text.headers().firstValue("Content-Type").orElse(null));
+        assertTrue(text.body().contains("1. Small coffee...........................CHF 2.55\n"), text.body());
+
+        HttpResponse<String> escPos = post(order, "application/vnd.escpos");
+        assertEquals(200, escPos.statusCode());
+        assertEquals("application/vnd.escpos", escPos.headers().firstValue("Content-Type").orElse(null));
+        assertTrue(escPos.body().startsWith("\u001B@"));
+
+        HttpResponse<String> json = post(order, "application/json, */*");
+        assertEquals("application/json; charset=utf-8", json.headers().firstValue("Content-Type").orElse(null));
+        assertTrue(json.body().startsWith("{\"items\":[{\"description\":\"Small coffee\""));
+        assertEquals(3, storedOrders.size());
+    }
+
+    /**
+     * Test that the receipt format is selected by the quality values of the media ranges and that formats with a
+     * quality of 0 are never selected.
+     */
+    @Test
+    public void testSelectRenderer() {
+        String json = "application/json; charset=utf-8";
+        String text = "text/plain; charset=utf-8";
+        String escPos = "application/vnd.escpos";
+
+        assertEquals(json, OrderHttpServer.selectRenderer(null).getContentType());
+        assertEquals(json, OrderHttpServer.selectRenderer("*/*").getContentType());
+        assertEquals(json, OrderHttpServer.selectRenderer("image/png").getContentType());
+        assertEquals(json, OrderHttpServer.selectRenderer("text/plain;q=0").getContentType(), "Refused format should not be selected");
+        assertEquals(json, OrderHttpServer.selectRenderer("text/plain; q=0.0, */*;q=0.1").getContentType());
+        assertEquals(text, OrderHttpServer.selectRenderer("text/plain").getContentType());
+        assertEquals(text, OrderHttpServer.selectRenderer("text/*, */*").getContentType(), "More specific range should win");
+        assertEquals(text, OrderHttpServer.selectRenderer("text/plain, application/json").getContentType(), "First range should win ties");
+        assertEquals(text, OrderHttpServer.selectRenderer("application/json;q=0.5, TEXT/PLAIN").getContentType());
+        assertEquals(escPos, OrderHttpServer.selectRenderer("text/plain;q=0.8, application/vnd.escpos").getContentType());
+        assertEquals(escPos, OrderHttpServer.selectRenderer("application/*;q=0.2, application/vnd.escpos;q=0.9, application/json;q=0.5").getContentType());
+    }
+
+    /**
+     * Test that malformed orders, unknown SKUs and other methods are rejected.
+     */
+    @Test
+    public void testRejectedRequests() throws Exception {
+        assertEquals(400, post("{\"skus\": [" + ProductCatalog.size() + "]}").statusCode(), "Unknown SKU should be rejected");
+        assertEquals(400, post("{\"skus\": []}").statusCode(), "Empty order should be rejected");
+        assertEquals(400, post("[1, 2]").statusCode(), "Malformed order should be rejected");
+        HttpResponse<String> tooLarge = post("{\"skus\": [" + "0,".repeat(OrderHttpServer.MAX_REQUEST_BYTES) + "0]}");
+        assertEquals(413, tooLarge.statusCode(), "Oversized order should be rejected");
+        assertTrue(tooLarge.body().startsWith("{\"error\":"), tooLarge.body());
+
+        HttpResponse<String> get = client.send(HttpRequest.newBuilder(uri()).GET().build(), HttpResponse.BodyHandlers.ofString());
+        assertEquals(405, get.statusCode());
+        assertTrue(storedOrders.isEmpty(), "Rejected orders should not be stored");
+    }
+
+    /**
+     * Test that error messages are escaped as JSON strings, including control characters, and that a missing
+     * message still yields a document.
+     */
+    @Test
+    public void testError() {
+        assertEquals("{\"error\":\"Bad \\\"sku\\\"\\n\\u0001\"}", utf8(OrderHttpServer.error("Bad \"sku\"\n\u0001")));
+        assertEquals("{\"error\":\"Invalid request\"}", utf8(OrderHttpServer.error(null)));
+    }
+
+    /**
+     * Test the parsing of order requests.
+     */
+    @Test
+    public void testParseOrderRequest() {
+        OrderRequest request = OrderRequest.parse(" { \"skus\" : [ 1 ,2,3 ], \"customerId\":\"b\\u00e9n \\\"B\\\"\" } ");
+        assertArrayEquals(new int[]{1, 2, 3}, request.getSkus());
+        assertEquals("bén \"B\"", request.getCustomerId());
+        assertEquals(ILoyaltyIndex.WALK_IN_CUSTOMER, OrderRequest.parse("{\"skus\":[0]}").getCustomerId());
+
+        assertThrows(IllegalArgumentException.class, () -> OrderRequest.parse("{}"), "Missing SKUs should be rejected");
+        assertThrows(IllegalArgumentException.class, () -> OrderRequest.parse("{\"skus\":[1,]}"));
+        assertThrows(IllegalArgumentException.class, () -> OrderRequest.parse("{\"skus\":[1]} x"));
+        assertThrows(IllegalArgumentException.class, () -> OrderRequest.parse("{\"skus\":[1],\"table\":4}"));
+        assertThrows(IllegalArgumentException.class, () -> OrderRequest.parse("{\"skus\":[1],\"customerId\":\" \"}"));
+    }
+
+    private static String utf8(ByteBuffer buffer) {
+        return StandardCharsets.UTF_8.decode(buffer).toString();
+    }
+
+    private HttpResponse<String> post(String json) throws IOException, InterruptedException {
+        return client.send(HttpRequest.newBuilder(uri()).POST(HttpRequest.BodyPublishers.ofString(json)).build(),
+                HttpResponse.BodyHandlers.ofString());
+    }
+
+    private HttpResponse<String> post(String json, String accept) throws IOException, InterruptedException {
+        return client.send(HttpRequest.newBuilder(uri()).header("Accept", accept).POST(HttpRequest.BodyPublishers.ofString(json)).build(),
+                HttpResponse.BodyHandlers.ofString(StandardCharsets.ISO_8859_1));
+    }
+
+    private URI uri() {
+        return URI.create("http://127.0.0.1:" + server.getPort() + "/orders");
+    }
+}
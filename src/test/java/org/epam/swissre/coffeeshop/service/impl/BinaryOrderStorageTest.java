@@ -0,0 +1,164 @@
+package org.epam.swissre.coffeeshop.service.impl;
+
+import org.epam.swissre.coffeeshop.enums.BaconRollSize;
+import org.epam.swissre.coffeeshop.enums.CoffeeSize;
+import org.epam.swissre.coffeeshop.enums.DurabilityPolicy;
+import org.epam.swissre.coffeeshop.enums.ExtraOption;
+import org.epam.swissre.coffeeshop.enums.ProductKind;
+import org.epam.swissre.coffeeshop.model.*;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for {@link BinaryOrderStorage} and the {@link OrderLogConverter}.
+ */
+public class BinaryOrderStorageTest {
+    private Path testFilePath;
+    private Path csvFilePath;
+
+    static class TestBeverage extends Product implements BeverageProduct {
+        public TestBeverage(String name, long priceInCents) {
+            super(name, priceInCents);
+        }
+    }
+
+    static class TestSnack extends Product {
+        public TestSnack(String name, long priceInCents) {
+            super(name, priceInCents, ProductKind.SNACK.getMask());
+        }
+    }
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        testFilePath = Files.createTempFile("testBinaryOrderStorage", ".bin");
+        csvFilePath = Files.createTempFile("testBinaryOrderStorage", ".csv");
+    }
+
+    @AfterEach
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(testFilePath);
+        Files.deleteIfExists(csvFilePath);
+    }
+
+    /**
+     * Test that menu and non-menu products survive a store, close and reopen cycle.
+     */
+    @Test
+    public void testStoreAndRetrieveOrdersAfterReopen() throws IOException {
+        try (BinaryOrderStorage storage = new BinaryOrderStorage(testFilePath.toString(), DurabilityPolicy.PER_BATCH)) {
+            storage.storeOrders(List.of(
+                    new Order(List.of(new Coffee(CoffeeSize.LARGE), new ExtraItem(ExtraOption.EXTRA_MILK))),
+                    new Order(List.of(new BaconRoll(BaconRollSize.STANDARD), new TestBeverage("Ice tea", 420), new TestSnack("Croissant", 250)))));
+        }
+
+        try (BinaryOrderStorage storage = new BinaryOrderStorage(testFilePath.toString())) {
+            List<Order> orders = storage.retrieveOrders();
+            assertEquals(2, orders.size(), "Number of orders should be equal");
+
+            Product coffee = orders.get(0).getProducts().get(0);
+            assertEquals(new Coffee(CoffeeSize.LARGE), coffee, "Menu product should be decoded from its product code");
+            assertEquals(new ExtraItem(ExtraOption.EXTRA_MILK), orders.get(0).getProducts().get(1));
+            assertEquals(new BaconRoll(BaconRollSize.STANDARD), orders.get(1).getProducts().get(0));
+
+            Product iceTea = orders.get(1).getProducts().get(1);
+            assertEquals("Ice tea", iceTea.getName(), "Non-menu product name should be stored inline");
+            assertEquals(420, iceTea.getPriceInCents(), "Non-menu product price should be restored");
+            assertTrue(iceTea.isKind(ProductKind.BEVERAGE), "Non-menu beverage should stay a beverage");
+
+            Product croissant = orders.get(1).getProducts().get(2);
+            assertEquals(ProductKind.SNACK.getMask(), croissant.getKindMask(), "Non-menu product should keep its kinds");
+        }
+    }
+
+    /**
+     * Test that the mapped region grows when the initial capacity is exceeded.
+     */
+    @Test
+    public void testStoreOrders_GrowsBeyondInitialCapacity() throws IOException {
+        List<Product> products = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            products.add(new Coffee(CoffeeSize.SMALL));
+        }
+        List<Order> orders = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            orders.add(new Order(products));
+        }
+
+        try (BinaryOrderStorage storage = new BinaryOrderStorage(testFilePath.toString(), DurabilityPolicy.PER_ORDER)) {
+            storage.storeOrders(orders);
+            assertEquals(50, storage.retrieveOrders().size(), "All orders should be retrieved after growing the log");
+            assertEquals(5000, storage.retrieveOrders().get(49).getProducts().size());
+        }
+    }
+
+    /**
+     * Test that a log written with an unsupported format version is rejected.
+     */
+    @Test
+    public void testUnsupportedVersionIsRejected() throws IOException {
+        new BinaryOrderStorage(testFilePath.toString()).close();
+        try (FileChannel channel = FileChannel.open(testFilePath, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.allocate(Short.BYTES).putShort(0, (short) (BinaryOrderStorage.CURRENT_VERSION + 1)), 4);
+        }
+
+        RuntimeException exception = assertThrows(RuntimeException.class, () -> new BinaryOrderStorage(testFilePath.toString()));
+        assertTrue(exception.getCause().getMessage().contains("Unsupported order log version"));
+    }
+
+    /**
+     * Test the streaming conversion of a CSV order file into the binary order log.
+     */
+    @Test
+    public void testCsvToBinaryConversion() throws IOException {
+        Files.writeString(csvFilePath, "Small coffee,2.55;Fresh Orange Juice (0.25l),3.95\n\nmalformed\nLarge coffee,3.55\n");
+
+        try (BinaryOrderStorage storage = new BinaryOrderStorage(testFilePath.toString())) {
+            long converted = OrderLogConverter.csvToBinary(csvFilePath.toString(), storage);
+            List<Order> orders = storage.retrieveOrders();
+
+            assertEquals(2, converted, "Empty and malformed lines should be skipped");
+            assertEquals(2, orders.size());
+            assertEquals(new Coffee(CoffeeSize.SMALL), orders.get(0).getProducts().get(0), "CSV products should resolve to menu products");
+            assertEquals(new Coffee(CoffeeSize.LARGE), orders.get(1).getProducts().get(0));
+        }
+    }
+
+    /**
+     * Test that a stream covers the orders committed when it was opened, even while the log grows.
+     */
+    @Test
+    public void testStreamOrders_SnapshotWhileAppending() throws IOException {
+        try (BinaryOrderStorage storage = new BinaryOrderStorage(testFilePath.toString())) {
+            storage.storeOrders(List.of(new Order(List.of(new Coffee(CoffeeSize.SMALL))),
+                    new Order(List.of(new Coffee(CoffeeSize.LARGE)))));
+
+            try (Stream<Order> orders = storage.streamOrders()) {
+                List<Product> largeOrder = new ArrayList<>();
+                for (int i = 0; i < 100_000; i++) {
+                    largeOrder.add(new Coffee(CoffeeSize.MEDIUM));
+                }
+                for (int i = 0; i < 20; i++) {
+                    storage.storeOrders(List.of(new Order(largeOrder.subList(0, 60_000))));
+                }
+
+                List<Order> streamed = orders.toList();
+                assertEquals(2, streamed.size(), "Orders appended after opening the stream should not be visible");
+                assertEquals(new Coffee(CoffeeSize.LARGE), streamed.get(1).getProducts().get(0));
+            }
+            assertEquals(22, storage.retrieveOrders().size());
+        }
+    }
+}
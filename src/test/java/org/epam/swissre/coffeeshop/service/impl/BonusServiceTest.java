@@ -1,12 +1,15 @@
 package org.epam.swissre.coffeeshop.service.impl;
 
+import org.epam.swissre.coffeeshop.bonus.BasketSummary;
 import org.epam.swissre.coffeeshop.bonus.BonusStrategy;
 import org.epam.swissre.coffeeshop.model.Order;
 import org.epam.swissre.coffeeshop.model.Product;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.List;
 import static org.junit.jupiter.api.Assertions.*;
 
 /**
@@ -19,14 +22,14 @@ public class BonusServiceTest {
     private Order testOrder;
 
     static class TestProduct extends Product {
-        public TestProduct(String name, double price) {
-            super(name, price);
+        public TestProduct(String name, long priceInCents) {
+            super(name, priceInCents);
         }
     }
 
     @BeforeEach
     public void setUp() {
-        Product product = new BonusServiceTest.TestProduct("Coffee", 10.0);
+        Product product = new BonusServiceTest.TestProduct("Coffee", 1000);
         bonusService = new BonusService();
         strategy1 = new TestBonusStrategy();
         strategy2 = new TestBonusStrategy();
@@ -47,6 +50,33 @@ public class BonusServiceTest {
         assertTrue(strategy2.isApplied(), "Strategy 2 should have been applied");
     }
 
+    /**
+     * Test that all strategies evaluate the same basket summary.
+     */
+    @Test
+    public void testApplyBonus_SharesBasketSummary() {
+        List<BasketSummary> baskets = new ArrayList<>();
+        BonusStrategy recordingStrategy = new BonusStrategy() {
+            @Override
+            public void apply(Order order) {
+                fail("The strategy should be evaluated against the basket summary");
+            }
+
+            @Override
+            public void apply(Order order, BasketSummary basket) {
+                baskets.add(basket);
+            }
+        };
+        bonusService.registerBonusStrategy(recordingStrategy);
+        bonusService.registerBonusStrategy(recordingStrategy);
+
+        bonusService.applyBonus(testOrder);
+
+        assertEquals(2, baskets.size());
+        assertSame(baskets.get(0), baskets.get(1), "The basket should be summarized once per order");
+        assertEquals(1000, baskets.get(0).getSubtotalInCents());
+    }
+
     /**
      * Test strategy application when no strategies are registered.
      */
@@ -69,7 +99,7 @@ public class BonusServiceTest {
         public void apply(Order order) {
             applied = true;
             // For simplicity, the apply method is just flagging it was called
-            order.applyDiscount(5.0);
+            order.applyDiscount(500);
         }
 
         public boolean isApplied() {
@@ -0,0 +1,153 @@
+package org.epam.swissre.coffeeshop.service.impl;
+
+import org.epam.swissre.coffeeshop.enums.CoffeeSize;
+import org.epam.swissre.coffeeshop.model.Order;
+import org.epam.swissre.coffeeshop.model.Product;
+import org.epam.swissre.coffeeshop.model.ProductCatalog;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for {@link CsvOrderParser}.
+ */
+public class CsvOrderParserTest {
+    private CsvOrderParser parser;
+    private ParsedOrder record;
+
+    @BeforeEach
+    public void setUp() {
+        parser = new CsvOrderParser();
+        record = new ParsedOrder();
+    }
+
+    /**
+     * Test that menu products are resolved to their product code and shared instance.
+     */
+    @Test
+    public void testParseLine_MenuProducts() {
+        assertTrue(parse("Small coffee,2.55;Fresh Orange Juice (0.25l),3.95"));
+
+        assertEquals(2, record.getProductCount());
+        assertEquals(255, record.getPriceInCents(0));
+        assertEquals(395, record.getPriceInCents(1));
+        assertTrue(record.getProductCode(0) >= 0, "Menu product should have a product code");
+        assertSame(ProductCatalog.coffee(CoffeeSize.SMALL), record.toOrder().getProducts().get(0));
+    }
+
+    /**
+     * Test that products outside the menu, or with a price different from the menu, keep their name.
+     */
+    @Test
+    public void testParseLine_UnknownProducts() {
+        assertTrue(parse(" Ice tea , 4.2 ;Small coffee,2.00"));
+
+        Order order = record.toOrder();
+        assertEquals(ProductCodes.UNKNOWN, record.getProductCode(0));
+        assertEquals("Ice tea", order.getProducts().get(0).getName(), "Name should be trimmed");
+        assertEquals(420, order.getProducts().get(0).getPriceInCents());
+        assertEquals(ProductCodes.UNKNOWN, record.getProductCode(1), "A different price should not resolve to the menu product");
+        assertEquals(200, order.getProducts().get(1).getPriceInCents());
+    }
+
+    /**
+     * Test that repeated products outside the menu share one instance across the records of a parser.
+     */
+    @Test
+    public void testToOrder_SharesUnknownProducts() {
+        assertTrue(parse("Ice tea,4.20"));
+        Product first = record.toOrder().getProducts().get(0);
+        assertTrue(parse("Ice tea,4.20;Ice tea,4.50"));
+        Order order = record.toOrder();
+
+        assertSame(first, order.getProducts().get(0), "Repeated product should be shared");
+        assertEquals(450, order.getProducts().get(1).getPriceInCents(), "A different price should not be shared");
+    }
+
+    /**
+     * Test that malformed products are skipped and a line without valid products is rejected.
+     */
+    @Test
+    public void testParseLine_MalformedEntries() {
+        assertFalse(parse(""), "Empty line should be rejected");
+        assertFalse(parse("no price;,2.55;Latte,abc;Latte,-1;Latte,1e3;Latte,."), "Line without valid products should be rejected");
+
+        assertTrue(parse(";;Latte,;Small coffee,2.55;broken"));
+        assertEquals(1, record.getProductCount(), "Only the valid product should be kept");
+    }
+
+    /**
+     * Test the fixed-point price conversion.
+     */
+    @Test
+    public void testParseCents() {
+        assertEquals(300, cents("3"));
+        assertEquals(350, cents("3.5"));
+        assertEquals(32, cents("0.32"));
+        assertEquals(256, cents("2.555"), "Third decimal should round half up");
+        assertEquals(255, cents("2.554"));
+        assertEquals(50, cents(".5"));
+        assertEquals(-1, cents(""));
+        assertEquals(-1, cents("1.2.3"));
+        assertEquals(-1, cents("1234567890123456"), "Too many digits should be rejected");
+    }
+
+    /**
+     * Test streaming a channel with CRLF line ends, empty lines, a missing trailing newline
+     * and a line longer than the initial read buffer.
+     */
+    @Test
+    public void testParseChannel() throws IOException {
+        StringBuilder longLine = new StringBuilder("Small coffee,2.55");
+        for (int i = 0; i < 10000; i++) {
+            longLine.append(";Medium coffee,3.05");
+        }
+        String content = "Small coffee,2.55\r\n\nmalformed\n" + longLine + "\nLarge coffee,3.55";
+        List<Order> orders = new ArrayList<>();
+
+        int records = parser.parse(Channels.newChannel(new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8))),
+                parsed -> orders.add(parsed.toOrder()));
+
+        assertEquals(3, records);
+        assertEquals(3, orders.size());
+        assertEquals(10001, orders.get(1).getProducts().size(), "Long line should be parsed completely");
+        Product last = orders.get(2).getProducts().get(0);
+        assertEquals("Large coffee", last.getName(), "Line without trailing newline should be parsed");
+    }
+
+    /**
+     * Test that the cursor stream reads lazily and closes its channel when the stream is closed.
+     */
+    @Test
+    public void testCursorStream_ClosesChannel() {
+        ReadableByteChannel channel = Channels.newChannel(new ByteArrayInputStream(
+                "Small coffee,2.55\nLarge coffee,3.55\n".getBytes(StandardCharsets.UTF_8)));
+
+        try (Stream<Order> orders = new CsvOrderCursor(channel, parser).stream()) {
+            assertEquals("Small coffee", orders.findFirst().orElseThrow().getProducts().get(0).getName());
+            assertTrue(channel.isOpen(), "Channel should stay open until the stream is closed");
+        }
+        assertFalse(channel.isOpen(), "Closing the stream should close the channel");
+    }
+
+    private boolean parse(String line) {
+        ByteBuffer buffer = ByteBuffer.wrap(line.getBytes(StandardCharsets.UTF_8));
+        return parser.parseLine(buffer, 0, buffer.limit(), record);
+    }
+
+    private long cents(String price) {
+        ByteBuffer buffer = ByteBuffer.wrap(price.getBytes(StandardCharsets.UTF_8));
+        return CsvOrderParser.parseCents(buffer, 0, buffer.limit());
+    }
+}
@@ -0,0 +1,232 @@
+package org.epam.swissre.coffeeshop.service.impl;
+
+import org.epam.swissre.coffeeshop.enums.BaconRollSize;
+import org.epam.swissre.coffeeshop.enums.CoffeeSize;
+import org.epam.swissre.coffeeshop.enums.DurabilityPolicy;
+import org.epam.swissre.coffeeshop.enums.OrangeJuiceSize;
+import org.epam.swissre.coffeeshop.model.Order;
+import org.epam.swissre.coffeeshop.model.ProductCatalog;
+import org.epam.swissre.coffeeshop.service.ILoyaltyIndex;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for {@link CustomerLoyaltyIndex}.
+ */
+public class CustomerLoyaltyIndexTest {
+
+    /**
+     * Test that every customer has its own counter, also when customers share a stripe.
+     */
+    @Test
+    public void testCountersPerCustomer() {
+        CustomerLoyaltyIndex loyaltyIndex = new CustomerLoyaltyIndex(1);
+        loyaltyIndex.recordOrder("anna", new Order(List.of(ProductCatalog.coffee(CoffeeSize.SMALL),
+                ProductCatalog.baconRoll(BaconRollSize.STANDARD))));
+        loyaltyIndex.recordOrder(new Order(List.of(ProductCatalog.orangeJuice(OrangeJuiceSize.SMALL))));
+
+        assertEquals(1, loyaltyIndex.getBeverageCount("anna"), "Only beverages should advance the counter");
+        assertEquals(0, loyaltyIndex.getBeverageCount("ben"));
+        assertEquals(1, loyaltyIndex.getBeverageCount(ILoyaltyIndex.WALK_IN_CUSTOMER), "Orders without customer should be counted for walk-in customers");
+        assertEquals(1, loyaltyIndex.getBeverageCount());
+    }
+
+    /**
+     * Test that a customer's counter is only advanced if it still has the expected value.
+     */
+    @Test
+    public void testCompareAndAdvance() {
+        CustomerLoyaltyIndex loyaltyIndex = new CustomerLoyaltyIndex();
+        Order order = new Order(List.of(ProductCatalog.coffee(CoffeeSize.SMALL), ProductCatalog.coffee(CoffeeSize.LARGE)));
+
+        assertTrue(loyaltyIndex.compareAndAdvance("anna", 0, order));
+        assertFalse(loyaltyIndex.compareAndAdvance("anna", 0, order), "A stale counter should not advance the index");
+        assertTrue(loyaltyIndex.compareAndAdvance("ben", 0, order), "Customers should not affect each other");
+        assertEquals(2, loyaltyIndex.getBeverageCount("anna"));
+        assertThrows(IllegalArgumentException.class, () -> loyaltyIndex.getBeverageCount(null));
+        assertThrows(IllegalArgumentException.class, () -> new CustomerLoyaltyIndex(0));
+    }
+
+    /**
+     * Test that the orders of a batch are claimed together, and that the default implementation claims
+     * the leading orders up to a stale counter.
+     */
+    @Test
+    public void testClaimOrders() throws IOException {
+        CustomerLoyaltyIndex loyaltyIndex = new CustomerLoyaltyIndex();
+        Order twoCoffees = new Order(List.of(ProductCatalog.coffee(CoffeeSize.SMALL), ProductCatalog.coffee(CoffeeSize.LARGE)));
+
+        assertEquals(2, loyaltyIndex.claimOrders("anna", 0, List.of(twoCoffees, twoCoffees)));
+        assertEquals(0, loyaltyIndex.claimOrders("anna", 0, List.of(twoCoffees)), "A stale counter should not advance the index");
+        assertEquals(4, loyaltyIndex.getBeverageCount("anna"));
+
+        // Only one order at a time through compareAndAdvance, as by indexes without a batch claim
+        ILoyaltyIndex perOrderIndex = new ILoyaltyIndex() {
+            @Override
+            public long getBeverageCount() {
+                return loyaltyIndex.getBeverageCount("ben");
+            }
+
+            @Override
+            public void recordOrder(Order order) {
+                loyaltyIndex.recordOrder("ben", order);
+            }
+
+            @Override
+            public boolean compareAndAdvance(long expectedBeverageCount, Order order) {
+                return expectedBeverageCount < 2 && loyaltyIndex.compareAndAdvance("ben", expectedBeverageCount, order);
+            }
+
+            @Override
+            public void releaseOrder(Order order) {
+                loyaltyIndex.releaseOrders("ben", List.of(order));
+            }
+        };
+        assertEquals(1, perOrderIndex.claimOrders("ben", 0, List.of(twoCoffees, twoCoffees)), "The claim should stop at the first rejected order");
+        assertEquals(2, loyaltyIndex.getBeverageCount("ben"));
+    }
+
+    /**
+     * Test that released claims are taken back from the counter of their customer only.
+     */
+    @Test
+    public void testReleaseOrders() {
+        CustomerLoyaltyIndex loyaltyIndex = new CustomerLoyaltyIndex();
+        Order twoCoffees = new Order(List.of(ProductCatalog.coffee(CoffeeSize.SMALL), ProductCatalog.coffee(CoffeeSize.LARGE)));
+        loyaltyIndex.claimOrders("anna", 0, List.of(twoCoffees, twoCoffees));
+        loyaltyIndex.claimOrders("ben", 0, List.of(twoCoffees));
+        loyaltyIndex.compareAndAdvance(0, twoCoffees);
+
+        loyaltyIndex.releaseOrders("anna", List.of(twoCoffees));
+        loyaltyIndex.releaseOrder(twoCoffees);
+
+        assertEquals(2, loyaltyIndex.getBeverageCount("anna"));
+        assertEquals(2, loyaltyIndex.getBeverageCount("ben"));
+        assertEquals(0, loyaltyIndex.getBeverageCount(), "Orders without a customer should be released from the walk-in counter");
+    }
+
+    /**
+     * Test that the stored beverages of every customer survive a restart once the storage flushed them, also for
+     * orders flushed before they were committed, while orders lost with the pending ones are not counted.
+     */
+    @Test
+    public void testSnapshot_SurvivesRestart() throws IOException {
+        Path snapshotPath = Files.createTempFile("testCustomerLoyalty", ".customers");
+        Duration noScheduledFlush = Duration.ofHours(1);
+        Order twoCoffees = new Order(List.of(ProductCatalog.coffee(CoffeeSize.SMALL), ProductCatalog.coffee(CoffeeSize.LARGE)));
+        Order orangeJuice = new Order(List.of(ProductCatalog.orangeJuice(OrangeJuiceSize.SMALL)));
+        Order pendingCoffees = new Order(List.of(ProductCatalog.coffee(CoffeeSize.SMALL), ProductCatalog.coffee(CoffeeSize.LARGE)));
+        try {
+            Files.delete(snapshotPath);
+            WriteBehindOrderStorage storage = new WriteBehindOrderStorage(new GroupCommitOrderStorageTest.CountingStorage(),
+                    100, 50, 100, noScheduledFlush);
+            CustomerLoyaltyIndex loyaltyIndex = new CustomerLoyaltyIndex(snapshotPath.toString(), storage, DurabilityPolicy.NONE);
+
+            assertEquals(1, loyaltyIndex.claimOrders("anna", 0, List.of(twoCoffees)));
+            storage.storeOrders(List.of(twoCoffees));
+            loyaltyIndex.commitOrders("anna", List.of(twoCoffees));
+            storage.flush();
+
+            assertEquals(1, loyaltyIndex.claimOrders("ben", 0, List.of(orangeJuice)));
+            storage.storeOrders(List.of(orangeJuice));
+            storage.flush(); // before the checkout commits the order
+            loyaltyIndex.commitOrders("ben", List.of(orangeJuice));
+
+            assertEquals(1, loyaltyIndex.claimOrders("anna", 2, List.of(pendingCoffees)));
+            storage.storeOrders(List.of(pendingCoffees));
+            loyaltyIndex.commitOrders("anna", List.of(pendingCoffees));
+            assertEquals(4, loyaltyIndex.getBeverageCount("anna"));
+
+            // Restart without flushing, as after a crash
+            CustomerLoyaltyIndex reloaded = new CustomerLoyaltyIndex(snapshotPath.toString(),
+                    new WriteBehindOrderStorage(new GroupCommitOrderStorageTest.CountingStorage()), DurabilityPolicy.NONE);
+            assertEquals(2, reloaded.getBeverageCount("anna"), "Only flushed orders should be persisted");
+            assertEquals(1, reloaded.getBeverageCount("ben"));
+            assertEquals(0, reloaded.getBeverageCount("chris"));
+        } finally {
+            Files.deleteIfExists(snapshotPath);
+        }
+    }
+
+    /**
+     * Test that only claimed orders are tracked until they are settled, so orders stored without a claim or
+     * settled after the flush leave nothing behind.
+     */
+    @Test
+    public void testSnapshot_TracksOnlyClaimedOrders() throws IOException {
+        Path snapshotPath = Files.createTempFile("testCustomerLoyalty", ".customers");
+        try {
+            Files.delete(snapshotPath);
+            WriteBehindOrderStorage storage = new WriteBehindOrderStorage(new GroupCommitOrderStorageTest.CountingStorage(),
+                    100, 50, 100, Duration.ofHours(1));
+            CustomerLoyaltyIndex loyaltyIndex = new CustomerLoyaltyIndex(snapshotPath.toString(), storage, DurabilityPolicy.NONE);
+            Order unclaimed = new Order(List.of(ProductCatalog.coffee(CoffeeSize.SMALL)));
+            Order claimed = new Order(List.of(ProductCatalog.coffee(CoffeeSize.SMALL)));
+            Order released = new Order(List.of(ProductCatalog.coffee(CoffeeSize.SMALL)));
+
+            storage.storeOrders(List.of(unclaimed));
+            storage.flush();
+            assertEquals(0, loyaltyIndex.getTrackedOrderCount(), "Orders stored without a claim should not be tracked");
+
+            assertEquals(1, loyaltyIndex.claimOrders("anna", 0, List.of(claimed)));
+            storage.storeOrders(List.of(claimed));
+            storage.flush();
+            assertEquals(1, loyaltyIndex.getTrackedOrderCount());
+            loyaltyIndex.commitOrders("anna", List.of(claimed));
+            assertEquals(0, loyaltyIndex.getTrackedOrderCount(), "Committed and flushed orders should not be tracked");
+
+            assertEquals(1, loyaltyIndex.claimOrders("anna", 1, List.of(released)));
+            loyaltyIndex.releaseOrders("anna", List.of(released));
+            assertEquals(0, loyaltyIndex.getTrackedOrderCount(), "Released orders should not be tracked");
+            assertEquals(1, loyaltyIndex.getBeverageCount("anna"));
+        } finally {
+            Files.deleteIfExists(snapshotPath);
+        }
+    }
+
+    /**
+     * Test that concurrent checkouts of several customers claim every beverage ordinal exactly once.
+     */
+    @Test
+    public void testCompareAndAdvance_ConcurrentCheckouts() throws Exception {
+        CustomerLoyaltyIndex loyaltyIndex = new CustomerLoyaltyIndex(2);
+        Order order = new Order(List.of(ProductCatalog.coffee(CoffeeSize.SMALL)));
+        String[] customers = {"anna", "ben", "chris"};
+        ExecutorService registers = Executors.newFixedThreadPool(6);
+        try {
+            List<Future<?>> results = new ArrayList<>();
+            for (int register = 0; register < 6; register++) {
+                String customer = customers[register % customers.length];
+                results.add(registers.submit(() -> {
+                    for (int i = 0; i < 50; i++) {
+                        long counter;
+                        do {
+                            counter = loyaltyIndex.getBeverageCount(customer);
+                        } while (!loyaltyIndex.compareAndAdvance(customer, counter, order));
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> result : results) {
+                result.get();
+            }
+        } finally {
+            registers.shutdown();
+        }
+
+        for (String customer : customers) {
+            assertEquals(100, loyaltyIndex.getBeverageCount(customer));
+        }
+    }
+}
@@ -0,0 +1,215 @@
+package org.epam.swissre.coffeeshop.service.impl;
+
+import org.epam.swissre.coffeeshop.enums.CoffeeSize;
+import org.epam.swissre.coffeeshop.enums.DurabilityPolicy;
+import org.epam.swissre.coffeeshop.model.Coffee;
+import org.epam.swissre.coffeeshop.model.Order;
+import org.epam.swissre.coffeeshop.service.IOrderStorage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for {@link GroupCommitOrderStorage}.
+ */
+public class GroupCommitOrderStorageTest {
+    private Path testFilePath;
+
+    /**
+     * Storage stub counting the delegated batches.
+     */
+    static class CountingStorage implements IOrderStorage {
+        final List<Order> orders = new ArrayList<>();
+        int batches;
+        boolean throwsException;
+
+        @Override
+        public synchronized void storeOrders(List<Order> newOrders) throws IOException {
+            if (throwsException) {
+                throw new IOException("Disk full");
+            }
+            batches++;
+            orders.addAll(newOrders);
+        }
+
+        @Override
+        public synchronized List<Order> retrieveOrders() {
+            return new ArrayList<>(orders);
+        }
+    }
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        testFilePath = Files.createTempFile("testGroupCommitOrderStorage", ".csv");
+    }
+
+    @AfterEach
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(testFilePath);
+    }
+
+    /**
+     * Test that concurrent callers are all stored durably in the journal.
+     */
+    @Test
+    public void testStoreOrders_ConcurrentCallers() throws Exception {
+        JournalOrderStorage journal = new JournalOrderStorage(testFilePath.toString(), DurabilityPolicy.PER_BATCH);
+        ExecutorService registers = Executors.newFixedThreadPool(8);
+        try (GroupCommitOrderStorage storage = new GroupCommitOrderStorage(journal, 64, Duration.ofMillis(1))) {
+            List<Future<?>> results = new ArrayList<>();
+            for (int register = 0; register < 8; register++) {
+                results.add(registers.submit(() -> {
+                    for (int i = 0; i < 25; i++) {
+                        storage.storeOrders(List.of(coffeeOrder()));
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> result : results) {
+                result.get();
+            }
+
+            assertEquals(200, storage.retrieveOrders().size(), "Every order should be stored once");
+        } finally {
+            registers.shutdown();
+        }
+    }
+
+    /**
+     * Test that queued requests are coalesced into a single delegated batch.
+     */
+    @Test
+    public void testStoreOrdersAsync_CoalescesQueuedRequests() throws Exception {
+        CountingStorage delegate = new CountingStorage();
+        try (GroupCommitOrderStorage storage = new GroupCommitOrderStorage(delegate, 1000, Duration.ofMillis(200))) {
+            List<CompletableFuture<Void>> futures = new ArrayList<>();
+            for (int i = 0; i < 10; i++) {
+                futures.add(storage.storeOrdersAsync(List.of(coffeeOrder())));
+            }
+            CompletableFuture.allOf(futures.toArray(CompletableFuture<?>[]::new)).get();
+
+            assertEquals(10, delegate.retrieveOrders().size());
+            assertEquals(1, delegate.batches, "Requests within the linger time should share one batch");
+        }
+    }
+
+    /**
+     * Test that a batch is written without lingering once the maximum batch size is reached.
+     */
+    @Test
+    public void testStoreOrdersAsync_MaxBatchSize() throws Exception {
+        CountingStorage delegate = new CountingStorage();
+        try (GroupCommitOrderStorage storage = new GroupCommitOrderStorage(delegate, 2, Duration.ofSeconds(30))) {
+            storage.storeOrdersAsync(List.of(coffeeOrder(), coffeeOrder())).get();
+
+            assertEquals(1, delegate.batches, "Full batch should not wait for the linger time");
+        }
+    }
+
+    /**
+     * Test that a failure of the delegate is reported to every caller of the batch.
+     */
+    @Test
+    public void testStoreOrders_DelegateFailure() {
+        CountingStorage delegate = new CountingStorage();
+        delegate.throwsException = true;
+        try (GroupCommitOrderStorage storage = new GroupCommitOrderStorage(delegate, 10, Duration.ZERO)) {
+            CompletableFuture<Void> future = storage.storeOrdersAsync(List.of(coffeeOrder()));
+            ExecutionException exception = assertThrows(ExecutionException.class, future::get);
+            assertTrue(exception.getCause() instanceof IOException);
+            assertThrows(IOException.class, () -> storage.storeOrders(List.of(coffeeOrder())));
+        } catch (IOException e) {
+            fail(e);
+        }
+    }
+
+    /**
+     * Test that pending requests are written on close and new requests are rejected afterwards.
+     */
+    @Test
+    public void testClose_FlushesPendingRequests() throws IOException {
+        CountingStorage delegate = new CountingStorage();
+        GroupCommitOrderStorage storage = new GroupCommitOrderStorage(delegate, 1000, Duration.ofSeconds(30));
+        CompletableFuture<Void> future = storage.storeOrdersAsync(List.of(coffeeOrder()));
+
+        storage.close();
+
+        assertTrue(future.isDone() && !future.isCompletedExceptionally(), "Pending request should be written on close");
+        assertEquals(1, delegate.retrieveOrders().size());
+        assertThrows(IllegalStateException.class, () -> storage.storeOrdersAsync(List.of(coffeeOrder())));
+    }
+
+    /**
+     * Test that requests racing with close are either written or rejected, so no caller waits forever.
+     */
+    @Test
+    public void testClose_ConcurrentRequestsComplete() throws Exception {
+        for (int round = 0; round < 50; round++) {
+            CountingStorage delegate = new CountingStorage();
+            GroupCommitOrderStorage storage = new GroupCommitOrderStorage(delegate, 8, Duration.ZERO);
+            List<CompletableFuture<Void>> futures = Collections.synchronizedList(new ArrayList<>());
+            ExecutorService registers = Executors.newFixedThreadPool(4);
+            try {
+                CountDownLatch started = new CountDownLatch(4);
+                for (int register = 0; register < 4; register++) {
+                    registers.submit(() -> {
+                        started.countDown();
+                        try {
+                            while (true) {
+                                futures.add(storage.storeOrdersAsync(List.of(coffeeOrder())));
+                            }
+                        } catch (IllegalStateException e) {
+                            return; // closed
+                        }
+                    });
+                }
+                started.await();
+                storage.close();
+            } finally {
+                registers.shutdown();
+                assertTrue(registers.awaitTermination(5, TimeUnit.SECONDS));
+            }
+
+            int written = 0;
+            for (CompletableFuture<Void> future : futures) {
+                assertTrue(future.isDone(), "Every accepted request should be completed after close");
+                if (!future.isCompletedExceptionally()) {
+                    written++;
+                }
+            }
+            assertEquals(written, delegate.retrieveOrders().size());
+        }
+    }
+
+    /**
+     * Test that invalid settings are rejected.
+     */
+    @Test
+    public void testConstructor_InvalidArguments() {
+        CountingStorage delegate = new CountingStorage();
+        assertThrows(IllegalArgumentException.class, () -> new GroupCommitOrderStorage(null));
+        assertThrows(IllegalArgumentException.class, () -> new GroupCommitOrderStorage(delegate, 0, Duration.ZERO));
+        assertThrows(IllegalArgumentException.class, () -> new GroupCommitOrderStorage(delegate, 1, Duration.ofMillis(-1)));
+    }
+
+    private static Order coffeeOrder() {
+        return new Order(List.of(new Coffee(CoffeeSize.SMALL)));
+    }
+}
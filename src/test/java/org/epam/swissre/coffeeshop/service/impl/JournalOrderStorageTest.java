@@ -0,0 +1,95 @@
+package org.epam.swissre.coffeeshop.service.impl;
+
+import org.epam.swissre.coffeeshop.enums.BaconRollSize;
+import org.epam.swissre.coffeeshop.enums.CoffeeSize;
+import org.epam.swissre.coffeeshop.enums.DurabilityPolicy;
+import org.epam.swissre.coffeeshop.enums.OrangeJuiceSize;
+import org.epam.swissre.coffeeshop.model.BaconRoll;
+import org.epam.swissre.coffeeshop.model.Coffee;
+import org.epam.swissre.coffeeshop.model.OrangeJuice;
+import org.epam.swissre.coffeeshop.model.Order;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for {@link JournalOrderStorage}.
+ */
+public class JournalOrderStorageTest {
+    private Path testFilePath;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        testFilePath = Files.createTempFile("testJournalOrderStorage", ".csv");
+    }
+
+    @AfterEach
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(testFilePath);
+    }
+
+    /**
+     * Test that successive calls append orders and keep the existing ones, for every durability policy.
+     */
+    @Test
+    public void testStoreOrders_AppendsForEveryPolicy() throws IOException {
+        for (DurabilityPolicy policy : DurabilityPolicy.values()) {
+            Files.write(testFilePath, new byte[0]);
+            JournalOrderStorage storage = new JournalOrderStorage(testFilePath.toString(), policy);
+
+            storage.storeOrders(List.of(new Order(List.of(new Coffee(CoffeeSize.SMALL)))));
+            storage.storeOrders(List.of(
+                    new Order(List.of(new Coffee(CoffeeSize.LARGE))),
+                    new Order(List.of(new OrangeJuice(OrangeJuiceSize.SMALL)))));
+
+            List<Order> orders = storage.retrieveOrders();
+            assertEquals(3, orders.size(), "All appended orders should be retrieved for policy " + policy);
+            assertEquals("Small coffee", orders.get(0).getProducts().get(0).getName());
+            assertEquals("Large coffee", orders.get(1).getProducts().get(0).getName());
+            assertEquals("Fresh Orange Juice (0.25l)", orders.get(2).getProducts().get(0).getName());
+        }
+    }
+
+    /**
+     * Test that the journal can continue a file written by {@link OrderStorage}, even without a trailing new line.
+     */
+    @Test
+    public void testStoreOrders_ContinuesExistingFileWithoutTrailingNewLine() throws IOException {
+        Files.writeString(testFilePath, "Small coffee,2.55;Medium coffee,3.05");
+        JournalOrderStorage storage = new JournalOrderStorage(testFilePath.toString());
+
+        storage.storeOrders(List.of(new Order(List.of(new Coffee(CoffeeSize.LARGE)))));
+
+        List<Order> orders = storage.retrieveOrders();
+        assertEquals(2, orders.size(), "Existing and new orders should be kept on separate lines");
+        assertEquals(2, orders.get(0).getProducts().size());
+        assertEquals("Large coffee", orders.get(1).getProducts().get(0).getName());
+    }
+
+    /**
+     * Test that orders without storable products do not produce empty lines.
+     */
+    @Test
+    public void testStoreOrders_SkipsEmptyRecords() throws IOException {
+        JournalOrderStorage storage = new JournalOrderStorage(testFilePath.toString(), DurabilityPolicy.NONE);
+
+        storage.storeOrders(List.of(new Order(List.of(new BaconRoll(BaconRollSize.STANDARD)))));
+
+        assertEquals(0, Files.size(testFilePath), "Nothing should be written for an order without beverages");
+    }
+
+    /**
+     * Test that a null durability policy is rejected.
+     */
+    @Test
+    public void testConstructor_NullPolicy() {
+        assertThrows(IllegalArgumentException.class, () -> new JournalOrderStorage(testFilePath.toString(), null));
+    }
+}
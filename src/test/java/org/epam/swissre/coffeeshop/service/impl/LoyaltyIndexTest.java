@@ -0,0 +1,216 @@
+package org.epam.swissre.coffeeshop.service.impl;
+
+import org.epam.swissre.coffeeshop.enums.BaconRollSize;
+import org.epam.swissre.coffeeshop.enums.CoffeeSize;
+import org.epam.swissre.coffeeshop.enums.DurabilityPolicy;
+import org.epam.swissre.coffeeshop.enums.OrangeJuiceSize;
+import org.epam.swissre.coffeeshop.model.BaconRoll;
+import org.epam.swissre.coffeeshop.model.Coffee;
+import org.epam.swissre.coffeeshop.model.OrangeJuice;
+import org.epam.swissre.coffeeshop.model.Order;
+import org.epam.swissre.coffeeshop.service.ILoyaltyIndex;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for {@link LoyaltyIndex}.
+ */
+public class LoyaltyIndexTest {
+    private Path ordersPath;
+    private Path indexPath;
+    private OrderStorage orderStorage;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        ordersPath = Files.createTempFile("testLoyaltyOrders", ".csv");
+        indexPath = Path.of(ordersPath + ".loyalty");
+        orderStorage = new OrderStorage(ordersPath.toString());
+    }
+
+    @AfterEach
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(ordersPath);
+        Files.deleteIfExists(indexPath);
+    }
+
+    /**
+     * Test that a missing index is rebuilt from the beverages of the stored order history.
+     */
+    @Test
+    public void testRebuildFromOrderHistory() throws IOException {
+        orderStorage.storeOrders(List.of(
+                new Order(List.of(new Coffee(CoffeeSize.SMALL), new OrangeJuice(OrangeJuiceSize.SMALL))),
+                new Order(List.of(new Coffee(CoffeeSize.LARGE)))));
+
+        LoyaltyIndex loyaltyIndex = new LoyaltyIndex(indexPath.toString(), orderStorage);
+
+        assertEquals(3, loyaltyIndex.getBeverageCount(), "Counter should be rebuilt from the stored beverages");
+        assertTrue(Files.exists(indexPath), "Rebuilt index should be persisted");
+    }
+
+    /**
+     * Test that only beverages advance the counter and that the counter survives a restart.
+     */
+    @Test
+    public void testRecordOrderAndReload() throws IOException {
+        LoyaltyIndex loyaltyIndex = new LoyaltyIndex(indexPath.toString(), orderStorage);
+        loyaltyIndex.recordOrder(new Order(List.of(new Coffee(CoffeeSize.SMALL), new BaconRoll(BaconRollSize.STANDARD))));
+        loyaltyIndex.recordOrder(new Order(List.of(new OrangeJuice(OrangeJuiceSize.SMALL))));
+        assertEquals(2, loyaltyIndex.getBeverageCount(), "Only beverages should advance the counter");
+
+        // The reloaded index must not replay the order history, which is empty here
+        LoyaltyIndex reloaded = new LoyaltyIndex(indexPath.toString(), orderStorage);
+        assertEquals(2, reloaded.getBeverageCount(), "Counter should be loaded from the index file");
+    }
+
+    /**
+     * Test that an index persisted with a different size of the order history is rebuilt, e.g. after orders were
+     * stored without committing them to the index.
+     */
+    @Test
+    public void testStaleIndexIsRebuilt() throws IOException {
+        LoyaltyIndex loyaltyIndex = new LoyaltyIndex(indexPath.toString(), orderStorage, DurabilityPolicy.NONE);
+        loyaltyIndex.recordOrder(new Order(List.of(new Coffee(CoffeeSize.SMALL))));
+        assertEquals(1, new LoyaltyIndex(indexPath.toString(), orderStorage).getBeverageCount(), "An up-to-date index should be loaded");
+
+        orderStorage.storeOrders(List.of(new Order(List.of(new Coffee(CoffeeSize.LARGE), new OrangeJuice(OrangeJuiceSize.SMALL)))));
+
+        assertEquals(2, new LoyaltyIndex(indexPath.toString(), orderStorage).getBeverageCount(),
+                "A stale index should be rebuilt from the order history");
+    }
+
+    /**
+     * Test that a write-behind index is persisted when the storage flushes the orders, not when they are committed,
+     * so the persisted counter never includes pending orders.
+     */
+    @Test
+    public void testWriteBehind_PersistedOnFlush() throws IOException {
+        JournalOrderStorage journal = new JournalOrderStorage(ordersPath.toString(), DurabilityPolicy.NONE);
+        try (WriteBehindOrderStorage writeBehind = new WriteBehindOrderStorage(journal, 100, 50, 100, Duration.ofHours(1))) {
+            LoyaltyIndex loyaltyIndex = new LoyaltyIndex(indexPath.toString(), writeBehind, DurabilityPolicy.NONE);
+            Order order = new Order(List.of(new Coffee(CoffeeSize.SMALL), new OrangeJuice(OrangeJuiceSize.SMALL)));
+            assertTrue(loyaltyIndex.compareAndAdvance(0, order));
+            writeBehind.storeOrders(List.of(order));
+            loyaltyIndex.commitOrders(ILoyaltyIndex.WALK_IN_CUSTOMER, List.of(order));
+
+            assertEquals(2, loyaltyIndex.getBeverageCount());
+            assertEquals(0, ByteBuffer.wrap(Files.readAllBytes(indexPath)).getLong(0), "Pending orders should not be persisted");
+
+            writeBehind.flush();
+
+            assertEquals(2, ByteBuffer.wrap(Files.readAllBytes(indexPath)).getLong(0), "Flushed orders should be persisted");
+            assertEquals(journal.getStoredSize(), ByteBuffer.wrap(Files.readAllBytes(indexPath)).getLong(Long.BYTES));
+        }
+    }
+
+    /**
+     * Test that an index file of the former format holding only the counter is rebuilt.
+     */
+    @Test
+    public void testFormerFormatIsRebuilt() throws IOException {
+        orderStorage.storeOrders(List.of(new Order(List.of(new Coffee(CoffeeSize.SMALL)))));
+        Files.write(indexPath, ByteBuffer.allocate(Long.BYTES).putLong(0, 42).array());
+
+        assertEquals(1, new LoyaltyIndex(indexPath.toString(), orderStorage).getBeverageCount());
+        assertEquals(2 * Long.BYTES, Files.size(indexPath));
+    }
+
+    /**
+     * Test that the counter is only advanced if it still has the expected value, and persisted once committed.
+     */
+    @Test
+    public void testCompareAndAdvance() throws IOException {
+        LoyaltyIndex loyaltyIndex = new LoyaltyIndex(indexPath.toString(), orderStorage);
+        Order order = new Order(List.of(new Coffee(CoffeeSize.SMALL), new OrangeJuice(OrangeJuiceSize.SMALL)));
+
+        assertTrue(loyaltyIndex.compareAndAdvance(0, order));
+        assertFalse(loyaltyIndex.compareAndAdvance(0, order), "A stale counter should not advance the index");
+        assertEquals(2, loyaltyIndex.getBeverageCount());
+        assertEquals(0, new LoyaltyIndex(indexPath.toString(), orderStorage).getBeverageCount(), "Claim should not be persisted before the commit");
+
+        loyaltyIndex.commitOrders(ILoyaltyIndex.WALK_IN_CUSTOMER, List.of(order));
+        assertEquals(2, new LoyaltyIndex(indexPath.toString(), orderStorage).getBeverageCount(), "Counter should be persisted");
+    }
+
+    /**
+     * Test that released claims no longer count and are never persisted.
+     */
+    @Test
+    public void testReleaseOrders() throws IOException {
+        LoyaltyIndex loyaltyIndex = new LoyaltyIndex(indexPath.toString(), orderStorage);
+        Order paid = new Order(List.of(new Coffee(CoffeeSize.SMALL)));
+        Order declined = new Order(List.of(new Coffee(CoffeeSize.LARGE), new OrangeJuice(OrangeJuiceSize.SMALL)));
+
+        assertEquals(2, loyaltyIndex.claimOrders("anna", 0, List.of(paid, declined)));
+        loyaltyIndex.releaseOrders("anna", List.of(declined));
+        loyaltyIndex.commitOrders("anna", List.of(paid));
+
+        assertEquals(1, loyaltyIndex.getBeverageCount(), "Released beverages should not be counted");
+        assertEquals(1, new LoyaltyIndex(indexPath.toString(), orderStorage).getBeverageCount());
+    }
+
+    /**
+     * Test that the orders of a batch are claimed and committed together if the counter has the expected value.
+     */
+    @Test
+    public void testClaimOrders() throws IOException {
+        LoyaltyIndex loyaltyIndex = new LoyaltyIndex(indexPath.toString(), orderStorage);
+        List<Order> orders = List.of(new Order(List.of(new Coffee(CoffeeSize.SMALL), new BaconRoll(BaconRollSize.STANDARD))),
+                new Order(List.of(new Coffee(CoffeeSize.LARGE), new OrangeJuice(OrangeJuiceSize.SMALL))));
+
+        assertEquals(2, loyaltyIndex.claimOrders("anna", 0, orders));
+        assertEquals(0, loyaltyIndex.claimOrders("anna", 0, orders), "A stale counter should not advance the index");
+        loyaltyIndex.commitOrders("anna", orders);
+        assertEquals(3, new LoyaltyIndex(indexPath.toString(), orderStorage).getBeverageCount(), "Counter should be persisted");
+    }
+
+    /**
+     * Test that concurrent checkouts claim every beverage ordinal exactly once.
+     */
+    @Test
+    public void testCompareAndAdvance_ConcurrentCheckouts() throws Exception {
+        LoyaltyIndex loyaltyIndex = new LoyaltyIndex(indexPath.toString(), orderStorage);
+        Order order = new Order(List.of(new Coffee(CoffeeSize.SMALL)));
+        Set<Long> claimedCounters = ConcurrentHashMap.newKeySet();
+        ExecutorService registers = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> results = new ArrayList<>();
+            for (int register = 0; register < 4; register++) {
+                results.add(registers.submit(() -> {
+                    for (int i = 0; i < 25; i++) {
+                        long counter;
+                        do {
+                            counter = loyaltyIndex.getBeverageCount();
+                        } while (!loyaltyIndex.compareAndAdvance(counter, order));
+                        assertTrue(claimedCounters.add(counter), "Counter " + counter + " should be claimed once");
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> result : results) {
+                result.get();
+            }
+        } finally {
+            registers.shutdown();
+        }
+
+        assertEquals(100, loyaltyIndex.getBeverageCount());
+        assertEquals(100, claimedCounters.size());
+    }
+}
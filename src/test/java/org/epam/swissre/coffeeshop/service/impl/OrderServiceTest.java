@@ -1,8 +1,10 @@
 package org.epam.swissre.coffeeshop.service.impl;
 
 import org.epam.swissre.coffeeshop.bonus.BonusStrategy;
+import org.epam.swissre.coffeeshop.enums.CoffeeSize;
 import org.epam.swissre.coffeeshop.model.Order;
 import org.epam.swissre.coffeeshop.model.Product;
+import org.epam.swissre.coffeeshop.model.ProductCatalog;
 import org.epam.swissre.coffeeshop.service.IBonusService;
 import org.epam.swissre.coffeeshop.service.IOrderService;
 import org.junit.jupiter.api.BeforeEach;
@@ -36,22 +38,48 @@ public class OrderServiceTest {
      */
     @Test
     public void testProcessOrder_CalculatesTotalPrice() {
-        List<Product> products = Arrays.asList(new TestProduct("Coffee",10.0), new TestProduct("Orange Juice",15.0));
-        Order processedOrder = orderService.processOrder(products, List.of());
+        List<Product> products = Arrays.asList(new TestProduct("Coffee", 1000), new TestProduct("Orange Juice", 1500));
+        Order processedOrder = orderService.processOrder(products, 0);
 
-        assertEquals(25.0, processedOrder.getTotalCost(), "Total cost should equal the sum of product prices.");
+        assertEquals(2500, processedOrder.getTotalCostInCents(), "Total cost should equal the sum of product prices.");
         assertTrue(stubBonusService.isApplyBonusCalled(), "applyBonus should be called on the bonus service.");
     }
 
+    /**
+     * Verifies that the already paid beverage count is handed over to the order for the bonus calculation.
+     */
+    @Test
+    public void testProcessOrder_PassesAlreadyPaidBeverageCount() {
+        Order processedOrder = orderService.processOrder(List.of(new TestProduct("Coffee", 1000)), 4);
+
+        assertEquals(4, processedOrder.getAlreadyPaidBeverageCount(), "Order should carry the already paid beverage count.");
+    }
+
     /**
      * Tests that processOrder throws the appropriate exception when provided with a null product list.
      */
     @Test
     public void testProcessOrder_WithNullProductList() {
-        assertThrows(IllegalArgumentException.class, () -> orderService.processOrder(null, null),
+        assertThrows(IllegalArgumentException.class, () -> orderService.processOrder(null, 0),
                 "Should throw IllegalArgumentException for null product list.");
     }
 
+    /**
+     * Verifies that the orders of a batch are priced in sequence, each with the beverages of the orders before it.
+     */
+    @Test
+    public void testProcessOrders_RunningBeverageCount() {
+        Product coffee = ProductCatalog.coffee(CoffeeSize.SMALL);
+        List<Order> orders = orderService.processOrders(List.of(List.of(coffee, coffee),
+                List.of(new TestProduct("Muffin", 300)), List.of(coffee)), 3);
+
+        assertEquals(3, orders.size());
+        assertEquals(3, orders.get(0).getAlreadyPaidBeverageCount());
+        assertEquals(5, orders.get(1).getAlreadyPaidBeverageCount());
+        assertEquals(5, orders.get(2).getAlreadyPaidBeverageCount(), "Orders without beverages should not advance the counter.");
+        assertThrows(IllegalArgumentException.class, () -> orderService.processOrders(List.of(), 0));
+    }
+
     /**
      * A stub implementation of the IBonusService interface for testing purposes.
      * This stub tracks whether its applyBonus method has been called.
@@ -88,8 +116,8 @@ public class OrderServiceTest {
      * Represents a product with a price.
      */
     static class TestProduct extends Product {
-        public TestProduct(String name, double price) {
-            super(name, price);
+        public TestProduct(String name, long priceInCents) {
+            super(name, priceInCents);
         }
     }
 }
\ No newline at end of file
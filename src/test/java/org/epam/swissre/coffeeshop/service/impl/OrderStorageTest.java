@@ -12,6 +12,7 @@ import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.List;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -60,7 +61,7 @@ public class OrderStorageTest {
                 Product expProduct = expected.getProducts().get(j);
                 Product actProduct = actual.getProducts().get(j);
                 assertEquals(expProduct.getName(), actProduct.getName(), "Product names should match");
-                assertEquals(expProduct.getPrice(), actProduct.getPrice(), "Product prices should match");
+                assertEquals(expProduct.getPriceInCents(), actProduct.getPriceInCents(), "Product prices should match");
             }
         }
     }
@@ -71,4 +72,17 @@ public class OrderStorageTest {
         List<Order> orders = orderStorage.retrieveOrders();
         assertTrue(orders.isEmpty(), "Retrieved list should be empty for a new file");
     }
+
+    @Test
+    public void testStreamOrders_LazyWithEarlyTermination() throws IOException {
+        Files.writeString(testFilePath, "Small coffee,2.55\nmalformed\nLarge coffee,3.55\nMedium coffee,3.05\n");
+
+        try (Stream<Order> orders = orderStorage.streamOrders()) {
+            assertEquals(3, orders.count(), "Malformed lines should be skipped");
+        }
+        try (Stream<Order> orders = orderStorage.streamOrders()) {
+            Order first = orders.filter(order -> order.getProducts().get(0).getPriceInCents() > 300).findFirst().orElseThrow();
+            assertEquals("Large coffee", first.getProducts().get(0).getName(), "Stream should stop at the first match");
+        }
+    }
 }
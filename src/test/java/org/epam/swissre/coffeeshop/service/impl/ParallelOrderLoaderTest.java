@@ -0,0 +1,97 @@
+package org.epam.swissre.coffeeshop.service.impl;
+
+import org.epam.swissre.coffeeshop.model.Order;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for {@link ParallelOrderLoader}.
+ */
+public class ParallelOrderLoaderTest {
+    private Path testFilePath;
+    private ForkJoinPool pool;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        testFilePath = Files.createTempFile("testParallelOrderLoader", ".csv");
+        pool = new ForkJoinPool(4);
+    }
+
+    @AfterEach
+    public void tearDown() throws IOException {
+        pool.shutdown();
+        Files.deleteIfExists(testFilePath);
+    }
+
+    /**
+     * Test that loading many small chunks yields the same orders, in the same order, as a sequential read.
+     */
+    @Test
+    public void testLoad_MatchesSequentialRead() throws IOException {
+        try (BufferedWriter writer = Files.newBufferedWriter(testFilePath)) {
+            for (int i = 0; i < 5000; i++) {
+                writer.write(i % 100 == 0 ? "malformed" : "Order " + i + "," + (i % 10) + ".5;Small coffee,2.55");
+                writer.write(i % 3 == 0 ? "\r\n" : "\n");
+            }
+            writer.write("Large coffee,3.55"); // no trailing newline
+        }
+
+        List<Order> expected = new OrderStorage(testFilePath.toString()).retrieveOrders();
+        List<Order> orders = new ParallelOrderLoader(pool, 1024).load(testFilePath);
+
+        assertEquals(expected.size(), orders.size(), "Number of orders should be equal");
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i).getProducts(), orders.get(i).getProducts(), "Orders should be in file order");
+        }
+        assertEquals("Large coffee", orders.get(orders.size() - 1).getProducts().get(0).getName());
+    }
+
+    /**
+     * Test that chunk boundaries are placed directly after line separators.
+     */
+    @Test
+    public void testChunkBoundaries_AlignedToLines() throws IOException {
+        String line = "Small coffee,2.55;Fresh Orange Juice (0.25l),3.95\n";
+        Files.writeString(testFilePath, line.repeat(1000));
+
+        try (FileChannel channel = FileChannel.open(testFilePath, StandardOpenOption.READ)) {
+            long[] boundaries = new ParallelOrderLoader(pool, 4096).chunkBoundaries(channel);
+
+            assertTrue(boundaries.length > 2, "File should be split into several chunks");
+            assertEquals(0, boundaries[0]);
+            assertEquals(channel.size(), boundaries[boundaries.length - 1]);
+            for (int i = 1; i < boundaries.length - 1; i++) {
+                assertEquals(0, boundaries[i] % line.length(), "Boundary should start a line");
+            }
+        }
+    }
+
+    /**
+     * Test that an empty file yields no orders.
+     */
+    @Test
+    public void testLoad_EmptyFile() throws IOException {
+        assertTrue(new ParallelOrderLoader(pool).load(testFilePath).isEmpty());
+    }
+
+    /**
+     * Test that invalid arguments are rejected.
+     */
+    @Test
+    public void testConstructor_InvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new ParallelOrderLoader(null));
+        assertThrows(IllegalArgumentException.class, () -> new ParallelOrderLoader(pool, 0));
+    }
+}
@@ -7,6 +7,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import java.util.ArrayList;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -21,8 +22,8 @@ public class PaymentServiceTest {
     public void setUp() {
         paymentService = new PaymentService();
         order = new Order(new ArrayList<>()); // dummy order with empty products
-        order.setTotalCost(100.00);  // Setting total cost
-        order.applyDiscount(20.00);  // Applying a discount
+        order.setTotalCostInCents(10000);  // Setting total cost
+        order.applyDiscount(2000);  // Applying a discount
     }
 
     /**
@@ -40,9 +41,9 @@ public class PaymentServiceTest {
      */
     @Test
     public void testTotalCostUnchangedAfterPayment() {
-        double initialTotalCost = order.getTotalCost();
+        long initialTotalCost = order.getTotalCostInCents();
         paymentService.processPayment(order);
-        assertEquals(initialTotalCost, order.getTotalCost(), "Total cost should remain unchanged after payment processing.");
+        assertEquals(initialTotalCost, order.getTotalCostInCents(), "Total cost should remain unchanged after payment processing.");
     }
 
     /**
@@ -50,8 +51,23 @@ public class PaymentServiceTest {
      */
     @Test
     public void testTotalDiscountUnchangedAfterPayment() {
-        double initialDiscount = order.getTotalDiscount();
+        long initialDiscount = order.getTotalDiscountInCents();
         paymentService.processPayment(order);
-        assertEquals(initialDiscount, order.getTotalDiscount(), "Total discount should remain unchanged after payment processing.");
+        assertEquals(initialDiscount, order.getTotalDiscountInCents(), "Total discount should remain unchanged after payment processing.");
+    }
+
+    /**
+     * Test that processPayments sets every order of the batch PAID.
+     */
+    @Test
+    public void testProcessPayments_SetsOrderStatusToPaid() {
+        Order secondOrder = new Order(new ArrayList<>());
+        secondOrder.setTotalCostInCents(500);
+
+        paymentService.processPayments(List.of(order, secondOrder));
+
+        assertEquals(OrderStatus.PAID, order.getStatus());
+        assertEquals(OrderStatus.PAID, secondOrder.getStatus());
+        assertEquals(500, secondOrder.getTotalCostInCents(), "Total cost should remain unchanged after payment processing.");
     }
 }
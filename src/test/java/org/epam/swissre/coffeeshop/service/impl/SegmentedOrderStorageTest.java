@@ -0,0 +1,198 @@
+package org.epam.swissre.coffeeshop.service.impl;
+
+import org.epam.swissre.coffeeshop.enums.BaconRollSize;
+import org.epam.swissre.coffeeshop.enums.CoffeeSize;
+import org.epam.swissre.coffeeshop.model.BaconRoll;
+import org.epam.swissre.coffeeshop.model.Coffee;
+import org.epam.swissre.coffeeshop.model.Order;
+import org.epam.swissre.coffeeshop.util.CachedClock;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for {@link SegmentedOrderStorage} and {@link OrderLogSummary}.
+ */
+public class SegmentedOrderStorageTest {
+    private static final Duration NO_BACKGROUND_RUN = Duration.ofHours(1);
+
+    private Path testDirectory;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        testDirectory = Files.createTempDirectory("testSegmentedOrderStorage");
+    }
+
+    @AfterEach
+    public void tearDown() throws IOException {
+        try (Stream<Path> files = Files.walk(testDirectory)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(file);
+            }
+        }
+    }
+
+    /**
+     * Test that the active segment is rotated once it reaches the maximum size.
+     */
+    @Test
+    public void testStoreOrders_RotatesBySize() throws IOException {
+        try (SegmentedOrderStorage storage = new SegmentedOrderStorage(testDirectory.toString(), 10,
+                Duration.ofDays(1), NO_BACKGROUND_RUN)) {
+            for (int i = 0; i < 3; i++) {
+                storage.storeOrders(List.of(coffeeOrder()));
+            }
+
+            List<Order> orders = storage.retrieveOrders();
+            assertEquals(3, orders.size(), "Orders of closed and active segments should be retrieved");
+            assertEquals(3, storage.getLiveSegmentCount(), "Every store should have started a new segment");
+        }
+    }
+
+    /**
+     * Test that the background thread compacts closed segments.
+     */
+    @Test
+    public void testBackgroundCompaction() throws Exception {
+        try (SegmentedOrderStorage storage = new SegmentedOrderStorage(testDirectory.toString(), 10,
+                Duration.ofDays(1), Duration.ofMillis(10))) {
+            storage.storeOrders(List.of(coffeeOrder()));
+            storage.storeOrders(List.of(coffeeOrder()));
+
+            long deadline = System.currentTimeMillis() + 5000;
+            while (storage.getLiveSegmentCount() > 1 && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+            assertEquals(1, storage.getLiveSegmentCount(), "Closed segments should be compacted in the background");
+            assertEquals(2, storage.getSummary().getOrderCount(), "Full active segment should be rotated and compacted as well");
+            assertTrue(storage.retrieveOrders().isEmpty());
+        }
+    }
+
+    /**
+     * Test that a non-empty segment older than the maximum age is rotated.
+     */
+    @Test
+    public void testStoreOrders_RotatesByAge() throws IOException {
+        try (SegmentedOrderStorage storage = new SegmentedOrderStorage(testDirectory.toString(), Long.MAX_VALUE,
+                Duration.ZERO, NO_BACKGROUND_RUN)) {
+            storage.storeOrders(List.of(coffeeOrder()));
+            assertEquals(1, storage.getLiveSegmentCount(), "Empty segment should not be rotated");
+
+            storage.storeOrders(List.of(coffeeOrder()));
+            assertEquals(2, storage.getLiveSegmentCount(), "Expired segment should be rotated");
+        }
+    }
+
+    /**
+     * Test that the age of a segment is measured with the clock of the storage, also across a restart.
+     */
+    @Test
+    public void testStoreOrders_RotatesByAgeOfClock() throws IOException {
+        Instant created = Instant.parse("2024-08-23T10:00:00Z");
+        try (SegmentedOrderStorage storage = new SegmentedOrderStorage(testDirectory.toString(), Long.MAX_VALUE,
+                Duration.ofDays(1), NO_BACKGROUND_RUN, new CachedClock(Clock.fixed(created, ZoneOffset.UTC)))) {
+            storage.storeOrders(List.of(coffeeOrder()));
+            storage.storeOrders(List.of(coffeeOrder()));
+            assertEquals(1, storage.getLiveSegmentCount(), "Segment should not expire while the clock stands still");
+        }
+        CachedClock nextDay = new CachedClock(Clock.fixed(created.plus(Duration.ofDays(1)), ZoneOffset.UTC));
+        try (SegmentedOrderStorage storage = new SegmentedOrderStorage(testDirectory.toString(), Long.MAX_VALUE,
+                Duration.ofDays(1), NO_BACKGROUND_RUN, nextDay)) {
+            storage.storeOrders(List.of(coffeeOrder()));
+            assertEquals(2, storage.getLiveSegmentCount(), "Segment should expire a day after its creation");
+        }
+    }
+
+    /**
+     * Test that compaction folds closed segments into the summary, deletes them and survives a restart.
+     */
+    @Test
+    public void testCompact_SummarizesClosedSegments() throws IOException {
+        try (SegmentedOrderStorage storage = new SegmentedOrderStorage(testDirectory.toString(), 10,
+                Duration.ofDays(1), NO_BACKGROUND_RUN)) {
+            storage.storeOrders(List.of(coffeeOrder(), coffeeOrder()));
+            storage.storeOrders(List.of(coffeeOrder()));
+            storage.compact();
+
+            assertEquals(new OrderLogSummary(2, 4, 1020), storage.getSummary(), "First segment should be summarized");
+            assertEquals(1, storage.getLiveSegmentCount());
+            assertEquals(1, storage.retrieveOrders().size(), "Only the active segment should be read");
+            assertEquals(new OrderLogSummary(3, 6, 1530), storage.summarizeAll());
+        }
+
+        try (Stream<Path> files = Files.list(testDirectory)) {
+            assertEquals(2, files.count(), "Compacted segment should be deleted, manifest and active segment kept");
+        }
+        try (SegmentedOrderStorage storage = new SegmentedOrderStorage(testDirectory.toString(), 10,
+                Duration.ofDays(1), NO_BACKGROUND_RUN)) {
+            assertEquals(new OrderLogSummary(2, 4, 1020), storage.getSummary(), "Summary should be restored from the manifest");
+            assertEquals(1, storage.retrieveOrders().size());
+        }
+    }
+
+    /**
+     * Test that the loyalty index rebuild includes the compacted orders.
+     */
+    @Test
+    public void testLoyaltyIndexRebuild_IncludesSummary() throws IOException {
+        try (SegmentedOrderStorage storage = new SegmentedOrderStorage(testDirectory.toString(), 10,
+                Duration.ofDays(1), NO_BACKGROUND_RUN)) {
+            storage.storeOrders(List.of(coffeeOrder()));
+            storage.storeOrders(List.of(coffeeOrder()));
+            storage.compact();
+
+            LoyaltyIndex index = new LoyaltyIndex(testDirectory.resolve("loyalty").toString(), storage);
+            assertEquals(4, index.getBeverageCount());
+        }
+    }
+
+    /**
+     * Test that the loyalty index rebuild includes the compacted orders when the storage is decorated.
+     */
+    @Test
+    public void testLoyaltyIndexRebuild_DecoratedStorage() throws IOException {
+        try (SegmentedOrderStorage storage = new SegmentedOrderStorage(testDirectory.toString(), 10,
+                Duration.ofDays(1), NO_BACKGROUND_RUN);
+             GroupCommitOrderStorage groupCommit = new GroupCommitOrderStorage(storage);
+             WriteBehindOrderStorage writeBehind = new WriteBehindOrderStorage(groupCommit)) {
+            storage.storeOrders(List.of(coffeeOrder()));
+            storage.storeOrders(List.of(coffeeOrder()));
+            storage.compact();
+            writeBehind.storeOrders(List.of(coffeeOrder()));
+
+            LoyaltyIndex index = new LoyaltyIndex(testDirectory.resolve("loyalty").toString(), writeBehind);
+            assertEquals(6, index.getBeverageCount(), "Compacted and pending orders should be counted");
+        }
+    }
+
+    /**
+     * Test that invalid settings and non-negative summaries are validated.
+     */
+    @Test
+    public void testInvalidArguments() {
+        String directory = testDirectory.toString();
+        assertThrows(IllegalArgumentException.class, () -> new SegmentedOrderStorage(directory, 0, Duration.ZERO, NO_BACKGROUND_RUN));
+        assertThrows(IllegalArgumentException.class, () -> new SegmentedOrderStorage(directory, 1, null, NO_BACKGROUND_RUN));
+        assertThrows(IllegalArgumentException.class, () -> new SegmentedOrderStorage(directory, 1, Duration.ZERO, Duration.ZERO));
+        assertThrows(IllegalArgumentException.class, () -> new OrderLogSummary(-1, 0, 0));
+    }
+
+    private static Order coffeeOrder() {
+        // The bacon roll is not a beverage and therefore not persisted by the CSV format
+        return new Order(List.of(new Coffee(CoffeeSize.SMALL), new Coffee(CoffeeSize.SMALL), new BaconRoll(BaconRollSize.STANDARD)));
+    }
+}
@@ -0,0 +1,208 @@
+package org.epam.swissre.coffeeshop.service.impl;
+
+import org.epam.swissre.coffeeshop.enums.BaconRollSize;
+import org.epam.swissre.coffeeshop.enums.CoffeeSize;
+import org.epam.swissre.coffeeshop.model.BaconRoll;
+import org.epam.swissre.coffeeshop.model.Coffee;
+import org.epam.swissre.coffeeshop.model.Order;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for {@link WriteBehindOrderStorage}.
+ */
+public class WriteBehindOrderStorageTest {
+    private static final Duration NO_SCHEDULED_FLUSH = Duration.ofHours(1);
+
+    private GroupCommitOrderStorageTest.CountingStorage delegate;
+
+    @BeforeEach
+    public void setUp() {
+        delegate = new GroupCommitOrderStorageTest.CountingStorage();
+    }
+
+    /**
+     * Test that stored orders are only pending until they are flushed.
+     */
+    @Test
+    public void testStoreOrders_DoesNotWriteThrough() throws IOException {
+        try (WriteBehindOrderStorage storage = new WriteBehindOrderStorage(delegate, 100, 50, 100, NO_SCHEDULED_FLUSH)) {
+            storage.storeOrders(List.of(coffeeOrder(), coffeeOrder()));
+
+            assertEquals(0, delegate.batches, "Orders should not be written on the caller thread");
+            assertEquals(2, storage.getPendingCount());
+
+            storage.flush();
+            assertEquals(1, delegate.batches);
+            assertEquals(0, storage.getPendingCount());
+            assertEquals(1, storage.getFlushCount());
+        }
+    }
+
+    /**
+     * Test that reaching the flush threshold flushes in the background.
+     */
+    @Test
+    public void testStoreOrders_FlushThreshold() throws Exception {
+        try (WriteBehindOrderStorage storage = new WriteBehindOrderStorage(delegate, 100, 3, 100, NO_SCHEDULED_FLUSH)) {
+            storage.storeOrders(List.of(coffeeOrder(), coffeeOrder(), coffeeOrder()));
+
+            long deadline = System.currentTimeMillis() + 5000;
+            while (storage.getPendingCount() > 0 && System.currentTimeMillis() < deadline) {
+                Thread.sleep(5);
+            }
+            assertEquals(3, delegate.retrieveOrders().size(), "Threshold should trigger a background flush");
+            assertTrue(storage.getMaxFlushLag().compareTo(storage.getLastFlushLag()) >= 0);
+        }
+    }
+
+    /**
+     * Test that the scheduled flush writes pending orders.
+     */
+    @Test
+    public void testScheduledFlush() throws Exception {
+        try (WriteBehindOrderStorage storage = new WriteBehindOrderStorage(delegate, 100, 50, 100, Duration.ofMillis(10))) {
+            storage.storeOrders(List.of(coffeeOrder()));
+
+            long deadline = System.currentTimeMillis() + 5000;
+            while (storage.getFlushCount() == 0 && System.currentTimeMillis() < deadline) {
+                Thread.sleep(5);
+            }
+            assertEquals(1, delegate.retrieveOrders().size());
+        }
+    }
+
+    /**
+     * Test that retrievals are served from the cache until orders are evicted.
+     */
+    @Test
+    public void testRetrieveOrders_CacheHitsAndEviction() throws IOException {
+        delegate.storeOrders(List.of(coffeeOrder()));
+        try (WriteBehindOrderStorage storage = new WriteBehindOrderStorage(delegate, 3, 50, 100, NO_SCHEDULED_FLUSH)) {
+            assertEquals(1, storage.retrieveOrders().size());
+            assertEquals(1, storage.getCacheMisses(), "First retrieval should read the delegate");
+
+            storage.storeOrders(List.of(coffeeOrder()));
+            assertEquals(2, storage.retrieveOrders().size(), "Pending orders should be served from the cache");
+            assertEquals(1, storage.getCacheHits());
+            assertEquals(1, storage.getPendingCount(), "A cache hit should not flush");
+
+            storage.storeOrders(List.of(coffeeOrder(), coffeeOrder()));
+            assertEquals(4, storage.retrieveOrders().size(), "Evicted history should be read from the delegate");
+            assertEquals(2, storage.getCacheMisses());
+            assertEquals(4, delegate.retrieveOrders().size(), "A miss should flush the pending orders first");
+        }
+    }
+
+    /**
+     * Test that the summary includes the history and is maintained on store.
+     */
+    @Test
+    public void testGetSummary() throws IOException {
+        delegate.storeOrders(List.of(coffeeOrder()));
+        try (WriteBehindOrderStorage storage = new WriteBehindOrderStorage(delegate, 100, 50, 100, NO_SCHEDULED_FLUSH)) {
+            assertEquals(new OrderLogSummary(1, 1, 758), storage.getSummary());
+
+            storage.storeOrders(List.of(coffeeOrder()));
+            assertEquals(new OrderLogSummary(2, 2, 1516), storage.getSummary());
+        }
+    }
+
+    /**
+     * Test that a failed flush keeps the orders pending and close flushes them.
+     */
+    @Test
+    public void testFlushFailure_KeepsPendingOrders() throws IOException {
+        WriteBehindOrderStorage storage = new WriteBehindOrderStorage(delegate, 100, 50, 100, NO_SCHEDULED_FLUSH);
+        storage.storeOrders(List.of(coffeeOrder()));
+        delegate.throwsException = true;
+
+        assertThrows(IOException.class, storage::flush);
+        assertEquals(1, storage.getPendingCount(), "Orders should stay pending after a failed flush");
+        assertEquals(1, storage.getFlushFailures());
+
+        delegate.throwsException = false;
+        storage.close();
+        assertEquals(1, delegate.retrieveOrders().size(), "Close should flush the pending orders");
+    }
+
+    /**
+     * Test that flush listeners receive every written batch, and that a failing listener does not make the
+     * written orders pending again.
+     */
+    @Test
+    public void testFlushListener() throws IOException {
+        try (WriteBehindOrderStorage storage = new WriteBehindOrderStorage(delegate, 100, 50, 100, NO_SCHEDULED_FLUSH)) {
+            List<List<Order>> batches = new ArrayList<>();
+            storage.addFlushListener(batch -> batches.add(List.copyOf(batch)));
+            storage.addFlushListener(batch -> {
+                throw new IOException("Index not writable");
+            });
+            Order order = coffeeOrder();
+            storage.storeOrders(List.of(order));
+            assertTrue(batches.isEmpty(), "Pending orders should not be reported");
+
+            storage.flush();
+
+            assertEquals(List.of(List.of(order)), batches);
+            assertEquals(0, storage.getPendingCount());
+            assertEquals(1, delegate.retrieveOrders().size());
+        }
+    }
+
+    /**
+     * Test that the maximum pending size makes the caller flush synchronously.
+     */
+    @Test
+    public void testStoreOrders_MaxPendingFlushesSynchronously() throws IOException {
+        try (WriteBehindOrderStorage storage = new WriteBehindOrderStorage(delegate, 100, 2, 2, NO_SCHEDULED_FLUSH)) {
+            storage.storeOrders(List.of(coffeeOrder(), coffeeOrder()));
+
+            assertEquals(2, delegate.retrieveOrders().size());
+        }
+    }
+
+    /**
+     * Test that a failing synchronous flush does not fail the call whose orders were queued, and that further
+     * orders are refused without being queued until the pending ones are written.
+     */
+    @Test
+    public void testStoreOrders_SynchronousFlushFailure() throws IOException {
+        WriteBehindOrderStorage storage = new WriteBehindOrderStorage(delegate, 100, 2, 2, NO_SCHEDULED_FLUSH);
+        delegate.throwsException = true;
+
+        storage.storeOrders(List.of(coffeeOrder(), coffeeOrder()));
+        assertEquals(2, storage.getPendingCount(), "Queued orders should stay pending");
+        assertEquals(1, storage.getFlushFailures());
+
+        assertThrows(IOException.class, () -> storage.storeOrders(List.of(coffeeOrder())));
+        assertEquals(2, storage.getPendingCount(), "Refused orders should not be queued");
+
+        delegate.throwsException = false;
+        storage.storeOrders(List.of(coffeeOrder()));
+        storage.close();
+        assertEquals(3, delegate.retrieveOrders().size(), "Only the accepted orders should be written");
+    }
+
+    /**
+     * Test that invalid settings are rejected.
+     */
+    @Test
+    public void testConstructor_InvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new WriteBehindOrderStorage(null));
+        assertThrows(IllegalArgumentException.class, () -> new WriteBehindOrderStorage(delegate, -1, 1, 1, NO_SCHEDULED_FLUSH));
+        assertThrows(IllegalArgumentException.class, () -> new WriteBehindOrderStorage(delegate, 1, 2, 1, NO_SCHEDULED_FLUSH));
+        assertThrows(IllegalArgumentException.class, () -> new WriteBehindOrderStorage(delegate, 1, 1, 1, Duration.ZERO));
+    }
+
+    private static Order coffeeOrder() {
+        return new Order(List.of(new Coffee(CoffeeSize.MEDIUM), new BaconRoll(BaconRollSize.STANDARD)));
+    }
+}
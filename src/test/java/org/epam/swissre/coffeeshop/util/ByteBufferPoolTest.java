@@ -0,0 +1,58 @@
+package org.epam.swissre.coffeeshop.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for {@link ByteBufferPool}.
+ */
+public class ByteBufferPoolTest {
+
+    /**
+     * Test that released buffers are cleared and handed out again.
+     */
+    @Test
+    public void testAcquire_ReusesReleasedBuffer() {
+        ByteBufferPool pool = new ByteBufferPool(64, 2);
+        ByteBuffer buffer = pool.acquire(16);
+        buffer.put((byte) 1).flip();
+
+        pool.release(buffer);
+
+        assertEquals(1, pool.getPooledCount());
+        ByteBuffer reused = pool.acquire(64);
+        assertSame(buffer, reused);
+        assertEquals(0, reused.position());
+        assertEquals(64, reused.limit());
+        assertEquals(0, pool.getPooledCount());
+    }
+
+    /**
+     * Test that oversized requests get one-off buffers and that the pool keeps at most its maximum of buffers.
+     */
+    @Test
+    public void testRelease_Bounded() {
+        ByteBufferPool pool = new ByteBufferPool(64, 2);
+        ByteBuffer oversized = pool.acquire(65);
+        assertEquals(65, oversized.capacity());
+
+        pool.release(oversized);
+        pool.release(pool.acquire(1));
+        pool.release(ByteBuffer.allocate(64));
+        pool.release(ByteBuffer.allocate(64));
+
+        assertEquals(2, pool.getPooledCount());
+    }
+
+    /**
+     * Test that the capacity of the pooled buffers must be positive.
+     */
+    @Test
+    public void testConstructor_InvalidCapacity() {
+        assertThrows(IllegalArgumentException.class, () -> new ByteBufferPool(0, 2));
+        assertThrows(IllegalArgumentException.class, () -> new ByteBufferPool(64, 0));
+    }
+}
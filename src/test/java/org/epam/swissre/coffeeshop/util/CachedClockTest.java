@@ -0,0 +1,99 @@
+package org.epam.swissre.coffeeshop.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for {@link CachedClock}.
+ */
+public class CachedClockTest {
+
+    /**
+     * Test that the values only change on a tick and that the text is rendered again only for a new minute.
+     */
+    @Test
+    public void testTick() {
+        ManualClock clock = new ManualClock(Instant.parse("2024-08-23T09:59:58Z"), ZoneOffset.ofHours(2));
+        CachedClock cachedClock = new CachedClock(clock);
+        String text = cachedClock.getCurrentDateTime();
+
+        assertEquals("2024-08-23 11:59", text, "The text should be rendered in the zone of the clock");
+        assertEquals(clock.millis(), cachedClock.currentTimeMillis());
+
+        clock.advance(Duration.ofMillis(1500));
+        assertEquals(clock.millis() - 1500, cachedClock.currentTimeMillis(), "Values should only change on a tick");
+        cachedClock.tick();
+        assertEquals(clock.millis(), cachedClock.currentTimeMillis());
+        assertSame(text, cachedClock.getCurrentDateTime(), "The text should be reused within the minute");
+
+        clock.advance(Duration.ofMillis(500));
+        cachedClock.tick();
+        assertEquals("2024-08-23 12:00", cachedClock.getCurrentDateTime());
+    }
+
+    /**
+     * Test that a clock with a tick interval is refreshed by its ticker until it is closed.
+     */
+    @Test
+    public void testTicker() throws InterruptedException {
+        ManualClock clock = new ManualClock(Instant.parse("2024-08-23T10:00:00Z"), ZoneOffset.UTC);
+        try (CachedClock cachedClock = new CachedClock(clock, Duration.ofMillis(1))) {
+            clock.advance(Duration.ofMinutes(1));
+            long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+            while (cachedClock.currentTimeMillis() != clock.millis() && System.nanoTime() < deadline) {
+                Thread.sleep(1);
+            }
+            assertEquals("2024-08-23 10:01", cachedClock.getCurrentDateTime());
+        }
+        assertThrows(IllegalArgumentException.class, () -> new CachedClock(clock, Duration.ZERO));
+    }
+
+    /**
+     * Test that the shared clock follows the system clock.
+     */
+    @Test
+    public void testShared() {
+        long lag = System.currentTimeMillis() - CachedClock.shared().currentTimeMillis();
+
+        assertTrue(lag >= 0 && lag < 5_000, "The shared clock should lag by about one tick, was " + lag + " ms");
+    }
+
+    /**
+     * Clock which only advances when told to.
+     */
+    private static final class ManualClock extends Clock {
+        private volatile Instant instant;
+        private final ZoneId zone;
+
+        ManualClock(Instant instant, ZoneId zone) {
+            this.instant = instant;
+            this.zone = zone;
+        }
+
+        void advance(Duration duration) {
+            instant = instant.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return zone;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return new ManualClock(instant, zone);
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
@@ -1,6 +1,13 @@
 package org.epam.swissre.coffeeshop.util;
 
 import org.junit.jupiter.api.Test;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 /**
@@ -15,11 +22,11 @@ public class FormatUtilsTest {
     @Test
     public void testFormatWithDotLeaders() {
         String description = "Espresso";
-        double price = 3.50;
+        long priceInCents = 350;
         int expectedSizeResult = FormatUtils.TOTAL_WIDTH;
 
         // Call the method
-        int result = FormatUtils.formatWithDotLeaders(description, price).length();
+        int result = FormatUtils.formatWithDotLeaders(description, priceInCents).length();
 
         // Check that the length of the result matches the expected fixed width
         assertEquals(expectedSizeResult, result, "The length of the formatted string should match the expected fixed total width, including dot leaders.");
@@ -31,13 +38,87 @@ public class FormatUtilsTest {
     @Test
     public void testFormatWithDotLeaders_Long() {
         String description = "Long description that exceeds limit";
-        double price = 10.25;
+        long priceInCents = 1025;
         int expectedSizeResult = FormatUtils.TOTAL_WIDTH;
 
         // Call the method
-        int result = FormatUtils.formatWithDotLeaders(description, price).length();
+        int result = FormatUtils.formatWithDotLeaders(description, priceInCents).length();
 
         // Check that the result matches the expected value
         assertEquals(expectedSizeResult, result, "The length of the formatted string should equal the expected fixed total width, even when no dots are needed.");
     }
-}
\ No newline at end of file
+
+    /**
+     * Tests that the price is printed with two fraction digits after the dot leaders.
+     */
+    @Test
+    public void testFormatWithDotLeaders_Price() {
+        String result = FormatUtils.formatWithDotLeaders("Small coffee", 255);
+
+        assertTrue(result.endsWith("....CHF 2.55"), "The price should be printed in CHF with two fraction digits.");
+    }
+
+    /**
+     * Tests that dot leaders and price are appended to a line already started in the builder.
+     */
+    @Test
+    public void testAppendDotLeaders() {
+        StringBuilder sb = new StringBuilder("Items:\n");
+        int lineStart = sb.length();
+        sb.append("1. Small coffee");
+
+        FormatUtils.appendDotLeaders(sb, lineStart, 255);
+
+        assertEquals("Items:\n1. Small coffee...........................CHF 2.55", sb.toString());
+        assertEquals(FormatUtils.TOTAL_WIDTH, sb.length() - lineStart);
+        assertEquals(FormatUtils.formatWithDotLeaders("Refund", -1050).length(), FormatUtils.TOTAL_WIDTH, "Negative prices should be aligned as well.");
+    }
+
+    /**
+     * Tests that the builder and buffer variants write the same line item as formatWithDotLeaders.
+     */
+    @Test
+    public void testPutWithDotLeaders() {
+        String expected = FormatUtils.formatWithDotLeaders("2. Café crème", 1050);
+
+        assertEquals("#" + expected, FormatUtils.appendWithDotLeaders(new StringBuilder("#"), "2. Café crème", 1050).toString());
+        CharBuffer chars = FormatUtils.putWithDotLeaders(CharBuffer.allocate(64), new StringBuilder("2. Café crème"), 1050);
+        assertEquals(expected, chars.flip().toString());
+        ByteBuffer bytes = FormatUtils.putWithDotLeaders(ByteBuffer.allocate(64), "2. Café crème", 1050);
+        assertEquals(expected, new String(bytes.array(), 0, bytes.position(), StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Tests that the numbered buffer variant writes the same line item as with the number in the description.
+     */
+    @Test
+    public void testPutWithDotLeaders_Numbered() {
+        ByteBuffer bytes = FormatUtils.putWithDotLeaders(ByteBuffer.allocate(64), 12, "Café crème", 1050);
+
+        assertEquals(FormatUtils.formatWithDotLeaders("12. Café crème", 1050),
+                new String(bytes.array(), 0, bytes.position(), StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Tests the ASCII digits of numbers, including the extremes.
+     */
+    @Test
+    public void testPutDecimal() {
+        for (long value : new long[]{0, 7, -7, 1050, Long.MAX_VALUE, Long.MIN_VALUE}) {
+            ByteBuffer bytes = FormatUtils.putDecimal(ByteBuffer.allocate(24).put((byte) '#'), value);
+            assertEquals("#" + value, new String(bytes.array(), 0, bytes.position(), StandardCharsets.US_ASCII));
+        }
+        assertThrows(BufferOverflowException.class, () -> FormatUtils.putDecimal(ByteBuffer.allocate(3), 1050));
+    }
+
+    /**
+     * Tests the UTF-8 encoding of characters outside ASCII, including supplementary characters.
+     */
+    @Test
+    public void testPutUtf8() {
+        String text = "a\u00e9\u20ac\ud83d\ude00z";
+        ByteBuffer bytes = FormatUtils.putUtf8(ByteBuffer.allocate(16), text);
+
+        assertArrayEquals(text.getBytes(StandardCharsets.UTF_8), Arrays.copyOf(bytes.array(), bytes.position()));
+    }
+}
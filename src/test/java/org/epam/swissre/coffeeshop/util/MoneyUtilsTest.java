@@ -0,0 +1,80 @@
+package org.epam.swissre.coffeeshop.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for {@link MoneyUtils}.
+ * This class tests the formatting of amounts given in cents.
+ */
+public class MoneyUtilsTest {
+
+    /**
+     * Tests that amounts are formatted with exactly two fraction digits.
+     */
+    @Test
+    public void testFormat() {
+        assertEquals("2.55", MoneyUtils.format(255));
+        assertEquals("0.32", MoneyUtils.format(32));
+        assertEquals("0.05", MoneyUtils.format(5));
+        assertEquals("0.00", MoneyUtils.format(0));
+        assertEquals("10.00", MoneyUtils.format(1000));
+    }
+
+    /**
+     * Tests that negative amounts keep their sign, including amounts below one franc.
+     */
+    @Test
+    public void testFormat_Negative() {
+        assertEquals("-2.55", MoneyUtils.format(-255));
+        assertEquals("-0.05", MoneyUtils.format(-5));
+    }
+
+    /**
+     * Tests that the amount is appended to an existing builder.
+     */
+    @Test
+    public void testAppendTo() {
+        StringBuilder sb = new StringBuilder("Small coffee,");
+
+        assertSame(sb, MoneyUtils.appendTo(sb, 255));
+        assertEquals("Small coffee,2.55", sb.toString());
+    }
+
+    /**
+     * Tests that amounts are written into char and byte buffers exactly as they are formatted.
+     */
+    @Test
+    public void testPutTo() {
+        long[] amounts = {0, 5, 32, 255, 1000, -5, -255, 123_456_789, Long.MIN_VALUE, Long.MAX_VALUE};
+        for (long cents : amounts) {
+            String expected = MoneyUtils.format(cents);
+            assertEquals(expected.length(), MoneyUtils.length(cents));
+
+            CharBuffer chars = CharBuffer.allocate(32).put('>');
+            MoneyUtils.putTo(chars, cents);
+            assertEquals(">" + expected, chars.flip().toString());
+
+            ByteBuffer bytes = ByteBuffer.allocate(32).put((byte) '>');
+            MoneyUtils.putTo(bytes, cents);
+            assertEquals(">" + expected, new String(bytes.array(), 0, bytes.position(), StandardCharsets.US_ASCII));
+        }
+    }
+
+    /**
+     * Tests that an amount which does not fit leaves the buffer unchanged.
+     */
+    @Test
+    public void testPutTo_Overflow() {
+        ByteBuffer bytes = ByteBuffer.allocate(4);
+        assertThrows(BufferOverflowException.class, () -> MoneyUtils.putTo(bytes, 1000));
+        assertEquals(0, bytes.position());
+        assertThrows(BufferOverflowException.class, () -> MoneyUtils.putTo(CharBuffer.allocate(3), 5));
+    }
+}
@@ -0,0 +1,90 @@
+package org.epam.swissre.coffeeshop.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for {@link RingBuffer}.
+ */
+public class RingBufferTest {
+
+    /**
+     * Tests that elements are removed in insertion order and that a full ring rejects further elements.
+     */
+    @Test
+    public void testOfferAndPoll() {
+        RingBuffer<Integer> ring = new RingBuffer<>(3);
+        assertEquals(4, ring.capacity(), "The capacity should be rounded up to a power of two");
+        assertTrue(ring.isEmpty());
+        assertNull(ring.poll());
+
+        for (int lap = 0; lap < 3; lap++) {
+            for (int i = 0; i < 4; i++) {
+                assertTrue(ring.offer(lap * 4 + i));
+            }
+            assertFalse(ring.offer(-1), "A full ring should reject the element");
+            assertEquals(4, ring.size());
+            for (int i = 0; i < 4; i++) {
+                assertEquals(lap * 4 + i, ring.poll());
+            }
+            assertNull(ring.poll());
+        }
+        assertEquals(0, ring.size());
+    }
+
+    /**
+     * Tests that invalid capacities and null elements are rejected.
+     */
+    @Test
+    public void testInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new RingBuffer<>(0));
+        assertThrows(IllegalArgumentException.class, () -> new RingBuffer<>((1 << 30) + 1));
+        assertThrows(IllegalArgumentException.class, () -> new RingBuffer<>(1).offer(null));
+    }
+
+    /**
+     * Tests that concurrent producers and consumers pass every element exactly once through a small ring.
+     */
+    @Test
+    public void testConcurrentProducersAndConsumers() throws InterruptedException {
+        RingBuffer<Integer> ring = new RingBuffer<>(8);
+        int producers = 4;
+        int elementsPerProducer = 10_000;
+        Set<Integer> consumed = ConcurrentHashMap.newKeySet();
+        List<Thread> threads = new ArrayList<>();
+        for (int p = 0; p < producers; p++) {
+            int first = p * elementsPerProducer;
+            threads.add(new Thread(() -> {
+                try {
+                    for (int i = 0; i < elementsPerProducer; i++) {
+                        ring.put(first + i);
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }));
+            threads.add(new Thread(() -> {
+                try {
+                    for (int i = 0; i < elementsPerProducer; i++) {
+                        assertTrue(consumed.add(ring.take()), "Every element should be consumed once");
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }));
+        }
+        threads.forEach(Thread::start);
+        for (Thread thread : threads) {
+            thread.join(10_000);
+        }
+
+        assertEquals(producers * elementsPerProducer, consumed.size());
+        assertTrue(ring.isEmpty());
+    }
+}